@@ -0,0 +1,171 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import java.util.Locale;
+
+/**
+ * Plays a {@link BitrateLadder} over a {@link BandwidthTrace} with an {@link AbrStrategy}.
+ *
+ * <p>Segments are loaded one after the other, as a player loads the chunks of one track. Before
+ * each segment the strategy chooses the rendition from the throughput estimate and the buffer
+ * level. Loading pauses while the buffer is full, and playback starts and resumes after a stall
+ * with the buffer levels of the Media3 {@code DefaultLoadControl}.
+ */
+final class AbrSimulator {
+  static final long MAX_BUFFER_MS = 50_000;
+  static final long BUFFER_FOR_PLAYBACK_MS = 2_500;
+  static final long BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS = 5_000;
+  static final long DEFAULT_REQUEST_LATENCY_MS = 80;
+
+  /** Quality of experience of one simulated playback. */
+  static final class Result {
+    final long startupDelayMs;
+    final long rebufferMs;
+    final int rebufferCount;
+    final double rebufferRatio;
+    final long averageBitrateBps;
+    final int switchCount;
+
+    Result(
+        long startupDelayMs,
+        long rebufferMs,
+        int rebufferCount,
+        double rebufferRatio,
+        long averageBitrateBps,
+        int switchCount) {
+      this.startupDelayMs = startupDelayMs;
+      this.rebufferMs = rebufferMs;
+      this.rebufferCount = rebufferCount;
+      this.rebufferRatio = rebufferRatio;
+      this.averageBitrateBps = averageBitrateBps;
+      this.switchCount = switchCount;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+      return String.format(
+          Locale.US,
+          "startup %5d ms, rebuffer %6.2f%% (%d stalls), average %5d kbps, %3d switches",
+          startupDelayMs,
+          rebufferRatio * 100,
+          rebufferCount,
+          averageBitrateBps / 1000,
+          switchCount);
+    }
+  }
+
+  private final BitrateLadder ladder;
+  private final long requestLatencyMs;
+  private final long initialEstimateBps;
+
+  private long nowMs;
+  private long bufferMs;
+  private boolean started;
+  private boolean playing;
+  private long rebufferMs;
+  private int rebufferCount;
+
+  AbrSimulator(@NonNull BitrateLadder ladder) {
+    this(ladder, DEFAULT_REQUEST_LATENCY_MS);
+  }
+
+  AbrSimulator(@NonNull BitrateLadder ladder, long requestLatencyMs) {
+    this(ladder, requestLatencyMs, ThroughputEstimator.INITIAL_ESTIMATE_BPS);
+  }
+
+  /**
+   * Creates a simulator whose throughput estimate starts at {@code initialEstimateBps}, like the
+   * estimate a player already has before a seek or the initial estimate of the network type.
+   */
+  AbrSimulator(@NonNull BitrateLadder ladder, long requestLatencyMs, long initialEstimateBps) {
+    this.ladder = ladder;
+    this.requestLatencyMs = requestLatencyMs;
+    this.initialEstimateBps = initialEstimateBps;
+  }
+
+  /** Plays {@code contentDurationMs} of the ladder over {@code trace} with {@code strategy}. */
+  @NonNull
+  Result run(@NonNull AbrStrategy strategy, @NonNull BandwidthTrace trace, long contentDurationMs) {
+    nowMs = 0;
+    bufferMs = 0;
+    started = false;
+    playing = false;
+    rebufferMs = 0;
+    rebufferCount = 0;
+    ThroughputEstimator estimator = new ThroughputEstimator(initialEstimateBps);
+    long segmentDurationMs = ladder.segmentDurationMs;
+    int segmentCount = (int) ((contentDurationMs + segmentDurationMs - 1) / segmentDurationMs);
+    long startupDelayMs = 0;
+    int current = -1;
+    int switchCount = 0;
+    double bitsPlayed = 0;
+
+    for (int segment = 0; segment < segmentCount; segment++) {
+      if (bufferMs + segmentDurationMs > MAX_BUFFER_MS) {
+        advance(bufferMs + segmentDurationMs - MAX_BUFFER_MS);
+      }
+      AbrStrategy.Decision decision =
+          strategy.select(ladder.bitratesBps, current, estimator.getEstimateBps(), bufferMs);
+      if (current >= 0 && decision.index != current) {
+        switchCount++;
+      }
+      current = decision.index;
+
+      long bitrateBps = ladder.bitratesBps[current];
+      long bytes = bitrateBps * segmentDurationMs / 8000;
+      advance(requestLatencyMs);
+      // Like the bandwidth meter, the estimate only sees the transfer after the response started.
+      long transferMs = trace.transferTimeMs(nowMs, bytes);
+      advance(transferMs);
+      estimator.addSample(bytes, transferMs);
+      bufferMs += segmentDurationMs;
+      bitsPlayed += (double) bitrateBps * segmentDurationMs;
+
+      boolean last = segment == segmentCount - 1;
+      if (!playing
+          && (last
+              || bufferMs
+                  >= (started ? BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS : BUFFER_FOR_PLAYBACK_MS))) {
+        if (!started) {
+          startupDelayMs = nowMs;
+        }
+        started = true;
+        playing = true;
+      }
+    }
+
+    long playedMs = (long) segmentCount * segmentDurationMs;
+    return new Result(
+        startupDelayMs,
+        rebufferMs,
+        rebufferCount,
+        (double) rebufferMs / (playedMs + rebufferMs),
+        (long) (bitsPlayed / playedMs),
+        switchCount);
+  }
+
+  /** Lets {@code durationMs} pass, playing from the buffer or stalling once it has run dry. */
+  private void advance(long durationMs) {
+    nowMs += durationMs;
+    if (!started) {
+      return;
+    }
+    if (!playing) {
+      rebufferMs += durationMs;
+      return;
+    }
+    if (durationMs <= bufferMs) {
+      bufferMs -= durationMs;
+      return;
+    }
+    rebufferMs += durationMs - bufferMs;
+    rebufferCount++;
+    bufferMs = 0;
+    playing = false;
+  }
+}
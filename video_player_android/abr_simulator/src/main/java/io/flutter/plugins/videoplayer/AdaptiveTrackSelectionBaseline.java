@@ -0,0 +1,56 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The selection of the Media3 1.2.1 {@code AdaptiveTrackSelection} with its default parameters, as
+ * the baseline the strategies are compared against.
+ *
+ * <p>{@code AdaptiveTrackSelection} ships in an Android library, which a JVM project cannot depend
+ * on, so its {@code updateSelectedTrack} is transcribed here for a single player of VOD content at
+ * normal speed. The allocated bandwidth is the estimate times the bandwidth fraction, as the {@code
+ * DefaultBandwidthMeter} has no time to first byte estimate. A switch up waits for the buffer to
+ * hold {@link #MIN_DURATION_FOR_QUALITY_INCREASE_MS}, and a switch down is held off while it holds
+ * {@link #MAX_DURATION_FOR_QUALITY_DECREASE_MS}.
+ */
+final class AdaptiveTrackSelectionBaseline implements AbrStrategy {
+  static final long MIN_DURATION_FOR_QUALITY_INCREASE_MS = 10_000;
+  static final long MAX_DURATION_FOR_QUALITY_DECREASE_MS = 25_000;
+  static final float BANDWIDTH_FRACTION = 0.7f;
+
+  @NonNull
+  @Override
+  public Decision select(
+      @NonNull long[] bitratesBps, int current, long throughputBps, long bufferedMs) {
+    int ideal = idealIndex(bitratesBps, throughputBps);
+    if (current < 0) {
+      return new Decision(ideal, REASON_INITIAL);
+    }
+    if (bitratesBps[ideal] > bitratesBps[current]
+        && bufferedMs < MIN_DURATION_FOR_QUALITY_INCREASE_MS) {
+      return new Decision(current, AbrController.REASON_HOLD);
+    }
+    if (bitratesBps[ideal] < bitratesBps[current]
+        && bufferedMs >= MAX_DURATION_FOR_QUALITY_DECREASE_MS) {
+      return new Decision(current, AbrController.REASON_HOLD);
+    }
+    return new Decision(ideal, REASON_THROUGHPUT);
+  }
+
+  /** Like {@code determineIdealSelectedIndex}, the first track that fits, else the lowest. */
+  private static int idealIndex(long[] bitratesBps, long throughputBps) {
+    long effectiveBitrate = (long) (throughputBps * BANDWIDTH_FRACTION);
+    int lowestBitrateIndex = 0;
+    for (int i = 0; i < bitratesBps.length; i++) {
+      if (bitratesBps[i] <= effectiveBitrate) {
+        return i;
+      }
+      lowestBitrateIndex = i;
+    }
+    return lowestBitrateIndex;
+  }
+}
@@ -0,0 +1,114 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Available bandwidth over time, replayed in a loop.
+ *
+ * <p>Traces are read in the text format of the cooked traces commonly used in ABR research, one
+ * sample per line with its start time in seconds and the throughput in megabits per second,
+ * separated by white space. Lines starting with {@code #} are comments. Each sample lasts until
+ * the next one starts, and the last one as long as the one before it.
+ */
+final class BandwidthTrace {
+  private final long[] startTimesMs;
+  private final long[] bandwidthsBps;
+  private final long periodMs;
+
+  BandwidthTrace(@NonNull long[] startTimesMs, @NonNull long[] bandwidthsBps, long periodMs) {
+    this.startTimesMs = startTimesMs;
+    this.bandwidthsBps = bandwidthsBps;
+    this.periodMs = periodMs;
+  }
+
+  /** Returns a trace with the same bandwidth all the time. */
+  @NonNull
+  static BandwidthTrace constant(long bandwidthBps) {
+    return new BandwidthTrace(new long[] {0}, new long[] {bandwidthBps}, 1000);
+  }
+
+  @NonNull
+  static BandwidthTrace parse(@NonNull Reader reader) throws IOException {
+    List<long[]> samples = new ArrayList<>();
+    BufferedReader lines = new BufferedReader(reader);
+    String line;
+    while ((line = lines.readLine()) != null) {
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      String[] fields = line.split("\\s+");
+      if (fields.length < 2) {
+        throw new IOException("Malformed trace line: " + line);
+      }
+      long startMs = Math.round(Double.parseDouble(fields[0]) * 1000);
+      long bandwidthBps = Math.round(Double.parseDouble(fields[1]) * 1_000_000);
+      if (!samples.isEmpty() && startMs <= samples.get(samples.size() - 1)[0]) {
+        throw new IOException("Trace times must increase: " + line);
+      }
+      samples.add(new long[] {startMs, Math.max(0, bandwidthBps)});
+    }
+    if (samples.size() < 2) {
+      throw new IOException("A trace needs at least two samples");
+    }
+
+    long originMs = samples.get(0)[0];
+    long[] startTimesMs = new long[samples.size()];
+    long[] bandwidthsBps = new long[samples.size()];
+    boolean anyBandwidth = false;
+    for (int i = 0; i < samples.size(); i++) {
+      startTimesMs[i] = samples.get(i)[0] - originMs;
+      bandwidthsBps[i] = samples.get(i)[1];
+      anyBandwidth |= bandwidthsBps[i] > 0;
+    }
+    if (!anyBandwidth) {
+      throw new IOException("A trace needs a sample with bandwidth");
+    }
+    int last = startTimesMs.length - 1;
+    long periodMs = startTimesMs[last] + (startTimesMs[last] - startTimesMs[last - 1]);
+    return new BandwidthTrace(startTimesMs, bandwidthsBps, periodMs);
+  }
+
+  /** Returns how long a transfer of {@code bytes} that starts at {@code startMs} takes. */
+  long transferTimeMs(long startMs, long bytes) {
+    double remainingBits = bytes * 8.0;
+    long timeMs = startMs;
+    while (true) {
+      long offsetMs = timeMs % periodMs;
+      int index = indexAt(offsetMs);
+      long sampleEndOffsetMs =
+          index + 1 < startTimesMs.length ? startTimesMs[index + 1] : periodMs;
+      long sampleEndMs = timeMs - offsetMs + sampleEndOffsetMs;
+      double bitsPerMs = bandwidthsBps[index] / 1000.0;
+      double capacityBits = bitsPerMs * (sampleEndMs - timeMs);
+      if (bitsPerMs > 0 && capacityBits >= remainingBits) {
+        return timeMs - startMs + (long) Math.ceil(remainingBits / bitsPerMs);
+      }
+      remainingBits -= capacityBits;
+      timeMs = sampleEndMs;
+    }
+  }
+
+  private int indexAt(long offsetMs) {
+    int low = 0;
+    int high = startTimesMs.length - 1;
+    while (low < high) {
+      int middle = (low + high + 1) >>> 1;
+      if (startTimesMs[middle] <= offsetMs) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+}
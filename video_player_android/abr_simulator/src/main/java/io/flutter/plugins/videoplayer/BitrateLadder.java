@@ -0,0 +1,72 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/** The renditions of a stream, highest bitrate first, cut into segments of equal duration. */
+final class BitrateLadder {
+  private static final Pattern BANDWIDTH = Pattern.compile("[:,]BANDWIDTH=(\\d+)");
+
+  final long[] bitratesBps;
+  final long segmentDurationMs;
+
+  private BitrateLadder(@NonNull long[] bitratesBps, long segmentDurationMs) {
+    this.bitratesBps = bitratesBps;
+    this.segmentDurationMs = segmentDurationMs;
+  }
+
+  /** Returns a ladder of the given bitrates, in any order. */
+  @NonNull
+  static BitrateLadder of(long segmentDurationMs, @NonNull long... bitratesKbps) {
+    if (bitratesKbps.length == 0) {
+      throw new IllegalArgumentException("A ladder needs at least one rendition");
+    }
+    long[] bitratesBps = new long[bitratesKbps.length];
+    for (int i = 0; i < bitratesKbps.length; i++) {
+      bitratesBps[i] = bitratesKbps[i] * 1000;
+    }
+    return sorted(bitratesBps, segmentDurationMs);
+  }
+
+  /** Returns the ladder of the variant streams of an HLS multivariant playlist. */
+  @NonNull
+  static BitrateLadder fromHlsPlaylist(@NonNull String playlist, long segmentDurationMs) {
+    List<Long> bitrates = new ArrayList<>();
+    for (String line : playlist.split("\n")) {
+      if (!line.startsWith("#EXT-X-STREAM-INF:")) {
+        continue;
+      }
+      Matcher matcher = BANDWIDTH.matcher(line);
+      if (matcher.find()) {
+        bitrates.add(Long.parseLong(matcher.group(1)));
+      }
+    }
+    if (bitrates.isEmpty()) {
+      throw new IllegalArgumentException("The playlist has no variant streams");
+    }
+    long[] bitratesBps = new long[bitrates.size()];
+    for (int i = 0; i < bitratesBps.length; i++) {
+      bitratesBps[i] = bitrates.get(i);
+    }
+    return sorted(bitratesBps, segmentDurationMs);
+  }
+
+  private static BitrateLadder sorted(long[] bitratesBps, long segmentDurationMs) {
+    long[] descending = bitratesBps.clone();
+    Arrays.sort(descending);
+    for (int i = 0; i < descending.length / 2; i++) {
+      long bitrate = descending[i];
+      descending[i] = descending[descending.length - 1 - i];
+      descending[descending.length - 1 - i] = bitrate;
+    }
+    return new BitrateLadder(descending, segmentDurationMs);
+  }
+}
@@ -0,0 +1,94 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Estimates the throughput from completed transfers the way the Media3 {@code
+ * DefaultBandwidthMeter} does: the weighted median of recent samples, each weighted by the square
+ * root of its size, reported once enough data has been transferred.
+ */
+final class ThroughputEstimator {
+  static final long INITIAL_ESTIMATE_BPS = 1_000_000;
+  private static final double MAX_WEIGHT = 2000;
+  private static final long ELAPSED_MILLIS_FOR_ESTIMATE = 2000;
+  private static final long BYTES_TRANSFERRED_FOR_ESTIMATE = 512 * 1024;
+
+  private static final class Sample {
+    final double weight;
+    final double bitrateBps;
+
+    Sample(double weight, double bitrateBps) {
+      this.weight = weight;
+      this.bitrateBps = bitrateBps;
+    }
+  }
+
+  // Samples in the order they were added, oldest first.
+  private final List<Sample> samples = new ArrayList<>();
+  private double totalWeight;
+  private long totalElapsedMs;
+  private long totalBytes;
+  private long estimateBps;
+
+  ThroughputEstimator() {
+    this(INITIAL_ESTIMATE_BPS);
+  }
+
+  /**
+   * Creates an estimator that reports {@code initialEstimateBps} until enough data has been
+   * transferred.
+   */
+  ThroughputEstimator(long initialEstimateBps) {
+    this.estimateBps = initialEstimateBps;
+  }
+
+  void addSample(long bytes, long elapsedMs) {
+    if (elapsedMs <= 0) {
+      return;
+    }
+    totalElapsedMs += elapsedMs;
+    totalBytes += bytes;
+    Sample sample = new Sample(Math.sqrt(bytes), bytes * 8000.0 / elapsedMs);
+    samples.add(sample);
+    totalWeight += sample.weight;
+    while (totalWeight > MAX_WEIGHT && samples.size() > 1) {
+      Sample oldest = samples.get(0);
+      double excess = totalWeight - MAX_WEIGHT;
+      if (oldest.weight <= excess) {
+        samples.remove(0);
+        totalWeight -= oldest.weight;
+      } else {
+        samples.set(0, new Sample(oldest.weight - excess, oldest.bitrateBps));
+        totalWeight -= excess;
+      }
+    }
+    if (totalElapsedMs >= ELAPSED_MILLIS_FOR_ESTIMATE
+        || totalBytes >= BYTES_TRANSFERRED_FOR_ESTIMATE) {
+      estimateBps = (long) median();
+    }
+  }
+
+  long getEstimateBps() {
+    return estimateBps;
+  }
+
+  private double median() {
+    List<Sample> sorted = new ArrayList<>(samples);
+    Collections.sort(sorted, (a, b) -> Double.compare(a.bitrateBps, b.bitrateBps));
+    double desiredWeight = totalWeight / 2;
+    double accumulatedWeight = 0;
+    for (Sample sample : sorted) {
+      accumulatedWeight += sample.weight;
+      if (accumulatedWeight >= desiredWeight) {
+        return sample.bitrateBps;
+      }
+    }
+    return sorted.get(sorted.size() - 1).bitrateBps;
+  }
+}
@@ -0,0 +1,181 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import org.junit.Test;
+
+/**
+ * Replays the bundled traces against every strategy and reports the quality of experience of each
+ * run, to {@code build/reports/abr/results.csv} and to the test output.
+ */
+public class AbrSimulatorTest {
+  private static final String[] TRACES = {
+    "stable_wifi", "cellular_walk", "lte_drive", "step_down",
+  };
+  private static final String[] STRATEGIES = {
+    AbrOptions.STRATEGY_THROUGHPUT, AbrOptions.STRATEGY_BOLA, AbrOptions.STRATEGY_HYBRID,
+  };
+  /** Name of the {@link AdaptiveTrackSelectionBaseline} in the report. */
+  private static final String BASELINE = "media3";
+  private static final long CONTENT_DURATION_MS = 10 * 60 * 1000;
+  /** A typical ladder for 16:9 content with 4 second segments. */
+  private static final BitrateLadder LADDER =
+      BitrateLadder.of(4000, 300, 750, 1200, 1850, 2850, 4300);
+
+  @Test
+  public void fastNetwork_playsTopRenditionWithoutStalls() {
+    for (String strategy : STRATEGIES) {
+      AbrSimulator.Result result =
+          new AbrSimulator(LADDER)
+              .run(
+                  controller(strategy), BandwidthTrace.constant(50_000_000), CONTENT_DURATION_MS);
+
+      assertEquals(strategy, 0, result.rebufferMs);
+      // BOLA climbs the ladder as the buffer fills, so the first segments are of lower bitrates.
+      assertTrue(strategy, result.averageBitrateBps > 0.9 * LADDER.bitratesBps[0]);
+    }
+  }
+
+  @Test
+  public void networkBelowLowestRendition_stalls() {
+    AbrSimulator.Result result =
+        new AbrSimulator(LADDER)
+            .run(
+                controller(AbrOptions.STRATEGY_THROUGHPUT),
+                BandwidthTrace.constant(200_000),
+                60_000);
+
+    assertTrue(result.rebufferCount > 0);
+    assertEquals(LADDER.bitratesBps[LADDER.bitratesBps.length - 1], result.averageBitrateBps);
+    assertEquals(0, result.switchCount);
+  }
+
+  @Test
+  public void knownThroughput_hybridRampsUpBeforeBola() {
+    BandwidthTrace trace = BandwidthTrace.constant(20_000_000);
+    AbrSimulator simulator =
+        new AbrSimulator(LADDER, AbrSimulator.DEFAULT_REQUEST_LATENCY_MS, 20_000_000);
+
+    AbrSimulator.Result bola = simulator.run(controller(AbrOptions.STRATEGY_BOLA), trace, 60_000);
+    AbrSimulator.Result hybrid =
+        simulator.run(controller(AbrOptions.STRATEGY_HYBRID), trace, 60_000);
+
+    // BOLA starts on the lowest rendition whatever the estimate, the hybrid strategy does not.
+    assertTrue(hybrid.averageBitrateBps > bola.averageBitrateBps);
+    assertTrue(hybrid.switchCount < bola.switchCount);
+  }
+
+  @Test
+  public void bolaThroughputCap_neverRaisesQuality() throws IOException {
+    AbrOptions options = new AbrOptions();
+    BolaAbrStrategy bola =
+        new BolaAbrStrategy(options.minBufferMs, options.bufferTargetMs, options.bandwidthFraction);
+    // With an unbounded bandwidth fraction every rendition fits, so nothing is capped.
+    BolaAbrStrategy uncapped =
+        new BolaAbrStrategy(options.minBufferMs, options.bufferTargetMs, Double.POSITIVE_INFINITY);
+    AbrStrategy checked =
+        (bitratesBps, current, throughputBps, bufferedMs) -> {
+          AbrStrategy.Decision decision =
+              bola.select(bitratesBps, current, throughputBps, bufferedMs);
+          AbrStrategy.Decision byBuffer =
+              uncapped.select(bitratesBps, current, throughputBps, bufferedMs);
+          // Renditions are ordered highest first, so a lower index is a higher bitrate.
+          assertTrue(
+              "capped to " + decision.index + " above " + byBuffer.index,
+              decision.index >= byBuffer.index);
+          return decision;
+        };
+    for (String traceName : TRACES) {
+      new AbrSimulator(LADDER).run(checked, trace(traceName), CONTENT_DURATION_MS);
+    }
+  }
+
+  @Test
+  public void traceSuite_reportsQualityOfExperience() throws IOException {
+    StringBuilder csv =
+        new StringBuilder(
+            "trace,strategy,startup_ms,rebuffer_ratio,rebuffer_count,average_kbps,switches\n");
+    for (String traceName : TRACES) {
+      BandwidthTrace trace = trace(traceName);
+      AbrSimulator.Result baseline =
+          new AbrSimulator(LADDER)
+              .run(new AdaptiveTrackSelectionBaseline(), trace, CONTENT_DURATION_MS);
+      appendResult(csv, traceName, BASELINE, baseline);
+      for (String strategy : STRATEGIES) {
+        AbrSimulator.Result result =
+            new AbrSimulator(LADDER).run(controller(strategy), trace, CONTENT_DURATION_MS);
+        appendResult(csv, traceName, strategy, result);
+
+        // Regression bounds. A change that crosses one of them needs a closer look.
+        assertTrue(traceName + " " + strategy, result.startupDelayMs < 2_000);
+        assertTrue(traceName + " " + strategy, result.rebufferRatio < 0.03);
+        if (traceName.equals("stable_wifi")) {
+          assertEquals(strategy, 0, result.rebufferMs);
+        }
+        if (strategy.equals(AbrOptions.STRATEGY_THROUGHPUT)) {
+          // The throughput strategy stands in for the selection of a player without ABR settings.
+          assertEquals(traceName, baseline.toString(), result.toString());
+        }
+      }
+    }
+    writeReport(csv.toString());
+  }
+
+  private static void appendResult(
+      StringBuilder csv, String traceName, String strategy, AbrSimulator.Result result) {
+    System.out.printf(Locale.US, "%-14s %-10s %s%n", traceName, strategy, result);
+    csv.append(
+        String.format(
+            Locale.US,
+            "%s,%s,%d,%.4f,%d,%d,%d\n",
+            traceName,
+            strategy,
+            result.startupDelayMs,
+            result.rebufferRatio,
+            result.rebufferCount,
+            result.averageBitrateBps / 1000,
+            result.switchCount));
+  }
+
+  private static AbrController controller(String strategy) {
+    AbrOptions options = new AbrOptions();
+    options.strategy = strategy;
+    return new AbrController(options);
+  }
+
+  private static BandwidthTrace trace(String name) throws IOException {
+    try (Reader reader =
+        new InputStreamReader(
+            AbrSimulatorTest.class.getResourceAsStream("/traces/" + name + ".txt"),
+            StandardCharsets.UTF_8)) {
+      return BandwidthTrace.parse(reader);
+    }
+  }
+
+  private static void writeReport(String csv) throws IOException {
+    String reportDir = System.getProperty("abr.reportDir");
+    if (reportDir == null) {
+      return;
+    }
+    File directory = new File(reportDir);
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IOException("Cannot create " + directory);
+    }
+    try (PrintWriter writer = new PrintWriter(new FileWriter(new File(directory, "results.csv")))) {
+      writer.print(csv);
+    }
+  }
+}
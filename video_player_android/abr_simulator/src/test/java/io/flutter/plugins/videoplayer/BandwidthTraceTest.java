@@ -0,0 +1,52 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Test;
+
+public class BandwidthTraceTest {
+  @Test
+  public void transferTimeMs_spansSamplesAndLoops() throws IOException {
+    // One second at 8 Mbps, then one second at 0.8 Mbps, repeated.
+    BandwidthTrace trace = BandwidthTrace.parse(new StringReader("# comment\n10 8\n11 0.8\n"));
+
+    assertEquals(500, trace.transferTimeMs(0, 500_000));
+    // 1 MB fills the first second, the remaining 100 kB take another second at 0.8 Mbps.
+    assertEquals(2000, trace.transferTimeMs(0, 1_100_000));
+    assertEquals(500, trace.transferTimeMs(2000, 500_000));
+  }
+
+  @Test
+  public void transferTimeMs_skipsSamplesWithoutBandwidth() throws IOException {
+    BandwidthTrace trace = BandwidthTrace.parse(new StringReader("0 0\n1 8\n"));
+
+    assertEquals(1500, trace.transferTimeMs(0, 500_000));
+  }
+
+  @Test(expected = IOException.class)
+  public void parse_rejectsDecreasingTimes() throws IOException {
+    BandwidthTrace.parse(new StringReader("1 8\n0 8\n"));
+  }
+
+  @Test
+  public void fromHlsPlaylist_readsVariantBandwidths() {
+    BitrateLadder ladder =
+        BitrateLadder.fromHlsPlaylist(
+            "#EXTM3U\n"
+                + "#EXT-X-STREAM-INF:BANDWIDTH=800000,RESOLUTION=640x360\n"
+                + "360p.m3u8\n"
+                + "#EXT-X-STREAM-INF:AVERAGE-BANDWIDTH=2500000,BANDWIDTH=2800000\n"
+                + "720p.m3u8\n",
+            6000);
+
+    assertArrayEquals(new long[] {2_800_000, 800_000}, ladder.bitratesBps);
+    assertEquals(6000, ladder.segmentDurationMs);
+  }
+}
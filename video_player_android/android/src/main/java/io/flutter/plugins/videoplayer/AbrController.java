@@ -0,0 +1,77 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Applies the switch thresholds of {@link AbrOptions} to the decisions of the configured {@link
+ * AbrStrategy}.
+ *
+ * <p>A switch to a higher rendition waits until {@link AbrOptions#minDurationForQualityIncreaseMs}
+ * of media is buffered, and a switch to a lower one is held off while more than {@link
+ * AbrOptions#maxDurationForQualityDecreaseMs} is buffered. Decisions of the startup phase of the
+ * hybrid strategy are not held. One instance serves one track selection.
+ */
+final class AbrController implements AbrStrategy {
+  static final String REASON_HOLD = "hold";
+
+  private final AbrStrategy strategy;
+  private final long minDurationForQualityIncreaseMs;
+  private final long maxDurationForQualityDecreaseMs;
+
+  AbrController(@NonNull AbrOptions options) {
+    this(
+        strategyFor(options),
+        options.minDurationForQualityIncreaseMs,
+        options.maxDurationForQualityDecreaseMs);
+  }
+
+  AbrController(
+      @NonNull AbrStrategy strategy,
+      long minDurationForQualityIncreaseMs,
+      long maxDurationForQualityDecreaseMs) {
+    this.strategy = strategy;
+    this.minDurationForQualityIncreaseMs = minDurationForQualityIncreaseMs;
+    this.maxDurationForQualityDecreaseMs = maxDurationForQualityDecreaseMs;
+  }
+
+  @NonNull
+  static AbrStrategy strategyFor(@NonNull AbrOptions options) {
+    switch (options.strategy) {
+      case AbrOptions.STRATEGY_BOLA:
+        return new BolaAbrStrategy(
+            options.minBufferMs, options.bufferTargetMs, options.bandwidthFraction);
+      case AbrOptions.STRATEGY_HYBRID:
+        return new HybridAbrStrategy(
+            options.minBufferMs, options.bufferTargetMs, options.bandwidthFraction);
+      case AbrOptions.STRATEGY_THROUGHPUT:
+        return new ThroughputAbrStrategy(options.bandwidthFraction);
+      default:
+        throw new IllegalArgumentException("Unknown ABR strategy: " + options.strategy);
+    }
+  }
+
+  @NonNull
+  @Override
+  public Decision select(
+      @NonNull long[] bitratesBps, int current, long throughputBps, long bufferedMs) {
+    Decision decision = strategy.select(bitratesBps, current, throughputBps, bufferedMs);
+    if (current < 0) {
+      return new Decision(decision.index, REASON_INITIAL);
+    }
+    if (decision.reason.equals(REASON_STARTUP)) {
+      return decision;
+    }
+    // Renditions are ordered highest first, so a lower index is a higher bitrate.
+    if (decision.index < current && bufferedMs < minDurationForQualityIncreaseMs) {
+      return new Decision(current, REASON_HOLD);
+    }
+    if (decision.index > current && bufferedMs >= maxDurationForQualityDecreaseMs) {
+      return new Decision(current, REASON_HOLD);
+    }
+    return decision;
+  }
+}
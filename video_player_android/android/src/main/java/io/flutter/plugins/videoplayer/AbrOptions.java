@@ -0,0 +1,45 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Adaptive bitrate settings of a single {@link VideoPlayer}.
+ *
+ * <p>The defaults of the switch thresholds and the bandwidth fraction are those of the Media3
+ * {@code AdaptiveTrackSelection}.
+ */
+final class AbrOptions {
+  /**
+   * Chooses the highest rendition the throughput estimate allows, with the switch thresholds. This
+   * mirrors the Media3 {@code AdaptiveTrackSelection} a player uses without ABR settings.
+   */
+  static final String STRATEGY_THROUGHPUT = "throughput";
+  /** Chooses the rendition from the buffer level, as BOLA does. */
+  static final String STRATEGY_BOLA = "bola";
+  /** Chooses from the throughput until the buffer has filled, then from the buffer level. */
+  static final String STRATEGY_HYBRID = "hybrid";
+
+  @NonNull String strategy = STRATEGY_THROUGHPUT;
+
+  /** Buffer needed before switching to a higher rendition. */
+  long minDurationForQualityIncreaseMs = 10_000;
+
+  /** Buffer above which the player does not switch to a lower rendition. */
+  long maxDurationForQualityDecreaseMs = 25_000;
+
+  /** Fraction of the throughput estimate a rendition may use. */
+  double bandwidthFraction = 0.7;
+
+  /**
+   * Buffer level below which BOLA keeps the lowest rendition, and from which the hybrid strategy
+   * starts to decide on the buffer level.
+   */
+  long minBufferMs = 10_000;
+
+  /** Buffer level at which BOLA chooses the highest rendition. */
+  long bufferTargetMs = 30_000;
+}
@@ -0,0 +1,48 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Chooses the rendition to load next.
+ *
+ * <p>Strategies only see bitrates, the throughput estimate and the buffer level, and use no
+ * Android or Media3 types, so the ABR simulator runs the same code as {@link AbrTrackSelection}.
+ */
+interface AbrStrategy {
+  /** Reason of a decision, reported with every switch. */
+  String REASON_INITIAL = "initial";
+  String REASON_THROUGHPUT = "throughput";
+  String REASON_BUFFER = "buffer";
+  String REASON_THROUGHPUT_CAP = "throughputCap";
+  /**
+   * A decision from the throughput while the buffer fills, which is not held back by the switch
+   * thresholds.
+   */
+  String REASON_STARTUP = "startup";
+
+  /** A rendition and the reason it was chosen. */
+  final class Decision {
+    final int index;
+    @NonNull final String reason;
+
+    Decision(int index, @NonNull String reason) {
+      this.index = index;
+      this.reason = reason;
+    }
+  }
+
+  /**
+   * Returns the rendition to load next.
+   *
+   * @param bitratesBps Bitrates of the selectable renditions, highest first.
+   * @param current Index of the rendition loaded last, or -1 for the first decision.
+   * @param throughputBps Throughput estimate.
+   * @param bufferedMs Media buffered ahead of the playback position.
+   */
+  @NonNull
+  Decision select(@NonNull long[] bitratesBps, int current, long throughputBps, long bufferedMs);
+}
@@ -0,0 +1,191 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.Format;
+import androidx.media3.common.Timeline;
+import androidx.media3.common.TrackGroup;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.source.MediaSource;
+import androidx.media3.exoplayer.source.chunk.MediaChunk;
+import androidx.media3.exoplayer.source.chunk.MediaChunkIterator;
+import androidx.media3.exoplayer.trackselection.AdaptiveTrackSelection;
+import androidx.media3.exoplayer.trackselection.BaseTrackSelection;
+import androidx.media3.exoplayer.trackselection.ExoTrackSelection;
+import androidx.media3.exoplayer.trackselection.FixedTrackSelection;
+import androidx.media3.exoplayer.upstream.BandwidthMeter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Adapts a track selection to an {@link AbrStrategy}, and reports every switch with the reason
+ * the strategy gave for it.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class AbrTrackSelection extends BaseTrackSelection {
+  static final String REASON_TRACK_EXCLUDED = "trackExcluded";
+
+  /** Receives the switches of adaptive track selections. */
+  interface Listener {
+    /** Called on the playback thread. */
+    void onSwitch(
+        @NonNull Format from, @NonNull Format to, @NonNull String reason, long bufferedMs);
+  }
+
+  /**
+   * Creates {@link AbrTrackSelection} instances for video groups with more than one track.
+   *
+   * <p>The strategy assumes it has the whole bandwidth to itself, so groups of other types are left
+   * to an {@link AdaptiveTrackSelection.Factory}, which shares the bandwidth between them.
+   */
+  static final class Factory implements ExoTrackSelection.Factory {
+    private final AbrOptions options;
+    @Nullable private final Listener listener;
+    private final ExoTrackSelection.Factory otherTypesFactory =
+        new AdaptiveTrackSelection.Factory();
+
+    Factory(@NonNull AbrOptions options, @Nullable Listener listener) {
+      this.options = options;
+      this.listener = listener;
+    }
+
+    @NonNull
+    @Override
+    public ExoTrackSelection[] createTrackSelections(
+        @NonNull ExoTrackSelection.Definition[] definitions,
+        @NonNull BandwidthMeter bandwidthMeter,
+        @NonNull MediaSource.MediaPeriodId mediaPeriodId,
+        @NonNull Timeline timeline) {
+      ExoTrackSelection.Definition[] otherDefinitions = definitions.clone();
+      for (int i = 0; i < definitions.length; i++) {
+        if (definitions[i] != null && definitions[i].group.type == C.TRACK_TYPE_VIDEO) {
+          otherDefinitions[i] = null;
+        }
+      }
+      ExoTrackSelection[] selections =
+          otherTypesFactory.createTrackSelections(
+              otherDefinitions, bandwidthMeter, mediaPeriodId, timeline);
+      for (int i = 0; i < definitions.length; i++) {
+        ExoTrackSelection.Definition definition = definitions[i];
+        if (definition == null
+            || definition.tracks.length == 0
+            || definition.group.type != C.TRACK_TYPE_VIDEO) {
+          continue;
+        }
+        selections[i] =
+            definition.tracks.length == 1
+                ? new FixedTrackSelection(definition.group, definition.tracks[0], definition.type)
+                : new AbrTrackSelection(
+                    definition.group,
+                    definition.tracks,
+                    definition.type,
+                    new AbrController(options),
+                    bandwidthMeter,
+                    listener);
+      }
+      return selections;
+    }
+  }
+
+  private final AbrStrategy strategy;
+  private final BandwidthMeter bandwidthMeter;
+  @Nullable private final Listener listener;
+  private final long[] bitratesBps;
+  private final int[] candidates;
+
+  private int selectedIndex;
+  private int selectionReason;
+
+  AbrTrackSelection(
+      @NonNull TrackGroup group,
+      @NonNull int[] tracks,
+      int type,
+      @NonNull AbrStrategy strategy,
+      @NonNull BandwidthMeter bandwidthMeter,
+      @Nullable Listener listener) {
+    super(group, tracks, type);
+    this.strategy = strategy;
+    this.bandwidthMeter = bandwidthMeter;
+    this.listener = listener;
+    this.bitratesBps = new long[length];
+    this.candidates = new int[length];
+    // Nothing is selected yet, so the first decision is not held back by the switch thresholds.
+    selectedIndex = C.INDEX_UNSET;
+    selectedIndex = select(/* bufferedMs= */ 0, SystemClock.elapsedRealtime()).index;
+    selectionReason = C.SELECTION_REASON_INITIAL;
+  }
+
+  @Override
+  public int getSelectedIndex() {
+    return selectedIndex;
+  }
+
+  @Override
+  public int getSelectionReason() {
+    return selectionReason;
+  }
+
+  @Nullable
+  @Override
+  public Object getSelectionData() {
+    return null;
+  }
+
+  @Override
+  public void updateSelectedTrack(
+      long playbackPositionUs,
+      long bufferedDurationUs,
+      long availableDurationUs,
+      @NonNull List<? extends MediaChunk> queue,
+      @NonNull MediaChunkIterator[] mediaChunkIterators) {
+    long bufferedMs = bufferedDurationUs / 1000;
+    int previousIndex = selectedIndex;
+    AbrStrategy.Decision decision = select(bufferedMs, SystemClock.elapsedRealtime());
+    if (decision.index == previousIndex) {
+      return;
+    }
+    selectedIndex = decision.index;
+    selectionReason = C.SELECTION_REASON_ADAPTIVE;
+    if (listener != null) {
+      listener.onSwitch(
+          getFormat(previousIndex), getFormat(selectedIndex), decision.reason, bufferedMs);
+    }
+  }
+
+  /**
+   * Returns the strategy's decision among the tracks that are not excluded, with its index mapped
+   * back to this selection.
+   */
+  private AbrStrategy.Decision select(long bufferedMs, long nowMs) {
+    int count = 0;
+    int current = -1;
+    for (int i = 0; i < length; i++) {
+      if (isTrackExcluded(i, nowMs)) {
+        continue;
+      }
+      if (i == selectedIndex) {
+        current = count;
+      }
+      candidates[count] = i;
+      // Tracks are sorted by decreasing bitrate, so the candidates are too.
+      bitratesBps[count] = Math.max(0, getFormat(i).bitrate);
+      count++;
+    }
+    if (count == 0) {
+      return new AbrStrategy.Decision(Math.max(0, selectedIndex), AbrController.REASON_HOLD);
+    }
+    long[] selectable = count == length ? bitratesBps : Arrays.copyOf(bitratesBps, count);
+    AbrStrategy.Decision decision =
+        strategy.select(selectable, current, bandwidthMeter.getBitrateEstimate(), bufferedMs);
+    boolean excluded = current < 0 && selectedIndex != C.INDEX_UNSET;
+    return new AbrStrategy.Decision(
+        candidates[decision.index], excluded ? REASON_TRACK_EXCLUDED : decision.reason);
+  }
+}
@@ -0,0 +1,155 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.HttpDataSource;
+import androidx.media3.exoplayer.upstream.DefaultLoadErrorHandlingPolicy;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Load error handling with exponential backoff, per-status-code retry rules and a configurable
+ * exclusion time.
+ *
+ * <p>HTTP errors whose status code is in {@link LoadErrorOptions#failFastStatusCodes}, or any
+ * other 4xx code that is not in {@link LoadErrorOptions#retryStatusCodes}, fail on the first
+ * attempt. Retried loads wait an exponentially growing, jittered delay, or the server's {@code
+ * Retry-After} if it asks for longer, up to {@link LoadErrorOptions#maxBackoffMs}. Errors that
+ * are not HTTP errors are classified like the default policy does.
+ *
+ * <p>Every load error is reported to the {@link Listener} on the loading thread, both the errors
+ * that are retried or fail the load and the errors for which the player falls back to another
+ * track or location.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class BackoffLoadErrorHandlingPolicy extends DefaultLoadErrorHandlingPolicy {
+  /** Receives every load error together with the decision taken for it. */
+  interface Listener {
+    /**
+     * Called on the loading thread.
+     *
+     * @param retryDelayMs delay before the next attempt, or {@link C#TIME_UNSET} if the load is
+     *     not retried.
+     * @param fallback the track or location the player excludes instead of retrying, or null.
+     */
+    void onLoadError(
+        @NonNull LoadErrorInfo loadErrorInfo,
+        long retryDelayMs,
+        @Nullable FallbackSelection fallback);
+  }
+
+  private final LoadErrorOptions options;
+  @Nullable private final Listener listener;
+  private final Random random;
+
+  BackoffLoadErrorHandlingPolicy(@NonNull LoadErrorOptions options, @Nullable Listener listener) {
+    this(options, listener, new Random());
+  }
+
+  @VisibleForTesting
+  BackoffLoadErrorHandlingPolicy(
+      @NonNull LoadErrorOptions options, @Nullable Listener listener, @NonNull Random random) {
+    this.options = options;
+    this.listener = listener;
+    this.random = random;
+  }
+
+  @Override
+  public long getRetryDelayMsFor(@NonNull LoadErrorInfo loadErrorInfo) {
+    long retryDelayMs = retryDelayMs(loadErrorInfo);
+    if (listener != null) {
+      listener.onLoadError(loadErrorInfo, retryDelayMs, null);
+    }
+    return retryDelayMs;
+  }
+
+  @Override
+  public int getMinimumLoadableRetryCount(int dataType) {
+    return options.maxRetries;
+  }
+
+  @Nullable
+  @Override
+  public FallbackSelection getFallbackSelectionFor(
+      @NonNull FallbackOptions fallbackOptions, @NonNull LoadErrorInfo loadErrorInfo) {
+    FallbackSelection selection = super.getFallbackSelectionFor(fallbackOptions, loadErrorInfo);
+    if (selection == null) {
+      // The player asks for a retry delay next, which reports the error.
+      return null;
+    }
+    if (options.exclusionMs != null) {
+      selection = new FallbackSelection(selection.type, options.exclusionMs);
+    }
+    // The load is not retried, so the retry delay is never asked for.
+    if (listener != null) {
+      listener.onLoadError(loadErrorInfo, C.TIME_UNSET, selection);
+    }
+    return selection;
+  }
+
+  private long retryDelayMs(LoadErrorInfo loadErrorInfo) {
+    int statusCode = statusCode(loadErrorInfo.exception);
+    if (statusCode == C.INDEX_UNSET) {
+      long defaultDelayMs = super.getRetryDelayMsFor(loadErrorInfo);
+      return defaultDelayMs == C.TIME_UNSET ? C.TIME_UNSET : backoffMs(loadErrorInfo.errorCount);
+    }
+    if (!isRetriable(statusCode)) {
+      return C.TIME_UNSET;
+    }
+    long delayMs = backoffMs(loadErrorInfo.errorCount);
+    long retryAfterMs =
+        retryAfterMs((HttpDataSource.InvalidResponseCodeException) loadErrorInfo.exception);
+    return Math.max(delayMs, Math.min(retryAfterMs, options.maxBackoffMs));
+  }
+
+  private boolean isRetriable(int statusCode) {
+    if (options.failFastStatusCodes.contains(statusCode)) {
+      return false;
+    }
+    boolean clientError = statusCode >= 400 && statusCode < 500;
+    return !clientError || options.retryStatusCodes.contains(statusCode);
+  }
+
+  /** Returns the jittered backoff before attempt {@code errorCount + 1}. */
+  @VisibleForTesting
+  long backoffMs(int errorCount) {
+    int doublings = Math.min(Math.max(errorCount - 1, 0), 30);
+    long delayMs = Math.min(options.maxBackoffMs, options.initialBackoffMs << doublings);
+    double factor = 1 + options.jitter * (2 * random.nextDouble() - 1);
+    return Math.max(0, Math.round(delayMs * factor));
+  }
+
+  /** Returns the HTTP status code of a load error, or {@link C#INDEX_UNSET} if it has none. */
+  static int statusCode(@NonNull Throwable exception) {
+    return exception instanceof HttpDataSource.InvalidResponseCodeException
+        ? ((HttpDataSource.InvalidResponseCodeException) exception).responseCode
+        : C.INDEX_UNSET;
+  }
+
+  private static long retryAfterMs(HttpDataSource.InvalidResponseCodeException exception) {
+    for (String name : exception.headerFields.keySet()) {
+      if (name == null || !name.equalsIgnoreCase("Retry-After")) {
+        continue;
+      }
+      List<String> values = exception.headerFields.get(name);
+      if (values == null || values.isEmpty()) {
+        return 0;
+      }
+      try {
+        // Only the delay-seconds form is supported; an HTTP date is ignored.
+        return Long.parseLong(values.get(0).trim()) * 1000;
+      } catch (NumberFormatException e) {
+        return 0;
+      }
+    }
+    return 0;
+  }
+}
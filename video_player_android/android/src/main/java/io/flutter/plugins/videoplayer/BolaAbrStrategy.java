@@ -0,0 +1,72 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Chooses the rendition from the buffer level, following BOLA (Spiteri et al., "BOLA: Near-Optimal
+ * Bitrate Adaptation for Online Videos").
+ *
+ * <p>Each rendition has the utility {@code ln(bitrate / lowest bitrate) + 1}. The strategy picks
+ * the rendition with the highest score {@code (V * (utility + gp) - buffer) / bitrate}, where
+ * {@code gp} and {@code V} are chosen so that the lowest rendition wins up to {@link
+ * AbrOptions#minBufferMs} of buffer and the highest from {@link AbrOptions#bufferTargetMs}. As in
+ * the dash.js implementation, a switch up to a rendition above what the throughput allows is
+ * lowered to that, or to the current rendition if it is higher, which keeps a full buffer from
+ * draining. Switches down are never capped.
+ */
+final class BolaAbrStrategy implements AbrStrategy {
+  private final double minBufferSeconds;
+  private final double bufferTargetSeconds;
+  private final double bandwidthFraction;
+
+  BolaAbrStrategy(long minBufferMs, long bufferTargetMs, double bandwidthFraction) {
+    this.minBufferSeconds = Math.max(1, minBufferMs) / 1000.0;
+    // The buffer target has to lie above the minimum buffer for the scores to be defined.
+    this.bufferTargetSeconds = Math.max(bufferTargetMs, minBufferMs + 1000) / 1000.0;
+    this.bandwidthFraction = bandwidthFraction;
+  }
+
+  @NonNull
+  @Override
+  public Decision select(
+      @NonNull long[] bitratesBps, int current, long throughputBps, long bufferedMs) {
+    int count = bitratesBps.length;
+    long lowestBps = Math.max(1, bitratesBps[count - 1]);
+    if (count == 1 || bitratesBps[0] <= lowestBps) {
+      return new Decision(0, REASON_BUFFER);
+    }
+
+    double highestUtility = utility(bitratesBps[0], lowestBps);
+    double gp = (highestUtility - 1) / (bufferTargetSeconds / minBufferSeconds - 1);
+    double v = minBufferSeconds / gp;
+    double bufferSeconds = bufferedMs / 1000.0;
+    int best = count - 1;
+    double bestScore = -Double.MAX_VALUE;
+    for (int i = 0; i < count; i++) {
+      double bitrateBps = Math.max(1, bitratesBps[i]);
+      double score = (v * (utility(bitrateBps, lowestBps) + gp) - bufferSeconds) / bitrateBps;
+      if (score > bestScore) {
+        bestScore = score;
+        best = i;
+      }
+    }
+
+    int throughputIndex =
+        ThroughputAbrStrategy.indexFor(bitratesBps, throughputBps, bandwidthFraction);
+    // Renditions are ordered highest first, so a lower index is a higher bitrate.
+    boolean switchingUp = current < 0 || best < current;
+    if (switchingUp && best < throughputIndex) {
+      int capped = current >= 0 ? Math.min(throughputIndex, current) : throughputIndex;
+      return new Decision(capped, REASON_THROUGHPUT_CAP);
+    }
+    return new Decision(best, REASON_BUFFER);
+  }
+
+  private static double utility(double bitrateBps, double lowestBps) {
+    return Math.log(bitrateBps / lowestBps) + 1;
+  }
+}
@@ -0,0 +1,36 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Set;
+
+/**
+ * Common Media Client Data (CTA-5004) configuration for a single {@link VideoPlayer}.
+ *
+ * <p>See {@link CmcdRequests} for how the data is attached to requests.
+ */
+final class CmcdOptions {
+  /** Session id sent as {@code sid}; the plugin generates one per player if the app sets none. */
+  @NonNull String sessionId;
+
+  /** Content id sent as {@code cid}, or null to use the media id of the item. */
+  @Nullable String contentId;
+
+  /** Whether to send the data as a {@code CMCD} query parameter instead of request headers. */
+  boolean useQueryParameter;
+
+  /** CMCD keys that may be sent, such as {@code bl} or {@code mtp}, or null to allow all keys. */
+  @Nullable Set<String> allowedKeys;
+
+  CmcdOptions(@NonNull String sessionId) {
+    this.sessionId = sessionId;
+  }
+
+  boolean isKeyAllowed(@NonNull String key) {
+    return allowedKeys == null || allowedKeys.contains(key);
+  }
+}
@@ -0,0 +1,191 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.ResolvingDataSource;
+import androidx.media3.exoplayer.upstream.CmcdConfiguration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Attaches Common Media Client Data (CTA-5004) to the requests of a {@link VideoPlayer}.
+ *
+ * <p>Segment requests of DASH, HLS and SmoothStreaming carry the full data set computed by Media3
+ * (buffer length, measured throughput, requested and top bitrate, object type, next-object hints
+ * and so on) through the {@link CmcdConfiguration} returned by {@link #configurationFactory}.
+ * Every other request, such as manifests, progressive media and sidecar subtitles, gets the session
+ * data and an object type from the data sources returned by {@link #wrap}.
+ *
+ * <p>Media3 only sends CMCD as request headers. In query mode {@link #wrap} moves those headers
+ * into a single {@code CMCD} query parameter, so it must wrap every data source the player uses.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class CmcdRequests {
+  static final String OBJECT_TYPE_MANIFEST = "m";
+  static final String OBJECT_TYPE_MUXED = "av";
+  static final String OBJECT_TYPE_CAPTION = "c";
+
+  private static final String HEADER_PREFIX = "cmcd-";
+  private static final String HEADER_OBJECT = "CMCD-Object";
+  private static final String HEADER_SESSION = "CMCD-Session";
+  private static final String QUERY_PARAMETER = "CMCD";
+
+  private CmcdRequests() {}
+
+  /** Returns the factory handing Media3 the CMCD configuration of {@code options}. */
+  @NonNull
+  static CmcdConfiguration.Factory configurationFactory(@NonNull CmcdOptions options) {
+    CmcdConfiguration.RequestConfig requestConfig =
+        new CmcdConfiguration.RequestConfig() {
+          @Override
+          public boolean isKeyAllowed(@NonNull String key) {
+            return options.isKeyAllowed(key);
+          }
+        };
+    return mediaItem ->
+        new CmcdConfiguration(
+            options.sessionId,
+            options.contentId != null ? options.contentId : mediaItem.mediaId,
+            requestConfig);
+  }
+
+  /**
+   * Wraps {@code upstream} so requests that Media3 did not annotate get the session data and
+   * {@code objectType}, and so all CMCD data is sent as a query parameter in query mode.
+   *
+   * @param objectType the {@code ot} value for requests without Media3 CMCD data, or null to send
+   *     none.
+   */
+  @NonNull
+  static DataSource.Factory wrap(
+      @NonNull DataSource.Factory upstream,
+      @NonNull CmcdOptions options,
+      @Nullable String objectType) {
+    return new ResolvingDataSource.Factory(
+        upstream, dataSpec -> resolve(dataSpec, options, objectType));
+  }
+
+  @VisibleForTesting
+  static DataSpec resolve(DataSpec dataSpec, CmcdOptions options, @Nullable String objectType) {
+    Map<String, String> headers = new HashMap<>(dataSpec.httpRequestHeaders);
+    boolean annotated = false;
+    for (String name : headers.keySet()) {
+      if (name.toLowerCase(Locale.US).startsWith(HEADER_PREFIX)) {
+        annotated = true;
+        break;
+      }
+    }
+    if (!annotated) {
+      Map<String, String> session = new TreeMap<>();
+      if (options.contentId != null) {
+        session.put("cid", quoted(options.contentId));
+      }
+      session.put("sid", quoted(options.sessionId));
+      putAllowed(headers, HEADER_SESSION, session, options);
+      if (objectType != null) {
+        Map<String, String> object = new TreeMap<>();
+        object.put("ot", objectType);
+        putAllowed(headers, HEADER_OBJECT, object, options);
+      }
+    }
+
+    if (!options.useQueryParameter) {
+      return headers.equals(dataSpec.httpRequestHeaders)
+          ? dataSpec
+          : dataSpec.buildUpon().setHttpRequestHeaders(headers).build();
+    }
+    // CTA-5004 query mode: all keys of all headers in one parameter, sorted alphabetically.
+    Map<String, String> pairs = new TreeMap<>();
+    Map<String, String> remaining = new HashMap<>();
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      if (header.getKey().toLowerCase(Locale.US).startsWith(HEADER_PREFIX)) {
+        for (String pair : splitPairs(header.getValue())) {
+          int equals = pair.indexOf('=');
+          pairs.put(
+              equals < 0 ? pair : pair.substring(0, equals),
+              equals < 0 ? null : pair.substring(equals + 1));
+        }
+      } else {
+        remaining.put(header.getKey(), header.getValue());
+      }
+    }
+    if (pairs.isEmpty()) {
+      return dataSpec.buildUpon().setHttpRequestHeaders(remaining).build();
+    }
+    StringBuilder value = new StringBuilder();
+    for (Map.Entry<String, String> pair : pairs.entrySet()) {
+      if (value.length() > 0) {
+        value.append(',');
+      }
+      value.append(pair.getKey());
+      if (pair.getValue() != null) {
+        value.append('=').append(pair.getValue());
+      }
+    }
+    Uri uri =
+        dataSpec.uri.buildUpon().appendQueryParameter(QUERY_PARAMETER, value.toString()).build();
+    return dataSpec.buildUpon().setUri(uri).setHttpRequestHeaders(remaining).build();
+  }
+
+  private static void putAllowed(
+      Map<String, String> headers, String name, Map<String, String> data, CmcdOptions options) {
+    StringBuilder value = new StringBuilder();
+    for (Map.Entry<String, String> entry : data.entrySet()) {
+      if (!options.isKeyAllowed(entry.getKey())) {
+        continue;
+      }
+      if (value.length() > 0) {
+        value.append(',');
+      }
+      value.append(entry.getKey()).append('=').append(entry.getValue());
+    }
+    if (value.length() > 0) {
+      headers.put(name, value.toString());
+    }
+  }
+
+  private static String quoted(String value) {
+    return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+
+  /** Splits a CMCD header value on the commas that are not inside quoted strings. */
+  private static List<String> splitPairs(String value) {
+    List<String> pairs = new ArrayList<>();
+    boolean inQuotes = false;
+    int start = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && inQuotes) {
+        i++;
+      } else if (c == '"') {
+        inQuotes = !inQuotes;
+      } else if (c == ',' && !inQuotes) {
+        addPair(pairs, value.substring(start, i));
+        start = i + 1;
+      }
+    }
+    addPair(pairs, value.substring(start));
+    return pairs;
+  }
+
+  private static void addPair(List<String> pairs, String pair) {
+    String trimmed = pair.trim();
+    if (!trimmed.isEmpty()) {
+      pairs.add(trimmed);
+    }
+  }
+}
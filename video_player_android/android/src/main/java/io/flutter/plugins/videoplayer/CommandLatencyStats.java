@@ -0,0 +1,63 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running latency statistics for host API calls, keyed by method name.
+ *
+ * <p>Only the time spent on the platform thread is measured; channel transport is not included.
+ * This is enough to compare a batch applied through {@code applyCommands} with the same operations
+ * issued one call at a time.
+ *
+ * <p>This class is not thread-safe. All calls must be made on the platform thread.
+ */
+final class CommandLatencyStats {
+  private static final class Entry {
+    long count;
+    long totalMicros;
+    long maxMicros;
+  }
+
+  private final Map<String, Entry> entries = new HashMap<>();
+
+  /**
+   * Records a call to {@code name} that started at {@code startNanos}, as returned by {@link
+   * System#nanoTime()}, and returns its duration in microseconds.
+   */
+  long record(@NonNull String name, long startNanos) {
+    long elapsedMicros = (System.nanoTime() - startNanos) / 1000;
+    Entry entry = entries.get(name);
+    if (entry == null) {
+      entry = new Entry();
+      entries.put(name, entry);
+    }
+    entry.count++;
+    entry.totalMicros += elapsedMicros;
+    entry.maxMicros = Math.max(entry.maxMicros, elapsedMicros);
+    return elapsedMicros;
+  }
+
+  /**
+   * Returns a map from method name to a map with {@code count}, {@code meanMicros} and {@code
+   * maxMicros}.
+   */
+  @NonNull
+  Map<String, Object> snapshot() {
+    Map<String, Object> result = new HashMap<>();
+    for (Map.Entry<String, Entry> e : entries.entrySet()) {
+      Entry entry = e.getValue();
+      Map<String, Object> values = new HashMap<>();
+      values.put("count", entry.count);
+      values.put("meanMicros", entry.totalMicros / entry.count);
+      values.put("maxMicros", entry.maxMicros);
+      result.put(e.getKey(), values);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,238 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.common.util.Util;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Finds the content type of media URIs that do not reveal it, shared by all players of the plugin.
+ *
+ * <p>Only http(s) URIs without a file extension are probed. The probe requests the first {@link
+ * #PROBE_LENGTH} bytes and decides on the {@code Content-Type} of the response, or on the bytes
+ * themselves when the server sends a generic type. The decision is remembered per URL pattern,
+ * the URI without its query and with every path segment that contains a digit replaced by a
+ * wildcard, so signed URLs of the same service are only probed once.
+ *
+ * <p>This class is thread-safe.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class ContentTypeResolver {
+  static final int DEFAULT_MAX_ENTRIES = 64;
+  static final int PROBE_LENGTH = 1024;
+
+  private static final String TAG = "ContentTypeResolver";
+
+  /** Receives the result of {@link #resolve}. */
+  interface Callback {
+    /** Called on the main thread with one of the {@code C.CONTENT_TYPE_*} constants. */
+    void onResolved(int contentType);
+  }
+
+  private final LinkedHashMap<String, Integer> decisions;
+  private final ExecutorService executor =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "ContentTypeResolver");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private final Handler handler = new Handler(Looper.getMainLooper());
+
+  ContentTypeResolver() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  @VisibleForTesting
+  ContentTypeResolver(int maxEntries) {
+    decisions =
+        new LinkedHashMap<String, Integer>(16, 0.75f, /* accessOrder= */ true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > maxEntries;
+          }
+        };
+  }
+
+  /** Returns whether the content type of {@code uri} can only be found by probing it. */
+  static boolean needsProbe(@NonNull Uri uri) {
+    String scheme = uri.getScheme();
+    if (scheme == null
+        || !(scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"))
+        || Util.inferContentType(uri) != C.CONTENT_TYPE_OTHER) {
+      return false;
+    }
+    String lastSegment = uri.getLastPathSegment();
+    return lastSegment == null || lastSegment.indexOf('.') < 0;
+  }
+
+  /** Returns the content type decided earlier for the pattern of {@code uri}, or null. */
+  @Nullable
+  synchronized Integer cachedType(@NonNull Uri uri) {
+    return decisions.get(pattern(uri));
+  }
+
+  synchronized void clear() {
+    decisions.clear();
+  }
+
+  /**
+   * Probes {@code uri} on a background thread through {@code dataSourceFactory} and reports the
+   * content type to {@code callback}. A failed probe reports {@link C#CONTENT_TYPE_OTHER}, so the
+   * progressive source surfaces the error, and is not remembered.
+   */
+  void resolve(
+      @NonNull Uri uri,
+      @NonNull DataSource.Factory dataSourceFactory,
+      @NonNull Callback callback) {
+    executor.execute(
+        () -> {
+          int contentType;
+          try {
+            contentType = probe(dataSourceFactory.createDataSource(), uri);
+            synchronized (this) {
+              decisions.put(pattern(uri), contentType);
+            }
+          } catch (IOException e) {
+            Log.w(TAG, "Probing " + uri + " failed", e);
+            contentType = C.CONTENT_TYPE_OTHER;
+          }
+          final int resolvedType = contentType;
+          handler.post(() -> callback.onResolved(resolvedType));
+        });
+  }
+
+  /** Requests the first bytes of {@code uri} and returns its content type. */
+  @VisibleForTesting
+  static int probe(@NonNull DataSource dataSource, @NonNull Uri uri) throws IOException {
+    byte[] head = new byte[PROBE_LENGTH];
+    int length = 0;
+    try {
+      dataSource.open(new DataSpec.Builder().setUri(uri).setLength(PROBE_LENGTH).build());
+      String contentType = header(dataSource.getResponseHeaders(), "Content-Type");
+      int type = typeForMimeType(contentType);
+      if (type != C.INDEX_UNSET) {
+        return type;
+      }
+      while (length < PROBE_LENGTH) {
+        int read = dataSource.read(head, length, PROBE_LENGTH - length);
+        if (read == C.RESULT_END_OF_INPUT) {
+          break;
+        }
+        length += read;
+      }
+    } finally {
+      DataSourceUtil.closeQuietly(dataSource);
+    }
+    return typeForContent(head, length);
+  }
+
+  /**
+   * Returns the content type announced by {@code mimeType}, or {@link C#INDEX_UNSET} if it is
+   * missing or too generic to tell.
+   */
+  @VisibleForTesting
+  static int typeForMimeType(@Nullable String mimeType) {
+    if (mimeType == null) {
+      return C.INDEX_UNSET;
+    }
+    String type = mimeType.split(";", 2)[0].trim().toLowerCase(Locale.US);
+    switch (type) {
+      case "application/vnd.apple.mpegurl":
+      case "application/x-mpegurl":
+      case "audio/mpegurl":
+      case "audio/x-mpegurl":
+        return C.CONTENT_TYPE_HLS;
+      case "application/dash+xml":
+        return C.CONTENT_TYPE_DASH;
+      case "application/vnd.ms-sstr+xml":
+        return C.CONTENT_TYPE_SS;
+      default:
+        return type.startsWith("video/") || type.startsWith("audio/")
+            ? C.CONTENT_TYPE_OTHER
+            : C.INDEX_UNSET;
+    }
+  }
+
+  /** Returns the content type of a response starting with {@code head}. */
+  @VisibleForTesting
+  static int typeForContent(@NonNull byte[] head, int length) {
+    String text = new String(head, 0, length, StandardCharsets.ISO_8859_1);
+    // A UTF-8 byte order mark, as decoded by ISO-8859-1.
+    if (text.startsWith("\u00EF\u00BB\u00BF")) {
+      text = text.substring(3);
+    }
+    text = text.trim();
+    if (text.startsWith("#EXTM3U")) {
+      return C.CONTENT_TYPE_HLS;
+    }
+    if (text.startsWith("<")) {
+      if (text.contains("<MPD")) {
+        return C.CONTENT_TYPE_DASH;
+      }
+      if (text.contains("<SmoothStreamingMedia")) {
+        return C.CONTENT_TYPE_SS;
+      }
+    }
+    return C.CONTENT_TYPE_OTHER;
+  }
+
+  /** Returns the pattern decisions for {@code uri} are remembered under. */
+  @VisibleForTesting
+  static String pattern(@NonNull Uri uri) {
+    StringBuilder pattern = new StringBuilder();
+    pattern.append(uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.US));
+    pattern.append("://");
+    pattern.append(uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.US));
+    if (uri.getPort() != -1) {
+      pattern.append(':').append(uri.getPort());
+    }
+    for (String segment : uri.getPathSegments()) {
+      pattern.append('/').append(containsDigit(segment) ? "*" : segment);
+    }
+    return pattern.toString();
+  }
+
+  private static boolean containsDigit(String segment) {
+    for (int i = 0; i < segment.length(); i++) {
+      if (Character.isDigit(segment.charAt(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Nullable
+  private static String header(Map<String, List<String>> headers, String name) {
+    for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+      if (name.equalsIgnoreCase(entry.getKey())
+          && entry.getValue() != null
+          && !entry.getValue().isEmpty()) {
+        return entry.getValue().get(0);
+      }
+    }
+    return null;
+  }
+}
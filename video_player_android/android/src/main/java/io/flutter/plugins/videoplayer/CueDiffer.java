@@ -0,0 +1,85 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.media3.common.text.Cue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the full cue lists reported by the player into {@code cues} events that only describe
+ * what changed.
+ *
+ * <p>Every distinct cue on screen gets an id that stays stable for as long as the cue is shown.
+ * An event lists the cues that appeared, with their text, layout and start time, and the ids of
+ * the cues that disappeared. The time of the event is the end time of the removed cues. Updates
+ * that leave the visible set unchanged, such as repeated identical cue lists or a run of empty
+ * ones, produce no event.
+ */
+final class CueDiffer {
+  private Map<Cue, Long> active = new HashMap<>();
+  private long nextId;
+
+  /**
+   * Returns the event describing the change from the previously visible cues to {@code cues}, or
+   * null if nothing changed.
+   */
+  @Nullable
+  Map<String, Object> update(@NonNull List<Cue> cues, long timeMs) {
+    Map<Cue, Long> visible = new LinkedHashMap<>();
+    List<Map<String, Object>> added = new ArrayList<>();
+    for (Cue cue : cues) {
+      if (visible.containsKey(cue)) {
+        continue;
+      }
+      Long id = active.get(cue);
+      if (id == null) {
+        id = nextId++;
+        added.add(toMap(id, cue, timeMs));
+      }
+      visible.put(cue, id);
+    }
+    List<Long> removed = new ArrayList<>();
+    for (Map.Entry<Cue, Long> entry : active.entrySet()) {
+      if (!visible.containsKey(entry.getKey())) {
+        removed.add(entry.getValue());
+      }
+    }
+    active = visible;
+    if (added.isEmpty() && removed.isEmpty()) {
+      return null;
+    }
+
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "cues");
+    event.put("time", timeMs);
+    event.put("added", added);
+    event.put("removed", removed);
+    return event;
+  }
+
+  private static Map<String, Object> toMap(long id, Cue cue, long startMs) {
+    Map<String, Object> map = new HashMap<>();
+    map.put("id", id);
+    map.put("text", cue.text != null ? cue.text.toString() : null);
+    map.put("start", startMs);
+    if (cue.line != Cue.DIMEN_UNSET) {
+      map.put("line", (double) cue.line);
+      map.put("lineType", cue.lineType == Cue.LINE_TYPE_NUMBER ? "number" : "fraction");
+    }
+    if (cue.position != Cue.DIMEN_UNSET) {
+      map.put("position", (double) cue.position);
+    }
+    if (cue.size != Cue.DIMEN_UNSET) {
+      map.put("size", (double) cue.size);
+    }
+    return map;
+  }
+}
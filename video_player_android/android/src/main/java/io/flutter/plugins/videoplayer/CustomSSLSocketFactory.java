@@ -4,26 +4,128 @@
 
 package io.flutter.plugins.videoplayer;
 
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.Build;
+import android.os.Bundle;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import java.io.IOException;
+import java.lang.reflect.Method;
 import java.net.InetAddress;
 import java.net.Socket;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.net.ssl.HttpsURLConnection;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSessionContext;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
 
+/**
+ * Creates TLS sockets from one shared {@link SSLContext} whose client session cache lets later
+ * connections to a host resume an earlier session instead of doing a full handshake.
+ *
+ * <p>Sessions are resumed from the cache by session ID, or by session ticket where the platform
+ * supports them, which saves a round trip and the key exchange on each new connection to a CDN
+ * host. Completed handshakes are counted as resumed when their session was created before the
+ * socket, and as full otherwise. Below API level 21, TLSv1.1 and TLSv1.2 are also enabled, which
+ * the platform leaves off there.
+ *
+ * <p>The default socket factory applies to every HTTPS connection of the application, so from API
+ * level 21 on the plugin only installs the shared factory when the application enables it with the
+ * {@value #META_DATA_KEY} meta-data. Below, it is always installed, as before.
+ */
 // SSLSocketFactory does not have nullability annotations.
 @SuppressWarnings("UnknownNullness")
 public class CustomSSLSocketFactory extends SSLSocketFactory {
+  static final String META_DATA_KEY = "io.flutter.plugins.videoplayer.TLS_SESSION_CACHE";
+  static final int DEFAULT_SESSION_CACHE_SIZE = 128;
+  static final int DEFAULT_SESSION_TIMEOUT_SECONDS = 12 * 60 * 60;
+
+  @Nullable private static CustomSSLSocketFactory installed;
+
+  private final SSLContext context;
   private final SSLSocketFactory sslSocketFactory;
+  private final boolean enableLegacyProtocols;
+  private final AtomicLong fullHandshakes = new AtomicLong();
+  private final AtomicLong resumedHandshakes = new AtomicLong();
 
   public CustomSSLSocketFactory() throws KeyManagementException, NoSuchAlgorithmException {
-    SSLContext context = SSLContext.getInstance("TLS");
+    this(
+        Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP,
+        DEFAULT_SESSION_CACHE_SIZE,
+        DEFAULT_SESSION_TIMEOUT_SECONDS);
+  }
+
+  @VisibleForTesting
+  CustomSSLSocketFactory(
+      boolean enableLegacyProtocols, int sessionCacheSize, int sessionTimeoutSeconds)
+      throws KeyManagementException, NoSuchAlgorithmException {
+    this.enableLegacyProtocols = enableLegacyProtocols;
+    context = SSLContext.getInstance("TLS");
     context.init(null, null, null);
+    SSLSessionContext sessionContext = context.getClientSessionContext();
+    if (sessionContext != null) {
+      sessionContext.setSessionCacheSize(sessionCacheSize);
+      sessionContext.setSessionTimeout(sessionTimeoutSeconds);
+    }
     sslSocketFactory = context.getSocketFactory();
   }
 
+  /** Returns whether the plugin installs the shared factory on this device. */
+  static boolean shouldInstall(@NonNull Context context) {
+    Bundle metaData = null;
+    try {
+      metaData =
+          context
+              .getPackageManager()
+              .getApplicationInfo(context.getPackageName(), PackageManager.GET_META_DATA)
+              .metaData;
+    } catch (PackageManager.NameNotFoundException e) {
+      // Installed only where the platform needs it.
+    }
+    return shouldInstall(Build.VERSION.SDK_INT, metaData);
+  }
+
+  @VisibleForTesting
+  static boolean shouldInstall(int sdkInt, @Nullable Bundle metaData) {
+    return sdkInt < Build.VERSION_CODES.LOLLIPOP
+        || (metaData != null && metaData.getBoolean(META_DATA_KEY, false));
+  }
+
+  /**
+   * Makes the shared instance the default socket factory of {@link HttpsURLConnection}, which the
+   * players load through, and returns it. Later calls return the same instance.
+   */
+  static synchronized CustomSSLSocketFactory install()
+      throws KeyManagementException, NoSuchAlgorithmException {
+    if (installed == null) {
+      installed = new CustomSSLSocketFactory();
+      HttpsURLConnection.setDefaultSSLSocketFactory(installed);
+    }
+    return installed;
+  }
+
+  /** Returns the client session cache of the shared context. */
+  @Nullable
+  SSLSessionContext getSessionContext() {
+    return context.getClientSessionContext();
+  }
+
+  /** Returns the number of completed handshakes that established a new session. */
+  long getFullHandshakes() {
+    return fullHandshakes.get();
+  }
+
+  /** Returns the number of completed handshakes that resumed a cached session. */
+  long getResumedHandshakes() {
+    return resumedHandshakes.get();
+  }
+
   @Override
   public String[] getDefaultCipherSuites() {
     return sslSocketFactory.getDefaultCipherSuites();
@@ -36,41 +138,73 @@ public class CustomSSLSocketFactory extends SSLSocketFactory {
 
   @Override
   public Socket createSocket() throws IOException {
-    return enableProtocols(sslSocketFactory.createSocket());
+    return configure(sslSocketFactory.createSocket());
   }
 
   @Override
   public Socket createSocket(Socket s, String host, int port, boolean autoClose)
       throws IOException {
-    return enableProtocols(sslSocketFactory.createSocket(s, host, port, autoClose));
+    return configure(sslSocketFactory.createSocket(s, host, port, autoClose));
   }
 
   @Override
   public Socket createSocket(String host, int port) throws IOException {
-    return enableProtocols(sslSocketFactory.createSocket(host, port));
+    return configure(sslSocketFactory.createSocket(host, port));
   }
 
   @Override
   public Socket createSocket(String host, int port, InetAddress localHost, int localPort)
       throws IOException {
-    return enableProtocols(sslSocketFactory.createSocket(host, port, localHost, localPort));
+    return configure(sslSocketFactory.createSocket(host, port, localHost, localPort));
   }
 
   @Override
   public Socket createSocket(InetAddress host, int port) throws IOException {
-    return enableProtocols(sslSocketFactory.createSocket(host, port));
+    return configure(sslSocketFactory.createSocket(host, port));
   }
 
   @Override
   public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort)
       throws IOException {
-    return enableProtocols(sslSocketFactory.createSocket(address, port, localAddress, localPort));
+    return configure(sslSocketFactory.createSocket(address, port, localAddress, localPort));
+  }
+
+  private Socket configure(Socket socket) {
+    if (!(socket instanceof SSLSocket)) {
+      return socket;
+    }
+    SSLSocket sslSocket = (SSLSocket) socket;
+    if (enableLegacyProtocols) {
+      sslSocket.setEnabledProtocols(new String[] {"TLSv1.1", "TLSv1.2"});
+    }
+    enableSessionTickets(sslSocket);
+    long createdAtMs = System.currentTimeMillis();
+    sslSocket.addHandshakeCompletedListener(
+        event -> {
+          SSLSession session = event.getSession();
+          if (session != null && session.getCreationTime() < createdAtMs) {
+            resumedHandshakes.incrementAndGet();
+          } else {
+            fullHandshakes.incrementAndGet();
+          }
+        });
+    return sslSocket;
   }
 
-  private Socket enableProtocols(Socket socket) {
-    if (socket instanceof SSLSocket) {
-      ((SSLSocket) socket).setEnabledProtocols(new String[] {"TLSv1.1", "TLSv1.2"});
+  private static void enableSessionTickets(SSLSocket socket) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+      if (android.net.ssl.SSLSockets.isSupportedSocket(socket)) {
+        android.net.ssl.SSLSockets.setUseSessionTickets(socket, true);
+      }
+      return;
+    }
+    // Earlier platform sockets have the same method without a public API to reach it.
+    try {
+      Method setUseSessionTickets =
+          socket.getClass().getMethod("setUseSessionTickets", boolean.class);
+      setUseSessionTickets.invoke(socket, true);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // Sessions are still resumed by session ID.
     }
-    return socket;
   }
 }
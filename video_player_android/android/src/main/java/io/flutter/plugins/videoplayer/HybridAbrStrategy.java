@@ -0,0 +1,53 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Chooses from the throughput while the buffer fills, and from the buffer level once it holds
+ * {@link AbrOptions#minBufferMs} and BOLA chooses at least the rendition the throughput allows.
+ *
+ * <p>With a small buffer BOLA stays on the lowest rendition, which makes for a poor start on a fast
+ * network. The throughput estimate is used until the buffer has filled, and again when the buffer
+ * drains to half of {@link AbrOptions#minBufferMs}, for example after a seek. The hand-over waits
+ * for BOLA to catch up, so that it does not switch down right after the ramp-up. Decisions from the
+ * throughput have the reason {@link #REASON_STARTUP}, which the {@link AbrController} does not
+ * hold.
+ */
+final class HybridAbrStrategy implements AbrStrategy {
+  private final ThroughputAbrStrategy throughput;
+  private final BolaAbrStrategy bola;
+  private final long minBufferMs;
+  private boolean bufferBased;
+
+  HybridAbrStrategy(long minBufferMs, long bufferTargetMs, double bandwidthFraction) {
+    this.throughput = new ThroughputAbrStrategy(bandwidthFraction);
+    this.bola = new BolaAbrStrategy(minBufferMs, bufferTargetMs, bandwidthFraction);
+    this.minBufferMs = minBufferMs;
+  }
+
+  @NonNull
+  @Override
+  public Decision select(
+      @NonNull long[] bitratesBps, int current, long throughputBps, long bufferedMs) {
+    if (bufferBased && bufferedMs < minBufferMs / 2) {
+      bufferBased = false;
+    }
+    if (bufferBased) {
+      return bola.select(bitratesBps, current, throughputBps, bufferedMs);
+    }
+    Decision byThroughput = throughput.select(bitratesBps, current, throughputBps, bufferedMs);
+    if (bufferedMs >= minBufferMs) {
+      Decision byBuffer = bola.select(bitratesBps, current, throughputBps, bufferedMs);
+      // Renditions are ordered highest first, so a lower index is a higher bitrate.
+      if (byBuffer.index <= byThroughput.index) {
+        bufferBased = true;
+        return byBuffer;
+      }
+    }
+    return new Decision(byThroughput.index, REASON_STARTUP);
+  }
+}
@@ -0,0 +1,179 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.extractor.ChunkIndex;
+import androidx.media3.extractor.SeekMap;
+import androidx.media3.extractor.SeekPoint;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Times and byte positions of the keyframes of one progressive media file.
+ *
+ * <p>Each position is one an extractor can resume reading from to reach the keyframe at the same
+ * index, so a seek to it is a single byte-range request. Instances are immutable.
+ *
+ * <p>An index also records the length and the {@code ETag} of the file it was built from, so an
+ * index stored for a file that has changed since is not used for seeking.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class KeyframeIndex {
+  private static final int FORMAT_VERSION = 2;
+  /** Upper bound on the keyframes read from an extractor's seek map or from disk. */
+  static final int MAX_KEYFRAMES = 20_000;
+
+  final long durationUs;
+  final long[] timesUs;
+  final long[] positions;
+  /** Length of the indexed file, or {@link C#LENGTH_UNSET} if unknown. */
+  final long contentLength;
+  /** {@code ETag} of the indexed file, or null if unknown. */
+  @Nullable final String etag;
+
+  KeyframeIndex(long durationUs, @NonNull long[] timesUs, @NonNull long[] positions) {
+    this(durationUs, timesUs, positions, C.LENGTH_UNSET, null);
+  }
+
+  KeyframeIndex(
+      long durationUs,
+      @NonNull long[] timesUs,
+      @NonNull long[] positions,
+      long contentLength,
+      @Nullable String etag) {
+    this.durationUs = durationUs;
+    this.timesUs = timesUs;
+    this.positions = positions;
+    this.contentLength = contentLength;
+    this.etag = etag;
+  }
+
+  /** Returns a copy of this index for the file of the given length and {@code ETag}. */
+  @NonNull
+  KeyframeIndex withValidators(long contentLength, @Nullable String etag) {
+    return new KeyframeIndex(durationUs, timesUs, positions, contentLength, etag);
+  }
+
+  /**
+   * Returns whether this index was built from the file of the given length and {@code ETag}. The
+   * length must be known and equal. The {@code ETag}s must be equal if both are known.
+   */
+  boolean matches(long contentLength, @Nullable String etag) {
+    if (this.contentLength == C.LENGTH_UNSET || this.contentLength != contentLength) {
+      return false;
+    }
+    return this.etag == null || etag == null || this.etag.equals(etag);
+  }
+
+  /** Builds an index from keyframe positions keyed by time. */
+  @NonNull
+  static KeyframeIndex fromPositions(
+      long durationUs, @NonNull TreeMap<Long, Long> positionsByTimeUs) {
+    long[] timesUs = new long[positionsByTimeUs.size()];
+    long[] positions = new long[timesUs.length];
+    int i = 0;
+    for (Map.Entry<Long, Long> entry : positionsByTimeUs.entrySet()) {
+      timesUs[i] = entry.getKey();
+      positions[i] = entry.getValue();
+      i++;
+    }
+    return new KeyframeIndex(durationUs, timesUs, positions);
+  }
+
+  /**
+   * Reads the keyframes of a seekable {@code seekMap}, such as the one an MP4 extractor builds
+   * from its {@code stss} and {@code stco} boxes or a Matroska extractor builds from its cues.
+   */
+  @NonNull
+  static KeyframeIndex fromSeekMap(@NonNull SeekMap seekMap) {
+    TreeMap<Long, Long> positionsByTimeUs = new TreeMap<>();
+    SeekPoint keyframe = seekMap.getSeekPoints(0).first;
+    while (positionsByTimeUs.size() < MAX_KEYFRAMES) {
+      positionsByTimeUs.put(keyframe.timeUs, keyframe.position);
+      // Seek maps only return the following keyframe for a time between two keyframes.
+      SeekPoint next = seekMap.getSeekPoints(keyframe.timeUs + 1).second;
+      if (next.timeUs <= keyframe.timeUs) {
+        break;
+      }
+      keyframe = next;
+    }
+    return fromPositions(seekMap.getDurationUs(), positionsByTimeUs);
+  }
+
+  int size() {
+    return timesUs.length;
+  }
+
+  /** Returns a copy of this index with {@code positionsByTimeUs} added. */
+  @NonNull
+  KeyframeIndex merge(long durationUs, @NonNull TreeMap<Long, Long> positionsByTimeUs) {
+    TreeMap<Long, Long> merged = new TreeMap<>(positionsByTimeUs);
+    for (int i = 0; i < timesUs.length; i++) {
+      merged.put(timesUs[i], positions[i]);
+    }
+    return fromPositions(durationUs != C.TIME_UNSET ? durationUs : this.durationUs, merged)
+        .withValidators(contentLength, etag);
+  }
+
+  /** Returns a seek map that seeks straight to the indexed keyframes. */
+  @NonNull
+  SeekMap toSeekMap(long durationUs) {
+    int count = timesUs.length;
+    int[] sizes = new int[count];
+    long[] durationsUs = new long[count];
+    long endUs = durationUs != C.TIME_UNSET ? durationUs : this.durationUs;
+    for (int i = 0; i < count; i++) {
+      boolean last = i == count - 1;
+      sizes[i] = last ? 0 : (int) Math.min(Integer.MAX_VALUE, positions[i + 1] - positions[i]);
+      long nextUs = last ? endUs : timesUs[i + 1];
+      durationsUs[i] = nextUs == C.TIME_UNSET ? 0 : Math.max(0, nextUs - timesUs[i]);
+    }
+    return new ChunkIndex(sizes, positions, durationsUs, timesUs);
+  }
+
+  void write(@NonNull DataOutputStream output) throws IOException {
+    output.writeInt(FORMAT_VERSION);
+    output.writeLong(durationUs);
+    output.writeLong(contentLength);
+    output.writeBoolean(etag != null);
+    if (etag != null) {
+      output.writeUTF(etag);
+    }
+    output.writeInt(timesUs.length);
+    for (int i = 0; i < timesUs.length; i++) {
+      output.writeLong(timesUs[i]);
+      output.writeLong(positions[i]);
+    }
+  }
+
+  @NonNull
+  static KeyframeIndex read(@NonNull DataInputStream input) throws IOException {
+    if (input.readInt() != FORMAT_VERSION) {
+      throw new IOException("Unsupported keyframe index version");
+    }
+    long durationUs = input.readLong();
+    long contentLength = input.readLong();
+    String etag = input.readBoolean() ? input.readUTF() : null;
+    int count = input.readInt();
+    if (count < 0 || count > MAX_KEYFRAMES) {
+      throw new IOException("Invalid keyframe count: " + count);
+    }
+    long[] timesUs = new long[count];
+    long[] positions = new long[count];
+    for (int i = 0; i < count; i++) {
+      timesUs[i] = input.readLong();
+      positions[i] = input.readLong();
+    }
+    return new KeyframeIndex(durationUs, timesUs, positions, contentLength, etag);
+  }
+}
@@ -0,0 +1,438 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.DataReader;
+import androidx.media3.common.Format;
+import androidx.media3.common.util.ParsableByteArray;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.extractor.DefaultExtractorsFactory;
+import androidx.media3.extractor.Extractor;
+import androidx.media3.extractor.ExtractorInput;
+import androidx.media3.extractor.ExtractorOutput;
+import androidx.media3.extractor.PositionHolder;
+import androidx.media3.extractor.SeekMap;
+import androidx.media3.extractor.TrackOutput;
+import androidx.media3.extractor.mkv.MatroskaExtractor;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Keyframe indexes of progressive media, shared by all players of the plugin and persisted in the
+ * app's cache directory.
+ *
+ * <p>{@link IndexingExtractorsFactory} records the keyframes of every file it extracts. When the
+ * extractor has a seek map, as MP4 files have from their sample tables and Matroska files from
+ * their cues, the index is read from it. Matroska files without cues are indexed while they play,
+ * at the cluster that holds each keyframe. When such a file is opened again, its stored index
+ * replaces the unseekable seek map, so seeks become direct byte-range requests instead of
+ * sequential reads. Stored indexes record the length and {@code ETag} of their file, and are only
+ * used while the file still has them.
+ *
+ * <p>This class is thread-safe. Indexes are read and written on the loader threads of players.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class KeyframeIndexStore {
+  static final int DEFAULT_MAX_MEMORY_ENTRIES = 16;
+  static final int DEFAULT_MAX_FILES = 128;
+
+  private static final String TAG = "KeyframeIndexStore";
+  private static final int MATROSKA_CLUSTER_ID = 0x1F43B675;
+
+  /** Receives the index of the file a player extracts. */
+  interface Listener {
+    /** Called on the loading thread. */
+    void onKeyframeIndex(@NonNull KeyframeIndex index);
+  }
+
+  private final File directory;
+  private final int maxFiles;
+  private final LinkedHashMap<String, KeyframeIndex> entries;
+
+  KeyframeIndexStore(@NonNull File directory) {
+    this(directory, DEFAULT_MAX_MEMORY_ENTRIES, DEFAULT_MAX_FILES);
+  }
+
+  @VisibleForTesting
+  KeyframeIndexStore(@NonNull File directory, int maxMemoryEntries, int maxFiles) {
+    this.directory = directory;
+    this.maxFiles = maxFiles;
+    this.entries =
+        new LinkedHashMap<String, KeyframeIndex>(16, 0.75f, /* accessOrder= */ true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, KeyframeIndex> eldest) {
+            return size() > maxMemoryEntries;
+          }
+        };
+  }
+
+  /**
+   * Returns the key indexes of {@code uri} are stored under. The query is kept, since it may be
+   * what identifies the file.
+   */
+  @NonNull
+  static String key(@NonNull Uri uri) {
+    String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.US);
+    String authority = uri.getAuthority() == null ? "" : uri.getAuthority().toLowerCase(Locale.US);
+    String path = uri.getPath() == null ? "" : uri.getPath();
+    String query = uri.getEncodedQuery();
+    return scheme + "://" + authority + path + (query == null ? "" : "?" + query);
+  }
+
+  /**
+   * Returns the length of the whole file from the response headers of a request for it, or {@link
+   * C#LENGTH_UNSET} if they do not say.
+   */
+  @VisibleForTesting
+  static long contentLength(@NonNull Map<String, List<String>> responseHeaders) {
+    String contentRange = header(responseHeaders, "Content-Range");
+    if (contentRange != null) {
+      int slash = contentRange.lastIndexOf('/');
+      try {
+        return slash == -1 ? C.LENGTH_UNSET : Long.parseLong(contentRange.substring(slash + 1));
+      } catch (NumberFormatException e) {
+        // The total length is "*" when unknown.
+        return C.LENGTH_UNSET;
+      }
+    }
+    String contentLength = header(responseHeaders, "Content-Length");
+    if (contentLength != null) {
+      try {
+        return Long.parseLong(contentLength);
+      } catch (NumberFormatException e) {
+        return C.LENGTH_UNSET;
+      }
+    }
+    return C.LENGTH_UNSET;
+  }
+
+  @Nullable
+  private static String header(Map<String, List<String>> responseHeaders, String name) {
+    for (Map.Entry<String, List<String>> header : responseHeaders.entrySet()) {
+      if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+        return header.getValue().get(0).trim();
+      }
+    }
+    return null;
+  }
+
+  /** Returns the stored index for {@code key}, or null if there is none. */
+  @Nullable
+  synchronized KeyframeIndex get(@NonNull String key) {
+    KeyframeIndex index = entries.get(key);
+    if (index != null) {
+      return index;
+    }
+    File file = fileFor(key);
+    if (!file.exists()) {
+      return null;
+    }
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      index = KeyframeIndex.read(input);
+      entries.put(key, index);
+      return index;
+    } catch (IOException e) {
+      Log.w(TAG, "Dropping unreadable keyframe index " + file, e);
+      file.delete();
+      return null;
+    }
+  }
+
+  synchronized void put(@NonNull String key, @NonNull KeyframeIndex index) {
+    entries.put(key, index);
+    if (!directory.exists() && !directory.mkdirs()) {
+      return;
+    }
+    File file = fileFor(key);
+    try (DataOutputStream output =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      index.write(output);
+    } catch (IOException e) {
+      Log.w(TAG, "Failed to write keyframe index " + file, e);
+      file.delete();
+      return;
+    }
+    trimFiles();
+  }
+
+  /** Clears the in-memory entries. Indexes on disk stay valid across engines. */
+  synchronized void clear() {
+    entries.clear();
+  }
+
+  private File fileFor(String key) {
+    UUID name = UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8));
+    return new File(directory, name + ".idx");
+  }
+
+  private void trimFiles() {
+    File[] files = directory.listFiles();
+    if (files == null || files.length <= maxFiles) {
+      return;
+    }
+    Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+    for (int i = 0; i < files.length - maxFiles; i++) {
+      files[i].delete();
+    }
+  }
+
+  /** Creates extractors that index the keyframes of the file at {@code uri}. */
+  static final class IndexingExtractorsFactory
+      implements androidx.media3.extractor.ExtractorsFactory {
+    private final KeyframeIndexStore store;
+    private final Uri uri;
+    private final String key;
+    @Nullable private final Listener listener;
+    private final DefaultExtractorsFactory delegate = new DefaultExtractorsFactory();
+
+    IndexingExtractorsFactory(
+        @NonNull KeyframeIndexStore store, @NonNull Uri uri, @Nullable Listener listener) {
+      this.store = store;
+      this.uri = uri;
+      this.key = key(uri);
+      this.listener = listener;
+    }
+
+    @NonNull
+    @Override
+    public Extractor[] createExtractors() {
+      return createExtractors(uri, Collections.emptyMap());
+    }
+
+    @NonNull
+    @Override
+    public Extractor[] createExtractors(
+        @NonNull Uri uri, @NonNull Map<String, List<String>> responseHeaders) {
+      Extractor[] extractors = delegate.createExtractors(uri, responseHeaders);
+      long contentLength;
+      String etag;
+      String path = uri.getPath();
+      if ((uri.getScheme() == null || "file".equals(uri.getScheme())) && path != null) {
+        // Local files are identified by their length and modification time.
+        File file = new File(path);
+        contentLength = file.exists() ? file.length() : C.LENGTH_UNSET;
+        etag = file.exists() ? "mtime:" + file.lastModified() : null;
+      } else {
+        contentLength = contentLength(responseHeaders);
+        etag = header(responseHeaders, "ETag");
+      }
+      Extractor[] wrapped = new Extractor[extractors.length];
+      for (int i = 0; i < extractors.length; i++) {
+        wrapped[i] = new IndexingExtractor(this, extractors[i], contentLength, etag);
+      }
+      return wrapped;
+    }
+  }
+
+  /**
+   * Reports the index read from a seekable seek map, or substitutes the stored one for an
+   * unseekable seek map and learns keyframe positions of Matroska files during playback.
+   */
+  private static final class IndexingExtractor implements Extractor {
+    private final IndexingExtractorsFactory factory;
+    private final Extractor extractor;
+    private final long contentLength;
+    @Nullable private final String etag;
+    private final boolean learnsClusters;
+    private final TreeMap<Long, Long> learned = new TreeMap<>();
+    private final byte[] peekBuffer = new byte[4];
+    private long durationUs = C.TIME_UNSET;
+    private boolean learning;
+    private long clusterPosition = C.POSITION_UNSET;
+
+    IndexingExtractor(
+        IndexingExtractorsFactory factory,
+        Extractor extractor,
+        long contentLength,
+        @Nullable String etag) {
+      this.factory = factory;
+      this.extractor = extractor;
+      this.contentLength = contentLength;
+      this.etag = etag;
+      this.learnsClusters = extractor instanceof MatroskaExtractor;
+    }
+
+    @Override
+    public boolean sniff(@NonNull ExtractorInput input) throws IOException {
+      return extractor.sniff(input);
+    }
+
+    @Override
+    public void init(@NonNull ExtractorOutput output) {
+      extractor.init(new IndexingOutput(output));
+    }
+
+    @Override
+    public int read(@NonNull ExtractorInput input, @NonNull PositionHolder seekPosition)
+        throws IOException {
+      if (learnsClusters) {
+        // The Matroska extractor returns after each sample, so a cluster starts at a read boundary.
+        try {
+          if (input.peekFully(peekBuffer, 0, 4, /* allowEndOfInput= */ true)
+              && readInt(peekBuffer) == MATROSKA_CLUSTER_ID) {
+            clusterPosition = input.getPosition();
+          }
+        } catch (EOFException e) {
+          // The extractor reports the end of the input itself.
+        } finally {
+          input.resetPeekPosition();
+        }
+      }
+      return extractor.read(input, seekPosition);
+    }
+
+    @Override
+    public void seek(long position, long timeUs) {
+      clusterPosition = C.POSITION_UNSET;
+      extractor.seek(position, timeUs);
+    }
+
+    @Override
+    public void release() {
+      if (learning && !learned.isEmpty()) {
+        KeyframeIndex stored = storedIndex();
+        KeyframeIndex index =
+            stored != null
+                ? stored.merge(durationUs, learned)
+                : KeyframeIndex.fromPositions(durationUs, learned)
+                    .withValidators(contentLength, etag);
+        factory.store.put(factory.key, index);
+        if (factory.listener != null) {
+          factory.listener.onKeyframeIndex(index);
+        }
+      }
+      extractor.release();
+    }
+
+    /** Returns the stored index of the file, or null if there is none or the file changed. */
+    @Nullable
+    private KeyframeIndex storedIndex() {
+      KeyframeIndex stored = factory.store.get(factory.key);
+      return stored != null && stored.matches(contentLength, etag) ? stored : null;
+    }
+
+    private void onKeyframe(long timeUs) {
+      if (learning
+          && clusterPosition != C.POSITION_UNSET
+          && learned.size() < KeyframeIndex.MAX_KEYFRAMES) {
+        learned.put(timeUs, clusterPosition);
+      }
+    }
+
+    private static int readInt(byte[] bytes) {
+      return (bytes[0] & 0xFF) << 24
+          | (bytes[1] & 0xFF) << 16
+          | (bytes[2] & 0xFF) << 8
+          | (bytes[3] & 0xFF);
+    }
+
+    private final class IndexingOutput implements ExtractorOutput {
+      private final ExtractorOutput output;
+
+      IndexingOutput(ExtractorOutput output) {
+        this.output = output;
+      }
+
+      @NonNull
+      @Override
+      public TrackOutput track(int id, int type) {
+        TrackOutput trackOutput = output.track(id, type);
+        return type == C.TRACK_TYPE_VIDEO ? new KeyframeTrackOutput(trackOutput) : trackOutput;
+      }
+
+      @Override
+      public void endTracks() {
+        output.endTracks();
+      }
+
+      @Override
+      public void seekMap(@NonNull SeekMap seekMap) {
+        durationUs = seekMap.getDurationUs();
+        if (seekMap.isSeekable()) {
+          KeyframeIndex index =
+              KeyframeIndex.fromSeekMap(seekMap).withValidators(contentLength, etag);
+          KeyframeIndex stored = storedIndex();
+          if (stored == null || stored.size() != index.size()) {
+            factory.store.put(factory.key, index);
+          }
+          if (factory.listener != null) {
+            factory.listener.onKeyframeIndex(index);
+          }
+          output.seekMap(seekMap);
+          return;
+        }
+        learning = learnsClusters;
+        KeyframeIndex stored = storedIndex();
+        if (stored != null && stored.size() > 1) {
+          if (factory.listener != null) {
+            factory.listener.onKeyframeIndex(stored);
+          }
+          output.seekMap(stored.toSeekMap(durationUs));
+          return;
+        }
+        output.seekMap(seekMap);
+      }
+    }
+
+    private final class KeyframeTrackOutput implements TrackOutput {
+      private final TrackOutput output;
+
+      KeyframeTrackOutput(TrackOutput output) {
+        this.output = output;
+      }
+
+      @Override
+      public void format(@NonNull Format format) {
+        output.format(format);
+      }
+
+      @Override
+      public int sampleData(
+          @NonNull DataReader input, int length, boolean allowEndOfInput, int sampleDataPart)
+          throws IOException {
+        return output.sampleData(input, length, allowEndOfInput, sampleDataPart);
+      }
+
+      @Override
+      public void sampleData(@NonNull ParsableByteArray data, int length, int sampleDataPart) {
+        output.sampleData(data, length, sampleDataPart);
+      }
+
+      @Override
+      public void sampleMetadata(
+          long timeUs, int flags, int size, int offset, @Nullable CryptoData cryptoData) {
+        if ((flags & C.BUFFER_FLAG_KEY_FRAME) != 0) {
+          onKeyframe(timeUs);
+        }
+        output.sampleMetadata(timeUs, flags, size, offset, cryptoData);
+      }
+    }
+  }
+}
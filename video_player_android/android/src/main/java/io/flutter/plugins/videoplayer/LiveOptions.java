@@ -0,0 +1,28 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Live-edge configuration for a single {@link VideoPlayer}.
+ *
+ * <p>Every value is optional. Unset values fall back to what the stream itself advertises (for
+ * example {@code EXT-X-SERVER-CONTROL:PART-HOLD-BACK} for LL-HLS or {@code
+ * MPD@suggestedPresentationDelay} for DASH) and then to the Media3 defaults.
+ */
+final class LiveOptions {
+  /** Default interval between two {@code liveLatency} events. */
+  static final long DEFAULT_LATENCY_REPORT_INTERVAL_MS = 1000;
+
+  @Nullable Long targetOffsetMs;
+  @Nullable Long minOffsetMs;
+  @Nullable Long maxOffsetMs;
+  @Nullable Float minPlaybackSpeed;
+  @Nullable Float maxPlaybackSpeed;
+
+  /** Interval between two {@code liveLatency} events, or 0 to disable reporting. */
+  long latencyReportIntervalMs = DEFAULT_LATENCY_REPORT_INTERVAL_MS;
+}
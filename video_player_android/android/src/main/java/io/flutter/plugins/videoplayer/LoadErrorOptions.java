@@ -0,0 +1,46 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Retry and exclusion settings of the {@link BackoffLoadErrorHandlingPolicy} of a single {@link
+ * VideoPlayer}.
+ */
+final class LoadErrorOptions {
+  /** Status codes that are never retried, because the request will not succeed by itself. */
+  static final Set<Integer> DEFAULT_FAIL_FAST_STATUS_CODES =
+      new HashSet<>(Arrays.asList(401, 403, 404, 410));
+
+  /** Status codes that are worth retrying. Other 4xx codes fail immediately. */
+  static final Set<Integer> DEFAULT_RETRY_STATUS_CODES =
+      new HashSet<>(Arrays.asList(408, 425, 429, 500, 502, 503, 504));
+
+  /** Number of retries of a single load before the error is reported to the player. */
+  int maxRetries = 3;
+
+  /** Delay before the first retry. Each following retry doubles it, up to {@link #maxBackoffMs}. */
+  long initialBackoffMs = 500;
+
+  long maxBackoffMs = 8_000;
+
+  /** Fraction of the delay, in [0, 1], by which each retry delay is randomly varied. */
+  double jitter = 0.2;
+
+  @NonNull Set<Integer> failFastStatusCodes = DEFAULT_FAIL_FAST_STATUS_CODES;
+
+  @NonNull Set<Integer> retryStatusCodes = DEFAULT_RETRY_STATUS_CODES;
+
+  /**
+   * How long a failing track or base URL is excluded, for example from a live window, or null for
+   * the Media3 defaults.
+   */
+  @Nullable Long exclusionMs;
+}
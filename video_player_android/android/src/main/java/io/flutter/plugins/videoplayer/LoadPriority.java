@@ -0,0 +1,185 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.PriorityTaskManager;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.TransferListener;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The loading priority of one player, arbitrated between all players of the plugin through a
+ * shared {@link PriorityTaskManager}.
+ *
+ * <p>A focused player registers its priority with the manager only while its buffer is below the
+ * urgent level reported by its {@link PlayerLoadControl}. Requests of background players register
+ * their lower priority while they are open, and wait before opening and before every read while a
+ * higher priority is registered. Background players therefore load freely, and yield to the
+ * focused player only when it risks a rebuffer. Requests of the focused player never wait, and
+ * neither do requests of local files and assets, which do not compete for bandwidth.
+ *
+ * <p>The data sources wrap the whole stack of a player, so that the time spent waiting is not
+ * counted by the wrappers below that time requests, such as {@link RequestHedging}, {@link
+ * OriginFailover} and {@link NetworkStats}.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class LoadPriority {
+  static final int PRIORITY_FOCUSED = C.PRIORITY_PLAYBACK;
+  static final int PRIORITY_BACKGROUND = C.PRIORITY_PLAYBACK - 1;
+
+  private final PriorityTaskManager manager;
+  private volatile int priority = PRIORITY_FOCUSED;
+  private boolean urgent;
+
+  LoadPriority(@NonNull PriorityTaskManager manager) {
+    this.manager = manager;
+  }
+
+  /** Sets the priority of the player's requests, from now on. */
+  void setPriority(int priority) {
+    this.priority = priority;
+    if (priority != PRIORITY_FOCUSED) {
+      clearUrgent();
+    }
+  }
+
+  int getPriority() {
+    return priority;
+  }
+
+  /**
+   * Reports the buffer of the player, and the buffer below which it makes background players wait
+   * while focused. Called on the playback thread by the load control.
+   */
+  synchronized void onBufferedDuration(long bufferedDurationUs, long urgentBufferUs) {
+    boolean urgent = priority == PRIORITY_FOCUSED && bufferedDurationUs < urgentBufferUs;
+    if (urgent == this.urgent) {
+      return;
+    }
+    this.urgent = urgent;
+    if (urgent) {
+      manager.add(PRIORITY_FOCUSED);
+    } else {
+      manager.remove(PRIORITY_FOCUSED);
+    }
+  }
+
+  /** Lets background players load again, until the next low buffer is reported. */
+  synchronized void clearUrgent() {
+    if (urgent) {
+      urgent = false;
+      manager.remove(PRIORITY_FOCUSED);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized boolean isUrgent() {
+    return urgent;
+  }
+
+  /** Creates data sources whose requests wait while the player has a lower priority. */
+  static final class DataSourceFactory implements DataSource.Factory {
+    private final LoadPriority loadPriority;
+    private final DataSource.Factory upstreamFactory;
+
+    DataSourceFactory(
+        @NonNull LoadPriority loadPriority, @NonNull DataSource.Factory upstreamFactory) {
+      this.loadPriority = loadPriority;
+      this.upstreamFactory = upstreamFactory;
+    }
+
+    @NonNull
+    @Override
+    public DataSource createDataSource() {
+      return new PriorityDataSource(loadPriority, upstreamFactory.createDataSource());
+    }
+  }
+
+  private static final class PriorityDataSource implements DataSource {
+    private final LoadPriority loadPriority;
+    private final DataSource upstream;
+
+    // Priority registered with the manager while a request is open, or null.
+    @Nullable private Integer registeredPriority;
+
+    PriorityDataSource(LoadPriority loadPriority, DataSource upstream) {
+      this.loadPriority = loadPriority;
+      this.upstream = upstream;
+    }
+
+    @Override
+    public void addTransferListener(@NonNull TransferListener transferListener) {
+      upstream.addTransferListener(transferListener);
+    }
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) throws IOException {
+      int priority = loadPriority.priority;
+      if (priority < PRIORITY_FOCUSED && isHttp(dataSpec.uri)) {
+        // The manager only lets registered priorities proceed.
+        loadPriority.manager.add(priority);
+        registeredPriority = priority;
+        proceed();
+      }
+      return upstream.open(dataSpec);
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+      proceed();
+      return upstream.read(buffer, offset, length);
+    }
+
+    private void proceed() throws IOException {
+      if (registeredPriority == null) {
+        return;
+      }
+      try {
+        loadPriority.manager.proceed(registeredPriority);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+
+    private static boolean isHttp(Uri uri) {
+      String scheme = uri.getScheme();
+      return scheme != null
+          && (scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"));
+    }
+
+    @Nullable
+    @Override
+    public Uri getUri() {
+      return upstream.getUri();
+    }
+
+    @NonNull
+    @Override
+    public Map<String, List<String>> getResponseHeaders() {
+      return upstream.getResponseHeaders();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (registeredPriority != null) {
+        loadPriority.manager.remove(registeredPriority);
+        registeredPriority = null;
+      }
+      upstream.close();
+    }
+  }
+}
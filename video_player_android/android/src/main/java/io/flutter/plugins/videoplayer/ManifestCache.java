@@ -0,0 +1,464 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.util.Clock;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.TransferListener;
+import androidx.media3.exoplayer.dash.manifest.DashManifest;
+import androidx.media3.exoplayer.dash.manifest.DashManifestParser;
+import androidx.media3.exoplayer.hls.playlist.DefaultHlsPlaylistParserFactory;
+import androidx.media3.exoplayer.hls.playlist.HlsMediaPlaylist;
+import androidx.media3.exoplayer.hls.playlist.HlsMultivariantPlaylist;
+import androidx.media3.exoplayer.hls.playlist.HlsPlaylist;
+import androidx.media3.exoplayer.hls.playlist.HlsPlaylistParserFactory;
+import androidx.media3.exoplayer.upstream.ParsingLoadable;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A cache of parsed HLS playlists and DASH manifests, shared by all players of the plugin.
+ *
+ * <p>Entries are keyed by normalised URL and expire after a TTL, shortened by the {@code
+ * Cache-Control: max-age} of the response. Responses marked {@code no-store} or {@code no-cache}
+ * are never cached. Live manifests (HLS media playlists without {@code EXT-X-ENDLIST} and dynamic
+ * DASH manifests) are never cached either, so they keep refreshing as usual.
+ *
+ * <p>A hit skips both the network request and the parse: {@link DataSourceFactory} pins the
+ * cached entry while the request is open and serves a short token naming it as the response, and
+ * the parsers returned by {@link #hlsPlaylistParserFactory()} and {@link #dashManifestParser()}
+ * answer with the pinned entry. The entry found when the request opens is the one parsed, even if
+ * it expires or is evicted in between.
+ *
+ * <p>This class is thread-safe. Manifests are loaded on the loader threads of many players.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class ManifestCache {
+  static final int DEFAULT_MAX_ENTRIES = 32;
+  static final long DEFAULT_TTL_MS = 60_000;
+
+  private static final String CACHE_CONTROL = "Cache-Control";
+  // Response served for a hit, followed by the id of the pinned entry.
+  private static final byte[] HIT_MARKER =
+      "#video_player-cached-manifest:".getBytes(Charset.forName("US-ASCII"));
+
+  private static final class Entry {
+    final Object manifest;
+    final Uri uri;
+    final long expiresAtMs;
+
+    Entry(Object manifest, Uri uri, long expiresAtMs) {
+      this.manifest = manifest;
+      this.uri = uri;
+      this.expiresAtMs = expiresAtMs;
+    }
+  }
+
+  private final long ttlMs;
+  private final Clock clock;
+  private final LinkedHashMap<String, Entry> entries;
+  // Cache-Control lifetimes recorded when the response is opened, consumed when it is parsed.
+  // A value of 0 means the response must not be cached.
+  private final LinkedHashMap<String, Long> pendingLifetimesMs;
+  // Maps the URL a manifest was finally served from to the URL that was requested.
+  private final LinkedHashMap<String, String> redirects;
+  // Entries served by open requests, by pin id.
+  private final Map<Long, Entry> pinned = new HashMap<>();
+  private long nextPinId;
+
+  ManifestCache() {
+    this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MS, Clock.DEFAULT);
+  }
+
+  @VisibleForTesting
+  ManifestCache(int maxEntries, long ttlMs, @NonNull Clock clock) {
+    this.ttlMs = ttlMs;
+    this.clock = clock;
+    this.entries = boundedMap(maxEntries);
+    this.pendingLifetimesMs = boundedMap(maxEntries);
+    this.redirects = boundedMap(maxEntries);
+  }
+
+  private static <V> LinkedHashMap<String, V> boundedMap(int maxEntries) {
+    return new LinkedHashMap<String, V>(16, 0.75f, /* accessOrder= */ true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /** Returns the cached manifest for {@code uri}, or null if there is none or it expired. */
+  @Nullable
+  synchronized Object get(@NonNull Uri uri) {
+    Entry entry = getEntry(normalize(uri));
+    return entry == null ? null : entry.manifest;
+  }
+
+  @Nullable
+  private synchronized Entry getHit(@NonNull Uri uri) {
+    return getEntry(normalize(uri));
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  synchronized void clear() {
+    entries.clear();
+    pendingLifetimesMs.clear();
+    redirects.clear();
+  }
+
+  @Nullable
+  private Entry getEntry(String key) {
+    Entry entry = entries.get(key);
+    if (entry != null && entry.expiresAtMs <= clock.elapsedRealtime()) {
+      entries.remove(key);
+      return null;
+    }
+    return entry;
+  }
+
+  private synchronized long pin(Entry entry) {
+    long id = nextPinId++;
+    pinned.put(id, entry);
+    return id;
+  }
+
+  private synchronized void unpin(long id) {
+    pinned.remove(id);
+  }
+
+  @Nullable
+  private synchronized Entry getPinned(long id) {
+    return pinned.get(id);
+  }
+
+  /**
+   * Returns the manifest of the hit served as {@code inputStream}, or null if the stream holds a
+   * manifest to parse. {@code inputStream} must support marks, and is reset when null is returned.
+   */
+  @Nullable
+  private Object readHit(InputStream inputStream) throws IOException {
+    inputStream.mark(HIT_MARKER.length);
+    byte[] prefix = new byte[HIT_MARKER.length];
+    int length = 0;
+    while (length < prefix.length) {
+      int read = inputStream.read(prefix, length, prefix.length - length);
+      if (read == -1) {
+        break;
+      }
+      length += read;
+    }
+    if (length < prefix.length || !Arrays.equals(prefix, HIT_MARKER)) {
+      inputStream.reset();
+      return null;
+    }
+    StringBuilder id = new StringBuilder();
+    for (int c = inputStream.read(); c != -1; c = inputStream.read()) {
+      id.append((char) c);
+    }
+    Entry entry;
+    try {
+      entry = getPinned(Long.parseLong(id.toString()));
+    } catch (NumberFormatException e) {
+      entry = null;
+    }
+    if (entry == null) {
+      throw new IOException("The cached manifest is no longer pinned.");
+    }
+    return entry.manifest;
+  }
+
+  private static InputStream markable(InputStream inputStream) {
+    return inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+  }
+
+  /**
+   * Caches {@code manifest}, parsed from the response served at {@code uri}, unless the response
+   * forbade caching. Live manifests must be filtered out by the caller.
+   */
+  synchronized void put(@NonNull Uri uri, @NonNull Object manifest) {
+    String key = normalize(uri);
+    Long lifetimeMs = pendingLifetimesMs.remove(key);
+    long effectiveTtlMs = lifetimeMs == null ? ttlMs : Math.min(ttlMs, lifetimeMs);
+    if (effectiveTtlMs <= 0) {
+      return;
+    }
+    Entry entry = new Entry(manifest, uri, clock.elapsedRealtime() + effectiveTtlMs);
+    entries.put(key, entry);
+    String requestedKey = redirects.get(key);
+    if (requestedKey != null) {
+      entries.put(requestedKey, entry);
+    }
+  }
+
+  /** Records the response headers of a manifest request before it is parsed. */
+  synchronized void onResponse(
+      @NonNull Uri requestedUri, @Nullable Uri servedUri, Map<String, List<String>> headers) {
+    String key = normalize(servedUri != null ? servedUri : requestedUri);
+    String requestedKey = normalize(requestedUri);
+    if (!key.equals(requestedKey)) {
+      redirects.put(key, requestedKey);
+    }
+    long lifetimeMs = parseCacheControl(headers);
+    if (lifetimeMs == C.TIME_UNSET) {
+      pendingLifetimesMs.remove(key);
+    } else {
+      pendingLifetimesMs.put(key, lifetimeMs);
+    }
+  }
+
+  /**
+   * Returns the lifetime allowed by the {@code Cache-Control} header in milliseconds, 0 if the
+   * response must not be cached, or {@link C#TIME_UNSET} if the header sets no limit.
+   */
+  @VisibleForTesting
+  static long parseCacheControl(Map<String, List<String>> headers) {
+    long lifetimeMs = C.TIME_UNSET;
+    for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+      if (header.getKey() == null || !CACHE_CONTROL.equalsIgnoreCase(header.getKey())) {
+        continue;
+      }
+      for (String value : header.getValue()) {
+        for (String directive : value.split(",")) {
+          String trimmed = directive.trim().toLowerCase(Locale.US);
+          if (trimmed.equals("no-store") || trimmed.equals("no-cache")) {
+            return 0;
+          }
+          if (trimmed.startsWith("max-age=")) {
+            try {
+              long maxAgeMs = Long.parseLong(trimmed.substring("max-age=".length())) * 1000;
+              lifetimeMs = lifetimeMs == C.TIME_UNSET ? maxAgeMs : Math.min(lifetimeMs, maxAgeMs);
+            } catch (NumberFormatException e) {
+              // Ignore malformed directives, as HTTP caches do.
+            }
+          }
+        }
+      }
+    }
+    return lifetimeMs;
+  }
+
+  /**
+   * Normalises {@code uri} into a cache key: scheme and host are lower-cased, default ports and
+   * fragments are dropped. Query parameters are kept since they often carry signatures.
+   */
+  @VisibleForTesting
+  static String normalize(@NonNull Uri uri) {
+    String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.US);
+    String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.US);
+    int port = uri.getPort();
+    boolean defaultPort =
+        port == -1 || ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+    StringBuilder key = new StringBuilder(scheme).append("://").append(host);
+    if (!defaultPort) {
+      key.append(':').append(port);
+    }
+    String path = uri.getEncodedPath();
+    key.append(path == null || path.isEmpty() ? "/" : path);
+    if (uri.getEncodedQuery() != null) {
+      key.append('?').append(uri.getEncodedQuery());
+    }
+    return key.toString();
+  }
+
+  @NonNull
+  HlsPlaylistParserFactory hlsPlaylistParserFactory() {
+    return new HlsParserFactory(this, new DefaultHlsPlaylistParserFactory());
+  }
+
+  @NonNull
+  ParsingLoadable.Parser<DashManifest> dashManifestParser() {
+    return new DashParser(this, new DashManifestParser());
+  }
+
+  private static final class HlsParserFactory implements HlsPlaylistParserFactory {
+    private final ManifestCache cache;
+    private final HlsPlaylistParserFactory delegate;
+
+    HlsParserFactory(ManifestCache cache, HlsPlaylistParserFactory delegate) {
+      this.cache = cache;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public ParsingLoadable.Parser<HlsPlaylist> createPlaylistParser() {
+      return new HlsParser(cache, delegate.createPlaylistParser());
+    }
+
+    @Override
+    public ParsingLoadable.Parser<HlsPlaylist> createPlaylistParser(
+        HlsMultivariantPlaylist multivariantPlaylist,
+        @Nullable HlsMediaPlaylist previousMediaPlaylist) {
+      return new HlsParser(
+          cache, delegate.createPlaylistParser(multivariantPlaylist, previousMediaPlaylist));
+    }
+  }
+
+  private static final class HlsParser implements ParsingLoadable.Parser<HlsPlaylist> {
+    private final ManifestCache cache;
+    private final ParsingLoadable.Parser<HlsPlaylist> delegate;
+
+    HlsParser(ManifestCache cache, ParsingLoadable.Parser<HlsPlaylist> delegate) {
+      this.cache = cache;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public HlsPlaylist parse(Uri uri, InputStream inputStream) throws IOException {
+      inputStream = markable(inputStream);
+      Object cached = cache.readHit(inputStream);
+      if (cached instanceof HlsPlaylist) {
+        return (HlsPlaylist) cached;
+      }
+      HlsPlaylist playlist = delegate.parse(uri, inputStream);
+      boolean isLive =
+          playlist instanceof HlsMediaPlaylist && !((HlsMediaPlaylist) playlist).hasEndTag;
+      if (!isLive) {
+        cache.put(uri, playlist);
+      }
+      return playlist;
+    }
+  }
+
+  private static final class DashParser implements ParsingLoadable.Parser<DashManifest> {
+    private final ManifestCache cache;
+    private final ParsingLoadable.Parser<DashManifest> delegate;
+
+    DashParser(ManifestCache cache, ParsingLoadable.Parser<DashManifest> delegate) {
+      this.cache = cache;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public DashManifest parse(Uri uri, InputStream inputStream) throws IOException {
+      inputStream = markable(inputStream);
+      Object cached = cache.readHit(inputStream);
+      if (cached instanceof DashManifest) {
+        return (DashManifest) cached;
+      }
+      DashManifest manifest = delegate.parse(uri, inputStream);
+      if (!manifest.dynamic) {
+        cache.put(uri, manifest);
+      }
+      return manifest;
+    }
+  }
+
+  /**
+   * Wraps a {@link DataSource.Factory} so that requests for cached manifests are answered with a
+   * token naming the pinned entry instead of going to the network. All other requests pass
+   * through, and the {@code Cache-Control} headers of their responses are recorded for {@link
+   * #put}.
+   */
+  static final class DataSourceFactory implements DataSource.Factory {
+    private final ManifestCache cache;
+    private final DataSource.Factory upstreamFactory;
+
+    DataSourceFactory(@NonNull ManifestCache cache, @NonNull DataSource.Factory upstreamFactory) {
+      this.cache = cache;
+      this.upstreamFactory = upstreamFactory;
+    }
+
+    @NonNull
+    @Override
+    public DataSource createDataSource() {
+      return new CachingDataSource(cache, upstreamFactory.createDataSource());
+    }
+  }
+
+  private static final class CachingDataSource implements DataSource {
+    private final ManifestCache cache;
+    private final DataSource upstream;
+    @Nullable private Uri hitUri;
+    private long pinId;
+    @Nullable private byte[] hitBody;
+    private int hitPosition;
+
+    CachingDataSource(ManifestCache cache, DataSource upstream) {
+      this.cache = cache;
+      this.upstream = upstream;
+    }
+
+    @Override
+    public void addTransferListener(@NonNull TransferListener transferListener) {
+      upstream.addTransferListener(transferListener);
+    }
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) throws IOException {
+      Entry entry = cache.getHit(dataSpec.uri);
+      if (entry != null) {
+        // Report the URI the manifest was parsed from so relative URLs resolve as before.
+        hitUri = entry.uri;
+        pinId = cache.pin(entry);
+        byte[] id = Long.toString(pinId).getBytes(Charset.forName("US-ASCII"));
+        hitBody = Arrays.copyOf(HIT_MARKER, HIT_MARKER.length + id.length);
+        System.arraycopy(id, 0, hitBody, HIT_MARKER.length, id.length);
+        hitPosition = 0;
+        return hitBody.length;
+      }
+      long length = upstream.open(dataSpec);
+      cache.onResponse(dataSpec.uri, upstream.getUri(), upstream.getResponseHeaders());
+      return length;
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+      if (hitBody != null) {
+        if (hitPosition == hitBody.length) {
+          return C.RESULT_END_OF_INPUT;
+        }
+        int read = Math.min(length, hitBody.length - hitPosition);
+        System.arraycopy(hitBody, hitPosition, buffer, offset, read);
+        hitPosition += read;
+        return read;
+      }
+      return upstream.read(buffer, offset, length);
+    }
+
+    @Nullable
+    @Override
+    public Uri getUri() {
+      return hitUri != null ? hitUri : upstream.getUri();
+    }
+
+    @NonNull
+    @Override
+    public Map<String, List<String>> getResponseHeaders() {
+      return hitUri != null ? Collections.emptyMap() : upstream.getResponseHeaders();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (hitUri != null) {
+        cache.unpin(pinId);
+        hitUri = null;
+        hitBody = null;
+        return;
+      }
+      upstream.close();
+    }
+  }
+}
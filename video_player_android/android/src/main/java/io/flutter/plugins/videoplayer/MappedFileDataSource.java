@@ -0,0 +1,286 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+import android.net.Uri;
+import android.text.TextUtils;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.PlaybackException;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceException;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.TransferListener;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads local files and uncompressed assets through a memory mapping.
+ *
+ * <p>{@code file} URIs, and URIs without a scheme, are mapped with {@link FileChannel#map}. {@code
+ * asset} URIs are mapped through the {@link AssetFileDescriptor} of the asset, which only exists
+ * for assets stored without compression in the APK. Reads are then copied straight from the page
+ * cache into the extractor's buffer, without a system call or an intermediate stream buffer per
+ * read. Regions larger than {@link #MAX_WINDOW_SIZE} are mapped one window at a time. Compressed
+ * assets, every other scheme and files that cannot be mapped, for example when a 32-bit process
+ * runs out of address space, are read by the upstream data source.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class MappedFileDataSource implements DataSource {
+  /** Creates {@link MappedFileDataSource} instances. */
+  static final class Factory implements DataSource.Factory {
+    private final Context context;
+    private final DataSource.Factory upstreamFactory;
+
+    Factory(@NonNull Context context, @NonNull DataSource.Factory upstreamFactory) {
+      this.context = context.getApplicationContext();
+      this.upstreamFactory = upstreamFactory;
+    }
+
+    @NonNull
+    @Override
+    public DataSource createDataSource() {
+      return new MappedFileDataSource(context.getAssets(), upstreamFactory.createDataSource());
+    }
+  }
+
+  /**
+   * Largest region mapped at once. Larger regions are mapped window by window as they are read,
+   * which keeps the address space used per player small on 32-bit devices.
+   */
+  static final int MAX_WINDOW_SIZE = 16 * 1024 * 1024;
+
+  private final AssetManager assets;
+  private final DataSource upstream;
+  private final List<TransferListener> transferListeners = new ArrayList<>();
+  private final int maxWindowSize;
+
+  @Nullable private DataSpec dataSpec;
+  @Nullable private Closeable file;
+  @Nullable private FileChannel channel;
+  @Nullable private MappedByteBuffer mapped;
+  // Offset in the channel of the first byte after the current window.
+  private long windowEnd;
+  // Bytes of the requested region after the current window.
+  private long bytesAfterWindow;
+  private long bytesRead;
+  private boolean upstreamOpened;
+
+  MappedFileDataSource(@NonNull AssetManager assets, @NonNull DataSource upstream) {
+    this(assets, upstream, MAX_WINDOW_SIZE);
+  }
+
+  @VisibleForTesting
+  MappedFileDataSource(
+      @NonNull AssetManager assets, @NonNull DataSource upstream, int maxWindowSize) {
+    this.assets = assets;
+    this.upstream = upstream;
+    this.maxWindowSize = maxWindowSize;
+  }
+
+  @Override
+  public void addTransferListener(@NonNull TransferListener transferListener) {
+    transferListeners.add(transferListener);
+    upstream.addTransferListener(transferListener);
+  }
+
+  @Override
+  public long open(@NonNull DataSpec dataSpec) throws IOException {
+    long length = openRegion(dataSpec);
+    if (length == C.LENGTH_UNSET || !mapNextWindow()) {
+      closeFile();
+      upstreamOpened = true;
+      return upstream.open(dataSpec);
+    }
+    this.dataSpec = dataSpec;
+    bytesRead = 0;
+    for (TransferListener transferListener : transferListeners) {
+      transferListener.onTransferInitializing(this, dataSpec, /* isNetwork= */ false);
+      transferListener.onTransferStart(this, dataSpec, /* isNetwork= */ false);
+    }
+    return length;
+  }
+
+  /**
+   * Opens the file of {@code dataSpec} and returns the length of the requested region, or returns
+   * {@link C#LENGTH_UNSET} if it has to be streamed.
+   */
+  private long openRegion(DataSpec dataSpec) throws IOException {
+    String scheme = dataSpec.uri.getScheme();
+    if ("asset".equals(scheme)) {
+      return openAsset(dataSpec);
+    }
+    if (TextUtils.isEmpty(scheme) || "file".equals(scheme)) {
+      return openFile(dataSpec);
+    }
+    return C.LENGTH_UNSET;
+  }
+
+  private long openFile(DataSpec dataSpec) throws IOException {
+    String path = dataSpec.uri.getPath();
+    if (path == null) {
+      return C.LENGTH_UNSET;
+    }
+    RandomAccessFile randomAccessFile;
+    try {
+      randomAccessFile = new RandomAccessFile(path, "r");
+    } catch (FileNotFoundException e) {
+      // Let the upstream data source report missing files with its own error codes.
+      return C.LENGTH_UNSET;
+    }
+    file = randomAccessFile;
+    channel = randomAccessFile.getChannel();
+    return selectRegion(0, randomAccessFile.length(), dataSpec);
+  }
+
+  private long openAsset(DataSpec dataSpec) throws IOException {
+    String path = dataSpec.uri.getPath();
+    if (path == null) {
+      return C.LENGTH_UNSET;
+    }
+    if (path.startsWith("/android_asset/")) {
+      path = path.substring("/android_asset/".length());
+    } else if (path.startsWith("/")) {
+      path = path.substring(1);
+    }
+    AssetFileDescriptor descriptor;
+    try {
+      descriptor = assets.openFd(path);
+    } catch (FileNotFoundException e) {
+      // Compressed assets have no file descriptor and are streamed instead.
+      return C.LENGTH_UNSET;
+    }
+    file = descriptor;
+    channel = descriptor.createInputStream().getChannel();
+    return selectRegion(descriptor.getStartOffset(), descriptor.getLength(), dataSpec);
+  }
+
+  /**
+   * Selects the part of the region {@code [start, start + length)} of the channel requested by
+   * {@code dataSpec}, and returns its length.
+   */
+  private long selectRegion(long start, long length, DataSpec dataSpec) throws IOException {
+    if (length == AssetFileDescriptor.UNKNOWN_LENGTH) {
+      length = channel.size() - start;
+    }
+    if (dataSpec.position > length) {
+      closeFile();
+      throw new DataSourceException(PlaybackException.ERROR_CODE_IO_READ_POSITION_OUT_OF_RANGE);
+    }
+    long available = length - dataSpec.position;
+    long size =
+        dataSpec.length == C.LENGTH_UNSET ? available : Math.min(dataSpec.length, available);
+    windowEnd = start + dataSpec.position;
+    bytesAfterWindow = size;
+    return size;
+  }
+
+  /**
+   * Maps the next window of the region, or returns false if the mapping failed, which happens when
+   * the process runs out of address space.
+   */
+  private boolean mapNextWindow() {
+    long size = Math.min(bytesAfterWindow, maxWindowSize);
+    try {
+      mapped = channel.map(FileChannel.MapMode.READ_ONLY, windowEnd, size);
+    } catch (IOException | OutOfMemoryError e) {
+      mapped = null;
+      return false;
+    }
+    windowEnd += size;
+    bytesAfterWindow -= size;
+    return true;
+  }
+
+  @Override
+  public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+    if (upstreamOpened) {
+      return upstream.read(buffer, offset, length);
+    }
+    if (length == 0) {
+      return 0;
+    }
+    if (!mapped.hasRemaining()) {
+      if (bytesAfterWindow == 0) {
+        return C.RESULT_END_OF_INPUT;
+      }
+      if (!mapNextWindow()) {
+        // Stream the rest of the region instead.
+        DataSpec remaining = dataSpec.subrange(bytesRead);
+        endTransfer();
+        upstreamOpened = true;
+        upstream.open(remaining);
+        return upstream.read(buffer, offset, length);
+      }
+    }
+    int read = Math.min(length, mapped.remaining());
+    mapped.get(buffer, offset, read);
+    bytesRead += read;
+    for (TransferListener transferListener : transferListeners) {
+      transferListener.onBytesTransferred(this, dataSpec, /* isNetwork= */ false, read);
+    }
+    return read;
+  }
+
+  @Nullable
+  @Override
+  public Uri getUri() {
+    if (upstreamOpened) {
+      return upstream.getUri();
+    }
+    return dataSpec != null ? dataSpec.uri : null;
+  }
+
+  @NonNull
+  @Override
+  public Map<String, List<String>> getResponseHeaders() {
+    return upstreamOpened ? upstream.getResponseHeaders() : Collections.emptyMap();
+  }
+
+  @Override
+  public void close() throws IOException {
+    endTransfer();
+    if (upstreamOpened) {
+      upstreamOpened = false;
+      upstream.close();
+    }
+  }
+
+  private void endTransfer() throws IOException {
+    // A mapping outlives its channel and is released by the garbage collector.
+    closeFile();
+    if (mapped != null) {
+      mapped = null;
+      for (TransferListener transferListener : transferListeners) {
+        transferListener.onTransferEnd(this, dataSpec, /* isNetwork= */ false);
+      }
+      dataSpec = null;
+    }
+  }
+
+  private void closeFile() throws IOException {
+    channel = null;
+    if (file != null) {
+      Closeable closing = file;
+      file = null;
+      closing.close();
+    }
+  }
+}
@@ -15,6 +15,7 @@ import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import io.flutter.plugin.common.BasicMessageChannel;
@@ -524,6 +525,76 @@ public class Messages {
             this.httpHeaders = setterArg;
         }
 
+        private @Nullable LiveConfigurationMessage liveConfiguration;
+
+        public @Nullable LiveConfigurationMessage getLiveConfiguration() {
+            return liveConfiguration;
+        }
+
+        public void setLiveConfiguration(@Nullable LiveConfigurationMessage setterArg) {
+            this.liveConfiguration = setterArg;
+        }
+
+        private @Nullable List<SubtitleMessage> subtitles;
+
+        public @Nullable List<SubtitleMessage> getSubtitles() {
+            return subtitles;
+        }
+
+        public void setSubtitles(@Nullable List<SubtitleMessage> setterArg) {
+            this.subtitles = setterArg;
+        }
+
+        private @Nullable CmcdConfigurationMessage cmcdConfiguration;
+
+        public @Nullable CmcdConfigurationMessage getCmcdConfiguration() {
+            return cmcdConfiguration;
+        }
+
+        public void setCmcdConfiguration(@Nullable CmcdConfigurationMessage setterArg) {
+            this.cmcdConfiguration = setterArg;
+        }
+
+        private @Nullable LoadErrorPolicyMessage loadErrorPolicy;
+
+        public @Nullable LoadErrorPolicyMessage getLoadErrorPolicy() {
+            return loadErrorPolicy;
+        }
+
+        public void setLoadErrorPolicy(@Nullable LoadErrorPolicyMessage setterArg) {
+            this.loadErrorPolicy = setterArg;
+        }
+
+        private @Nullable OriginFailoverMessage originFailover;
+
+        public @Nullable OriginFailoverMessage getOriginFailover() {
+            return originFailover;
+        }
+
+        public void setOriginFailover(@Nullable OriginFailoverMessage setterArg) {
+            this.originFailover = setterArg;
+        }
+
+        private @Nullable HedgingConfigurationMessage hedging;
+
+        public @Nullable HedgingConfigurationMessage getHedging() {
+            return hedging;
+        }
+
+        public void setHedging(@Nullable HedgingConfigurationMessage setterArg) {
+            this.hedging = setterArg;
+        }
+
+        private @Nullable AbrConfigurationMessage abr;
+
+        public @Nullable AbrConfigurationMessage getAbr() {
+            return abr;
+        }
+
+        public void setAbr(@Nullable AbrConfigurationMessage setterArg) {
+            this.abr = setterArg;
+        }
+
         /**
          * Constructor is non-public to enforce null safety; use Builder.
          */
@@ -567,6 +638,55 @@ public class Messages {
                 return this;
             }
 
+            private @Nullable LiveConfigurationMessage liveConfiguration;
+
+            public @NonNull Builder setLiveConfiguration(@Nullable LiveConfigurationMessage setterArg) {
+                this.liveConfiguration = setterArg;
+                return this;
+            }
+
+            private @Nullable List<SubtitleMessage> subtitles;
+
+            public @NonNull Builder setSubtitles(@Nullable List<SubtitleMessage> setterArg) {
+                this.subtitles = setterArg;
+                return this;
+            }
+
+            private @Nullable CmcdConfigurationMessage cmcdConfiguration;
+
+            public @NonNull Builder setCmcdConfiguration(@Nullable CmcdConfigurationMessage setterArg) {
+                this.cmcdConfiguration = setterArg;
+                return this;
+            }
+
+            private @Nullable LoadErrorPolicyMessage loadErrorPolicy;
+
+            public @NonNull Builder setLoadErrorPolicy(@Nullable LoadErrorPolicyMessage setterArg) {
+                this.loadErrorPolicy = setterArg;
+                return this;
+            }
+
+            private @Nullable OriginFailoverMessage originFailover;
+
+            public @NonNull Builder setOriginFailover(@Nullable OriginFailoverMessage setterArg) {
+                this.originFailover = setterArg;
+                return this;
+            }
+
+            private @Nullable HedgingConfigurationMessage hedging;
+
+            public @NonNull Builder setHedging(@Nullable HedgingConfigurationMessage setterArg) {
+                this.hedging = setterArg;
+                return this;
+            }
+
+            private @Nullable AbrConfigurationMessage abr;
+
+            public @NonNull Builder setAbr(@Nullable AbrConfigurationMessage setterArg) {
+                this.abr = setterArg;
+                return this;
+            }
+
             public @NonNull CreateMessage build() {
                 CreateMessage pigeonReturn = new CreateMessage();
                 pigeonReturn.setAsset(asset);
@@ -574,18 +694,32 @@ public class Messages {
                 pigeonReturn.setPackageName(packageName);
                 pigeonReturn.setFormatHint(formatHint);
                 pigeonReturn.setHttpHeaders(httpHeaders);
+                pigeonReturn.setLiveConfiguration(liveConfiguration);
+                pigeonReturn.setSubtitles(subtitles);
+                pigeonReturn.setCmcdConfiguration(cmcdConfiguration);
+                pigeonReturn.setLoadErrorPolicy(loadErrorPolicy);
+                pigeonReturn.setOriginFailover(originFailover);
+                pigeonReturn.setHedging(hedging);
+                pigeonReturn.setAbr(abr);
                 return pigeonReturn;
             }
         }
 
         @NonNull
         ArrayList<Object> toList() {
-            ArrayList<Object> toListResult = new ArrayList<Object>(5);
+            ArrayList<Object> toListResult = new ArrayList<Object>(12);
             toListResult.add(asset);
             toListResult.add(uri);
             toListResult.add(packageName);
             toListResult.add(formatHint);
             toListResult.add(httpHeaders);
+            toListResult.add((liveConfiguration == null) ? null : liveConfiguration.toList());
+            toListResult.add(subtitles);
+            toListResult.add((cmcdConfiguration == null) ? null : cmcdConfiguration.toList());
+            toListResult.add((loadErrorPolicy == null) ? null : loadErrorPolicy.toList());
+            toListResult.add((originFailover == null) ? null : originFailover.toList());
+            toListResult.add((hedging == null) ? null : hedging.toList());
+            toListResult.add((abr == null) ? null : abr.toList());
             return toListResult;
         }
 
@@ -601,6 +735,38 @@ public class Messages {
             pigeonResult.setFormatHint((String) formatHint);
             Object httpHeaders = list.get(4);
             pigeonResult.setHttpHeaders((Map<String, String>) httpHeaders);
+            Object liveConfiguration = list.get(5);
+            pigeonResult.setLiveConfiguration(
+                    (liveConfiguration == null)
+                            ? null
+                            : LiveConfigurationMessage.fromList((ArrayList<Object>) liveConfiguration));
+            Object subtitles = list.get(6);
+            pigeonResult.setSubtitles((List<SubtitleMessage>) subtitles);
+            Object cmcdConfiguration = list.get(7);
+            pigeonResult.setCmcdConfiguration(
+                    (cmcdConfiguration == null)
+                            ? null
+                            : CmcdConfigurationMessage.fromList((ArrayList<Object>) cmcdConfiguration));
+            Object loadErrorPolicy = list.get(8);
+            pigeonResult.setLoadErrorPolicy(
+                    (loadErrorPolicy == null)
+                            ? null
+                            : LoadErrorPolicyMessage.fromList((ArrayList<Object>) loadErrorPolicy));
+            Object originFailover = list.get(9);
+            pigeonResult.setOriginFailover(
+                    (originFailover == null)
+                            ? null
+                            : OriginFailoverMessage.fromList((ArrayList<Object>) originFailover));
+            Object hedging = list.get(10);
+            pigeonResult.setHedging(
+                    (hedging == null)
+                            ? null
+                            : HedgingConfigurationMessage.fromList((ArrayList<Object>) hedging));
+            Object abr = list.get(11);
+            pigeonResult.setAbr(
+                    (abr == null)
+                            ? null
+                            : AbrConfigurationMessage.fromList((ArrayList<Object>) abr));
             return pigeonResult;
         }
     }
@@ -791,100 +957,2820 @@ public class Messages {
         }
     }
 
-    private static class AndroidVideoPlayerApiCodec extends StandardMessageCodec {
-        public static final AndroidVideoPlayerApiCodec INSTANCE = new AndroidVideoPlayerApiCodec();
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class LiveConfigurationMessage {
+        private @Nullable Long targetOffsetMs;
 
-        private AndroidVideoPlayerApiCodec() {
+        public @Nullable Long getTargetOffsetMs() {
+            return targetOffsetMs;
         }
 
-        @Override
-        protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
-            switch (type) {
-                case (byte) 128:
-                    return CreateMessage.fromList((ArrayList<Object>) readValue(buffer));
-                case (byte) 129:
-                    return LoopingMessage.fromList((ArrayList<Object>) readValue(buffer));
-                case (byte) 130:
-                    return MixWithOthersMessage.fromList((ArrayList<Object>) readValue(buffer));
-                case (byte) 131:
-                    return PlaybackSpeedMessage.fromList((ArrayList<Object>) readValue(buffer));
-                case (byte) 132:
-                    return PositionMessage.fromList((ArrayList<Object>) readValue(buffer));
-                case (byte) 133:
-                    return TextureMessage.fromList((ArrayList<Object>) readValue(buffer));
-                case (byte) 134:
-                    return VolumeMessage.fromList((ArrayList<Object>) readValue(buffer));
-                case (byte) 135:
-                    return TrackSelectionsMessage.fromList((ArrayList<Object>) readValue(buffer));
-                default:
-                    return super.readValueOfType(type, buffer);
-            }
+        public void setTargetOffsetMs(@Nullable Long setterArg) {
+            this.targetOffsetMs = setterArg;
         }
 
-        @Override
-        protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
-            if (value instanceof CreateMessage) {
-                stream.write(128);
-                writeValue(stream, ((CreateMessage) value).toList());
-            } else if (value instanceof LoopingMessage) {
-                stream.write(129);
-                writeValue(stream, ((LoopingMessage) value).toList());
-            } else if (value instanceof MixWithOthersMessage) {
-                stream.write(130);
-                writeValue(stream, ((MixWithOthersMessage) value).toList());
-            } else if (value instanceof PlaybackSpeedMessage) {
-                stream.write(131);
-                writeValue(stream, ((PlaybackSpeedMessage) value).toList());
-            } else if (value instanceof PositionMessage) {
-                stream.write(132);
-                writeValue(stream, ((PositionMessage) value).toList());
-            } else if (value instanceof TextureMessage) {
-                stream.write(133);
-                writeValue(stream, ((TextureMessage) value).toList());
-            } else if (value instanceof VolumeMessage) {
-                stream.write(134);
-                writeValue(stream, ((VolumeMessage) value).toList());
-            } else if (value instanceof TrackSelectionsMessage) {
-                stream.write(135);
-                writeValue(stream, ((TrackSelectionsMessage) value).toList());
-            } else {
-                super.writeValue(stream, value);
+        private @Nullable Long minOffsetMs;
+
+        public @Nullable Long getMinOffsetMs() {
+            return minOffsetMs;
+        }
+
+        public void setMinOffsetMs(@Nullable Long setterArg) {
+            this.minOffsetMs = setterArg;
+        }
+
+        private @Nullable Long maxOffsetMs;
+
+        public @Nullable Long getMaxOffsetMs() {
+            return maxOffsetMs;
+        }
+
+        public void setMaxOffsetMs(@Nullable Long setterArg) {
+            this.maxOffsetMs = setterArg;
+        }
+
+        private @Nullable Double minPlaybackSpeed;
+
+        public @Nullable Double getMinPlaybackSpeed() {
+            return minPlaybackSpeed;
+        }
+
+        public void setMinPlaybackSpeed(@Nullable Double setterArg) {
+            this.minPlaybackSpeed = setterArg;
+        }
+
+        private @Nullable Double maxPlaybackSpeed;
+
+        public @Nullable Double getMaxPlaybackSpeed() {
+            return maxPlaybackSpeed;
+        }
+
+        public void setMaxPlaybackSpeed(@Nullable Double setterArg) {
+            this.maxPlaybackSpeed = setterArg;
+        }
+
+        private @Nullable Long latencyReportIntervalMs;
+
+        public @Nullable Long getLatencyReportIntervalMs() {
+            return latencyReportIntervalMs;
+        }
+
+        public void setLatencyReportIntervalMs(@Nullable Long setterArg) {
+            this.latencyReportIntervalMs = setterArg;
+        }
+
+        public static final class Builder {
+
+            private @Nullable Long targetOffsetMs;
+
+            public @NonNull Builder setTargetOffsetMs(@Nullable Long setterArg) {
+                this.targetOffsetMs = setterArg;
+                return this;
+            }
+
+            private @Nullable Long minOffsetMs;
+
+            public @NonNull Builder setMinOffsetMs(@Nullable Long setterArg) {
+                this.minOffsetMs = setterArg;
+                return this;
+            }
+
+            private @Nullable Long maxOffsetMs;
+
+            public @NonNull Builder setMaxOffsetMs(@Nullable Long setterArg) {
+                this.maxOffsetMs = setterArg;
+                return this;
+            }
+
+            private @Nullable Double minPlaybackSpeed;
+
+            public @NonNull Builder setMinPlaybackSpeed(@Nullable Double setterArg) {
+                this.minPlaybackSpeed = setterArg;
+                return this;
+            }
+
+            private @Nullable Double maxPlaybackSpeed;
+
+            public @NonNull Builder setMaxPlaybackSpeed(@Nullable Double setterArg) {
+                this.maxPlaybackSpeed = setterArg;
+                return this;
+            }
+
+            private @Nullable Long latencyReportIntervalMs;
+
+            public @NonNull Builder setLatencyReportIntervalMs(@Nullable Long setterArg) {
+                this.latencyReportIntervalMs = setterArg;
+                return this;
+            }
+
+            public @NonNull LiveConfigurationMessage build() {
+                LiveConfigurationMessage pigeonReturn = new LiveConfigurationMessage();
+                pigeonReturn.setTargetOffsetMs(targetOffsetMs);
+                pigeonReturn.setMinOffsetMs(minOffsetMs);
+                pigeonReturn.setMaxOffsetMs(maxOffsetMs);
+                pigeonReturn.setMinPlaybackSpeed(minPlaybackSpeed);
+                pigeonReturn.setMaxPlaybackSpeed(maxPlaybackSpeed);
+                pigeonReturn.setLatencyReportIntervalMs(latencyReportIntervalMs);
+                return pigeonReturn;
             }
         }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(6);
+            toListResult.add(targetOffsetMs);
+            toListResult.add(minOffsetMs);
+            toListResult.add(maxOffsetMs);
+            toListResult.add(minPlaybackSpeed);
+            toListResult.add(maxPlaybackSpeed);
+            toListResult.add(latencyReportIntervalMs);
+            return toListResult;
+        }
+
+        static @NonNull LiveConfigurationMessage fromList(@NonNull ArrayList<Object> list) {
+            LiveConfigurationMessage pigeonResult = new LiveConfigurationMessage();
+            Object targetOffsetMs = list.get(0);
+            pigeonResult.setTargetOffsetMs(
+                    (targetOffsetMs == null)
+                            ? null
+                            : ((targetOffsetMs instanceof Integer) ? (Integer) targetOffsetMs : (Long) targetOffsetMs));
+            Object minOffsetMs = list.get(1);
+            pigeonResult.setMinOffsetMs(
+                    (minOffsetMs == null)
+                            ? null
+                            : ((minOffsetMs instanceof Integer) ? (Integer) minOffsetMs : (Long) minOffsetMs));
+            Object maxOffsetMs = list.get(2);
+            pigeonResult.setMaxOffsetMs(
+                    (maxOffsetMs == null)
+                            ? null
+                            : ((maxOffsetMs instanceof Integer) ? (Integer) maxOffsetMs : (Long) maxOffsetMs));
+            Object minPlaybackSpeed = list.get(3);
+            pigeonResult.setMinPlaybackSpeed((Double) minPlaybackSpeed);
+            Object maxPlaybackSpeed = list.get(4);
+            pigeonResult.setMaxPlaybackSpeed((Double) maxPlaybackSpeed);
+            Object latencyReportIntervalMs = list.get(5);
+            pigeonResult.setLatencyReportIntervalMs(
+                    (latencyReportIntervalMs == null)
+                            ? null
+                            : ((latencyReportIntervalMs instanceof Integer)
+                                    ? (Integer) latencyReportIntervalMs
+                                    : (Long) latencyReportIntervalMs));
+            return pigeonResult;
+        }
     }
 
     /**
-     * Generated interface from Pigeon that represents a handler of messages from Flutter.
+     * Generated class from Pigeon that represents data sent in messages.
      */
-    public interface AndroidVideoPlayerApi {
+    public static final class BackgroundModeMessage {
+        private @NonNull Long textureId;
 
-        void initialize();
+        public @NonNull Long getTextureId() {
+            return textureId;
+        }
+
+        public void setTextureId(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"textureId\" is null.");
+            }
+            this.textureId = setterArg;
+        }
+
+        private @NonNull Boolean audioOnly;
+
+        public @NonNull Boolean getAudioOnly() {
+            return audioOnly;
+        }
+
+        public void setAudioOnly(@NonNull Boolean setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"audioOnly\" is null.");
+            }
+            this.audioOnly = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        BackgroundModeMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable Long textureId;
+
+            public @NonNull Builder setTextureId(@NonNull Long setterArg) {
+                this.textureId = setterArg;
+                return this;
+            }
+
+            private @Nullable Boolean audioOnly;
+
+            public @NonNull Builder setAudioOnly(@NonNull Boolean setterArg) {
+                this.audioOnly = setterArg;
+                return this;
+            }
+
+            public @NonNull BackgroundModeMessage build() {
+                BackgroundModeMessage pigeonReturn = new BackgroundModeMessage();
+                pigeonReturn.setTextureId(textureId);
+                pigeonReturn.setAudioOnly(audioOnly);
+                return pigeonReturn;
+            }
+        }
 
         @NonNull
-        TextureMessage create(@NonNull CreateMessage msg);
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(2);
+            toListResult.add(textureId);
+            toListResult.add(audioOnly);
+            return toListResult;
+        }
 
-        void dispose(@NonNull TextureMessage msg);
+        static @NonNull BackgroundModeMessage fromList(@NonNull ArrayList<Object> list) {
+            BackgroundModeMessage pigeonResult = new BackgroundModeMessage();
+            Object textureId = list.get(0);
+            pigeonResult.setTextureId(
+                    (textureId == null)
+                            ? null
+                            : ((textureId instanceof Integer) ? (Integer) textureId : (Long) textureId));
+            Object audioOnly = list.get(1);
+            pigeonResult.setAudioOnly((Boolean) audioOnly);
+            return pigeonResult;
+        }
+    }
 
-        void setLooping(@NonNull LoopingMessage msg);
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class CommandMessage {
+        private @NonNull String name;
+
+        public @NonNull String getName() {
+            return name;
+        }
+
+        public void setName(@NonNull String setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"name\" is null.");
+            }
+            this.name = setterArg;
+        }
+
+        private @Nullable Object value;
+
+        public @Nullable Object getValue() {
+            return value;
+        }
+
+        public void setValue(@Nullable Object setterArg) {
+            this.value = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        CommandMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable String name;
+
+            public @NonNull Builder setName(@NonNull String setterArg) {
+                this.name = setterArg;
+                return this;
+            }
+
+            private @Nullable Object value;
+
+            public @NonNull Builder setValue(@Nullable Object setterArg) {
+                this.value = setterArg;
+                return this;
+            }
+
+            public @NonNull CommandMessage build() {
+                CommandMessage pigeonReturn = new CommandMessage();
+                pigeonReturn.setName(name);
+                pigeonReturn.setValue(value);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(2);
+            toListResult.add(name);
+            toListResult.add(value);
+            return toListResult;
+        }
+
+        static @NonNull CommandMessage fromList(@NonNull ArrayList<Object> list) {
+            CommandMessage pigeonResult = new CommandMessage();
+            Object name = list.get(0);
+            pigeonResult.setName((String) name);
+            Object value = list.get(1);
+            pigeonResult.setValue((Object) value);
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class CommandBatchMessage {
+        private @NonNull Long textureId;
+
+        public @NonNull Long getTextureId() {
+            return textureId;
+        }
+
+        public void setTextureId(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"textureId\" is null.");
+            }
+            this.textureId = setterArg;
+        }
+
+        private @NonNull List<CommandMessage> commands;
+
+        public @NonNull List<CommandMessage> getCommands() {
+            return commands;
+        }
+
+        public void setCommands(@NonNull List<CommandMessage> setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"commands\" is null.");
+            }
+            this.commands = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        CommandBatchMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable Long textureId;
+
+            public @NonNull Builder setTextureId(@NonNull Long setterArg) {
+                this.textureId = setterArg;
+                return this;
+            }
+
+            private @Nullable List<CommandMessage> commands;
+
+            public @NonNull Builder setCommands(@NonNull List<CommandMessage> setterArg) {
+                this.commands = setterArg;
+                return this;
+            }
+
+            public @NonNull CommandBatchMessage build() {
+                CommandBatchMessage pigeonReturn = new CommandBatchMessage();
+                pigeonReturn.setTextureId(textureId);
+                pigeonReturn.setCommands(commands);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(2);
+            toListResult.add(textureId);
+            toListResult.add(commands);
+            return toListResult;
+        }
+
+        static @NonNull CommandBatchMessage fromList(@NonNull ArrayList<Object> list) {
+            CommandBatchMessage pigeonResult = new CommandBatchMessage();
+            Object textureId = list.get(0);
+            pigeonResult.setTextureId(
+                    (textureId == null)
+                            ? null
+                            : ((textureId instanceof Integer) ? (Integer) textureId : (Long) textureId));
+            Object commands = list.get(1);
+            pigeonResult.setCommands((List<CommandMessage>) commands);
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class CommandBatchResultMessage {
+        private @NonNull Long textureId;
+
+        public @NonNull Long getTextureId() {
+            return textureId;
+        }
+
+        public void setTextureId(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"textureId\" is null.");
+            }
+            this.textureId = setterArg;
+        }
+
+        private @NonNull Long appliedCount;
+
+        public @NonNull Long getAppliedCount() {
+            return appliedCount;
+        }
+
+        public void setAppliedCount(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"appliedCount\" is null.");
+            }
+            this.appliedCount = setterArg;
+        }
+
+        private @NonNull Long elapsedMicros;
+
+        public @NonNull Long getElapsedMicros() {
+            return elapsedMicros;
+        }
+
+        public void setElapsedMicros(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"elapsedMicros\" is null.");
+            }
+            this.elapsedMicros = setterArg;
+        }
+
+        private @Nullable Map<String, Object> latencyStats;
+
+        public @Nullable Map<String, Object> getLatencyStats() {
+            return latencyStats;
+        }
+
+        public void setLatencyStats(@Nullable Map<String, Object> setterArg) {
+            this.latencyStats = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        CommandBatchResultMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable Long textureId;
+
+            public @NonNull Builder setTextureId(@NonNull Long setterArg) {
+                this.textureId = setterArg;
+                return this;
+            }
+
+            private @Nullable Long appliedCount;
+
+            public @NonNull Builder setAppliedCount(@NonNull Long setterArg) {
+                this.appliedCount = setterArg;
+                return this;
+            }
+
+            private @Nullable Long elapsedMicros;
+
+            public @NonNull Builder setElapsedMicros(@NonNull Long setterArg) {
+                this.elapsedMicros = setterArg;
+                return this;
+            }
+
+            private @Nullable Map<String, Object> latencyStats;
+
+            public @NonNull Builder setLatencyStats(@Nullable Map<String, Object> setterArg) {
+                this.latencyStats = setterArg;
+                return this;
+            }
+
+            public @NonNull CommandBatchResultMessage build() {
+                CommandBatchResultMessage pigeonReturn = new CommandBatchResultMessage();
+                pigeonReturn.setTextureId(textureId);
+                pigeonReturn.setAppliedCount(appliedCount);
+                pigeonReturn.setElapsedMicros(elapsedMicros);
+                pigeonReturn.setLatencyStats(latencyStats);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(4);
+            toListResult.add(textureId);
+            toListResult.add(appliedCount);
+            toListResult.add(elapsedMicros);
+            toListResult.add(latencyStats);
+            return toListResult;
+        }
+
+        static @NonNull CommandBatchResultMessage fromList(@NonNull ArrayList<Object> list) {
+            CommandBatchResultMessage pigeonResult = new CommandBatchResultMessage();
+            Object textureId = list.get(0);
+            pigeonResult.setTextureId(
+                    (textureId == null)
+                            ? null
+                            : ((textureId instanceof Integer) ? (Integer) textureId : (Long) textureId));
+            Object appliedCount = list.get(1);
+            pigeonResult.setAppliedCount(
+                    (appliedCount == null)
+                            ? null
+                            : ((appliedCount instanceof Integer) ? (Integer) appliedCount : (Long) appliedCount));
+            Object elapsedMicros = list.get(2);
+            pigeonResult.setElapsedMicros(
+                    (elapsedMicros == null)
+                            ? null
+                            : ((elapsedMicros instanceof Integer) ? (Integer) elapsedMicros : (Long) elapsedMicros));
+            Object latencyStats = list.get(3);
+            pigeonResult.setLatencyStats((Map<String, Object>) latencyStats);
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class SubtitleMessage {
+        private @NonNull String uri;
+
+        public @NonNull String getUri() {
+            return uri;
+        }
+
+        public void setUri(@NonNull String setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"uri\" is null.");
+            }
+            this.uri = setterArg;
+        }
+
+        private @NonNull String mimeType;
+
+        public @NonNull String getMimeType() {
+            return mimeType;
+        }
+
+        public void setMimeType(@NonNull String setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"mimeType\" is null.");
+            }
+            this.mimeType = setterArg;
+        }
+
+        private @Nullable String language;
+
+        public @Nullable String getLanguage() {
+            return language;
+        }
+
+        public void setLanguage(@Nullable String setterArg) {
+            this.language = setterArg;
+        }
+
+        private @Nullable String label;
+
+        public @Nullable String getLabel() {
+            return label;
+        }
+
+        public void setLabel(@Nullable String setterArg) {
+            this.label = setterArg;
+        }
+
+        private @Nullable Boolean isDefault;
+
+        public @Nullable Boolean getIsDefault() {
+            return isDefault;
+        }
+
+        public void setIsDefault(@Nullable Boolean setterArg) {
+            this.isDefault = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        SubtitleMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable String uri;
+
+            public @NonNull Builder setUri(@NonNull String setterArg) {
+                this.uri = setterArg;
+                return this;
+            }
+
+            private @Nullable String mimeType;
+
+            public @NonNull Builder setMimeType(@NonNull String setterArg) {
+                this.mimeType = setterArg;
+                return this;
+            }
+
+            private @Nullable String language;
+
+            public @NonNull Builder setLanguage(@Nullable String setterArg) {
+                this.language = setterArg;
+                return this;
+            }
+
+            private @Nullable String label;
+
+            public @NonNull Builder setLabel(@Nullable String setterArg) {
+                this.label = setterArg;
+                return this;
+            }
+
+            private @Nullable Boolean isDefault;
+
+            public @NonNull Builder setIsDefault(@Nullable Boolean setterArg) {
+                this.isDefault = setterArg;
+                return this;
+            }
+
+            public @NonNull SubtitleMessage build() {
+                SubtitleMessage pigeonReturn = new SubtitleMessage();
+                pigeonReturn.setUri(uri);
+                pigeonReturn.setMimeType(mimeType);
+                pigeonReturn.setLanguage(language);
+                pigeonReturn.setLabel(label);
+                pigeonReturn.setIsDefault(isDefault);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(5);
+            toListResult.add(uri);
+            toListResult.add(mimeType);
+            toListResult.add(language);
+            toListResult.add(label);
+            toListResult.add(isDefault);
+            return toListResult;
+        }
+
+        static @NonNull SubtitleMessage fromList(@NonNull ArrayList<Object> list) {
+            SubtitleMessage pigeonResult = new SubtitleMessage();
+            Object uri = list.get(0);
+            pigeonResult.setUri((String) uri);
+            Object mimeType = list.get(1);
+            pigeonResult.setMimeType((String) mimeType);
+            Object language = list.get(2);
+            pigeonResult.setLanguage((String) language);
+            Object label = list.get(3);
+            pigeonResult.setLabel((String) label);
+            Object isDefault = list.get(4);
+            pigeonResult.setIsDefault((Boolean) isDefault);
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class CmcdConfigurationMessage {
+        private @Nullable String sessionId;
+
+        public @Nullable String getSessionId() {
+            return sessionId;
+        }
+
+        public void setSessionId(@Nullable String setterArg) {
+            this.sessionId = setterArg;
+        }
+
+        private @Nullable String contentId;
+
+        public @Nullable String getContentId() {
+            return contentId;
+        }
+
+        public void setContentId(@Nullable String setterArg) {
+            this.contentId = setterArg;
+        }
+
+        private @Nullable Boolean useQueryParameter;
+
+        public @Nullable Boolean getUseQueryParameter() {
+            return useQueryParameter;
+        }
+
+        public void setUseQueryParameter(@Nullable Boolean setterArg) {
+            this.useQueryParameter = setterArg;
+        }
+
+        private @Nullable List<String> allowedKeys;
+
+        public @Nullable List<String> getAllowedKeys() {
+            return allowedKeys;
+        }
+
+        public void setAllowedKeys(@Nullable List<String> setterArg) {
+            this.allowedKeys = setterArg;
+        }
+
+        public static final class Builder {
+
+            private @Nullable String sessionId;
+
+            public @NonNull Builder setSessionId(@Nullable String setterArg) {
+                this.sessionId = setterArg;
+                return this;
+            }
+
+            private @Nullable String contentId;
+
+            public @NonNull Builder setContentId(@Nullable String setterArg) {
+                this.contentId = setterArg;
+                return this;
+            }
+
+            private @Nullable Boolean useQueryParameter;
+
+            public @NonNull Builder setUseQueryParameter(@Nullable Boolean setterArg) {
+                this.useQueryParameter = setterArg;
+                return this;
+            }
+
+            private @Nullable List<String> allowedKeys;
+
+            public @NonNull Builder setAllowedKeys(@Nullable List<String> setterArg) {
+                this.allowedKeys = setterArg;
+                return this;
+            }
+
+            public @NonNull CmcdConfigurationMessage build() {
+                CmcdConfigurationMessage pigeonReturn = new CmcdConfigurationMessage();
+                pigeonReturn.setSessionId(sessionId);
+                pigeonReturn.setContentId(contentId);
+                pigeonReturn.setUseQueryParameter(useQueryParameter);
+                pigeonReturn.setAllowedKeys(allowedKeys);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(4);
+            toListResult.add(sessionId);
+            toListResult.add(contentId);
+            toListResult.add(useQueryParameter);
+            toListResult.add(allowedKeys);
+            return toListResult;
+        }
+
+        static @NonNull CmcdConfigurationMessage fromList(@NonNull ArrayList<Object> list) {
+            CmcdConfigurationMessage pigeonResult = new CmcdConfigurationMessage();
+            Object sessionId = list.get(0);
+            pigeonResult.setSessionId((String) sessionId);
+            Object contentId = list.get(1);
+            pigeonResult.setContentId((String) contentId);
+            Object useQueryParameter = list.get(2);
+            pigeonResult.setUseQueryParameter((Boolean) useQueryParameter);
+            Object allowedKeys = list.get(3);
+            pigeonResult.setAllowedKeys((List<String>) allowedKeys);
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class LoadErrorPolicyMessage {
+        private @Nullable Long maxRetries;
+
+        public @Nullable Long getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(@Nullable Long setterArg) {
+            this.maxRetries = setterArg;
+        }
+
+        private @Nullable Long initialBackoffMs;
+
+        public @Nullable Long getInitialBackoffMs() {
+            return initialBackoffMs;
+        }
+
+        public void setInitialBackoffMs(@Nullable Long setterArg) {
+            this.initialBackoffMs = setterArg;
+        }
+
+        private @Nullable Long maxBackoffMs;
+
+        public @Nullable Long getMaxBackoffMs() {
+            return maxBackoffMs;
+        }
+
+        public void setMaxBackoffMs(@Nullable Long setterArg) {
+            this.maxBackoffMs = setterArg;
+        }
+
+        private @Nullable Double jitter;
+
+        public @Nullable Double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(@Nullable Double setterArg) {
+            this.jitter = setterArg;
+        }
+
+        private @Nullable List<Long> failFastStatusCodes;
+
+        public @Nullable List<Long> getFailFastStatusCodes() {
+            return failFastStatusCodes;
+        }
+
+        public void setFailFastStatusCodes(@Nullable List<Long> setterArg) {
+            this.failFastStatusCodes = setterArg;
+        }
+
+        private @Nullable List<Long> retryStatusCodes;
+
+        public @Nullable List<Long> getRetryStatusCodes() {
+            return retryStatusCodes;
+        }
+
+        public void setRetryStatusCodes(@Nullable List<Long> setterArg) {
+            this.retryStatusCodes = setterArg;
+        }
+
+        private @Nullable Long exclusionMs;
+
+        public @Nullable Long getExclusionMs() {
+            return exclusionMs;
+        }
+
+        public void setExclusionMs(@Nullable Long setterArg) {
+            this.exclusionMs = setterArg;
+        }
+
+        public static final class Builder {
+
+            private @Nullable Long maxRetries;
+
+            public @NonNull Builder setMaxRetries(@Nullable Long setterArg) {
+                this.maxRetries = setterArg;
+                return this;
+            }
+
+            private @Nullable Long initialBackoffMs;
+
+            public @NonNull Builder setInitialBackoffMs(@Nullable Long setterArg) {
+                this.initialBackoffMs = setterArg;
+                return this;
+            }
+
+            private @Nullable Long maxBackoffMs;
+
+            public @NonNull Builder setMaxBackoffMs(@Nullable Long setterArg) {
+                this.maxBackoffMs = setterArg;
+                return this;
+            }
+
+            private @Nullable Double jitter;
+
+            public @NonNull Builder setJitter(@Nullable Double setterArg) {
+                this.jitter = setterArg;
+                return this;
+            }
+
+            private @Nullable List<Long> failFastStatusCodes;
+
+            public @NonNull Builder setFailFastStatusCodes(@Nullable List<Long> setterArg) {
+                this.failFastStatusCodes = setterArg;
+                return this;
+            }
+
+            private @Nullable List<Long> retryStatusCodes;
+
+            public @NonNull Builder setRetryStatusCodes(@Nullable List<Long> setterArg) {
+                this.retryStatusCodes = setterArg;
+                return this;
+            }
+
+            private @Nullable Long exclusionMs;
+
+            public @NonNull Builder setExclusionMs(@Nullable Long setterArg) {
+                this.exclusionMs = setterArg;
+                return this;
+            }
+
+            public @NonNull LoadErrorPolicyMessage build() {
+                LoadErrorPolicyMessage pigeonReturn = new LoadErrorPolicyMessage();
+                pigeonReturn.setMaxRetries(maxRetries);
+                pigeonReturn.setInitialBackoffMs(initialBackoffMs);
+                pigeonReturn.setMaxBackoffMs(maxBackoffMs);
+                pigeonReturn.setJitter(jitter);
+                pigeonReturn.setFailFastStatusCodes(failFastStatusCodes);
+                pigeonReturn.setRetryStatusCodes(retryStatusCodes);
+                pigeonReturn.setExclusionMs(exclusionMs);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(7);
+            toListResult.add(maxRetries);
+            toListResult.add(initialBackoffMs);
+            toListResult.add(maxBackoffMs);
+            toListResult.add(jitter);
+            toListResult.add(failFastStatusCodes);
+            toListResult.add(retryStatusCodes);
+            toListResult.add(exclusionMs);
+            return toListResult;
+        }
+
+        static @NonNull LoadErrorPolicyMessage fromList(@NonNull ArrayList<Object> list) {
+            LoadErrorPolicyMessage pigeonResult = new LoadErrorPolicyMessage();
+            Object maxRetries = list.get(0);
+            pigeonResult.setMaxRetries(
+                    (maxRetries == null)
+                            ? null
+                            : ((maxRetries instanceof Integer) ? (Integer) maxRetries : (Long) maxRetries));
+            Object initialBackoffMs = list.get(1);
+            pigeonResult.setInitialBackoffMs(
+                    (initialBackoffMs == null)
+                            ? null
+                            : ((initialBackoffMs instanceof Integer) ? (Integer) initialBackoffMs : (Long) initialBackoffMs));
+            Object maxBackoffMs = list.get(2);
+            pigeonResult.setMaxBackoffMs(
+                    (maxBackoffMs == null)
+                            ? null
+                            : ((maxBackoffMs instanceof Integer) ? (Integer) maxBackoffMs : (Long) maxBackoffMs));
+            Object jitter = list.get(3);
+            pigeonResult.setJitter((Double) jitter);
+            Object failFastStatusCodes = list.get(4);
+            pigeonResult.setFailFastStatusCodes((List<Long>) failFastStatusCodes);
+            Object retryStatusCodes = list.get(5);
+            pigeonResult.setRetryStatusCodes((List<Long>) retryStatusCodes);
+            Object exclusionMs = list.get(6);
+            pigeonResult.setExclusionMs(
+                    (exclusionMs == null)
+                            ? null
+                            : ((exclusionMs instanceof Integer) ? (Integer) exclusionMs : (Long) exclusionMs));
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class OriginFailoverMessage {
+        private @NonNull List<String> origins;
+
+        public @NonNull List<String> getOrigins() {
+            return origins;
+        }
+
+        public void setOrigins(@NonNull List<String> setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"origins\" is null.");
+            }
+            this.origins = setterArg;
+        }
+
+        private @Nullable Long minThroughputKbps;
+
+        public @Nullable Long getMinThroughputKbps() {
+            return minThroughputKbps;
+        }
+
+        public void setMinThroughputKbps(@Nullable Long setterArg) {
+            this.minThroughputKbps = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        OriginFailoverMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable List<String> origins;
+
+            public @NonNull Builder setOrigins(@NonNull List<String> setterArg) {
+                this.origins = setterArg;
+                return this;
+            }
+
+            private @Nullable Long minThroughputKbps;
+
+            public @NonNull Builder setMinThroughputKbps(@Nullable Long setterArg) {
+                this.minThroughputKbps = setterArg;
+                return this;
+            }
+
+            public @NonNull OriginFailoverMessage build() {
+                OriginFailoverMessage pigeonReturn = new OriginFailoverMessage();
+                pigeonReturn.setOrigins(origins);
+                pigeonReturn.setMinThroughputKbps(minThroughputKbps);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(2);
+            toListResult.add(origins);
+            toListResult.add(minThroughputKbps);
+            return toListResult;
+        }
+
+        static @NonNull OriginFailoverMessage fromList(@NonNull ArrayList<Object> list) {
+            OriginFailoverMessage pigeonResult = new OriginFailoverMessage();
+            Object origins = list.get(0);
+            pigeonResult.setOrigins((List<String>) origins);
+            Object minThroughputKbps = list.get(1);
+            pigeonResult.setMinThroughputKbps(
+                    (minThroughputKbps == null)
+                            ? null
+                            : ((minThroughputKbps instanceof Integer) ? (Integer) minThroughputKbps : (Long) minThroughputKbps));
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class HedgingConfigurationMessage {
+        private @Nullable Double percentile;
+
+        public @Nullable Double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(@Nullable Double setterArg) {
+            this.percentile = setterArg;
+        }
+
+        private @Nullable Long minDelayMs;
+
+        public @Nullable Long getMinDelayMs() {
+            return minDelayMs;
+        }
+
+        public void setMinDelayMs(@Nullable Long setterArg) {
+            this.minDelayMs = setterArg;
+        }
+
+        public static final class Builder {
+
+            private @Nullable Double percentile;
+
+            public @NonNull Builder setPercentile(@Nullable Double setterArg) {
+                this.percentile = setterArg;
+                return this;
+            }
+
+            private @Nullable Long minDelayMs;
+
+            public @NonNull Builder setMinDelayMs(@Nullable Long setterArg) {
+                this.minDelayMs = setterArg;
+                return this;
+            }
+
+            public @NonNull HedgingConfigurationMessage build() {
+                HedgingConfigurationMessage pigeonReturn = new HedgingConfigurationMessage();
+                pigeonReturn.setPercentile(percentile);
+                pigeonReturn.setMinDelayMs(minDelayMs);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(2);
+            toListResult.add(percentile);
+            toListResult.add(minDelayMs);
+            return toListResult;
+        }
+
+        static @NonNull HedgingConfigurationMessage fromList(@NonNull ArrayList<Object> list) {
+            HedgingConfigurationMessage pigeonResult = new HedgingConfigurationMessage();
+            Object percentile = list.get(0);
+            pigeonResult.setPercentile((Double) percentile);
+            Object minDelayMs = list.get(1);
+            pigeonResult.setMinDelayMs(
+                    (minDelayMs == null)
+                            ? null
+                            : ((minDelayMs instanceof Integer) ? (Integer) minDelayMs : (Long) minDelayMs));
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class HedgingStatsMessage {
+        private @NonNull Long textureId;
+
+        public @NonNull Long getTextureId() {
+            return textureId;
+        }
+
+        public void setTextureId(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"textureId\" is null.");
+            }
+            this.textureId = setterArg;
+        }
+
+        private @NonNull Long hedgesFired;
+
+        public @NonNull Long getHedgesFired() {
+            return hedgesFired;
+        }
+
+        public void setHedgesFired(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"hedgesFired\" is null.");
+            }
+            this.hedgesFired = setterArg;
+        }
+
+        private @NonNull Long hedgesWon;
+
+        public @NonNull Long getHedgesWon() {
+            return hedgesWon;
+        }
+
+        public void setHedgesWon(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"hedgesWon\" is null.");
+            }
+            this.hedgesWon = setterArg;
+        }
+
+        private @Nullable Long thresholdMs;
+
+        public @Nullable Long getThresholdMs() {
+            return thresholdMs;
+        }
+
+        public void setThresholdMs(@Nullable Long setterArg) {
+            this.thresholdMs = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        HedgingStatsMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable Long textureId;
+
+            public @NonNull Builder setTextureId(@NonNull Long setterArg) {
+                this.textureId = setterArg;
+                return this;
+            }
+
+            private @Nullable Long hedgesFired;
+
+            public @NonNull Builder setHedgesFired(@NonNull Long setterArg) {
+                this.hedgesFired = setterArg;
+                return this;
+            }
+
+            private @Nullable Long hedgesWon;
+
+            public @NonNull Builder setHedgesWon(@NonNull Long setterArg) {
+                this.hedgesWon = setterArg;
+                return this;
+            }
+
+            private @Nullable Long thresholdMs;
+
+            public @NonNull Builder setThresholdMs(@Nullable Long setterArg) {
+                this.thresholdMs = setterArg;
+                return this;
+            }
+
+            public @NonNull HedgingStatsMessage build() {
+                HedgingStatsMessage pigeonReturn = new HedgingStatsMessage();
+                pigeonReturn.setTextureId(textureId);
+                pigeonReturn.setHedgesFired(hedgesFired);
+                pigeonReturn.setHedgesWon(hedgesWon);
+                pigeonReturn.setThresholdMs(thresholdMs);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(4);
+            toListResult.add(textureId);
+            toListResult.add(hedgesFired);
+            toListResult.add(hedgesWon);
+            toListResult.add(thresholdMs);
+            return toListResult;
+        }
+
+        static @NonNull HedgingStatsMessage fromList(@NonNull ArrayList<Object> list) {
+            HedgingStatsMessage pigeonResult = new HedgingStatsMessage();
+            Object textureId = list.get(0);
+            pigeonResult.setTextureId(
+                    (textureId == null)
+                            ? null
+                            : ((textureId instanceof Integer) ? (Integer) textureId : (Long) textureId));
+            Object hedgesFired = list.get(1);
+            pigeonResult.setHedgesFired(
+                    (hedgesFired == null)
+                            ? null
+                            : ((hedgesFired instanceof Integer) ? (Integer) hedgesFired : (Long) hedgesFired));
+            Object hedgesWon = list.get(2);
+            pigeonResult.setHedgesWon(
+                    (hedgesWon == null)
+                            ? null
+                            : ((hedgesWon instanceof Integer) ? (Integer) hedgesWon : (Long) hedgesWon));
+            Object thresholdMs = list.get(3);
+            pigeonResult.setThresholdMs(
+                    (thresholdMs == null)
+                            ? null
+                            : ((thresholdMs instanceof Integer) ? (Integer) thresholdMs : (Long) thresholdMs));
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class KeyframesMessage {
+        private @NonNull Long textureId;
+
+        public @NonNull Long getTextureId() {
+            return textureId;
+        }
+
+        public void setTextureId(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"textureId\" is null.");
+            }
+            this.textureId = setterArg;
+        }
+
+        private @NonNull List<Long> timesMs;
+
+        public @NonNull List<Long> getTimesMs() {
+            return timesMs;
+        }
+
+        public void setTimesMs(@NonNull List<Long> setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"timesMs\" is null.");
+            }
+            this.timesMs = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        KeyframesMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable Long textureId;
+
+            public @NonNull Builder setTextureId(@NonNull Long setterArg) {
+                this.textureId = setterArg;
+                return this;
+            }
+
+            private @Nullable List<Long> timesMs;
+
+            public @NonNull Builder setTimesMs(@NonNull List<Long> setterArg) {
+                this.timesMs = setterArg;
+                return this;
+            }
+
+            public @NonNull KeyframesMessage build() {
+                KeyframesMessage pigeonReturn = new KeyframesMessage();
+                pigeonReturn.setTextureId(textureId);
+                pigeonReturn.setTimesMs(timesMs);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(2);
+            toListResult.add(textureId);
+            toListResult.add(timesMs);
+            return toListResult;
+        }
+
+        static @NonNull KeyframesMessage fromList(@NonNull ArrayList<Object> list) {
+            KeyframesMessage pigeonResult = new KeyframesMessage();
+            Object textureId = list.get(0);
+            pigeonResult.setTextureId(
+                    (textureId == null)
+                            ? null
+                            : ((textureId instanceof Integer) ? (Integer) textureId : (Long) textureId));
+            Object timesMs = list.get(1);
+            pigeonResult.setTimesMs((List<Long>) timesMs);
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class HostNetworkStatsMessage {
+        private @NonNull String host;
+
+        public @NonNull String getHost() {
+            return host;
+        }
+
+        public void setHost(@NonNull String setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"host\" is null.");
+            }
+            this.host = setterArg;
+        }
+
+        private @NonNull String requestType;
+
+        public @NonNull String getRequestType() {
+            return requestType;
+        }
+
+        public void setRequestType(@NonNull String setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"requestType\" is null.");
+            }
+            this.requestType = setterArg;
+        }
+
+        private @NonNull Long requests;
+
+        public @NonNull Long getRequests() {
+            return requests;
+        }
+
+        public void setRequests(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"requests\" is null.");
+            }
+            this.requests = setterArg;
+        }
+
+        private @NonNull Long failures;
+
+        public @NonNull Long getFailures() {
+            return failures;
+        }
+
+        public void setFailures(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"failures\" is null.");
+            }
+            this.failures = setterArg;
+        }
+
+        private @NonNull Long bytes;
+
+        public @NonNull Long getBytes() {
+            return bytes;
+        }
+
+        public void setBytes(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"bytes\" is null.");
+            }
+            this.bytes = setterArg;
+        }
+
+        private @NonNull Long cacheHits;
+
+        public @NonNull Long getCacheHits() {
+            return cacheHits;
+        }
+
+        public void setCacheHits(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"cacheHits\" is null.");
+            }
+            this.cacheHits = setterArg;
+        }
+
+        private @NonNull Long cacheMisses;
+
+        public @NonNull Long getCacheMisses() {
+            return cacheMisses;
+        }
+
+        public void setCacheMisses(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"cacheMisses\" is null.");
+            }
+            this.cacheMisses = setterArg;
+        }
+
+        private @NonNull List<Long> ttfbHistogram;
+
+        public @NonNull List<Long> getTtfbHistogram() {
+            return ttfbHistogram;
+        }
+
+        public void setTtfbHistogram(@NonNull List<Long> setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"ttfbHistogram\" is null.");
+            }
+            this.ttfbHistogram = setterArg;
+        }
+
+        private @NonNull List<Long> throughputHistogram;
+
+        public @NonNull List<Long> getThroughputHistogram() {
+            return throughputHistogram;
+        }
+
+        public void setThroughputHistogram(@NonNull List<Long> setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"throughputHistogram\" is null.");
+            }
+            this.throughputHistogram = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        HostNetworkStatsMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable String host;
+
+            public @NonNull Builder setHost(@NonNull String setterArg) {
+                this.host = setterArg;
+                return this;
+            }
+
+            private @Nullable String requestType;
+
+            public @NonNull Builder setRequestType(@NonNull String setterArg) {
+                this.requestType = setterArg;
+                return this;
+            }
+
+            private @Nullable Long requests;
+
+            public @NonNull Builder setRequests(@NonNull Long setterArg) {
+                this.requests = setterArg;
+                return this;
+            }
+
+            private @Nullable Long failures;
+
+            public @NonNull Builder setFailures(@NonNull Long setterArg) {
+                this.failures = setterArg;
+                return this;
+            }
+
+            private @Nullable Long bytes;
+
+            public @NonNull Builder setBytes(@NonNull Long setterArg) {
+                this.bytes = setterArg;
+                return this;
+            }
+
+            private @Nullable Long cacheHits;
+
+            public @NonNull Builder setCacheHits(@NonNull Long setterArg) {
+                this.cacheHits = setterArg;
+                return this;
+            }
+
+            private @Nullable Long cacheMisses;
+
+            public @NonNull Builder setCacheMisses(@NonNull Long setterArg) {
+                this.cacheMisses = setterArg;
+                return this;
+            }
+
+            private @Nullable List<Long> ttfbHistogram;
+
+            public @NonNull Builder setTtfbHistogram(@NonNull List<Long> setterArg) {
+                this.ttfbHistogram = setterArg;
+                return this;
+            }
+
+            private @Nullable List<Long> throughputHistogram;
+
+            public @NonNull Builder setThroughputHistogram(@NonNull List<Long> setterArg) {
+                this.throughputHistogram = setterArg;
+                return this;
+            }
+
+            public @NonNull HostNetworkStatsMessage build() {
+                HostNetworkStatsMessage pigeonReturn = new HostNetworkStatsMessage();
+                pigeonReturn.setHost(host);
+                pigeonReturn.setRequestType(requestType);
+                pigeonReturn.setRequests(requests);
+                pigeonReturn.setFailures(failures);
+                pigeonReturn.setBytes(bytes);
+                pigeonReturn.setCacheHits(cacheHits);
+                pigeonReturn.setCacheMisses(cacheMisses);
+                pigeonReturn.setTtfbHistogram(ttfbHistogram);
+                pigeonReturn.setThroughputHistogram(throughputHistogram);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(9);
+            toListResult.add(host);
+            toListResult.add(requestType);
+            toListResult.add(requests);
+            toListResult.add(failures);
+            toListResult.add(bytes);
+            toListResult.add(cacheHits);
+            toListResult.add(cacheMisses);
+            toListResult.add(ttfbHistogram);
+            toListResult.add(throughputHistogram);
+            return toListResult;
+        }
+
+        static @NonNull HostNetworkStatsMessage fromList(@NonNull ArrayList<Object> list) {
+            HostNetworkStatsMessage pigeonResult = new HostNetworkStatsMessage();
+            Object host = list.get(0);
+            pigeonResult.setHost((String) host);
+            Object requestType = list.get(1);
+            pigeonResult.setRequestType((String) requestType);
+            Object requests = list.get(2);
+            pigeonResult.setRequests(
+                    (requests == null)
+                            ? null
+                            : ((requests instanceof Integer) ? (Integer) requests : (Long) requests));
+            Object failures = list.get(3);
+            pigeonResult.setFailures(
+                    (failures == null)
+                            ? null
+                            : ((failures instanceof Integer) ? (Integer) failures : (Long) failures));
+            Object bytes = list.get(4);
+            pigeonResult.setBytes(
+                    (bytes == null)
+                            ? null
+                            : ((bytes instanceof Integer) ? (Integer) bytes : (Long) bytes));
+            Object cacheHits = list.get(5);
+            pigeonResult.setCacheHits(
+                    (cacheHits == null)
+                            ? null
+                            : ((cacheHits instanceof Integer) ? (Integer) cacheHits : (Long) cacheHits));
+            Object cacheMisses = list.get(6);
+            pigeonResult.setCacheMisses(
+                    (cacheMisses == null)
+                            ? null
+                            : ((cacheMisses instanceof Integer) ? (Integer) cacheMisses : (Long) cacheMisses));
+            Object ttfbHistogram = list.get(7);
+            pigeonResult.setTtfbHistogram((List<Long>) ttfbHistogram);
+            Object throughputHistogram = list.get(8);
+            pigeonResult.setThroughputHistogram((List<Long>) throughputHistogram);
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class NetworkStatsMessage {
+        private @NonNull List<Long> ttfbBucketsMs;
+
+        public @NonNull List<Long> getTtfbBucketsMs() {
+            return ttfbBucketsMs;
+        }
+
+        public void setTtfbBucketsMs(@NonNull List<Long> setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"ttfbBucketsMs\" is null.");
+            }
+            this.ttfbBucketsMs = setterArg;
+        }
+
+        private @NonNull List<Long> throughputBucketsKbps;
+
+        public @NonNull List<Long> getThroughputBucketsKbps() {
+            return throughputBucketsKbps;
+        }
+
+        public void setThroughputBucketsKbps(@NonNull List<Long> setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"throughputBucketsKbps\" is null.");
+            }
+            this.throughputBucketsKbps = setterArg;
+        }
+
+        private @NonNull List<HostNetworkStatsMessage> hosts;
+
+        public @NonNull List<HostNetworkStatsMessage> getHosts() {
+            return hosts;
+        }
+
+        public void setHosts(@NonNull List<HostNetworkStatsMessage> setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"hosts\" is null.");
+            }
+            this.hosts = setterArg;
+        }
+
+        private @Nullable Long fullTlsHandshakes;
+
+        public @Nullable Long getFullTlsHandshakes() {
+            return fullTlsHandshakes;
+        }
+
+        public void setFullTlsHandshakes(@Nullable Long setterArg) {
+            this.fullTlsHandshakes = setterArg;
+        }
+
+        private @Nullable Long resumedTlsHandshakes;
+
+        public @Nullable Long getResumedTlsHandshakes() {
+            return resumedTlsHandshakes;
+        }
+
+        public void setResumedTlsHandshakes(@Nullable Long setterArg) {
+            this.resumedTlsHandshakes = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        NetworkStatsMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable List<Long> ttfbBucketsMs;
+
+            public @NonNull Builder setTtfbBucketsMs(@NonNull List<Long> setterArg) {
+                this.ttfbBucketsMs = setterArg;
+                return this;
+            }
+
+            private @Nullable List<Long> throughputBucketsKbps;
+
+            public @NonNull Builder setThroughputBucketsKbps(@NonNull List<Long> setterArg) {
+                this.throughputBucketsKbps = setterArg;
+                return this;
+            }
+
+            private @Nullable List<HostNetworkStatsMessage> hosts;
+
+            public @NonNull Builder setHosts(@NonNull List<HostNetworkStatsMessage> setterArg) {
+                this.hosts = setterArg;
+                return this;
+            }
+
+            private @Nullable Long fullTlsHandshakes;
+
+            public @NonNull Builder setFullTlsHandshakes(@Nullable Long setterArg) {
+                this.fullTlsHandshakes = setterArg;
+                return this;
+            }
+
+            private @Nullable Long resumedTlsHandshakes;
+
+            public @NonNull Builder setResumedTlsHandshakes(@Nullable Long setterArg) {
+                this.resumedTlsHandshakes = setterArg;
+                return this;
+            }
+
+            public @NonNull NetworkStatsMessage build() {
+                NetworkStatsMessage pigeonReturn = new NetworkStatsMessage();
+                pigeonReturn.setTtfbBucketsMs(ttfbBucketsMs);
+                pigeonReturn.setThroughputBucketsKbps(throughputBucketsKbps);
+                pigeonReturn.setHosts(hosts);
+                pigeonReturn.setFullTlsHandshakes(fullTlsHandshakes);
+                pigeonReturn.setResumedTlsHandshakes(resumedTlsHandshakes);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(5);
+            toListResult.add(ttfbBucketsMs);
+            toListResult.add(throughputBucketsKbps);
+            toListResult.add(hosts);
+            toListResult.add(fullTlsHandshakes);
+            toListResult.add(resumedTlsHandshakes);
+            return toListResult;
+        }
+
+        static @NonNull NetworkStatsMessage fromList(@NonNull ArrayList<Object> list) {
+            NetworkStatsMessage pigeonResult = new NetworkStatsMessage();
+            Object ttfbBucketsMs = list.get(0);
+            pigeonResult.setTtfbBucketsMs((List<Long>) ttfbBucketsMs);
+            Object throughputBucketsKbps = list.get(1);
+            pigeonResult.setThroughputBucketsKbps((List<Long>) throughputBucketsKbps);
+            Object hosts = list.get(2);
+            pigeonResult.setHosts((List<HostNetworkStatsMessage>) hosts);
+            Object fullTlsHandshakes = list.get(3);
+            pigeonResult.setFullTlsHandshakes(
+                    (fullTlsHandshakes == null)
+                            ? null
+                            : ((fullTlsHandshakes instanceof Integer) ? (Integer) fullTlsHandshakes : (Long) fullTlsHandshakes));
+            Object resumedTlsHandshakes = list.get(4);
+            pigeonResult.setResumedTlsHandshakes(
+                    (resumedTlsHandshakes == null)
+                            ? null
+                            : ((resumedTlsHandshakes instanceof Integer) ? (Integer) resumedTlsHandshakes : (Long) resumedTlsHandshakes));
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class PreconnectMessage {
+        private @NonNull List<String> hosts;
+
+        public @NonNull List<String> getHosts() {
+            return hosts;
+        }
+
+        public void setHosts(@NonNull List<String> setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"hosts\" is null.");
+            }
+            this.hosts = setterArg;
+        }
+
+        private @Nullable Long keepAliveMs;
+
+        public @Nullable Long getKeepAliveMs() {
+            return keepAliveMs;
+        }
+
+        public void setKeepAliveMs(@Nullable Long setterArg) {
+            this.keepAliveMs = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        PreconnectMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable List<String> hosts;
+
+            public @NonNull Builder setHosts(@NonNull List<String> setterArg) {
+                this.hosts = setterArg;
+                return this;
+            }
+
+            private @Nullable Long keepAliveMs;
+
+            public @NonNull Builder setKeepAliveMs(@Nullable Long setterArg) {
+                this.keepAliveMs = setterArg;
+                return this;
+            }
+
+            public @NonNull PreconnectMessage build() {
+                PreconnectMessage pigeonReturn = new PreconnectMessage();
+                pigeonReturn.setHosts(hosts);
+                pigeonReturn.setKeepAliveMs(keepAliveMs);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(2);
+            toListResult.add(hosts);
+            toListResult.add(keepAliveMs);
+            return toListResult;
+        }
+
+        static @NonNull PreconnectMessage fromList(@NonNull ArrayList<Object> list) {
+            PreconnectMessage pigeonResult = new PreconnectMessage();
+            Object hosts = list.get(0);
+            pigeonResult.setHosts((List<String>) hosts);
+            Object keepAliveMs = list.get(1);
+            pigeonResult.setKeepAliveMs(
+                    (keepAliveMs == null)
+                            ? null
+                            : ((keepAliveMs instanceof Integer) ? (Integer) keepAliveMs : (Long) keepAliveMs));
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class AbrConfigurationMessage {
+        private @Nullable String strategy;
+
+        public @Nullable String getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(@Nullable String setterArg) {
+            this.strategy = setterArg;
+        }
+
+        private @Nullable Long minDurationForQualityIncreaseMs;
+
+        public @Nullable Long getMinDurationForQualityIncreaseMs() {
+            return minDurationForQualityIncreaseMs;
+        }
+
+        public void setMinDurationForQualityIncreaseMs(@Nullable Long setterArg) {
+            this.minDurationForQualityIncreaseMs = setterArg;
+        }
+
+        private @Nullable Long maxDurationForQualityDecreaseMs;
+
+        public @Nullable Long getMaxDurationForQualityDecreaseMs() {
+            return maxDurationForQualityDecreaseMs;
+        }
+
+        public void setMaxDurationForQualityDecreaseMs(@Nullable Long setterArg) {
+            this.maxDurationForQualityDecreaseMs = setterArg;
+        }
+
+        private @Nullable Double bandwidthFraction;
+
+        public @Nullable Double getBandwidthFraction() {
+            return bandwidthFraction;
+        }
+
+        public void setBandwidthFraction(@Nullable Double setterArg) {
+            this.bandwidthFraction = setterArg;
+        }
+
+        private @Nullable Long minBufferMs;
+
+        public @Nullable Long getMinBufferMs() {
+            return minBufferMs;
+        }
+
+        public void setMinBufferMs(@Nullable Long setterArg) {
+            this.minBufferMs = setterArg;
+        }
+
+        private @Nullable Long bufferTargetMs;
+
+        public @Nullable Long getBufferTargetMs() {
+            return bufferTargetMs;
+        }
+
+        public void setBufferTargetMs(@Nullable Long setterArg) {
+            this.bufferTargetMs = setterArg;
+        }
+
+        public static final class Builder {
+
+            private @Nullable String strategy;
+
+            public @NonNull Builder setStrategy(@Nullable String setterArg) {
+                this.strategy = setterArg;
+                return this;
+            }
+
+            private @Nullable Long minDurationForQualityIncreaseMs;
+
+            public @NonNull Builder setMinDurationForQualityIncreaseMs(@Nullable Long setterArg) {
+                this.minDurationForQualityIncreaseMs = setterArg;
+                return this;
+            }
+
+            private @Nullable Long maxDurationForQualityDecreaseMs;
+
+            public @NonNull Builder setMaxDurationForQualityDecreaseMs(@Nullable Long setterArg) {
+                this.maxDurationForQualityDecreaseMs = setterArg;
+                return this;
+            }
+
+            private @Nullable Double bandwidthFraction;
+
+            public @NonNull Builder setBandwidthFraction(@Nullable Double setterArg) {
+                this.bandwidthFraction = setterArg;
+                return this;
+            }
+
+            private @Nullable Long minBufferMs;
+
+            public @NonNull Builder setMinBufferMs(@Nullable Long setterArg) {
+                this.minBufferMs = setterArg;
+                return this;
+            }
+
+            private @Nullable Long bufferTargetMs;
+
+            public @NonNull Builder setBufferTargetMs(@Nullable Long setterArg) {
+                this.bufferTargetMs = setterArg;
+                return this;
+            }
+
+            public @NonNull AbrConfigurationMessage build() {
+                AbrConfigurationMessage pigeonReturn = new AbrConfigurationMessage();
+                pigeonReturn.setStrategy(strategy);
+                pigeonReturn.setMinDurationForQualityIncreaseMs(minDurationForQualityIncreaseMs);
+                pigeonReturn.setMaxDurationForQualityDecreaseMs(maxDurationForQualityDecreaseMs);
+                pigeonReturn.setBandwidthFraction(bandwidthFraction);
+                pigeonReturn.setMinBufferMs(minBufferMs);
+                pigeonReturn.setBufferTargetMs(bufferTargetMs);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(6);
+            toListResult.add(strategy);
+            toListResult.add(minDurationForQualityIncreaseMs);
+            toListResult.add(maxDurationForQualityDecreaseMs);
+            toListResult.add(bandwidthFraction);
+            toListResult.add(minBufferMs);
+            toListResult.add(bufferTargetMs);
+            return toListResult;
+        }
+
+        static @NonNull AbrConfigurationMessage fromList(@NonNull ArrayList<Object> list) {
+            AbrConfigurationMessage pigeonResult = new AbrConfigurationMessage();
+            Object strategy = list.get(0);
+            pigeonResult.setStrategy((String) strategy);
+            Object minDurationForQualityIncreaseMs = list.get(1);
+            pigeonResult.setMinDurationForQualityIncreaseMs(
+                    (minDurationForQualityIncreaseMs == null)
+                            ? null
+                            : ((minDurationForQualityIncreaseMs instanceof Integer) ? (Integer) minDurationForQualityIncreaseMs : (Long) minDurationForQualityIncreaseMs));
+            Object maxDurationForQualityDecreaseMs = list.get(2);
+            pigeonResult.setMaxDurationForQualityDecreaseMs(
+                    (maxDurationForQualityDecreaseMs == null)
+                            ? null
+                            : ((maxDurationForQualityDecreaseMs instanceof Integer) ? (Integer) maxDurationForQualityDecreaseMs : (Long) maxDurationForQualityDecreaseMs));
+            Object bandwidthFraction = list.get(3);
+            pigeonResult.setBandwidthFraction((Double) bandwidthFraction);
+            Object minBufferMs = list.get(4);
+            pigeonResult.setMinBufferMs(
+                    (minBufferMs == null)
+                            ? null
+                            : ((minBufferMs instanceof Integer) ? (Integer) minBufferMs : (Long) minBufferMs));
+            Object bufferTargetMs = list.get(5);
+            pigeonResult.setBufferTargetMs(
+                    (bufferTargetMs == null)
+                            ? null
+                            : ((bufferTargetMs instanceof Integer) ? (Integer) bufferTargetMs : (Long) bufferTargetMs));
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class SchedulerConfigurationMessage {
+        private @NonNull Long maxActivePlayers;
+
+        public @NonNull Long getMaxActivePlayers() {
+            return maxActivePlayers;
+        }
+
+        public void setMaxActivePlayers(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"maxActivePlayers\" is null.");
+            }
+            this.maxActivePlayers = setterArg;
+        }
+
+        private @Nullable Long maxPreparedPlayers;
+
+        public @Nullable Long getMaxPreparedPlayers() {
+            return maxPreparedPlayers;
+        }
+
+        public void setMaxPreparedPlayers(@Nullable Long setterArg) {
+            this.maxPreparedPlayers = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        SchedulerConfigurationMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable Long maxActivePlayers;
+
+            public @NonNull Builder setMaxActivePlayers(@NonNull Long setterArg) {
+                this.maxActivePlayers = setterArg;
+                return this;
+            }
+
+            private @Nullable Long maxPreparedPlayers;
+
+            public @NonNull Builder setMaxPreparedPlayers(@Nullable Long setterArg) {
+                this.maxPreparedPlayers = setterArg;
+                return this;
+            }
+
+            public @NonNull SchedulerConfigurationMessage build() {
+                SchedulerConfigurationMessage pigeonReturn = new SchedulerConfigurationMessage();
+                pigeonReturn.setMaxActivePlayers(maxActivePlayers);
+                pigeonReturn.setMaxPreparedPlayers(maxPreparedPlayers);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(2);
+            toListResult.add(maxActivePlayers);
+            toListResult.add(maxPreparedPlayers);
+            return toListResult;
+        }
+
+        static @NonNull SchedulerConfigurationMessage fromList(@NonNull ArrayList<Object> list) {
+            SchedulerConfigurationMessage pigeonResult = new SchedulerConfigurationMessage();
+            Object maxActivePlayers = list.get(0);
+            pigeonResult.setMaxActivePlayers(
+                    (maxActivePlayers == null)
+                            ? null
+                            : ((maxActivePlayers instanceof Integer) ? (Integer) maxActivePlayers : (Long) maxActivePlayers));
+            Object maxPreparedPlayers = list.get(1);
+            pigeonResult.setMaxPreparedPlayers(
+                    (maxPreparedPlayers == null)
+                            ? null
+                            : ((maxPreparedPlayers instanceof Integer) ? (Integer) maxPreparedPlayers : (Long) maxPreparedPlayers));
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class PlayerVisibilityMessage {
+        private @NonNull Long textureId;
+
+        public @NonNull Long getTextureId() {
+            return textureId;
+        }
+
+        public void setTextureId(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"textureId\" is null.");
+            }
+            this.textureId = setterArg;
+        }
+
+        private @NonNull Double visibleFraction;
+
+        public @NonNull Double getVisibleFraction() {
+            return visibleFraction;
+        }
+
+        public void setVisibleFraction(@NonNull Double setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"visibleFraction\" is null.");
+            }
+            this.visibleFraction = setterArg;
+        }
+
+        private @Nullable Long priority;
+
+        public @Nullable Long getPriority() {
+            return priority;
+        }
+
+        public void setPriority(@Nullable Long setterArg) {
+            this.priority = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        PlayerVisibilityMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable Long textureId;
+
+            public @NonNull Builder setTextureId(@NonNull Long setterArg) {
+                this.textureId = setterArg;
+                return this;
+            }
+
+            private @Nullable Double visibleFraction;
+
+            public @NonNull Builder setVisibleFraction(@NonNull Double setterArg) {
+                this.visibleFraction = setterArg;
+                return this;
+            }
+
+            private @Nullable Long priority;
+
+            public @NonNull Builder setPriority(@Nullable Long setterArg) {
+                this.priority = setterArg;
+                return this;
+            }
+
+            public @NonNull PlayerVisibilityMessage build() {
+                PlayerVisibilityMessage pigeonReturn = new PlayerVisibilityMessage();
+                pigeonReturn.setTextureId(textureId);
+                pigeonReturn.setVisibleFraction(visibleFraction);
+                pigeonReturn.setPriority(priority);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(3);
+            toListResult.add(textureId);
+            toListResult.add(visibleFraction);
+            toListResult.add(priority);
+            return toListResult;
+        }
+
+        static @NonNull PlayerVisibilityMessage fromList(@NonNull ArrayList<Object> list) {
+            PlayerVisibilityMessage pigeonResult = new PlayerVisibilityMessage();
+            Object textureId = list.get(0);
+            pigeonResult.setTextureId(
+                    (textureId == null)
+                            ? null
+                            : ((textureId instanceof Integer) ? (Integer) textureId : (Long) textureId));
+            Object visibleFraction = list.get(1);
+            pigeonResult.setVisibleFraction((Double) visibleFraction);
+            Object priority = list.get(2);
+            pigeonResult.setPriority(
+                    (priority == null)
+                            ? null
+                            : ((priority instanceof Integer) ? (Integer) priority : (Long) priority));
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class PlayerVisibilityBatchMessage {
+        private @NonNull List<PlayerVisibilityMessage> players;
+
+        public @NonNull List<PlayerVisibilityMessage> getPlayers() {
+            return players;
+        }
+
+        public void setPlayers(@NonNull List<PlayerVisibilityMessage> setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"players\" is null.");
+            }
+            this.players = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        PlayerVisibilityBatchMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable List<PlayerVisibilityMessage> players;
+
+            public @NonNull Builder setPlayers(@NonNull List<PlayerVisibilityMessage> setterArg) {
+                this.players = setterArg;
+                return this;
+            }
+
+            public @NonNull PlayerVisibilityBatchMessage build() {
+                PlayerVisibilityBatchMessage pigeonReturn = new PlayerVisibilityBatchMessage();
+                pigeonReturn.setPlayers(players);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(1);
+            toListResult.add(players);
+            return toListResult;
+        }
+
+        static @NonNull PlayerVisibilityBatchMessage fromList(@NonNull ArrayList<Object> list) {
+            PlayerVisibilityBatchMessage pigeonResult = new PlayerVisibilityBatchMessage();
+            Object players = list.get(0);
+            pigeonResult.setPlayers((List<PlayerVisibilityMessage>) players);
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class FocusMessage {
+        private @Nullable Long textureId;
+
+        public @Nullable Long getTextureId() {
+            return textureId;
+        }
+
+        public void setTextureId(@Nullable Long setterArg) {
+            this.textureId = setterArg;
+        }
+
+        public static final class Builder {
+
+            private @Nullable Long textureId;
+
+            public @NonNull Builder setTextureId(@Nullable Long setterArg) {
+                this.textureId = setterArg;
+                return this;
+            }
+
+            public @NonNull FocusMessage build() {
+                FocusMessage pigeonReturn = new FocusMessage();
+                pigeonReturn.setTextureId(textureId);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(1);
+            toListResult.add(textureId);
+            return toListResult;
+        }
+
+        static @NonNull FocusMessage fromList(@NonNull ArrayList<Object> list) {
+            FocusMessage pigeonResult = new FocusMessage();
+            Object textureId = list.get(0);
+            pigeonResult.setTextureId(
+                    (textureId == null)
+                            ? null
+                            : ((textureId instanceof Integer) ? (Integer) textureId : (Long) textureId));
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class ReleaseStatsMessage {
+        private @NonNull Long releasedPlayers;
+
+        public @NonNull Long getReleasedPlayers() {
+            return releasedPlayers;
+        }
+
+        public void setReleasedPlayers(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"releasedPlayers\" is null.");
+            }
+            this.releasedPlayers = setterArg;
+        }
+
+        private @NonNull Long pendingPlayers;
+
+        public @NonNull Long getPendingPlayers() {
+            return pendingPlayers;
+        }
+
+        public void setPendingPlayers(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"pendingPlayers\" is null.");
+            }
+            this.pendingPlayers = setterArg;
+        }
+
+        private @NonNull Long meanLatencyMs;
+
+        public @NonNull Long getMeanLatencyMs() {
+            return meanLatencyMs;
+        }
+
+        public void setMeanLatencyMs(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"meanLatencyMs\" is null.");
+            }
+            this.meanLatencyMs = setterArg;
+        }
+
+        private @NonNull Long maxLatencyMs;
+
+        public @NonNull Long getMaxLatencyMs() {
+            return maxLatencyMs;
+        }
+
+        public void setMaxLatencyMs(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"maxLatencyMs\" is null.");
+            }
+            this.maxLatencyMs = setterArg;
+        }
+
+        private @NonNull Long meanReleaseMicros;
+
+        public @NonNull Long getMeanReleaseMicros() {
+            return meanReleaseMicros;
+        }
+
+        public void setMeanReleaseMicros(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"meanReleaseMicros\" is null.");
+            }
+            this.meanReleaseMicros = setterArg;
+        }
+
+        private @NonNull Long maxReleaseMicros;
+
+        public @NonNull Long getMaxReleaseMicros() {
+            return maxReleaseMicros;
+        }
+
+        public void setMaxReleaseMicros(@NonNull Long setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"maxReleaseMicros\" is null.");
+            }
+            this.maxReleaseMicros = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        ReleaseStatsMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable Long releasedPlayers;
+
+            public @NonNull Builder setReleasedPlayers(@NonNull Long setterArg) {
+                this.releasedPlayers = setterArg;
+                return this;
+            }
+
+            private @Nullable Long pendingPlayers;
+
+            public @NonNull Builder setPendingPlayers(@NonNull Long setterArg) {
+                this.pendingPlayers = setterArg;
+                return this;
+            }
+
+            private @Nullable Long meanLatencyMs;
+
+            public @NonNull Builder setMeanLatencyMs(@NonNull Long setterArg) {
+                this.meanLatencyMs = setterArg;
+                return this;
+            }
+
+            private @Nullable Long maxLatencyMs;
+
+            public @NonNull Builder setMaxLatencyMs(@NonNull Long setterArg) {
+                this.maxLatencyMs = setterArg;
+                return this;
+            }
+
+            private @Nullable Long meanReleaseMicros;
+
+            public @NonNull Builder setMeanReleaseMicros(@NonNull Long setterArg) {
+                this.meanReleaseMicros = setterArg;
+                return this;
+            }
+
+            private @Nullable Long maxReleaseMicros;
+
+            public @NonNull Builder setMaxReleaseMicros(@NonNull Long setterArg) {
+                this.maxReleaseMicros = setterArg;
+                return this;
+            }
+
+            public @NonNull ReleaseStatsMessage build() {
+                ReleaseStatsMessage pigeonReturn = new ReleaseStatsMessage();
+                pigeonReturn.setReleasedPlayers(releasedPlayers);
+                pigeonReturn.setPendingPlayers(pendingPlayers);
+                pigeonReturn.setMeanLatencyMs(meanLatencyMs);
+                pigeonReturn.setMaxLatencyMs(maxLatencyMs);
+                pigeonReturn.setMeanReleaseMicros(meanReleaseMicros);
+                pigeonReturn.setMaxReleaseMicros(maxReleaseMicros);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(6);
+            toListResult.add(releasedPlayers);
+            toListResult.add(pendingPlayers);
+            toListResult.add(meanLatencyMs);
+            toListResult.add(maxLatencyMs);
+            toListResult.add(meanReleaseMicros);
+            toListResult.add(maxReleaseMicros);
+            return toListResult;
+        }
+
+        static @NonNull ReleaseStatsMessage fromList(@NonNull ArrayList<Object> list) {
+            ReleaseStatsMessage pigeonResult = new ReleaseStatsMessage();
+            Object releasedPlayers = list.get(0);
+            pigeonResult.setReleasedPlayers(
+                    (releasedPlayers == null)
+                            ? null
+                            : ((releasedPlayers instanceof Integer) ? (Integer) releasedPlayers : (Long) releasedPlayers));
+            Object pendingPlayers = list.get(1);
+            pigeonResult.setPendingPlayers(
+                    (pendingPlayers == null)
+                            ? null
+                            : ((pendingPlayers instanceof Integer) ? (Integer) pendingPlayers : (Long) pendingPlayers));
+            Object meanLatencyMs = list.get(2);
+            pigeonResult.setMeanLatencyMs(
+                    (meanLatencyMs == null)
+                            ? null
+                            : ((meanLatencyMs instanceof Integer) ? (Integer) meanLatencyMs : (Long) meanLatencyMs));
+            Object maxLatencyMs = list.get(3);
+            pigeonResult.setMaxLatencyMs(
+                    (maxLatencyMs == null)
+                            ? null
+                            : ((maxLatencyMs instanceof Integer) ? (Integer) maxLatencyMs : (Long) maxLatencyMs));
+            Object meanReleaseMicros = list.get(4);
+            pigeonResult.setMeanReleaseMicros(
+                    (meanReleaseMicros == null)
+                            ? null
+                            : ((meanReleaseMicros instanceof Integer) ? (Integer) meanReleaseMicros : (Long) meanReleaseMicros));
+            Object maxReleaseMicros = list.get(5);
+            pigeonResult.setMaxReleaseMicros(
+                    (maxReleaseMicros == null)
+                            ? null
+                            : ((maxReleaseMicros instanceof Integer) ? (Integer) maxReleaseMicros : (Long) maxReleaseMicros));
+            return pigeonResult;
+        }
+    }
+
+    /**
+     * Generated class from Pigeon that represents data sent in messages.
+     */
+    public static final class WarmUpStatusMessage {
+        private @NonNull Boolean started;
+
+        public @NonNull Boolean getStarted() {
+            return started;
+        }
+
+        public void setStarted(@NonNull Boolean setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"started\" is null.");
+            }
+            this.started = setterArg;
+        }
+
+        private @NonNull Boolean ready;
+
+        public @NonNull Boolean getReady() {
+            return ready;
+        }
+
+        public void setReady(@NonNull Boolean setterArg) {
+            if (setterArg == null) {
+                throw new IllegalStateException("Nonnull field \"ready\" is null.");
+            }
+            this.ready = setterArg;
+        }
+
+        private @Nullable Long durationMs;
+
+        public @Nullable Long getDurationMs() {
+            return durationMs;
+        }
+
+        public void setDurationMs(@Nullable Long setterArg) {
+            this.durationMs = setterArg;
+        }
+
+        private @Nullable String error;
+
+        public @Nullable String getError() {
+            return error;
+        }
+
+        public void setError(@Nullable String setterArg) {
+            this.error = setterArg;
+        }
+
+        /**
+         * Constructor is non-public to enforce null safety; use Builder.
+         */
+        WarmUpStatusMessage() {
+        }
+
+        public static final class Builder {
+
+            private @Nullable Boolean started;
+
+            public @NonNull Builder setStarted(@NonNull Boolean setterArg) {
+                this.started = setterArg;
+                return this;
+            }
+
+            private @Nullable Boolean ready;
+
+            public @NonNull Builder setReady(@NonNull Boolean setterArg) {
+                this.ready = setterArg;
+                return this;
+            }
+
+            private @Nullable Long durationMs;
+
+            public @NonNull Builder setDurationMs(@Nullable Long setterArg) {
+                this.durationMs = setterArg;
+                return this;
+            }
+
+            private @Nullable String error;
+
+            public @NonNull Builder setError(@Nullable String setterArg) {
+                this.error = setterArg;
+                return this;
+            }
+
+            public @NonNull WarmUpStatusMessage build() {
+                WarmUpStatusMessage pigeonReturn = new WarmUpStatusMessage();
+                pigeonReturn.setStarted(started);
+                pigeonReturn.setReady(ready);
+                pigeonReturn.setDurationMs(durationMs);
+                pigeonReturn.setError(error);
+                return pigeonReturn;
+            }
+        }
+
+        @NonNull
+        ArrayList<Object> toList() {
+            ArrayList<Object> toListResult = new ArrayList<Object>(4);
+            toListResult.add(started);
+            toListResult.add(ready);
+            toListResult.add(durationMs);
+            toListResult.add(error);
+            return toListResult;
+        }
+
+        static @NonNull WarmUpStatusMessage fromList(@NonNull ArrayList<Object> list) {
+            WarmUpStatusMessage pigeonResult = new WarmUpStatusMessage();
+            Object started = list.get(0);
+            pigeonResult.setStarted((Boolean) started);
+            Object ready = list.get(1);
+            pigeonResult.setReady((Boolean) ready);
+            Object durationMs = list.get(2);
+            pigeonResult.setDurationMs(
+                    (durationMs == null)
+                            ? null
+                            : ((durationMs instanceof Integer) ? (Integer) durationMs : (Long) durationMs));
+            Object error = list.get(3);
+            pigeonResult.setError((String) error);
+            return pigeonResult;
+        }
+    }
+
+    private static class AndroidVideoPlayerApiCodec extends StandardMessageCodec {
+        public static final AndroidVideoPlayerApiCodec INSTANCE = new AndroidVideoPlayerApiCodec();
+
+        private AndroidVideoPlayerApiCodec() {
+        }
+
+        @Override
+        protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
+            switch (type) {
+                case (byte) 128:
+                    return CreateMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 129:
+                    return LoopingMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 130:
+                    return MixWithOthersMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 131:
+                    return PlaybackSpeedMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 132:
+                    return PositionMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 133:
+                    return TextureMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 134:
+                    return VolumeMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 135:
+                    return TrackSelectionsMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 136:
+                    return LiveConfigurationMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 137:
+                    return BackgroundModeMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 138:
+                    return CommandMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 139:
+                    return CommandBatchMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 140:
+                    return CommandBatchResultMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 141:
+                    return SubtitleMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 142:
+                    return CmcdConfigurationMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 143:
+                    return LoadErrorPolicyMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 144:
+                    return OriginFailoverMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 145:
+                    return HedgingConfigurationMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 146:
+                    return HedgingStatsMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 147:
+                    return KeyframesMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 148:
+                    return HostNetworkStatsMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 149:
+                    return NetworkStatsMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 150:
+                    return PreconnectMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 151:
+                    return AbrConfigurationMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 152:
+                    return SchedulerConfigurationMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 153:
+                    return PlayerVisibilityMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 154:
+                    return PlayerVisibilityBatchMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 155:
+                    return FocusMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 156:
+                    return ReleaseStatsMessage.fromList((ArrayList<Object>) readValue(buffer));
+                case (byte) 157:
+                    return WarmUpStatusMessage.fromList((ArrayList<Object>) readValue(buffer));
+                default:
+                    return super.readValueOfType(type, buffer);
+            }
+        }
+
+        @Override
+        protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
+            if (value instanceof CreateMessage) {
+                stream.write(128);
+                writeValue(stream, ((CreateMessage) value).toList());
+            } else if (value instanceof LoopingMessage) {
+                stream.write(129);
+                writeValue(stream, ((LoopingMessage) value).toList());
+            } else if (value instanceof MixWithOthersMessage) {
+                stream.write(130);
+                writeValue(stream, ((MixWithOthersMessage) value).toList());
+            } else if (value instanceof PlaybackSpeedMessage) {
+                stream.write(131);
+                writeValue(stream, ((PlaybackSpeedMessage) value).toList());
+            } else if (value instanceof PositionMessage) {
+                stream.write(132);
+                writeValue(stream, ((PositionMessage) value).toList());
+            } else if (value instanceof TextureMessage) {
+                stream.write(133);
+                writeValue(stream, ((TextureMessage) value).toList());
+            } else if (value instanceof VolumeMessage) {
+                stream.write(134);
+                writeValue(stream, ((VolumeMessage) value).toList());
+            } else if (value instanceof TrackSelectionsMessage) {
+                stream.write(135);
+                writeValue(stream, ((TrackSelectionsMessage) value).toList());
+            } else if (value instanceof LiveConfigurationMessage) {
+                stream.write(136);
+                writeValue(stream, ((LiveConfigurationMessage) value).toList());
+            } else if (value instanceof BackgroundModeMessage) {
+                stream.write(137);
+                writeValue(stream, ((BackgroundModeMessage) value).toList());
+            } else if (value instanceof CommandMessage) {
+                stream.write(138);
+                writeValue(stream, ((CommandMessage) value).toList());
+            } else if (value instanceof CommandBatchMessage) {
+                stream.write(139);
+                writeValue(stream, ((CommandBatchMessage) value).toList());
+            } else if (value instanceof CommandBatchResultMessage) {
+                stream.write(140);
+                writeValue(stream, ((CommandBatchResultMessage) value).toList());
+            } else if (value instanceof SubtitleMessage) {
+                stream.write(141);
+                writeValue(stream, ((SubtitleMessage) value).toList());
+            } else if (value instanceof CmcdConfigurationMessage) {
+                stream.write(142);
+                writeValue(stream, ((CmcdConfigurationMessage) value).toList());
+            } else if (value instanceof LoadErrorPolicyMessage) {
+                stream.write(143);
+                writeValue(stream, ((LoadErrorPolicyMessage) value).toList());
+            } else if (value instanceof OriginFailoverMessage) {
+                stream.write(144);
+                writeValue(stream, ((OriginFailoverMessage) value).toList());
+            } else if (value instanceof HedgingConfigurationMessage) {
+                stream.write(145);
+                writeValue(stream, ((HedgingConfigurationMessage) value).toList());
+            } else if (value instanceof HedgingStatsMessage) {
+                stream.write(146);
+                writeValue(stream, ((HedgingStatsMessage) value).toList());
+            } else if (value instanceof KeyframesMessage) {
+                stream.write(147);
+                writeValue(stream, ((KeyframesMessage) value).toList());
+            } else if (value instanceof HostNetworkStatsMessage) {
+                stream.write(148);
+                writeValue(stream, ((HostNetworkStatsMessage) value).toList());
+            } else if (value instanceof NetworkStatsMessage) {
+                stream.write(149);
+                writeValue(stream, ((NetworkStatsMessage) value).toList());
+            } else if (value instanceof PreconnectMessage) {
+                stream.write(150);
+                writeValue(stream, ((PreconnectMessage) value).toList());
+            } else if (value instanceof AbrConfigurationMessage) {
+                stream.write(151);
+                writeValue(stream, ((AbrConfigurationMessage) value).toList());
+            } else if (value instanceof SchedulerConfigurationMessage) {
+                stream.write(152);
+                writeValue(stream, ((SchedulerConfigurationMessage) value).toList());
+            } else if (value instanceof PlayerVisibilityMessage) {
+                stream.write(153);
+                writeValue(stream, ((PlayerVisibilityMessage) value).toList());
+            } else if (value instanceof PlayerVisibilityBatchMessage) {
+                stream.write(154);
+                writeValue(stream, ((PlayerVisibilityBatchMessage) value).toList());
+            } else if (value instanceof FocusMessage) {
+                stream.write(155);
+                writeValue(stream, ((FocusMessage) value).toList());
+            } else if (value instanceof ReleaseStatsMessage) {
+                stream.write(156);
+                writeValue(stream, ((ReleaseStatsMessage) value).toList());
+            } else if (value instanceof WarmUpStatusMessage) {
+                stream.write(157);
+                writeValue(stream, ((WarmUpStatusMessage) value).toList());
+            } else {
+                super.writeValue(stream, value);
+            }
+        }
+    }
+
+    /**
+     * Generated interface from Pigeon that represents a handler of messages from Flutter.
+     */
+    public interface AndroidVideoPlayerApi {
+
+        void initialize();
+
+        @NonNull
+        TextureMessage create(@NonNull CreateMessage msg);
+
+        void dispose(@NonNull TextureMessage msg);
+
+        void setLooping(@NonNull LoopingMessage msg);
+
+        void setVolume(@NonNull VolumeMessage msg);
+
+        void setPlaybackSpeed(@NonNull PlaybackSpeedMessage msg);
+
+        void play(@NonNull TextureMessage msg);
+
+        @NonNull
+        PositionMessage position(@NonNull TextureMessage msg);
+
+        void seekTo(@NonNull PositionMessage msg);
+
+        void pause(@NonNull TextureMessage msg);
+
+        TrackSelectionsMessage trackSelections(TextureMessage arg);
+
+        void setTrackSelection(TrackSelectionsMessage arg);
+
+        void setMixWithOthers(@NonNull MixWithOthersMessage msg);
+
+        void setBackgroundMode(@NonNull BackgroundModeMessage msg);
 
-        void setVolume(@NonNull VolumeMessage msg);
+        @NonNull
+        CommandBatchResultMessage applyCommands(@NonNull CommandBatchMessage msg);
 
-        void setPlaybackSpeed(@NonNull PlaybackSpeedMessage msg);
+        @NonNull
+        HedgingStatsMessage hedgingStats(@NonNull TextureMessage msg);
 
-        void play(@NonNull TextureMessage msg);
+        @NonNull
+        KeyframesMessage keyframes(@NonNull TextureMessage msg);
 
         @NonNull
-        PositionMessage position(@NonNull TextureMessage msg);
+        NetworkStatsMessage networkStats();
 
-        void seekTo(@NonNull PositionMessage msg);
+        void preconnect(@NonNull PreconnectMessage msg);
 
-        void pause(@NonNull TextureMessage msg);
+        void configureScheduler(@NonNull SchedulerConfigurationMessage msg);
 
-        TrackSelectionsMessage trackSelections(TextureMessage arg);
+        void setPlayerVisibility(@NonNull PlayerVisibilityBatchMessage msg);
 
-        void setTrackSelection(TrackSelectionsMessage arg);
+        void setFocusedPlayer(@NonNull FocusMessage msg);
 
-        void setMixWithOthers(@NonNull MixWithOthersMessage msg);
+        @NonNull
+        ReleaseStatsMessage releaseStats();
+
+        @NonNull
+        WarmUpStatusMessage warmUpStatus();
 
         /**
          * The codec used by AndroidVideoPlayerApi.
@@ -1214,6 +4100,275 @@ public class Messages {
                     channel.setMessageHandler(null);
                 }
             }
+            {
+                BasicMessageChannel<Object> channel =
+                        new BasicMessageChannel<>(
+                                binaryMessenger,
+                                "dev.flutter.pigeon.AndroidVideoPlayerApi.setBackgroundMode",
+                                getCodec());
+                if (api != null) {
+                    channel.setMessageHandler(
+                            (message, reply) -> {
+                                ArrayList<Object> wrapped = new ArrayList<Object>();
+                                ArrayList<Object> args = (ArrayList<Object>) message;
+                                BackgroundModeMessage msgArg = (BackgroundModeMessage) args.get(0);
+                                try {
+                                    api.setBackgroundMode(msgArg);
+                                    wrapped.add(0, null);
+                                } catch (Throwable exception) {
+                                    ArrayList<Object> wrappedError = wrapError(exception);
+                                    wrapped = wrappedError;
+                                }
+                                reply.reply(wrapped);
+                            });
+                } else {
+                    channel.setMessageHandler(null);
+                }
+            }
+            {
+                BasicMessageChannel<Object> channel =
+                        new BasicMessageChannel<>(
+                                binaryMessenger,
+                                "dev.flutter.pigeon.AndroidVideoPlayerApi.applyCommands",
+                                getCodec());
+                if (api != null) {
+                    channel.setMessageHandler(
+                            (message, reply) -> {
+                                ArrayList<Object> wrapped = new ArrayList<Object>();
+                                ArrayList<Object> args = (ArrayList<Object>) message;
+                                CommandBatchMessage msgArg = (CommandBatchMessage) args.get(0);
+                                try {
+                                    CommandBatchResultMessage output = api.applyCommands(msgArg);
+                                    wrapped.add(0, output);
+                                } catch (Throwable exception) {
+                                    ArrayList<Object> wrappedError = wrapError(exception);
+                                    wrapped = wrappedError;
+                                }
+                                reply.reply(wrapped);
+                            });
+                } else {
+                    channel.setMessageHandler(null);
+                }
+            }
+            {
+                BasicMessageChannel<Object> channel =
+                        new BasicMessageChannel<>(
+                                binaryMessenger,
+                                "dev.flutter.pigeon.AndroidVideoPlayerApi.hedgingStats",
+                                getCodec());
+                if (api != null) {
+                    channel.setMessageHandler(
+                            (message, reply) -> {
+                                ArrayList<Object> wrapped = new ArrayList<Object>();
+                                ArrayList<Object> args = (ArrayList<Object>) message;
+                                TextureMessage msgArg = (TextureMessage) args.get(0);
+                                try {
+                                    HedgingStatsMessage output = api.hedgingStats(msgArg);
+                                    wrapped.add(0, output);
+                                } catch (Throwable exception) {
+                                    ArrayList<Object> wrappedError = wrapError(exception);
+                                    wrapped = wrappedError;
+                                }
+                                reply.reply(wrapped);
+                            });
+                } else {
+                    channel.setMessageHandler(null);
+                }
+            }
+            {
+                BasicMessageChannel<Object> channel =
+                        new BasicMessageChannel<>(
+                                binaryMessenger,
+                                "dev.flutter.pigeon.AndroidVideoPlayerApi.keyframes",
+                                getCodec());
+                if (api != null) {
+                    channel.setMessageHandler(
+                            (message, reply) -> {
+                                ArrayList<Object> wrapped = new ArrayList<Object>();
+                                ArrayList<Object> args = (ArrayList<Object>) message;
+                                TextureMessage msgArg = (TextureMessage) args.get(0);
+                                try {
+                                    KeyframesMessage output = api.keyframes(msgArg);
+                                    wrapped.add(0, output);
+                                } catch (Throwable exception) {
+                                    ArrayList<Object> wrappedError = wrapError(exception);
+                                    wrapped = wrappedError;
+                                }
+                                reply.reply(wrapped);
+                            });
+                } else {
+                    channel.setMessageHandler(null);
+                }
+            }
+            {
+                BasicMessageChannel<Object> channel =
+                        new BasicMessageChannel<>(
+                                binaryMessenger,
+                                "dev.flutter.pigeon.AndroidVideoPlayerApi.networkStats",
+                                getCodec());
+                if (api != null) {
+                    channel.setMessageHandler(
+                            (message, reply) -> {
+                                ArrayList<Object> wrapped = new ArrayList<Object>();
+                                try {
+                                    NetworkStatsMessage output = api.networkStats();
+                                    wrapped.add(0, output);
+                                } catch (Throwable exception) {
+                                    ArrayList<Object> wrappedError = wrapError(exception);
+                                    wrapped = wrappedError;
+                                }
+                                reply.reply(wrapped);
+                            });
+                } else {
+                    channel.setMessageHandler(null);
+                }
+            }
+            {
+                BasicMessageChannel<Object> channel =
+                        new BasicMessageChannel<>(
+                                binaryMessenger,
+                                "dev.flutter.pigeon.AndroidVideoPlayerApi.preconnect",
+                                getCodec());
+                if (api != null) {
+                    channel.setMessageHandler(
+                            (message, reply) -> {
+                                ArrayList<Object> wrapped = new ArrayList<Object>();
+                                ArrayList<Object> args = (ArrayList<Object>) message;
+                                PreconnectMessage msgArg = (PreconnectMessage) args.get(0);
+                                try {
+                                    api.preconnect(msgArg);
+                                    wrapped.add(0, null);
+                                } catch (Throwable exception) {
+                                    ArrayList<Object> wrappedError = wrapError(exception);
+                                    wrapped = wrappedError;
+                                }
+                                reply.reply(wrapped);
+                            });
+                } else {
+                    channel.setMessageHandler(null);
+                }
+            }
+            {
+                BasicMessageChannel<Object> channel =
+                        new BasicMessageChannel<>(
+                                binaryMessenger,
+                                "dev.flutter.pigeon.AndroidVideoPlayerApi.configureScheduler",
+                                getCodec());
+                if (api != null) {
+                    channel.setMessageHandler(
+                            (message, reply) -> {
+                                ArrayList<Object> wrapped = new ArrayList<Object>();
+                                ArrayList<Object> args = (ArrayList<Object>) message;
+                                SchedulerConfigurationMessage msgArg = (SchedulerConfigurationMessage) args.get(0);
+                                try {
+                                    api.configureScheduler(msgArg);
+                                    wrapped.add(0, null);
+                                } catch (Throwable exception) {
+                                    ArrayList<Object> wrappedError = wrapError(exception);
+                                    wrapped = wrappedError;
+                                }
+                                reply.reply(wrapped);
+                            });
+                } else {
+                    channel.setMessageHandler(null);
+                }
+            }
+            {
+                BasicMessageChannel<Object> channel =
+                        new BasicMessageChannel<>(
+                                binaryMessenger,
+                                "dev.flutter.pigeon.AndroidVideoPlayerApi.setPlayerVisibility",
+                                getCodec());
+                if (api != null) {
+                    channel.setMessageHandler(
+                            (message, reply) -> {
+                                ArrayList<Object> wrapped = new ArrayList<Object>();
+                                ArrayList<Object> args = (ArrayList<Object>) message;
+                                PlayerVisibilityBatchMessage msgArg = (PlayerVisibilityBatchMessage) args.get(0);
+                                try {
+                                    api.setPlayerVisibility(msgArg);
+                                    wrapped.add(0, null);
+                                } catch (Throwable exception) {
+                                    ArrayList<Object> wrappedError = wrapError(exception);
+                                    wrapped = wrappedError;
+                                }
+                                reply.reply(wrapped);
+                            });
+                } else {
+                    channel.setMessageHandler(null);
+                }
+            }
+            {
+                BasicMessageChannel<Object> channel =
+                        new BasicMessageChannel<>(
+                                binaryMessenger,
+                                "dev.flutter.pigeon.AndroidVideoPlayerApi.setFocusedPlayer",
+                                getCodec());
+                if (api != null) {
+                    channel.setMessageHandler(
+                            (message, reply) -> {
+                                ArrayList<Object> wrapped = new ArrayList<Object>();
+                                ArrayList<Object> args = (ArrayList<Object>) message;
+                                FocusMessage msgArg = (FocusMessage) args.get(0);
+                                try {
+                                    api.setFocusedPlayer(msgArg);
+                                    wrapped.add(0, null);
+                                } catch (Throwable exception) {
+                                    ArrayList<Object> wrappedError = wrapError(exception);
+                                    wrapped = wrappedError;
+                                }
+                                reply.reply(wrapped);
+                            });
+                } else {
+                    channel.setMessageHandler(null);
+                }
+            }
+            {
+                BasicMessageChannel<Object> channel =
+                        new BasicMessageChannel<>(
+                                binaryMessenger,
+                                "dev.flutter.pigeon.AndroidVideoPlayerApi.releaseStats",
+                                getCodec());
+                if (api != null) {
+                    channel.setMessageHandler(
+                            (message, reply) -> {
+                                ArrayList<Object> wrapped = new ArrayList<Object>();
+                                try {
+                                    ReleaseStatsMessage output = api.releaseStats();
+                                    wrapped.add(0, output);
+                                } catch (Throwable exception) {
+                                    ArrayList<Object> wrappedError = wrapError(exception);
+                                    wrapped = wrappedError;
+                                }
+                                reply.reply(wrapped);
+                            });
+                } else {
+                    channel.setMessageHandler(null);
+                }
+            }
+            {
+                BasicMessageChannel<Object> channel =
+                        new BasicMessageChannel<>(
+                                binaryMessenger,
+                                "dev.flutter.pigeon.AndroidVideoPlayerApi.warmUpStatus",
+                                getCodec());
+                if (api != null) {
+                    channel.setMessageHandler(
+                            (message, reply) -> {
+                                ArrayList<Object> wrapped = new ArrayList<Object>();
+                                try {
+                                    WarmUpStatusMessage output = api.warmUpStatus();
+                                    wrapped.add(0, output);
+                                } catch (Throwable exception) {
+                                    ArrayList<Object> wrappedError = wrapError(exception);
+                                    wrapped = wrappedError;
+                                }
+                                reply.reply(wrapped);
+                            });
+                } else {
+                    channel.setMessageHandler(null);
+                }
+            }
         }
     }
 }
@@ -0,0 +1,316 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.TransferListener;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Network request statistics of all players of the plugin, per host and request type.
+ *
+ * <p>Requests are counted when they open, together with whether the CDN served them from its
+ * cache, as reported by the {@code X-Cache}, {@code X-Cache-Status} or {@code CF-Cache-Status}
+ * response header. Time to first byte and throughput go into fixed-bucket histograms, so they can
+ * be aggregated across devices. Time to first byte is measured around {@link DataSource#open} and
+ * includes DNS, connect and TLS for requests that need a new connection. Throughput is the size of
+ * a response over the time spent in its reads, which leaves out the time the player does not read,
+ * for example while its buffer is full. It is only sampled for responses of at least {@link
+ * #MIN_THROUGHPUT_SAMPLE_BYTES}, which are not dominated by their first byte.
+ *
+ * <p>This class is thread-safe. Requests are recorded on the loader threads of players.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class NetworkStats {
+  static final String TYPE_MANIFEST = "manifest";
+  static final String TYPE_INIT = "init";
+  static final String TYPE_MEDIA = "media";
+  static final String TYPE_SUBTITLE = "subtitle";
+
+  /** Upper bounds of the time-to-first-byte buckets. A last bucket holds longer times. */
+  static final long[] TTFB_BUCKETS_MS = {50, 100, 200, 400, 800, 1600, 3200};
+  /** Upper bounds of the throughput buckets. A last bucket holds higher throughputs. */
+  static final long[] THROUGHPUT_BUCKETS_KBPS = {250, 500, 1000, 2000, 4000, 8000, 16000, 32000};
+
+  static final long MIN_THROUGHPUT_SAMPLE_BYTES = 64 * 1024;
+  static final int MAX_ENTRIES = 128;
+
+  /** Aggregates of the requests of one request type to one host. */
+  static final class Entry {
+    final String host;
+    final String type;
+    long requests;
+    long failures;
+    long bytes;
+    long cacheHits;
+    long cacheMisses;
+    final long[] ttfbHistogram = new long[TTFB_BUCKETS_MS.length + 1];
+    final long[] throughputHistogram = new long[THROUGHPUT_BUCKETS_KBPS.length + 1];
+
+    Entry(String host, String type) {
+      this.host = host;
+      this.type = type;
+    }
+
+    Entry copy() {
+      Entry copy = new Entry(host, type);
+      copy.requests = requests;
+      copy.failures = failures;
+      copy.bytes = bytes;
+      copy.cacheHits = cacheHits;
+      copy.cacheMisses = cacheMisses;
+      System.arraycopy(ttfbHistogram, 0, copy.ttfbHistogram, 0, ttfbHistogram.length);
+      System.arraycopy(
+          throughputHistogram, 0, copy.throughputHistogram, 0, throughputHistogram.length);
+      return copy;
+    }
+  }
+
+  private final LinkedHashMap<String, Entry> entries =
+      new LinkedHashMap<String, Entry>(16, 0.75f, /* accessOrder= */ true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+          return size() > MAX_ENTRIES;
+        }
+      };
+
+  /** Returns a copy of the aggregates, least recently used first. */
+  @NonNull
+  synchronized List<Entry> snapshot() {
+    List<Entry> snapshot = new ArrayList<>(entries.size());
+    for (Entry entry : entries.values()) {
+      snapshot.add(entry.copy());
+    }
+    return snapshot;
+  }
+
+  synchronized void clear() {
+    entries.clear();
+  }
+
+  @VisibleForTesting
+  synchronized void recordOpen(
+      @NonNull String host, @NonNull String type, long ttfbMs, @Nullable Boolean cacheHit) {
+    Entry entry = entry(host, type);
+    entry.requests++;
+    entry.ttfbHistogram[bucket(TTFB_BUCKETS_MS, ttfbMs)]++;
+    if (cacheHit != null) {
+      if (cacheHit) {
+        entry.cacheHits++;
+      } else {
+        entry.cacheMisses++;
+      }
+    }
+  }
+
+  @VisibleForTesting
+  synchronized void recordFailure(@NonNull String host, @NonNull String type) {
+    Entry entry = entry(host, type);
+    entry.requests++;
+    entry.failures++;
+  }
+
+  @VisibleForTesting
+  synchronized void recordTransfer(
+      @NonNull String host, @NonNull String type, long bytes, long durationMs) {
+    Entry entry = entry(host, type);
+    entry.bytes += bytes;
+    if (bytes >= MIN_THROUGHPUT_SAMPLE_BYTES && durationMs > 0) {
+      entry.throughputHistogram[bucket(THROUGHPUT_BUCKETS_KBPS, bytes * 8 / durationMs)]++;
+    }
+  }
+
+  private Entry entry(String host, String type) {
+    String key = host + " " + type;
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      entry = new Entry(host, type);
+      entries.put(key, entry);
+    }
+    return entry;
+  }
+
+  /** Returns the index of the bucket of {@code value} in a histogram with {@code bounds}. */
+  static int bucket(@NonNull long[] bounds, long value) {
+    for (int i = 0; i < bounds.length; i++) {
+      if (value <= bounds[i]) {
+        return i;
+      }
+    }
+    return bounds.length;
+  }
+
+  /**
+   * Returns the type of a request made through a factory for {@code type}. Requests for media
+   * segments are counted as {@link #TYPE_INIT} when their CMCD object type or their file name marks
+   * them as initialization segments.
+   */
+  @NonNull
+  static String requestType(@NonNull DataSpec dataSpec, @NonNull String type) {
+    if (!TYPE_MEDIA.equals(type)) {
+      return type;
+    }
+    String cmcdObject = dataSpec.httpRequestHeaders.get("CMCD-Object");
+    if (cmcdObject != null) {
+      for (String pair : cmcdObject.split(",")) {
+        if (pair.trim().equals("ot=i")) {
+          return TYPE_INIT;
+        }
+      }
+    }
+    String name = dataSpec.uri.getLastPathSegment();
+    return name != null && name.toLowerCase(Locale.US).contains("init") ? TYPE_INIT : TYPE_MEDIA;
+  }
+
+  /** Returns whether a CDN cache served the response, or null if its headers do not say. */
+  @Nullable
+  static Boolean cacheHit(@NonNull Map<String, List<String>> responseHeaders) {
+    for (Map.Entry<String, List<String>> header : responseHeaders.entrySet()) {
+      String name = header.getKey();
+      if (name == null
+          || header.getValue() == null
+          || header.getValue().isEmpty()
+          || !(name.equalsIgnoreCase("X-Cache")
+              || name.equalsIgnoreCase("X-Cache-Status")
+              || name.equalsIgnoreCase("CF-Cache-Status"))) {
+        continue;
+      }
+      String value = header.getValue().get(0).toUpperCase(Locale.US);
+      if (value.contains("HIT")) {
+        return true;
+      }
+      if (value.contains("MISS") || value.contains("EXPIRED") || value.contains("BYPASS")) {
+        return false;
+      }
+    }
+    return null;
+  }
+
+  /** Creates data sources that record their network requests in a {@link NetworkStats}. */
+  static final class DataSourceFactory implements DataSource.Factory {
+    private final NetworkStats stats;
+    private final DataSource.Factory upstreamFactory;
+    private final String type;
+
+    DataSourceFactory(
+        @NonNull NetworkStats stats,
+        @NonNull DataSource.Factory upstreamFactory,
+        @NonNull String type) {
+      this.stats = stats;
+      this.upstreamFactory = upstreamFactory;
+      this.type = type;
+    }
+
+    @NonNull
+    @Override
+    public DataSource createDataSource() {
+      return new InstrumentedDataSource(stats, upstreamFactory.createDataSource(), type);
+    }
+  }
+
+  private static final class InstrumentedDataSource implements DataSource {
+    private final NetworkStats stats;
+    private final DataSource upstream;
+    private final String factoryType;
+
+    @Nullable private String host;
+    private String type;
+    private long readMs;
+    private long bytes;
+
+    InstrumentedDataSource(NetworkStats stats, DataSource upstream, String factoryType) {
+      this.stats = stats;
+      this.upstream = upstream;
+      this.factoryType = factoryType;
+      this.type = factoryType;
+    }
+
+    @Override
+    public void addTransferListener(@NonNull TransferListener transferListener) {
+      upstream.addTransferListener(transferListener);
+    }
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) throws IOException {
+      host = isHttp(dataSpec.uri) ? dataSpec.uri.getHost() : null;
+      if (host == null) {
+        return upstream.open(dataSpec);
+      }
+      type = requestType(dataSpec, factoryType);
+      bytes = 0;
+      readMs = 0;
+      long startMs = SystemClock.elapsedRealtime();
+      long length;
+      try {
+        length = upstream.open(dataSpec);
+      } catch (IOException e) {
+        stats.recordFailure(host, type);
+        host = null;
+        throw e;
+      }
+      stats.recordOpen(
+          host,
+          type,
+          SystemClock.elapsedRealtime() - startMs,
+          cacheHit(upstream.getResponseHeaders()));
+      return length;
+    }
+
+    private static boolean isHttp(Uri uri) {
+      String scheme = uri.getScheme();
+      return scheme != null
+          && (scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"));
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+      if (host == null) {
+        return upstream.read(buffer, offset, length);
+      }
+      long startMs = SystemClock.elapsedRealtime();
+      int read = upstream.read(buffer, offset, length);
+      readMs += SystemClock.elapsedRealtime() - startMs;
+      if (read != C.RESULT_END_OF_INPUT) {
+        bytes += read;
+      }
+      return read;
+    }
+
+    @Nullable
+    @Override
+    public Uri getUri() {
+      return upstream.getUri();
+    }
+
+    @NonNull
+    @Override
+    public Map<String, List<String>> getResponseHeaders() {
+      return upstream.getResponseHeaders();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (host != null) {
+        stats.recordTransfer(host, type, bytes, readMs);
+        host = null;
+      }
+      upstream.close();
+    }
+  }
+}
@@ -0,0 +1,297 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.HttpDataSource;
+import androidx.media3.datasource.TransferListener;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Switches the requests of one player between origins that serve the same content.
+ *
+ * <p>A request whose URI starts with one of the origins, up to a path segment boundary, is sent to
+ * the current origin with the rest of the path kept as is. When it fails to open or to read with a
+ * connection error or a 5xx status, or its throughput stays below the configured floor, the player
+ * moves on to the next origin and the request is retried there, from where it stopped. The switch
+ * is sticky: later requests of the session keep using the new origin. Requests to other hosts are
+ * passed through.
+ *
+ * <p>The throughput floor is checked for every {@link #THROUGHPUT_SAMPLE_MS} spent in reads, so the
+ * time the player does not read, for example while its buffer is full, does not count against the
+ * origin. A connection that stops sending data entirely is only detected by the read timeout of the
+ * HTTP data source.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class OriginFailover {
+  /** Reason of a switch caused by a failed request. */
+  static final String REASON_ERROR = "error";
+  /** Reason of a switch caused by a request below the throughput floor. */
+  static final String REASON_SLOW = "slow";
+
+  /** Time spent in reads over which the throughput of a request is checked. */
+  static final long THROUGHPUT_SAMPLE_MS = 1000;
+
+  /** Receives every switch between origins. */
+  interface Listener {
+    /** Called on the loading thread that triggered the switch. */
+    void onFailover(
+        @NonNull String fromOrigin,
+        @NonNull String toOrigin,
+        @NonNull String reason,
+        @NonNull Uri uri);
+  }
+
+  private final List<String> origins;
+  private final long minThroughputBitsPerSecond;
+  @Nullable private final Listener listener;
+  private volatile int current;
+
+  /**
+   * @param origins base URIs in order of preference, such as {@code https://cdn-a.example.com/vod}.
+   * @param minThroughputBitsPerSecond throughput below which a request moves to the next origin, or
+   *     0 to only switch on errors.
+   */
+  OriginFailover(
+      @NonNull List<String> origins,
+      long minThroughputBitsPerSecond,
+      @Nullable Listener listener) {
+    this.origins = new ArrayList<>(origins);
+    this.minThroughputBitsPerSecond = minThroughputBitsPerSecond;
+    this.listener = listener;
+  }
+
+  int originCount() {
+    return origins.size();
+  }
+
+  /** Returns the index of the origin requests currently go to. */
+  int currentOrigin() {
+    return current;
+  }
+
+  /**
+   * Returns {@code uri} moved to the origin at {@code originIndex}, or null if it does not start
+   * with any origin.
+   */
+  @Nullable
+  Uri rewrite(@NonNull Uri uri, int originIndex) {
+    String value = uri.toString();
+    for (String origin : origins) {
+      if (startsWithOrigin(value, origin)) {
+        return Uri.parse(origins.get(originIndex) + value.substring(origin.length()));
+      }
+    }
+    return null;
+  }
+
+  /** Returns whether {@code value} starts with {@code origin} followed by a path boundary. */
+  private static boolean startsWithOrigin(String value, String origin) {
+    if (!value.startsWith(origin)) {
+      return false;
+    }
+    if (value.length() == origin.length() || origin.endsWith("/")) {
+      return true;
+    }
+    char next = value.charAt(origin.length());
+    return next == '/' || next == '?' || next == '#';
+  }
+
+  /**
+   * Moves away from the origin at {@code failedOrigin} if it is still the current one, and returns
+   * the origin to use next.
+   */
+  @VisibleForTesting
+  synchronized int switchFrom(int failedOrigin, @NonNull String reason, @NonNull Uri uri) {
+    if (current == failedOrigin) {
+      current = (failedOrigin + 1) % origins.size();
+      if (listener != null) {
+        listener.onFailover(origins.get(failedOrigin), origins.get(current), reason, uri);
+      }
+    }
+    return current;
+  }
+
+  private static boolean shouldFailOver(IOException e) {
+    if (e instanceof HttpDataSource.InvalidResponseCodeException) {
+      return ((HttpDataSource.InvalidResponseCodeException) e).responseCode >= 500;
+    }
+    return e instanceof HttpDataSource.HttpDataSourceException;
+  }
+
+  /** Creates data sources that send requests through an {@link OriginFailover}. */
+  static final class DataSourceFactory implements DataSource.Factory {
+    private final OriginFailover failover;
+    private final DataSource.Factory upstreamFactory;
+
+    DataSourceFactory(
+        @NonNull OriginFailover failover, @NonNull DataSource.Factory upstreamFactory) {
+      this.failover = failover;
+      this.upstreamFactory = upstreamFactory;
+    }
+
+    @NonNull
+    @Override
+    public DataSource createDataSource() {
+      return new FailoverDataSource(failover, upstreamFactory);
+    }
+  }
+
+  private static final class FailoverDataSource implements DataSource {
+    private final OriginFailover failover;
+    private final DataSource.Factory upstreamFactory;
+    private final List<TransferListener> transferListeners = new ArrayList<>();
+
+    @Nullable private DataSource upstream;
+    @Nullable private DataSpec dataSpec;
+    private int origin = C.INDEX_UNSET;
+    private int originsTried;
+    private long bytesRead;
+    // Time spent in reads and bytes read since the throughput was last checked.
+    private long sampleMs;
+    private long sampleBytes;
+
+    FailoverDataSource(OriginFailover failover, DataSource.Factory upstreamFactory) {
+      this.failover = failover;
+      this.upstreamFactory = upstreamFactory;
+    }
+
+    @Override
+    public void addTransferListener(@NonNull TransferListener transferListener) {
+      transferListeners.add(transferListener);
+      if (upstream != null) {
+        upstream.addTransferListener(transferListener);
+      }
+    }
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) throws IOException {
+      this.dataSpec = dataSpec;
+      originsTried = 0;
+      bytesRead = 0;
+      if (failover.rewrite(dataSpec.uri, 0) == null) {
+        origin = C.INDEX_UNSET;
+        return createUpstream().open(dataSpec);
+      }
+      return openAt(0);
+    }
+
+    /** Opens the request on the current origin, skipping the first {@code offset} bytes. */
+    private long openAt(long offset) throws IOException {
+      while (true) {
+        origin = failover.currentOrigin();
+        DataSpec spec = dataSpec.subrange(offset).withUri(failover.rewrite(dataSpec.uri, origin));
+        originsTried++;
+        try {
+          long length = createUpstream().open(spec);
+          sampleMs = 0;
+          sampleBytes = 0;
+          return length;
+        } catch (IOException e) {
+          closeUpstreamQuietly();
+          if (!shouldFailOver(e) || originsTried >= failover.originCount()) {
+            throw e;
+          }
+          failover.switchFrom(origin, REASON_ERROR, dataSpec.uri);
+        }
+      }
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+      if (origin == C.INDEX_UNSET) {
+        return upstream.read(buffer, offset, length);
+      }
+      while (true) {
+        long startMs = SystemClock.elapsedRealtime();
+        int read;
+        try {
+          read = upstream.read(buffer, offset, length);
+        } catch (IOException e) {
+          if (!shouldFailOver(e) || originsTried >= failover.originCount()) {
+            throw e;
+          }
+          closeUpstreamQuietly();
+          failover.switchFrom(origin, REASON_ERROR, dataSpec.uri);
+          openAt(bytesRead);
+          continue;
+        }
+        if (read == C.RESULT_END_OF_INPUT) {
+          return read;
+        }
+        bytesRead += read;
+        sampleBytes += read;
+        sampleMs += SystemClock.elapsedRealtime() - startMs;
+        if (isTooSlow() && originsTried < failover.originCount()) {
+          closeUpstreamQuietly();
+          failover.switchFrom(origin, REASON_SLOW, dataSpec.uri);
+          openAt(bytesRead);
+        }
+        return read;
+      }
+    }
+
+    /** Checks the throughput once enough time was spent in reads, and starts the next sample. */
+    private boolean isTooSlow() {
+      if (failover.minThroughputBitsPerSecond <= 0 || sampleMs < THROUGHPUT_SAMPLE_MS) {
+        return false;
+      }
+      boolean tooSlow = sampleBytes * 8 * 1000 / sampleMs < failover.minThroughputBitsPerSecond;
+      sampleMs = 0;
+      sampleBytes = 0;
+      return tooSlow;
+    }
+
+    @Nullable
+    @Override
+    public Uri getUri() {
+      return upstream != null ? upstream.getUri() : null;
+    }
+
+    @NonNull
+    @Override
+    public Map<String, List<String>> getResponseHeaders() {
+      return upstream != null ? upstream.getResponseHeaders() : Collections.emptyMap();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (upstream != null) {
+        try {
+          upstream.close();
+        } finally {
+          upstream = null;
+        }
+      }
+    }
+
+    private DataSource createUpstream() {
+      upstream = upstreamFactory.createDataSource();
+      for (TransferListener transferListener : transferListeners) {
+        upstream.addTransferListener(transferListener);
+      }
+      return upstream;
+    }
+
+    private void closeUpstreamQuietly() {
+      DataSourceUtil.closeQuietly(upstream);
+      upstream = null;
+    }
+  }
+}
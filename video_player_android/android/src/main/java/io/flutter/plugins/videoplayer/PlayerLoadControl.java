@@ -0,0 +1,106 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
+
+/**
+ * The default load control, with a buffer limit the plugin can lower while a player is not
+ * playing, and which reports the buffer of the player to its {@link LoadPriority}.
+ *
+ * <p>The buffer is urgent below {@link #URGENT_BUFFER_MS}, or below half of the target offset of a
+ * live stream with a shorter offset, as such a stream never buffers much more than its offset.
+ *
+ * <p>The limit is set on the platform thread and read on the playback thread.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class PlayerLoadControl extends DefaultLoadControl {
+  /**
+   * Buffer kept by players that wait to play. It is above the buffer needed to start playback, so
+   * the player still becomes ready.
+   */
+  static final long PREPARED_BUFFER_MS = DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS;
+
+  /**
+   * Buffer below which a focused player makes background players wait, twice the buffer playback
+   * needs to resume after a rebuffer.
+   */
+  static final long URGENT_BUFFER_MS = 2 * DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS;
+
+  @Nullable private final LoadPriority loadPriority;
+  private volatile long maxBufferUs = C.TIME_UNSET;
+  // Only accessed on the playback thread.
+  private long urgentBufferUs = URGENT_BUFFER_MS * 1000;
+
+  PlayerLoadControl(@Nullable LoadPriority loadPriority) {
+    this.loadPriority = loadPriority;
+  }
+
+  /** Stops loading once {@code maxBufferMs} are buffered, or lifts the limit for C.TIME_UNSET. */
+  void setMaxBufferMs(long maxBufferMs) {
+    maxBufferUs = maxBufferMs == C.TIME_UNSET ? C.TIME_UNSET : maxBufferMs * 1000;
+  }
+
+  @Override
+  public boolean shouldContinueLoading(
+      long playbackPositionUs, long bufferedDurationUs, float playbackSpeed) {
+    long maxBufferUs = this.maxBufferUs;
+    if (loadPriority != null) {
+      // A player held at a minimal buffer is not about to play, so it does not hold others back.
+      if (maxBufferUs == C.TIME_UNSET) {
+        loadPriority.onBufferedDuration(bufferedDurationUs, urgentBufferUs);
+      } else {
+        loadPriority.clearUrgent();
+      }
+    }
+    if (maxBufferUs != C.TIME_UNSET && bufferedDurationUs >= maxBufferUs) {
+      return false;
+    }
+    return super.shouldContinueLoading(playbackPositionUs, bufferedDurationUs, playbackSpeed);
+  }
+
+  @Override
+  public boolean shouldStartPlayback(
+      long bufferedDurationUs, float playbackSpeed, boolean rebuffering, long targetLiveOffsetUs) {
+    urgentBufferUs =
+        targetLiveOffsetUs == C.TIME_UNSET
+            ? URGENT_BUFFER_MS * 1000
+            : Math.min(URGENT_BUFFER_MS * 1000, targetLiveOffsetUs / 2);
+    return super.shouldStartPlayback(
+        bufferedDurationUs, playbackSpeed, rebuffering, targetLiveOffsetUs);
+  }
+
+  /**
+   * Lets background players load again once the player stopped loading. Called on the platform
+   * thread when loading stops or playback ends, as the player no longer asks the load control once
+   * the end of the media is buffered, so a low buffer reported before would otherwise hold others
+   * back until the player is stopped.
+   */
+  void onLoadingStopped() {
+    if (loadPriority != null) {
+      loadPriority.clearUrgent();
+    }
+  }
+
+  @Override
+  public void onStopped() {
+    super.onStopped();
+    if (loadPriority != null) {
+      loadPriority.clearUrgent();
+    }
+  }
+
+  @Override
+  public void onReleased() {
+    super.onReleased();
+    if (loadPriority != null) {
+      loadPriority.clearUrgent();
+    }
+  }
+}
@@ -0,0 +1,167 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caps the number of players that decode at the same time.
+ *
+ * <p>Players are ranked by the priority and visible fraction Dart reports for their texture, then
+ * by age. The first {@code maxActive} visible players are active and play as requested. The next
+ * {@code maxPrepared} are prepared: paused, with their decoders kept and a minimal buffer, so they
+ * can start at once. All others are parked, with their decoders and buffers released, and are
+ * prepared again when they move up.
+ *
+ * <p>Without limits every player is active. This class is not thread-safe. All calls must be made
+ * on the platform thread.
+ */
+final class PlayerScheduler {
+  static final int STATE_ACTIVE = 0;
+  static final int STATE_PREPARED = 1;
+  static final int STATE_PARKED = 2;
+
+  static final int UNLIMITED = Integer.MAX_VALUE;
+  static final int DEFAULT_MAX_PREPARED = 1;
+
+  /** A player whose state is set by the scheduler. */
+  interface Schedulable {
+    /** Called with one of the {@code STATE_*} constants when the state of the player changes. */
+    void setScheduledState(int state);
+  }
+
+  private static final class Entry {
+    final Schedulable player;
+    final long order;
+    double visibleFraction = 1;
+    long priority;
+    int state = STATE_ACTIVE;
+
+    Entry(Schedulable player, long order) {
+      this.player = player;
+      this.order = order;
+    }
+  }
+
+  private final Map<Long, Entry> entries = new HashMap<>();
+  private int maxActive = UNLIMITED;
+  private int maxPrepared = DEFAULT_MAX_PREPARED;
+  private long nextOrder;
+
+  /** Returns the name of {@code state}, as sent to Dart. */
+  @NonNull
+  static String stateName(int state) {
+    switch (state) {
+      case STATE_ACTIVE:
+        return "active";
+      case STATE_PREPARED:
+        return "prepared";
+      default:
+        return "parked";
+    }
+  }
+
+  /** Sets how many players decode, and how many more are kept prepared. */
+  void setLimits(int maxActive, int maxPrepared) {
+    if (maxActive < 1 || maxPrepared < 0) {
+      throw new IllegalArgumentException(
+          "Invalid scheduler limits: " + maxActive + " active, " + maxPrepared + " prepared");
+    }
+    this.maxActive = maxActive;
+    this.maxPrepared = maxPrepared;
+    reschedule();
+  }
+
+  /**
+   * Adds a player. Until Dart reports otherwise, it is fully visible with priority 0, and ranks
+   * below the players added before it.
+   */
+  void register(long textureId, @NonNull Schedulable player) {
+    entries.put(textureId, new Entry(player, nextOrder++));
+    reschedule();
+  }
+
+  /** Removes a player, letting the next one move up. */
+  void unregister(long textureId) {
+    if (entries.remove(textureId) != null) {
+      reschedule();
+    }
+  }
+
+  /** Removes all players without changing their state. */
+  void clear() {
+    entries.clear();
+  }
+
+  /** Updates the visibility of a player. Unknown texture ids are ignored. */
+  void setVisibility(long textureId, double visibleFraction, long priority) {
+    Entry entry = entries.get(textureId);
+    if (entry == null) {
+      return;
+    }
+    entry.visibleFraction = visibleFraction;
+    entry.priority = priority;
+  }
+
+  /** Applies the visibility updates made since the last call. */
+  void reschedule() {
+    List<Entry> ranked = new ArrayList<>(entries.values());
+    Collections.sort(
+        ranked,
+        (a, b) -> {
+          if (a.priority != b.priority) {
+            return Long.compare(b.priority, a.priority);
+          }
+          if (a.visibleFraction != b.visibleFraction) {
+            return Double.compare(b.visibleFraction, a.visibleFraction);
+          }
+          return Long.compare(a.order, b.order);
+        });
+    int active = 0;
+    int prepared = 0;
+    // Demotions go first, so decoders are released before others are allocated.
+    List<Entry> promoted = new ArrayList<>();
+    for (Entry entry : ranked) {
+      int state;
+      if (maxActive == UNLIMITED || (entry.visibleFraction > 0 && active < maxActive)) {
+        state = STATE_ACTIVE;
+        active++;
+      } else if (prepared < maxPrepared) {
+        state = STATE_PREPARED;
+        prepared++;
+      } else {
+        state = STATE_PARKED;
+      }
+      if (state == entry.state) {
+        continue;
+      }
+      boolean demoted = state > entry.state;
+      entry.state = state;
+      if (demoted) {
+        entry.player.setScheduledState(state);
+      } else {
+        promoted.add(entry);
+      }
+    }
+    for (Entry entry : promoted) {
+      entry.player.setScheduledState(entry.state);
+    }
+  }
+
+  @VisibleForTesting
+  int stateOf(long textureId) {
+    Entry entry = entries.get(textureId);
+    if (entry == null) {
+      throw new IllegalArgumentException("Unknown texture " + textureId);
+    }
+    return entry.state;
+  }
+}
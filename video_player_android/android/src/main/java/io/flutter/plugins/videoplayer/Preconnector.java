@@ -0,0 +1,176 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DefaultHttpDataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens connections to media hosts before players request from them, shared by all players of the
+ * plugin.
+ *
+ * <p>Players load through {@link HttpURLConnection}, which keeps idle connections in a process-wide
+ * pool keyed by scheme, host and port. A preconnect sends a {@code HEAD} request for the root of
+ * the host, which resolves its address and completes the TCP and TLS handshakes, and then releases
+ * the connection into that pool, where the first request of a later player picks it up.
+ *
+ * <p>The pool closes connections that stay idle for longer than its keep-alive duration, five
+ * minutes by default, which is read once per process. To keep a host warm for longer, its
+ * connection is reused every {@link #REFRESH_INTERVAL_MS} until the requested keep-alive time has
+ * passed.
+ *
+ * <p>This class is thread-safe.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class Preconnector {
+  static final long DEFAULT_KEEP_ALIVE_MS = 5 * 60 * 1000;
+  static final long MAX_KEEP_ALIVE_MS = 30 * 60 * 1000;
+  /** Interval at which warm connections are reused, below the idle timeout of the pool. */
+  static final long REFRESH_INTERVAL_MS = 4 * 60 * 1000;
+
+  private static final String TAG = "Preconnector";
+
+  /** Opens a connection to an origin and releases it into the connection pool. */
+  interface Connector {
+    void connect(@NonNull URL origin) throws IOException;
+  }
+
+  private final ScheduledExecutorService executor;
+  private final Connector connector;
+  // Origins being kept warm, with the elapsed realtime until which they are.
+  private final HashMap<String, Long> deadlines = new HashMap<>();
+
+  Preconnector() {
+    this(
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "Preconnector");
+              thread.setDaemon(true);
+              return thread;
+            }),
+        Preconnector::connectWithHead);
+  }
+
+  @VisibleForTesting
+  Preconnector(@NonNull ScheduledExecutorService executor, @NonNull Connector connector) {
+    this.executor = executor;
+    this.connector = connector;
+  }
+
+  /**
+   * Connects to each of {@code hosts} in the background and keeps the connections warm for {@code
+   * keepAliveMs}. Hosts are host names, optionally with a port, or URLs, of which only the scheme,
+   * host and port are used. Hosts that are already warm only have their keep-alive time extended.
+   */
+  void preconnect(@NonNull List<String> hosts, long keepAliveMs) {
+    long deadline =
+        SystemClock.elapsedRealtime() + Math.max(0, Math.min(keepAliveMs, MAX_KEEP_ALIVE_MS));
+    for (String host : hosts) {
+      String origin = origin(host);
+      if (origin == null) {
+        Log.w(TAG, "Ignoring invalid host " + host);
+        continue;
+      }
+      synchronized (this) {
+        Long current = deadlines.get(origin);
+        deadlines.put(origin, current == null ? deadline : Math.max(current, deadline));
+        if (current != null) {
+          continue;
+        }
+      }
+      schedule(origin, 0);
+    }
+  }
+
+  /** Stops keeping connections warm. Pooled connections expire on their own. */
+  synchronized void clear() {
+    deadlines.clear();
+  }
+
+  /**
+   * Returns the origin, {@code scheme://host[:port]}, to connect to for {@code host}, or null if
+   * it names none. Hosts without a scheme are connected to over https.
+   */
+  @Nullable
+  @VisibleForTesting
+  static String origin(@Nullable String host) {
+    if (host == null || host.trim().isEmpty()) {
+      return null;
+    }
+    String trimmed = host.trim();
+    Uri uri = Uri.parse(trimmed.contains("://") ? trimmed : "https://" + trimmed);
+    String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.US);
+    if (uri.getHost() == null
+        || uri.getHost().isEmpty()
+        || !(scheme.equals("http") || scheme.equals("https"))) {
+      return null;
+    }
+    String origin = scheme + "://" + uri.getHost().toLowerCase(Locale.US);
+    return uri.getPort() != -1 ? origin + ":" + uri.getPort() : origin;
+  }
+
+  private void schedule(String origin, long delayMs) {
+    try {
+      executor.schedule(() -> warm(origin), delayMs, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      synchronized (this) {
+        deadlines.remove(origin);
+      }
+    }
+  }
+
+  private void warm(String origin) {
+    try {
+      connector.connect(new URL(origin + "/"));
+    } catch (IOException e) {
+      // The player will connect itself and report the error if the host stays unreachable.
+      Log.w(TAG, "Failed to preconnect to " + origin, e);
+    }
+    synchronized (this) {
+      Long deadline = deadlines.get(origin);
+      if (deadline == null) {
+        return;
+      }
+      if (SystemClock.elapsedRealtime() + REFRESH_INTERVAL_MS > deadline) {
+        deadlines.remove(origin);
+        return;
+      }
+    }
+    schedule(origin, REFRESH_INTERVAL_MS);
+  }
+
+  private static void connectWithHead(URL origin) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) origin.openConnection();
+    connection.setRequestMethod("HEAD");
+    connection.setConnectTimeout(DefaultHttpDataSource.DEFAULT_CONNECT_TIMEOUT_MILLIS);
+    connection.setReadTimeout(DefaultHttpDataSource.DEFAULT_READ_TIMEOUT_MILLIS);
+    connection.setInstanceFollowRedirects(false);
+    int responseCode = connection.getResponseCode();
+    // Closing the empty body, rather than disconnecting, returns the connection to the pool.
+    InputStream body =
+        responseCode < 400 ? connection.getInputStream() : connection.getErrorStream();
+    if (body != null) {
+      body.close();
+    }
+  }
+}
@@ -45,6 +45,13 @@ final class QueuingEventSink implements EventChannel.EventSink {
     maybeFlush();
   }
 
+  /** Drops the queued events and every event sent from now on, and detaches the delegate. */
+  public void close() {
+    done = true;
+    delegate = null;
+    eventQueue.clear();
+  }
+
   private void enqueue(Object event) {
     if (done) {
       return;
@@ -0,0 +1,153 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import java.util.ArrayDeque;
+
+/**
+ * Runs the blocking part of disposing players when the platform thread is idle, a few at a time.
+ *
+ * <p>Releasing a player blocks until its playback thread has shut down, and its texture must be
+ * released on the platform thread too. Disposing many players in a row, as a fast scroll does,
+ * would therefore drop frames. Releases are queued instead, and at most {@code batchSize} of them
+ * run each time the platform thread runs out of messages, between frames. Releases still pending
+ * after {@code maxDelayMs} run even if the thread never becomes idle.
+ *
+ * <p>This class is not thread-safe. All calls must be made on the platform thread.
+ */
+final class ReleaseQueue {
+  static final int DEFAULT_BATCH_SIZE = 2;
+  static final long DEFAULT_MAX_DELAY_MS = 1_000;
+
+  private static final class Pending {
+    final Runnable release;
+    final long enqueuedAtMs;
+
+    Pending(Runnable release, long enqueuedAtMs) {
+      this.release = release;
+      this.enqueuedAtMs = enqueuedAtMs;
+    }
+  }
+
+  private final int batchSize;
+  private final long maxDelayMs;
+  private final ArrayDeque<Pending> pending = new ArrayDeque<>();
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final MessageQueue.IdleHandler idleHandler = this::onIdle;
+  private final Runnable releaseOverdue = this::releaseOverdue;
+  private boolean idleHandlerAdded;
+
+  private long releasedCount;
+  private long totalLatencyMs;
+  private long maxLatencyMs;
+  private long totalReleaseMicros;
+  private long maxReleaseMicros;
+
+  ReleaseQueue() {
+    this(DEFAULT_BATCH_SIZE, DEFAULT_MAX_DELAY_MS);
+  }
+
+  @VisibleForTesting
+  ReleaseQueue(int batchSize, long maxDelayMs) {
+    this.batchSize = batchSize;
+    this.maxDelayMs = maxDelayMs;
+  }
+
+  /** Queues {@code release} to run when the platform thread is idle. */
+  void enqueue(@NonNull Runnable release) {
+    pending.addLast(new Pending(release, SystemClock.elapsedRealtime()));
+    if (!idleHandlerAdded) {
+      idleHandlerAdded = true;
+      Looper.myQueue().addIdleHandler(idleHandler);
+    }
+    if (pending.size() == 1) {
+      handler.postDelayed(releaseOverdue, maxDelayMs);
+    }
+  }
+
+  /** Runs every pending release now. */
+  void flush() {
+    while (!pending.isEmpty()) {
+      release(pending.pollFirst());
+    }
+    stop();
+  }
+
+  int pendingCount() {
+    return pending.size();
+  }
+
+  long releasedCount() {
+    return releasedCount;
+  }
+
+  /** Returns the mean time from {@link #enqueue} to the end of the release. */
+  long meanLatencyMs() {
+    return releasedCount == 0 ? 0 : totalLatencyMs / releasedCount;
+  }
+
+  long maxLatencyMs() {
+    return maxLatencyMs;
+  }
+
+  /** Returns the mean time the platform thread spent in a release. */
+  long meanReleaseMicros() {
+    return releasedCount == 0 ? 0 : totalReleaseMicros / releasedCount;
+  }
+
+  long maxReleaseMicros() {
+    return maxReleaseMicros;
+  }
+
+  private boolean onIdle() {
+    for (int i = 0; i < batchSize && !pending.isEmpty(); i++) {
+      release(pending.pollFirst());
+    }
+    if (pending.isEmpty()) {
+      handler.removeCallbacks(releaseOverdue);
+      idleHandlerAdded = false;
+      return false;
+    }
+    return true;
+  }
+
+  private void releaseOverdue() {
+    long now = SystemClock.elapsedRealtime();
+    while (!pending.isEmpty() && now - pending.peekFirst().enqueuedAtMs >= maxDelayMs) {
+      release(pending.pollFirst());
+    }
+    if (pending.isEmpty()) {
+      stop();
+    } else {
+      handler.postDelayed(releaseOverdue, pending.peekFirst().enqueuedAtMs + maxDelayMs - now);
+    }
+  }
+
+  private void stop() {
+    handler.removeCallbacks(releaseOverdue);
+    if (idleHandlerAdded) {
+      idleHandlerAdded = false;
+      Looper.myQueue().removeIdleHandler(idleHandler);
+    }
+  }
+
+  private void release(Pending entry) {
+    long startNanos = System.nanoTime();
+    entry.release.run();
+    long releaseMicros = (System.nanoTime() - startNanos) / 1000;
+    long latencyMs = SystemClock.elapsedRealtime() - entry.enqueuedAtMs;
+    releasedCount++;
+    totalLatencyMs += latencyMs;
+    maxLatencyMs = Math.max(maxLatencyMs, latencyMs);
+    totalReleaseMicros += releaseMicros;
+    maxReleaseMicros = Math.max(maxReleaseMicros, releaseMicros);
+  }
+}
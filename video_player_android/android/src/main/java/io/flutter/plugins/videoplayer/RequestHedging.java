@@ -0,0 +1,329 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.TransferListener;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends a second, hedged request for segments whose first byte is late.
+ *
+ * <p>If a request has not received its response within the rolling {@code percentile} of recent
+ * time-to-first-byte samples, the same request is sent again. It goes to the next origin when an
+ * {@link OriginFailover} is configured, and to the same URI otherwise. Whichever response arrives
+ * first is read and the other request is closed. No request is hedged until {@link #MIN_SAMPLES}
+ * samples have been collected.
+ *
+ * <p>Time to first byte is measured as the time {@link DataSource#open} takes, which for HTTP
+ * includes receiving the response headers. Only {@code http} and {@code https} requests are hedged
+ * and sampled, local files and assets are opened as they are.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class RequestHedging {
+  static final double DEFAULT_PERCENTILE = 0.9;
+  static final long DEFAULT_MIN_DELAY_MS = 50;
+
+  @VisibleForTesting static final int WINDOW_SIZE = 50;
+  @VisibleForTesting static final int MIN_SAMPLES = 10;
+
+  // Opens run on these threads while the loading thread waits for the first one to complete.
+  private static final ExecutorService executor =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "RequestHedging");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final double percentile;
+  private final long minDelayMs;
+  @Nullable private final OriginFailover originFailover;
+  private final long[] samples = new long[WINDOW_SIZE];
+  private int sampleCount;
+  private int nextSample;
+  private final AtomicLong hedgesFired = new AtomicLong();
+  private final AtomicLong hedgesWon = new AtomicLong();
+
+  RequestHedging(double percentile, long minDelayMs, @Nullable OriginFailover originFailover) {
+    this.percentile = percentile;
+    this.minDelayMs = minDelayMs;
+    this.originFailover = originFailover;
+  }
+
+  /** Number of requests that were hedged. */
+  long hedgesFired() {
+    return hedgesFired.get();
+  }
+
+  /** Number of hedged requests for which the second request responded first. */
+  long hedgesWon() {
+    return hedgesWon.get();
+  }
+
+  /**
+   * Returns how long a request may wait for its first byte before it is hedged, or {@link
+   * C#TIME_UNSET} while there are too few samples.
+   */
+  synchronized long thresholdMs() {
+    if (sampleCount < MIN_SAMPLES) {
+      return C.TIME_UNSET;
+    }
+    long[] sorted = Arrays.copyOf(samples, sampleCount);
+    Arrays.sort(sorted);
+    int index = (int) Math.min(sampleCount - 1, Math.ceil(percentile * sampleCount) - 1);
+    return Math.max(minDelayMs, sorted[Math.max(0, index)]);
+  }
+
+  @VisibleForTesting
+  synchronized void addSample(long timeToFirstByteMs) {
+    samples[nextSample] = timeToFirstByteMs;
+    nextSample = (nextSample + 1) % WINDOW_SIZE;
+    sampleCount = Math.min(sampleCount + 1, WINDOW_SIZE);
+  }
+
+  private Uri hedgeUri(Uri uri) {
+    if (originFailover != null) {
+      int next = (originFailover.currentOrigin() + 1) % originFailover.originCount();
+      Uri rewritten = originFailover.rewrite(uri, next);
+      if (rewritten != null) {
+        return rewritten;
+      }
+    }
+    return uri;
+  }
+
+  /** Creates data sources that hedge slow requests of a {@link RequestHedging}. */
+  static final class DataSourceFactory implements DataSource.Factory {
+    private final RequestHedging hedging;
+    private final DataSource.Factory upstreamFactory;
+
+    DataSourceFactory(
+        @NonNull RequestHedging hedging, @NonNull DataSource.Factory upstreamFactory) {
+      this.hedging = hedging;
+      this.upstreamFactory = upstreamFactory;
+    }
+
+    @NonNull
+    @Override
+    public DataSource createDataSource() {
+      return new HedgingDataSource(hedging, upstreamFactory);
+    }
+  }
+
+  /** One open of the request, run on the executor. */
+  private static final class Attempt implements Runnable {
+    final DataSource dataSource;
+    final DataSpec dataSpec;
+    private final RequestHedging hedging;
+    private final Object race;
+    private boolean done;
+    private boolean abandoned;
+    private long length;
+    @Nullable private IOException error;
+
+    Attempt(RequestHedging hedging, DataSource dataSource, DataSpec dataSpec, Object race) {
+      this.hedging = hedging;
+      this.dataSource = dataSource;
+      this.dataSpec = dataSpec;
+      this.race = race;
+    }
+
+    @Override
+    public void run() {
+      long startMs = SystemClock.elapsedRealtime();
+      long openedLength = 0;
+      IOException openError = null;
+      try {
+        openedLength = dataSource.open(dataSpec);
+        hedging.addSample(SystemClock.elapsedRealtime() - startMs);
+      } catch (IOException e) {
+        openError = e;
+      }
+      boolean close;
+      synchronized (race) {
+        done = true;
+        length = openedLength;
+        error = openError;
+        close = abandoned;
+        race.notifyAll();
+      }
+      if (close) {
+        DataSourceUtil.closeQuietly(dataSource);
+      }
+    }
+
+    /** Closes the data source once its open has completed. Must be called holding the race lock. */
+    void abandon() {
+      abandoned = true;
+      if (done) {
+        executor.execute(() -> DataSourceUtil.closeQuietly(dataSource));
+      }
+    }
+  }
+
+  private static final class HedgingDataSource implements DataSource {
+    private final RequestHedging hedging;
+    private final DataSource.Factory upstreamFactory;
+    private final List<TransferListener> transferListeners = new ArrayList<>();
+    @Nullable private DataSource upstream;
+
+    HedgingDataSource(RequestHedging hedging, DataSource.Factory upstreamFactory) {
+      this.hedging = hedging;
+      this.upstreamFactory = upstreamFactory;
+    }
+
+    @Override
+    public void addTransferListener(@NonNull TransferListener transferListener) {
+      transferListeners.add(transferListener);
+    }
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) throws IOException {
+      if (!isHttp(dataSpec.uri)) {
+        upstream = createUpstream();
+        return upstream.open(dataSpec);
+      }
+      long thresholdMs = hedging.thresholdMs();
+      if (thresholdMs == C.TIME_UNSET) {
+        upstream = createUpstream();
+        long startMs = SystemClock.elapsedRealtime();
+        long length = upstream.open(dataSpec);
+        hedging.addSample(SystemClock.elapsedRealtime() - startMs);
+        return length;
+      }
+
+      Object race = new Object();
+      Attempt primary = new Attempt(hedging, createUpstream(), dataSpec, race);
+      executor.execute(primary);
+      Attempt hedge = null;
+      try {
+        synchronized (race) {
+          long deadlineMs = SystemClock.elapsedRealtime() + thresholdMs;
+          long remainingMs = thresholdMs;
+          while (!primary.done && remainingMs > 0) {
+            race.wait(remainingMs);
+            remainingMs = deadlineMs - SystemClock.elapsedRealtime();
+          }
+          if (!primary.done) {
+            hedging.hedgesFired.incrementAndGet();
+            DataSpec hedgeSpec = dataSpec.withUri(hedging.hedgeUri(dataSpec.uri));
+            hedge = new Attempt(hedging, createUpstream(), hedgeSpec, race);
+            executor.execute(hedge);
+          }
+          Attempt winner = awaitWinner(race, primary, hedge);
+          if (winner == hedge) {
+            hedging.hedgesWon.incrementAndGet();
+            primary.abandon();
+          } else if (hedge != null) {
+            hedge.abandon();
+          }
+          // A failed winner is kept as upstream so that close() still closes it.
+          upstream = winner.dataSource;
+          if (winner.error != null) {
+            throw winner.error;
+          }
+          return winner.length;
+        }
+      } catch (InterruptedException e) {
+        synchronized (race) {
+          primary.abandon();
+          if (hedge != null) {
+            hedge.abandon();
+          }
+        }
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+
+    /**
+     * Waits for the first attempt that succeeds, or for all attempts to fail. Must be called
+     * holding the race lock.
+     */
+    private static Attempt awaitWinner(Object race, Attempt primary, @Nullable Attempt hedge)
+        throws InterruptedException {
+      while (true) {
+        if (primary.done && primary.error == null) {
+          return primary;
+        }
+        if (hedge == null) {
+          if (primary.done) {
+            return primary;
+          }
+        } else {
+          if (hedge.done && hedge.error == null) {
+            return hedge;
+          }
+          if (primary.done && hedge.done) {
+            return primary;
+          }
+        }
+        race.wait();
+      }
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+      return upstream.read(buffer, offset, length);
+    }
+
+    @Nullable
+    @Override
+    public Uri getUri() {
+      return upstream != null ? upstream.getUri() : null;
+    }
+
+    @NonNull
+    @Override
+    public Map<String, List<String>> getResponseHeaders() {
+      return upstream != null ? upstream.getResponseHeaders() : Collections.emptyMap();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (upstream != null) {
+        try {
+          upstream.close();
+        } finally {
+          upstream = null;
+        }
+      }
+    }
+
+    private static boolean isHttp(Uri uri) {
+      String scheme = uri.getScheme();
+      return scheme != null
+          && (scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"));
+    }
+
+    private DataSource createUpstream() {
+      DataSource dataSource = upstreamFactory.createDataSource();
+      for (TransferListener transferListener : transferListeners) {
+        dataSource.addTransferListener(transferListener);
+      }
+      return dataSource;
+    }
+  }
+}
@@ -0,0 +1,208 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.ByteArrayDataSource;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.TransferListener;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Raw bytes of sidecar subtitle files, shared by all players of the plugin and keyed by URL.
+ *
+ * <p>Files are fetched in the background as soon as a player is created, and loaded through the
+ * player's own data source stack so the same headers apply. A player that asks for a file that is
+ * still being fetched waits for that fetch instead of starting another one. Entries are evicted in
+ * LRU order once the cache holds more than {@code maxBytes}.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class SubtitleCache {
+  static final int DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+  private final LruCache<String, byte[]> entries;
+  // Fetches that have not completed yet, keyed like the entries.
+  private final Map<String, FutureTask<byte[]>> inFlight = new HashMap<>();
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "SubtitleCache");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  SubtitleCache() {
+    this(DEFAULT_MAX_BYTES);
+  }
+
+  @VisibleForTesting
+  SubtitleCache(int maxBytes) {
+    entries =
+        new LruCache<String, byte[]>(maxBytes) {
+          @Override
+          protected int sizeOf(String key, byte[] value) {
+            return value.length;
+          }
+        };
+  }
+
+  /** Starts fetching {@code uri} in the background unless it is cached or already being fetched. */
+  void prefetch(@NonNull Uri uri, @NonNull DataSource.Factory upstreamFactory) {
+    FutureTask<byte[]> task = taskFor(uri, upstreamFactory);
+    if (task != null) {
+      executor.execute(task);
+    }
+  }
+
+  /** Returns the bytes of {@code uri}, fetching them on the calling thread if needed. */
+  @NonNull
+  byte[] load(@NonNull Uri uri, @NonNull DataSource.Factory upstreamFactory) throws IOException {
+    byte[] cached = entries.get(uri.toString());
+    if (cached != null) {
+      return cached;
+    }
+    FutureTask<byte[]> task = taskFor(uri, upstreamFactory);
+    if (task == null) {
+      // Completed between the lookup above and taskFor.
+      return load(uri, upstreamFactory);
+    }
+    // Runs the fetch here unless another thread already started it, then waits for it.
+    task.run();
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    }
+  }
+
+  void clear() {
+    entries.evictAll();
+  }
+
+  @VisibleForTesting
+  int sizeBytes() {
+    return entries.size();
+  }
+
+  /** Returns the pending fetch of {@code uri}, a new one, or null if it is already cached. */
+  @Nullable
+  private synchronized FutureTask<byte[]> taskFor(Uri uri, DataSource.Factory upstreamFactory) {
+    String key = uri.toString();
+    if (entries.get(key) != null) {
+      return null;
+    }
+    FutureTask<byte[]> task = inFlight.get(key);
+    if (task == null) {
+      task = new FutureTask<>(() -> fetch(key, uri, upstreamFactory));
+      inFlight.put(key, task);
+    }
+    return task;
+  }
+
+  private byte[] fetch(String key, Uri uri, DataSource.Factory upstreamFactory)
+      throws IOException {
+    DataSource dataSource = upstreamFactory.createDataSource();
+    try {
+      dataSource.open(new DataSpec(uri));
+      byte[] data = DataSourceUtil.readToEnd(dataSource);
+      entries.put(key, data);
+      return data;
+    } finally {
+      DataSourceUtil.closeQuietly(dataSource);
+      synchronized (this) {
+        inFlight.remove(key);
+      }
+    }
+  }
+
+  /** Creates data sources that serve sidecar subtitle files from a {@link SubtitleCache}. */
+  static final class DataSourceFactory implements DataSource.Factory {
+    private final SubtitleCache cache;
+    private final DataSource.Factory upstreamFactory;
+
+    DataSourceFactory(@NonNull SubtitleCache cache, @NonNull DataSource.Factory upstreamFactory) {
+      this.cache = cache;
+      this.upstreamFactory = upstreamFactory;
+    }
+
+    @NonNull
+    @Override
+    public DataSource createDataSource() {
+      return new CachedDataSource(cache, upstreamFactory);
+    }
+  }
+
+  private static final class CachedDataSource implements DataSource {
+    private final SubtitleCache cache;
+    private final DataSource.Factory upstreamFactory;
+    @Nullable private ByteArrayDataSource delegate;
+    @Nullable private Uri uri;
+
+    CachedDataSource(SubtitleCache cache, DataSource.Factory upstreamFactory) {
+      this.cache = cache;
+      this.upstreamFactory = upstreamFactory;
+    }
+
+    @Override
+    public void addTransferListener(@NonNull TransferListener transferListener) {
+      // Transfers happen in the shared fetch, which reports to the upstream data source's
+      // listeners.
+    }
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) throws IOException {
+      uri = dataSpec.uri;
+      delegate = new ByteArrayDataSource(cache.load(dataSpec.uri, upstreamFactory));
+      return delegate.open(dataSpec);
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+      return delegate.read(buffer, offset, length);
+    }
+
+    @Nullable
+    @Override
+    public Uri getUri() {
+      return uri;
+    }
+
+    @NonNull
+    @Override
+    public Map<String, List<String>> getResponseHeaders() {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public void close() {
+      if (delegate != null) {
+        delegate.close();
+        delegate = null;
+      }
+      uri = null;
+    }
+  }
+}
@@ -0,0 +1,360 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.TransferListener;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Fetches the end of progressive MP4 files whose {@code moov} box follows the media data.
+ *
+ * <p>For such files the MP4 extractor reads the first box headers, then has to seek past the
+ * {@code mdat} box to read the sample tables before playback can start, which costs one more
+ * request after the first one. {@link DataSourceFactory} looks at the box headers of the first
+ * request itself and, when the {@code mdat} box comes before any {@code moov} box, starts
+ * fetching the rest of the file from the end of {@code mdat} right away, in parallel with the
+ * head. When the extractor then seeks there, it is served from memory.
+ *
+ * <p>The tail is dropped once it has been served, or once the head request has read past its
+ * start, so at most one tail per player is held, and only until the extractor has read it.
+ *
+ * <p>One instance serves the progressive source of one player.
+ */
+@OptIn(markerClass = UnstableApi.class)
+final class TailPrefetch {
+  /** Number of bytes at the start of the file searched for box headers. */
+  static final int HEAD_PROBE_BYTES = 4096;
+  /** Longest tail that is fetched into memory. */
+  static final int MAX_TAIL_BYTES = 8 * 1024 * 1024;
+
+  private static final int TYPE_MOOV = 0x6D6F6F76;
+  private static final int TYPE_MDAT = 0x6D646174;
+
+  private static final ExecutorService executor =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "TailPrefetch");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** The prefetched end of one file. */
+  private static final class Tail {
+    final Uri uri;
+    final long position;
+    final long fileLength;
+    final FutureTask<byte[]> bytes;
+
+    Tail(Uri uri, long position, long fileLength, FutureTask<byte[]> bytes) {
+      this.uri = uri;
+      this.position = position;
+      this.fileLength = fileLength;
+      this.bytes = bytes;
+    }
+
+    boolean contains(DataSpec dataSpec) {
+      return dataSpec.uri.equals(uri)
+          && dataSpec.position >= position
+          && dataSpec.position < fileLength;
+    }
+  }
+
+  @Nullable private volatile Tail tail;
+  private volatile boolean probed;
+  private volatile boolean moovAtEnd;
+
+  /** Returns whether the file has been found to have its {@code moov} box after the media data. */
+  boolean isMoovAtEnd() {
+    return moovAtEnd;
+  }
+
+  /** Cancels a pending fetch and drops the fetched bytes. */
+  void release() {
+    Tail tail = this.tail;
+    if (tail != null) {
+      drop(tail);
+    }
+  }
+
+  /** Returns whether a tail is fetched or held. */
+  @VisibleForTesting
+  boolean hasTail() {
+    return tail != null;
+  }
+
+  /** Drops {@code tail} unless another one replaced it. */
+  private synchronized void drop(Tail tail) {
+    if (this.tail == tail) {
+      this.tail = null;
+    }
+    tail.bytes.cancel(/* mayInterruptIfRunning= */ true);
+  }
+
+  /**
+   * Returns the position that follows the {@code mdat} box if the top-level boxes in {@code head}
+   * reach an {@code mdat} box before any {@code moov} box and the file continues after it, or
+   * {@link C#POSITION_UNSET} otherwise.
+   */
+  @VisibleForTesting
+  static long findTrailingMoov(@NonNull byte[] head, int length, long fileLength) {
+    long offset = 0;
+    while (offset + 8 <= length) {
+      int position = (int) offset;
+      long size = readUnsignedInt(head, position);
+      int type = readInt(head, position + 4);
+      int headerSize = 8;
+      if (size == 1) {
+        if (offset + 16 > length) {
+          return C.POSITION_UNSET;
+        }
+        size = (readUnsignedInt(head, position + 8) << 32) | readUnsignedInt(head, position + 12);
+        headerSize = 16;
+      }
+      if (size < headerSize || type == TYPE_MOOV) {
+        // A size of 0 means the box extends to the end of the file.
+        return C.POSITION_UNSET;
+      }
+      if (type == TYPE_MDAT) {
+        long end = offset + size;
+        return end < fileLength ? end : C.POSITION_UNSET;
+      }
+      offset += size;
+    }
+    return C.POSITION_UNSET;
+  }
+
+  private static int readInt(byte[] bytes, int offset) {
+    return (bytes[offset] & 0xFF) << 24
+        | (bytes[offset + 1] & 0xFF) << 16
+        | (bytes[offset + 2] & 0xFF) << 8
+        | (bytes[offset + 3] & 0xFF);
+  }
+
+  private static long readUnsignedInt(byte[] bytes, int offset) {
+    return readInt(bytes, offset) & 0xFFFFFFFFL;
+  }
+
+  private void startFetch(
+      DataSpec headSpec,
+      long position,
+      long fileLength,
+      DataSource.Factory upstreamFactory,
+      List<TransferListener> transferListeners) {
+    DataSpec tailSpec =
+        headSpec.buildUpon().setPosition(position).setLength(fileLength - position).build();
+    FutureTask<byte[]> bytes =
+        new FutureTask<>(
+            () -> {
+              DataSource dataSource = upstreamFactory.createDataSource();
+              for (TransferListener transferListener : transferListeners) {
+                dataSource.addTransferListener(transferListener);
+              }
+              try {
+                dataSource.open(tailSpec);
+                return DataSourceUtil.readToEnd(dataSource);
+              } finally {
+                DataSourceUtil.closeQuietly(dataSource);
+              }
+            });
+    tail = new Tail(headSpec.uri, position, fileLength, bytes);
+    executor.execute(bytes);
+  }
+
+  /** Creates data sources that prefetch the tail of MP4 files through a {@link TailPrefetch}. */
+  static final class DataSourceFactory implements DataSource.Factory {
+    private final TailPrefetch prefetch;
+    private final DataSource.Factory upstreamFactory;
+
+    DataSourceFactory(@NonNull TailPrefetch prefetch, @NonNull DataSource.Factory upstreamFactory) {
+      this.prefetch = prefetch;
+      this.upstreamFactory = upstreamFactory;
+    }
+
+    @NonNull
+    @Override
+    public DataSource createDataSource() {
+      return new PrefetchingDataSource(prefetch, upstreamFactory);
+    }
+  }
+
+  private static final class PrefetchingDataSource implements DataSource {
+    private final TailPrefetch prefetch;
+    private final DataSource.Factory upstreamFactory;
+    private final List<TransferListener> transferListeners = new ArrayList<>();
+
+    @Nullable private DataSource upstream;
+    @Nullable private Uri uri;
+    // Position in the file of the next byte read from upstream.
+    private long upstreamPosition;
+    // Bytes already read from upstream, or the prefetched tail, served before reading on.
+    @Nullable private byte[] buffer;
+    private int bufferPosition;
+    private int bufferLimit;
+
+    PrefetchingDataSource(TailPrefetch prefetch, DataSource.Factory upstreamFactory) {
+      this.prefetch = prefetch;
+      this.upstreamFactory = upstreamFactory;
+    }
+
+    @Override
+    public void addTransferListener(@NonNull TransferListener transferListener) {
+      transferListeners.add(transferListener);
+    }
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) throws IOException {
+      uri = dataSpec.uri;
+      buffer = null;
+      Tail tail = prefetch.tail;
+      if (tail != null && tail.contains(dataSpec)) {
+        byte[] bytes = await(tail);
+        if (bytes != null) {
+          int offset = (int) (dataSpec.position - tail.position);
+          long available = bytes.length - offset;
+          long length =
+              dataSpec.length == C.LENGTH_UNSET ? available : Math.min(dataSpec.length, available);
+          buffer = bytes;
+          bufferPosition = offset;
+          bufferLimit = (int) (offset + length);
+          // The extractor reads the sample tables once, so the tail is not needed again.
+          prefetch.drop(tail);
+          return length;
+        }
+      }
+
+      upstream = upstreamFactory.createDataSource();
+      for (TransferListener transferListener : transferListeners) {
+        upstream.addTransferListener(transferListener);
+      }
+      long length = upstream.open(dataSpec);
+      upstreamPosition = dataSpec.position;
+      if (!prefetch.probed
+          && dataSpec.position == 0
+          && dataSpec.length == C.LENGTH_UNSET
+          && length != C.LENGTH_UNSET
+          && isHttp(dataSpec.uri)) {
+        probeHead(dataSpec, length);
+      }
+      return length;
+    }
+
+    /** Reads the first box headers and starts fetching the tail if it holds the moov box. */
+    private void probeHead(DataSpec dataSpec, long fileLength) throws IOException {
+      prefetch.probed = true;
+      byte[] head = new byte[(int) Math.min(HEAD_PROBE_BYTES, fileLength)];
+      int length = 0;
+      while (length < head.length) {
+        int read = upstream.read(head, length, head.length - length);
+        if (read == C.RESULT_END_OF_INPUT) {
+          break;
+        }
+        length += read;
+      }
+      upstreamPosition += length;
+      buffer = head;
+      bufferPosition = 0;
+      bufferLimit = length;
+
+      long position = findTrailingMoov(head, length, fileLength);
+      if (position != C.POSITION_UNSET && fileLength - position <= MAX_TAIL_BYTES) {
+        prefetch.moovAtEnd = true;
+        prefetch.startFetch(
+            dataSpec, position, fileLength, upstreamFactory, new ArrayList<>(transferListeners));
+      }
+    }
+
+    /** Returns the bytes of {@code tail}, or null if fetching them failed or was cancelled. */
+    @Nullable
+    private static byte[] await(Tail tail) throws IOException {
+      try {
+        return tail.bytes.get();
+      } catch (ExecutionException | CancellationException e) {
+        return null;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+    }
+
+    private static boolean isHttp(Uri uri) {
+      String scheme = uri.getScheme();
+      return scheme != null
+          && (scheme.equalsIgnoreCase("http") || scheme.equalsIgnoreCase("https"));
+    }
+
+    @Override
+    public int read(@NonNull byte[] target, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      if (buffer != null && bufferPosition < bufferLimit) {
+        int read = Math.min(length, bufferLimit - bufferPosition);
+        System.arraycopy(buffer, bufferPosition, target, offset, read);
+        bufferPosition += read;
+        return read;
+      }
+      if (upstream == null) {
+        return C.RESULT_END_OF_INPUT;
+      }
+      int read = upstream.read(target, offset, length);
+      if (read != C.RESULT_END_OF_INPUT) {
+        upstreamPosition += read;
+      }
+      return read;
+    }
+
+    @Nullable
+    @Override
+    public Uri getUri() {
+      return upstream != null ? upstream.getUri() : uri;
+    }
+
+    @NonNull
+    @Override
+    public Map<String, List<String>> getResponseHeaders() {
+      return upstream != null ? upstream.getResponseHeaders() : Collections.emptyMap();
+    }
+
+    @Override
+    public void close() throws IOException {
+      Uri openedUri = uri;
+      buffer = null;
+      uri = null;
+      if (upstream != null) {
+        // A head request that read past the start of the tail has handed the sample tables to
+        // the extractor already.
+        Tail tail = prefetch.tail;
+        if (tail != null && tail.uri.equals(openedUri) && upstreamPosition > tail.position) {
+          prefetch.drop(tail);
+        }
+        try {
+          upstream.close();
+        } finally {
+          upstream = null;
+        }
+      }
+    }
+  }
+}
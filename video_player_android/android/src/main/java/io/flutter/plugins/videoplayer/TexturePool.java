@@ -0,0 +1,171 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PorterDuff;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.LongSparseArray;
+import android.view.Surface;
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.Log;
+import io.flutter.view.TextureRegistry;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * A small pool of {@link TextureRegistry.SurfaceTextureEntry} instances and their {@link Surface}s,
+ * recycled between players so feeds do not allocate a new GPU texture for every video.
+ *
+ * <p>A recycled texture is cleared before it goes back to the pool so a new player never shows
+ * the last frame of the previous one. At most {@code maxIdle} textures are kept, and textures
+ * that stay idle longer than {@code idleTimeoutMs} are released.
+ *
+ * <p>This class is not thread-safe. All calls must be made on the platform thread.
+ */
+final class TexturePool {
+  private static final String TAG = "TexturePool";
+
+  static final int DEFAULT_MAX_IDLE = 3;
+  static final long DEFAULT_IDLE_TIMEOUT_MS = 30_000;
+
+  private static final class PooledTexture {
+    final TextureRegistry.SurfaceTextureEntry entry;
+    final Surface surface;
+    long idleSinceMs;
+
+    PooledTexture(TextureRegistry.SurfaceTextureEntry entry, Surface surface) {
+      this.entry = entry;
+      this.surface = surface;
+    }
+  }
+
+  private final int maxIdle;
+  private final long idleTimeoutMs;
+  private final ArrayDeque<PooledTexture> idle = new ArrayDeque<>();
+  // Textures currently used by a player, keyed by texture id.
+  private final LongSparseArray<PooledTexture> leased = new LongSparseArray<>();
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable evictIdle = this::evictIdleTextures;
+
+  TexturePool() {
+    this(DEFAULT_MAX_IDLE, DEFAULT_IDLE_TIMEOUT_MS);
+  }
+
+  @VisibleForTesting
+  TexturePool(int maxIdle, long idleTimeoutMs) {
+    this.maxIdle = maxIdle;
+    this.idleTimeoutMs = idleTimeoutMs;
+  }
+
+  /** Returns an idle texture from the pool, or a new one created by {@code registry}. */
+  @NonNull
+  TextureRegistry.SurfaceTextureEntry acquire(@NonNull TextureRegistry registry) {
+    PooledTexture texture = idle.pollFirst();
+    if (texture == null) {
+      TextureRegistry.SurfaceTextureEntry entry = registry.createSurfaceTexture();
+      texture = new PooledTexture(entry, new Surface(entry.surfaceTexture()));
+    }
+    leased.put(texture.entry.id(), texture);
+    return texture.entry;
+  }
+
+  /** Returns the {@link Surface} wrapping the texture of an entry handed out by {@link #acquire}. */
+  @NonNull
+  Surface surfaceFor(@NonNull TextureRegistry.SurfaceTextureEntry entry) {
+    PooledTexture texture = leased.get(entry.id());
+    if (texture == null) {
+      throw new IllegalStateException("Texture " + entry.id() + " was not acquired from the pool");
+    }
+    return texture.surface;
+  }
+
+  /**
+   * Takes back a texture once its player no longer renders into it. The texture is cleared and
+   * pooled, or released if the pool is full or it could not be cleared.
+   */
+  void recycle(@NonNull TextureRegistry.SurfaceTextureEntry entry) {
+    PooledTexture texture = leased.get(entry.id());
+    leased.remove(entry.id());
+    if (texture == null) {
+      entry.release();
+      return;
+    }
+    if (idle.size() >= maxIdle || !clear(texture)) {
+      release(texture);
+      return;
+    }
+    texture.idleSinceMs = SystemClock.elapsedRealtime();
+    idle.addLast(texture);
+    handler.removeCallbacks(evictIdle);
+    handler.postDelayed(evictIdle, idleTimeoutMs);
+  }
+
+  /** Releases every idle texture. Leased textures are released when they are recycled. */
+  void clear() {
+    handler.removeCallbacks(evictIdle);
+    for (PooledTexture texture : idle) {
+      release(texture);
+    }
+    idle.clear();
+  }
+
+  @VisibleForTesting
+  int idleCount() {
+    return idle.size();
+  }
+
+  private void evictIdleTextures() {
+    long now = SystemClock.elapsedRealtime();
+    long nextDeadlineMs = Long.MAX_VALUE;
+    for (Iterator<PooledTexture> iterator = idle.iterator(); iterator.hasNext(); ) {
+      PooledTexture texture = iterator.next();
+      long deadlineMs = texture.idleSinceMs + idleTimeoutMs;
+      if (deadlineMs <= now) {
+        iterator.remove();
+        release(texture);
+      } else {
+        nextDeadlineMs = Math.min(nextDeadlineMs, deadlineMs);
+      }
+    }
+    if (nextDeadlineMs != Long.MAX_VALUE) {
+      handler.postDelayed(evictIdle, nextDeadlineMs - now);
+    }
+  }
+
+  /**
+   * Posts a transparent frame so the texture no longer holds the last decoded video frame.
+   *
+   * <p>A temporary {@link Surface} is used because a surface connected to the CPU producer cannot
+   * be handed to a decoder afterwards; releasing it disconnects the producer again.
+   */
+  private static boolean clear(PooledTexture texture) {
+    Surface clearSurface = null;
+    try {
+      clearSurface = new Surface(texture.entry.surfaceTexture());
+      Canvas canvas = clearSurface.lockCanvas(null);
+      canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+      clearSurface.unlockCanvasAndPost(canvas);
+      return true;
+    } catch (IllegalArgumentException | IllegalStateException | Surface.OutOfResourcesException e) {
+      // The previous producer is still connected, so the texture cannot be reused safely.
+      Log.w(TAG, "Could not clear texture " + texture.entry.id() + ", releasing it.", e);
+      return false;
+    } finally {
+      if (clearSurface != null) {
+        clearSurface.release();
+      }
+    }
+  }
+
+  private static void release(PooledTexture texture) {
+    texture.surface.release();
+    texture.entry.release();
+  }
+}
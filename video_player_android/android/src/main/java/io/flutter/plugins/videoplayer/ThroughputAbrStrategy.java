@@ -0,0 +1,37 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import androidx.annotation.NonNull;
+
+/** Chooses the highest rendition that fits into a fraction of the throughput estimate. */
+final class ThroughputAbrStrategy implements AbrStrategy {
+  private final double bandwidthFraction;
+
+  ThroughputAbrStrategy(double bandwidthFraction) {
+    this.bandwidthFraction = bandwidthFraction;
+  }
+
+  @NonNull
+  @Override
+  public Decision select(
+      @NonNull long[] bitratesBps, int current, long throughputBps, long bufferedMs) {
+    return new Decision(indexFor(bitratesBps, throughputBps, bandwidthFraction), REASON_THROUGHPUT);
+  }
+
+  /**
+   * Returns the index of the highest of {@code bitratesBps} that fits into {@code fraction} of
+   * {@code throughputBps}, or of the lowest if none does.
+   */
+  static int indexFor(@NonNull long[] bitratesBps, long throughputBps, double fraction) {
+    long allowedBps = (long) (throughputBps * fraction);
+    for (int i = 0; i < bitratesBps.length; i++) {
+      if (bitratesBps[i] <= allowedBps) {
+        return i;
+      }
+    }
+    return bitratesBps.length - 1;
+  }
+}
@@ -7,11 +7,15 @@ package io.flutter.plugins.videoplayer;
 
 import android.content.Context;
 import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.text.TextUtils;
 import android.util.Log;
 import android.view.Surface;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.OptIn;
 import androidx.annotation.VisibleForTesting;
 import androidx.media3.common.AudioAttributes;
@@ -31,26 +35,36 @@ import androidx.media3.common.util.Assertions;
 import androidx.media3.common.util.UnstableApi;
 import androidx.media3.common.util.Util;
 import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
 import androidx.media3.datasource.DefaultDataSource;
 import androidx.media3.datasource.DefaultHttpDataSource;
+import androidx.media3.datasource.HttpDataSource;
+import androidx.media3.exoplayer.DefaultLivePlaybackSpeedControl;
 import androidx.media3.exoplayer.DefaultRenderersFactory;
 import androidx.media3.exoplayer.ExoPlayer;
 import androidx.media3.exoplayer.dash.DashMediaSource;
 import androidx.media3.exoplayer.dash.DefaultDashChunkSource;
 import androidx.media3.exoplayer.hls.DefaultHlsExtractorFactory;
+import androidx.media3.exoplayer.hls.HlsDataSourceFactory;
 import androidx.media3.exoplayer.hls.HlsExtractorFactory;
 import androidx.media3.exoplayer.hls.HlsMediaSource;
 import androidx.media3.exoplayer.rtsp.RtspMediaSource;
 import androidx.media3.exoplayer.smoothstreaming.DefaultSsChunkSource;
 import androidx.media3.exoplayer.smoothstreaming.SsMediaSource;
 import androidx.media3.exoplayer.source.MediaSource;
+import androidx.media3.exoplayer.source.MergingMediaSource;
+import androidx.media3.exoplayer.source.SingleSampleMediaSource;
 import androidx.media3.exoplayer.source.ProgressiveMediaSource;
 import androidx.media3.exoplayer.source.TrackGroupArray;
 import androidx.media3.exoplayer.trackselection.AdaptiveTrackSelection;
 import androidx.media3.exoplayer.trackselection.DefaultTrackSelector;
+import androidx.media3.exoplayer.trackselection.ExoTrackSelection;
 import androidx.media3.exoplayer.trackselection.MappingTrackSelector;
 import androidx.media3.exoplayer.trackselection.TrackSelectionArray;
+import androidx.media3.exoplayer.upstream.LoadErrorHandlingPolicy;
 import androidx.media3.exoplayer.util.EventLogger;
+import androidx.media3.extractor.DefaultExtractorsFactory;
+import androidx.media3.extractor.ExtractorsFactory;
 import androidx.media3.extractor.ts.DefaultTsPayloadReaderFactory;
 
 
@@ -69,7 +83,7 @@ import io.flutter.view.TextureRegistry;
 import io.github.anilbeesetti.nextlib.media3ext.ffdecoder.NextRenderersFactory;
 
 
-final class VideoPlayer {
+final class VideoPlayer implements PlayerScheduler.Schedulable {
     private static final String FORMAT_SS = "ss";
     private static final String FORMAT_DASH = "dash";
     private static final String FORMAT_HLS = "hls";
@@ -78,6 +92,8 @@ final class VideoPlayer {
 
     private ExoPlayer exoPlayer;
 
+    private boolean disposed;
+
     private Surface surface;
 
     private DefaultTrackSelector trackSelector;
@@ -95,10 +111,55 @@ final class VideoPlayer {
     @VisibleForTesting
     boolean isInitialized = false;
 
+    private boolean isAudioOnly = false;
+
     private final VideoPlayerOptions options;
 
     private DefaultHttpDataSource.Factory httpDataSourceFactory = new DefaultHttpDataSource.Factory();
 
+    @Nullable
+    private DefaultLivePlaybackSpeedControl livePlaybackSpeedControl;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private final Runnable liveLatencyReporter = this::reportLiveLatency;
+
+    private final CueDiffer cueDiffer = new CueDiffer();
+
+    private final Runnable cuesFlusher = this::flushCues;
+
+    private List<Cue> pendingCues = Collections.emptyList();
+
+    private long pendingCuesTimeMs;
+
+    private boolean cuesFlushPosted;
+
+    private BackoffLoadErrorHandlingPolicy loadErrorHandlingPolicy;
+
+    @Nullable
+    private RequestHedging requestHedging;
+
+    @Nullable
+    private volatile KeyframeIndex keyframeIndex;
+
+    @Nullable
+    private TailPrefetch tailPrefetch;
+
+    private long prepareTimeMs;
+
+    private boolean firstFrameReported;
+
+    private PlayerLoadControl loadControl;
+
+    @Nullable private LoadPriority loadPriority;
+
+    private int scheduledState = PlayerScheduler.STATE_ACTIVE;
+
+    // Whether Dart asked to play; the player only plays while it is also active.
+    private boolean playRequested;
+
+    private boolean mediaSourceSet;
+
     @OptIn(markerClass = UnstableApi.class) VideoPlayer(
             Context context,
             EventChannel eventChannel,
@@ -111,7 +172,10 @@ final class VideoPlayer {
         this.textureEntry = textureEntry;
         this.options = options;
 
-        AdaptiveTrackSelection.Factory trackSelectionFactory = new AdaptiveTrackSelection.Factory();
+        ExoTrackSelection.Factory trackSelectionFactory =
+                options.abr != null
+                        ? new AbrTrackSelection.Factory(options.abr, this::onAbrSwitch)
+                        : new AdaptiveTrackSelection.Factory();
         trackSelectorParameters = new DefaultTrackSelector.Parameters.Builder(context).build();
 
         trackSelector = new DefaultTrackSelector(context, trackSelectionFactory);
@@ -123,26 +187,96 @@ final class VideoPlayer {
         renderersFactory.setEnableDecoderFallback(true);
 
 
+        livePlaybackSpeedControl = buildLivePlaybackSpeedControl(options.live);
+        if (options.priorityTaskManager != null) {
+            loadPriority = new LoadPriority(options.priorityTaskManager);
+            loadPriority.setPriority(options.loadPriority);
+        }
+        loadControl = new PlayerLoadControl(loadPriority);
+
         ExoPlayer exoPlayer = new ExoPlayer.Builder(context)
                 .setUsePlatformDiagnostics(true)
                 .setRenderersFactory(renderersFactory)
+                .setLivePlaybackSpeedControl(livePlaybackSpeedControl)
+                .setLoadControl(loadControl)
                 .setTrackSelector(trackSelector).build();
 
 
         Uri uri = Uri.parse(dataSource);
 
         buildHttpDataSourceFactory(httpHeaders);
+        // Local files and uncompressed assets are memory-mapped, everything else is streamed.
         DataSource.Factory dataSourceFactory =
-                new DefaultDataSource.Factory(context, httpDataSourceFactory);
+                new MappedFileDataSource.Factory(
+                        context, new DefaultDataSource.Factory(context, httpDataSourceFactory));
+        OriginFailover originFailover = null;
+        if (options.origins != null && options.origins.size() > 1) {
+            originFailover =
+                    new OriginFailover(
+                            options.origins,
+                            options.minOriginThroughputKbps * 1000,
+                            this::onOriginFailover);
+        }
+        // Hedging sits below the failover so a hedge can target another origin than the current one.
+        // Only segment and progressive loads are hedged: manifests, and the blocking playlist
+        // reloads of low-latency HLS in particular, are meant to wait and would skew the samples.
+        DataSource.Factory hedgedDataSourceFactory = null;
+        if (options.hedgingPercentile != null) {
+            requestHedging =
+                    new RequestHedging(
+                            options.hedgingPercentile, options.hedgingMinDelayMs, originFailover);
+            hedgedDataSourceFactory =
+                    new RequestHedging.DataSourceFactory(requestHedging, dataSourceFactory);
+        }
+        if (originFailover != null) {
+            dataSourceFactory = new OriginFailover.DataSourceFactory(originFailover, dataSourceFactory);
+            if (hedgedDataSourceFactory != null) {
+                hedgedDataSourceFactory =
+                        new OriginFailover.DataSourceFactory(originFailover, hedgedDataSourceFactory);
+            }
+        }
+        final DataSource.Factory mediaDataSourceFactory =
+                hedgedDataSourceFactory != null ? hedgedDataSourceFactory : dataSourceFactory;
 
-        MediaSource mediaSource = buildMediaSource(uri, dataSourceFactory, formatHint);
-        exoPlayer.addAnalyticsListener(new EventLogger());
+        loadErrorHandlingPolicy =
+                new BackoffLoadErrorHandlingPolicy(
+                        options.loadErrors != null ? options.loadErrors : new LoadErrorOptions(),
+                        this::onLoadError);
 
+        MediaItem mediaItem = buildMediaItem(uri, options.live);
+        exoPlayer.addAnalyticsListener(new EventLogger());
 
-        exoPlayer.setMediaSource(mediaSource);
-        exoPlayer.prepare();
+        // Extensionless URLs are probed off the main thread unless their pattern was seen before.
+        int type = contentType(uri, formatHint);
+        ContentTypeResolver resolver = options.contentTypeResolver;
+        boolean probing = false;
+        if (formatHint == null && resolver != null && ContentTypeResolver.needsProbe(uri)) {
+            Integer cachedType = resolver.cachedType(uri);
+            if (cachedType != null) {
+                type = cachedType;
+            } else {
+                probing = true;
+                final DataSource.Factory probedDataSourceFactory = dataSourceFactory;
+                resolver.resolve(
+                        uri,
+                        dataSourceFactory,
+                        resolvedType -> {
+                            if (!disposed) {
+                                prepare(
+                                        uri,
+                                        mediaItem,
+                                        probedDataSourceFactory,
+                                        mediaDataSourceFactory,
+                                        resolvedType);
+                            }
+                        });
+            }
+        }
 
         setUpVideoPlayer(exoPlayer, new QueuingEventSink());
+        if (!probing) {
+            prepare(uri, mediaItem, dataSourceFactory, mediaDataSourceFactory, type);
+        }
     }
 
     // Constructor used to directly test members of this class.
@@ -177,64 +311,251 @@ final class VideoPlayer {
         }
     }
 
-    @OptIn(markerClass = UnstableApi.class) private MediaSource buildMediaSource(
-            Uri uri, DataSource.Factory mediaDataSourceFactory, String formatHint) {
-        int type;
-        if (formatHint == null) {
-            type = Util.inferContentType(uri);
-        } else {
-            switch (formatHint) {
-                case FORMAT_SS:
-                    type = C.CONTENT_TYPE_SS;
-                    break;
-                case FORMAT_DASH:
-                    type = C.CONTENT_TYPE_DASH;
-                    break;
-                case FORMAT_HLS:
-                    type = C.CONTENT_TYPE_HLS;
-                    break;
-                case FORMAT_RTSP:
-                    type = C.CONTENT_TYPE_RTSP;
-                    break;
-                case FORMAT_OTHER:
-                    type = C.CONTENT_TYPE_OTHER;
-                    break;
-
-                default:
-                    type = -1;
-                    break;
+    @OptIn(markerClass = UnstableApi.class)
+    private static DefaultLivePlaybackSpeedControl buildLivePlaybackSpeedControl(
+            @Nullable LiveOptions live) {
+        DefaultLivePlaybackSpeedControl.Builder builder = new DefaultLivePlaybackSpeedControl.Builder();
+        if (live != null) {
+            // The fallback speeds only apply when the stream does not advertise its own bounds, and
+            // are in turn overridden by the MediaItem.LiveConfiguration built in buildMediaItem.
+            if (live.minPlaybackSpeed != null) {
+                builder.setFallbackMinPlaybackSpeed(live.minPlaybackSpeed);
+            }
+            if (live.maxPlaybackSpeed != null) {
+                builder.setFallbackMaxPlaybackSpeed(live.maxPlaybackSpeed);
+            }
+        }
+        return builder.build();
+    }
+
+    private static MediaItem buildMediaItem(Uri uri, @Nullable LiveOptions live) {
+        MediaItem.Builder builder = new MediaItem.Builder().setUri(uri);
+        if (live != null) {
+            MediaItem.LiveConfiguration.Builder liveConfiguration =
+                    new MediaItem.LiveConfiguration.Builder();
+            if (live.targetOffsetMs != null) {
+                liveConfiguration.setTargetOffsetMs(live.targetOffsetMs);
+            }
+            if (live.minOffsetMs != null) {
+                liveConfiguration.setMinOffsetMs(live.minOffsetMs);
+            }
+            if (live.maxOffsetMs != null) {
+                liveConfiguration.setMaxOffsetMs(live.maxOffsetMs);
+            }
+            if (live.minPlaybackSpeed != null) {
+                liveConfiguration.setMinPlaybackSpeed(live.minPlaybackSpeed);
             }
+            if (live.maxPlaybackSpeed != null) {
+                liveConfiguration.setMaxPlaybackSpeed(live.maxPlaybackSpeed);
+            }
+            builder.setLiveConfiguration(liveConfiguration.build());
+        }
+        return builder.build();
+    }
+
+    private static int contentType(Uri uri, String formatHint) {
+        if (formatHint == null) {
+            return Util.inferContentType(uri);
         }
+        switch (formatHint) {
+            case FORMAT_SS:
+                return C.CONTENT_TYPE_SS;
+            case FORMAT_DASH:
+                return C.CONTENT_TYPE_DASH;
+            case FORMAT_HLS:
+                return C.CONTENT_TYPE_HLS;
+            case FORMAT_RTSP:
+                return C.CONTENT_TYPE_RTSP;
+            case FORMAT_OTHER:
+                return C.CONTENT_TYPE_OTHER;
+
+            default:
+                return -1;
+        }
+    }
+
+    private void prepare(
+            Uri uri,
+            MediaItem mediaItem,
+            DataSource.Factory dataSourceFactory,
+            DataSource.Factory mediaDataSourceFactory,
+            int type) {
+        MediaSource mediaSource =
+                buildMediaSource(uri, mediaItem, dataSourceFactory, mediaDataSourceFactory, type);
+        if (options.subtitles != null) {
+            mediaSource = withSubtitles(mediaSource, options.subtitles, dataSourceFactory);
+        }
+        exoPlayer.setMediaSource(mediaSource);
+        mediaSourceSet = true;
+        // A parked player is prepared once the scheduler lets it move up.
+        if (scheduledState != PlayerScheduler.STATE_PARKED) {
+            prepareTimeMs = SystemClock.elapsedRealtime();
+            exoPlayer.prepare();
+        }
+    }
+
+    /**
+     * Builds the media source for {@code uri}. Segments and progressive media are loaded through
+     * {@code mediaDataSourceFactory}, which may hedge slow requests, manifests through {@code
+     * dataSourceFactory}.
+     */
+    @OptIn(markerClass = UnstableApi.class) private MediaSource buildMediaSource(
+            Uri uri,
+            MediaItem mediaItem,
+            DataSource.Factory dataSourceFactory,
+            DataSource.Factory mediaDataSourceFactory,
+            int type) {
         Log.d("video_player:", "type :" + type);
 
+        // CMCD data is attached by Media3 to segment requests and by CmcdRequests to the rest.
+        final CmcdOptions cmcd = options.cmcd;
+        DataSource.Factory segmentDataSourceFactory = mediaDataSourceFactory;
+        DataSource.Factory manifestUpstreamFactory = dataSourceFactory;
+        DataSource.Factory progressiveDataSourceFactory = mediaDataSourceFactory;
+        if (cmcd != null) {
+            segmentDataSourceFactory = CmcdRequests.wrap(mediaDataSourceFactory, cmcd, null);
+            manifestUpstreamFactory =
+                    CmcdRequests.wrap(dataSourceFactory, cmcd, CmcdRequests.OBJECT_TYPE_MANIFEST);
+            progressiveDataSourceFactory =
+                    CmcdRequests.wrap(mediaDataSourceFactory, cmcd, CmcdRequests.OBJECT_TYPE_MUXED);
+        }
+        final NetworkStats networkStats = options.networkStats;
+        if (networkStats != null) {
+            segmentDataSourceFactory = new NetworkStats.DataSourceFactory(
+                    networkStats, segmentDataSourceFactory, NetworkStats.TYPE_MEDIA);
+            manifestUpstreamFactory = new NetworkStats.DataSourceFactory(
+                    networkStats, manifestUpstreamFactory, NetworkStats.TYPE_MANIFEST);
+            progressiveDataSourceFactory = new NetworkStats.DataSourceFactory(
+                    networkStats, progressiveDataSourceFactory, NetworkStats.TYPE_MEDIA);
+        }
+
+        // Requests wait for higher priorities above every wrapper that times them.
+        segmentDataSourceFactory = withLoadPriority(segmentDataSourceFactory);
+        manifestUpstreamFactory = withLoadPriority(manifestUpstreamFactory);
+
+        // Manifests shared between players are served from the plugin's cache when available.
+        final ManifestCache manifestCache = options.manifestCache;
+        final DataSource.Factory manifestDataSourceFactory =
+                manifestCache != null
+                        ? new ManifestCache.DataSourceFactory(manifestCache, manifestUpstreamFactory)
+                        : manifestUpstreamFactory;
+
         switch (type) {
             case C.CONTENT_TYPE_SS:
-                return new SsMediaSource.Factory(
-                        new DefaultSsChunkSource.Factory(mediaDataSourceFactory), mediaDataSourceFactory)
-                        .createMediaSource(MediaItem.fromUri(uri));
+                SsMediaSource.Factory ssFactory = new SsMediaSource.Factory(
+                        new DefaultSsChunkSource.Factory(segmentDataSourceFactory), manifestUpstreamFactory);
+                if (cmcd != null) {
+                    ssFactory.setCmcdConfigurationFactory(CmcdRequests.configurationFactory(cmcd));
+                }
+                return ssFactory
+                        .setLoadErrorHandlingPolicy(loadErrorHandlingPolicy)
+                        .createMediaSource(mediaItem);
             case C.CONTENT_TYPE_DASH:
-                return new DashMediaSource.Factory(
-                        new DefaultDashChunkSource.Factory(mediaDataSourceFactory), mediaDataSourceFactory)
-                        .createMediaSource(MediaItem.fromUri(uri));
+                DashMediaSource.Factory dashFactory = new DashMediaSource.Factory(
+                        new DefaultDashChunkSource.Factory(segmentDataSourceFactory), manifestDataSourceFactory);
+                if (manifestCache != null) {
+                    dashFactory.setManifestParser(manifestCache.dashManifestParser());
+                }
+                if (cmcd != null) {
+                    dashFactory.setCmcdConfigurationFactory(CmcdRequests.configurationFactory(cmcd));
+                }
+                return dashFactory
+                        .setLoadErrorHandlingPolicy(loadErrorHandlingPolicy)
+                        .createMediaSource(mediaItem);
 
             case C.CONTENT_TYPE_HLS:
                 HlsExtractorFactory hlsOtherExtractorFactory = new DefaultHlsExtractorFactory(
                         DefaultTsPayloadReaderFactory.FLAG_ALLOW_NON_IDR_KEYFRAMES, true);
-                return new HlsMediaSource.Factory(mediaDataSourceFactory)
-                        .setExtractorFactory(hlsOtherExtractorFactory)
-                        .createMediaSource(MediaItem.fromUri(uri));
+                // Playlists go through the manifest stack, segments and keys through the segment one.
+                final DataSource.Factory hlsSegmentDataSourceFactory = segmentDataSourceFactory;
+                HlsDataSourceFactory hlsDataSourceFactory =
+                        dataType ->
+                                dataType == C.DATA_TYPE_MANIFEST
+                                        ? manifestDataSourceFactory.createDataSource()
+                                        : hlsSegmentDataSourceFactory.createDataSource();
+                HlsMediaSource.Factory hlsFactory = new HlsMediaSource.Factory(hlsDataSourceFactory)
+                        .setExtractorFactory(hlsOtherExtractorFactory);
+                if (manifestCache != null) {
+                    hlsFactory.setPlaylistParserFactory(manifestCache.hlsPlaylistParserFactory());
+                }
+                if (cmcd != null) {
+                    hlsFactory.setCmcdConfigurationFactory(CmcdRequests.configurationFactory(cmcd));
+                }
+                return hlsFactory
+                        .setLoadErrorHandlingPolicy(loadErrorHandlingPolicy)
+                        .createMediaSource(mediaItem);
             case C.CONTENT_TYPE_RTSP:
                 return new RtspMediaSource.Factory()
-                        .createMediaSource(MediaItem.fromUri(uri));
+                        .createMediaSource(mediaItem);
             case C.CONTENT_TYPE_OTHER:
-                return new ProgressiveMediaSource.Factory(mediaDataSourceFactory)
-                        .createMediaSource(MediaItem.fromUri(uri));
+                KeyframeIndexStore keyframeIndexStore = options.keyframeIndexStore;
+                ExtractorsFactory extractorsFactory =
+                        keyframeIndexStore != null
+                                ? new KeyframeIndexStore.IndexingExtractorsFactory(
+                                        keyframeIndexStore, uri, index -> keyframeIndex = index)
+                                : new DefaultExtractorsFactory();
+                tailPrefetch = new TailPrefetch();
+                return new ProgressiveMediaSource.Factory(
+                                withLoadPriority(
+                                        new TailPrefetch.DataSourceFactory(
+                                                tailPrefetch, progressiveDataSourceFactory)),
+                                extractorsFactory)
+                        .setLoadErrorHandlingPolicy(loadErrorHandlingPolicy)
+                        .createMediaSource(mediaItem);
             default: {
                 throw new IllegalStateException("Unsupported type: " + type);
             }
         }
     }
 
+    private DataSource.Factory withLoadPriority(DataSource.Factory dataSourceFactory) {
+        return loadPriority != null
+                ? new LoadPriority.DataSourceFactory(loadPriority, dataSourceFactory)
+                : dataSourceFactory;
+    }
+
+    /**
+     * Merges sidecar subtitle tracks into {@code mediaSource}, so they are selectable like embedded
+     * text tracks.
+     *
+     * <p>Files are fetched into the plugin's {@link SubtitleCache} in the background right away,
+     * and are parsed by the text renderer on its decoder thread, not the playback thread.
+     */
+    @OptIn(markerClass = UnstableApi.class)
+    private MediaSource withSubtitles(
+            MediaSource mediaSource,
+            List<MediaItem.SubtitleConfiguration> subtitles,
+            DataSource.Factory dataSourceFactory) {
+        if (options.cmcd != null) {
+            dataSourceFactory =
+                    CmcdRequests.wrap(dataSourceFactory, options.cmcd, CmcdRequests.OBJECT_TYPE_CAPTION);
+        }
+        if (options.networkStats != null) {
+            dataSourceFactory = new NetworkStats.DataSourceFactory(
+                    options.networkStats, dataSourceFactory, NetworkStats.TYPE_SUBTITLE);
+        }
+        DataSource.Factory subtitleDataSourceFactory = dataSourceFactory;
+        if (options.subtitleCache != null) {
+            for (MediaItem.SubtitleConfiguration subtitle : subtitles) {
+                options.subtitleCache.prefetch(subtitle.uri, dataSourceFactory);
+            }
+            subtitleDataSourceFactory =
+                    new SubtitleCache.DataSourceFactory(options.subtitleCache, dataSourceFactory);
+        }
+        // The shared fetches of the cache do not wait, so a fetch started by a background player
+        // never holds back a focused player that needs the same file.
+        subtitleDataSourceFactory = withLoadPriority(subtitleDataSourceFactory);
+        SingleSampleMediaSource.Factory subtitleSourceFactory =
+                new SingleSampleMediaSource.Factory(subtitleDataSourceFactory)
+                        .setLoadErrorHandlingPolicy(loadErrorHandlingPolicy);
+        MediaSource[] sources = new MediaSource[subtitles.size() + 1];
+        sources[0] = mediaSource;
+        for (int i = 0; i < subtitles.size(); i++) {
+            sources[i + 1] = subtitleSourceFactory.createMediaSource(subtitles.get(i), C.TIME_UNSET);
+        }
+        return new MergingMediaSource(sources);
+    }
+
     private void setUpVideoPlayer(ExoPlayer exoPlayer, QueuingEventSink eventSink) {
         this.exoPlayer = exoPlayer;
         this.eventSink = eventSink;
@@ -252,7 +573,10 @@ final class VideoPlayer {
                     }
                 });
 
-        surface = new Surface(textureEntry.surfaceTexture());
+        surface =
+                options.texturePool != null
+                        ? options.texturePool.surfaceFor(textureEntry)
+                        : new Surface(textureEntry.surfaceTexture());
         exoPlayer.setVideoSurface(surface);
         setAudioAttributes(exoPlayer, options.mixWithOthers);
         exoPlayer.addListener(
@@ -277,8 +601,12 @@ final class VideoPlayer {
                             if (!isInitialized) {
                                 isInitialized = true;
                                 sendInitialized();
+                                scheduleLiveLatencyReport();
                             }
                         } else if (playbackState == Player.STATE_ENDED) {
+                            if (loadControl != null) {
+                                loadControl.onLoadingStopped();
+                            }
                             Map<String, Object> event = new HashMap<>();
                             event.put("event", "completed");
                             eventSink.success(event);
@@ -300,25 +628,35 @@ final class VideoPlayer {
                     public void onPlayerError(@NonNull final PlaybackException error) {
                         setBuffering(false);
                         if (eventSink != null) {
-                            eventSink.error("VideoError", "Video player had error " + error, null);
+                            eventSink.error("VideoError", error.getMessage(), errorDetails(error));
                         }
                     }
 
                     @Override
                     public void onCues(@NonNull CueGroup cueGroup) {
-                        if (eventSink != null) {
-                            Map<String, Object> event = new HashMap<>();
-                            event.put("event", "subtitle");
-
-                            final List<String> cues = new ArrayList<>();
-                            for(int i=0; i<cueGroup.cues.size() ;i++){
-                                final Cue cue = cueGroup.cues.get(i);
-                                cues.add(cue.text != null ? cue.text.toString() : null);
-                            }
-                            event.put("cues", cues);
-                            eventSink.success(event);
+                        // The player may report cues more than once per render tick; only the last
+                        // list of the tick is diffed and sent.
+                        pendingCues = cueGroup.cues;
+                        pendingCuesTimeMs =
+                                cueGroup.presentationTimeUs != C.TIME_UNSET
+                                        ? Util.usToMs(cueGroup.presentationTimeUs)
+                                        : exoPlayer.getCurrentPosition();
+                        if (!cuesFlushPosted) {
+                            cuesFlushPosted = true;
+                            handler.post(cuesFlusher);
                         }
+                    }
+
+                    @Override
+                    public void onRenderedFirstFrame() {
+                        reportFirstFrame();
+                    }
 
+                    @Override
+                    public void onIsLoadingChanged(boolean isLoading) {
+                        if (!isLoading && loadControl != null) {
+                            loadControl.onLoadingStopped();
+                        }
                     }
 
                     @Override
@@ -333,6 +671,108 @@ final class VideoPlayer {
                 });
     }
 
+    /**
+     * Sends a {@code loadError} event for a failed load. Called on the loading thread by {@link
+     * BackoffLoadErrorHandlingPolicy}. Loads the player falls back from carry the kind of fallback,
+     * {@code track} or {@code location}, and how long the failed one is excluded.
+     */
+    @OptIn(markerClass = UnstableApi.class)
+    private void onLoadError(
+            LoadErrorHandlingPolicy.LoadErrorInfo loadErrorInfo,
+            long retryDelayMs,
+            @Nullable LoadErrorHandlingPolicy.FallbackSelection fallback) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("event", "loadError");
+        event.put("uri", loadErrorInfo.loadEventInfo.uri.toString());
+        int statusCode = BackoffLoadErrorHandlingPolicy.statusCode(loadErrorInfo.exception);
+        event.put("statusCode", statusCode == C.INDEX_UNSET ? null : statusCode);
+        event.put("message", String.valueOf(loadErrorInfo.exception.getMessage()));
+        event.put("dataType", loadErrorInfo.mediaLoadData.dataType);
+        event.put("attempt", loadErrorInfo.errorCount);
+        event.put("willRetry", retryDelayMs != C.TIME_UNSET);
+        event.put("retryDelayMs", retryDelayMs == C.TIME_UNSET ? null : retryDelayMs);
+        if (fallback != null) {
+            event.put(
+                    "fallback",
+                    fallback.type == LoadErrorHandlingPolicy.FALLBACK_TYPE_LOCATION
+                            ? "location"
+                            : "track");
+            event.put("exclusionMs", fallback.exclusionDurationMs);
+        }
+        handler.post(() -> eventSink.success(event));
+    }
+
+    /**
+     * Sends a {@code firstFrame} event with the time from {@code prepare} to the first rendered
+     * frame. Files with a trailing {@code moov} box are flagged, so their startup can be measured
+     * separately.
+     */
+    private void reportFirstFrame() {
+        if (firstFrameReported || prepareTimeMs == 0) {
+            return;
+        }
+        firstFrameReported = true;
+        Map<String, Object> event = new HashMap<>();
+        event.put("event", "firstFrame");
+        event.put("timeMs", SystemClock.elapsedRealtime() - prepareTimeMs);
+        event.put("moovAtEnd", tailPrefetch != null && tailPrefetch.isMoovAtEnd());
+        eventSink.success(event);
+    }
+
+    /**
+     * Sends an {@code originFailover} event. Called on the loading thread by {@link
+     * OriginFailover}.
+     */
+    private void onOriginFailover(String fromOrigin, String toOrigin, String reason, Uri uri) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("event", "originFailover");
+        event.put("from", fromOrigin);
+        event.put("to", toOrigin);
+        event.put("reason", reason);
+        event.put("uri", uri.toString());
+        handler.post(() -> eventSink.success(event));
+    }
+
+    @OptIn(markerClass = UnstableApi.class)
+    private void onAbrSwitch(Format from, Format to, String reason, long bufferedMs) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("event", "abrSwitch");
+        event.put("fromBitrate", from.bitrate);
+        event.put("toBitrate", to.bitrate);
+        event.put("toHeight", to.height);
+        event.put("reason", reason);
+        event.put("bufferedMs", bufferedMs);
+        handler.post(() -> eventSink.success(event));
+    }
+
+    /** Returns the structured details sent with a {@code VideoError}. */
+    @OptIn(markerClass = UnstableApi.class)
+    private static Map<String, Object> errorDetails(PlaybackException error) {
+        Map<String, Object> details = new HashMap<>();
+        details.put("errorCode", error.errorCode);
+        details.put("errorCodeName", error.getErrorCodeName());
+        Throwable cause = error.getCause();
+        if (cause instanceof HttpDataSource.HttpDataSourceException) {
+            DataSpec dataSpec = ((HttpDataSource.HttpDataSourceException) cause).dataSpec;
+            details.put("uri", dataSpec.uri.toString());
+        }
+        if (cause != null) {
+            int statusCode = BackoffLoadErrorHandlingPolicy.statusCode(cause);
+            if (statusCode != C.INDEX_UNSET) {
+                details.put("statusCode", statusCode);
+            }
+        }
+        return details;
+    }
+
+    private void flushCues() {
+        cuesFlushPosted = false;
+        Map<String, Object> event = cueDiffer.update(pendingCues, pendingCuesTimeMs);
+        if (event != null) {
+            eventSink.success(event);
+        }
+    }
+
     void sendBufferingUpdate() {
         Map<String, Object> event = new HashMap<>();
         event.put("event", "bufferingUpdate");
@@ -342,6 +782,43 @@ final class VideoPlayer {
         eventSink.success(event);
     }
 
+    private void scheduleLiveLatencyReport() {
+        if (options.live == null || options.live.latencyReportIntervalMs <= 0) {
+            return;
+        }
+        handler.removeCallbacks(liveLatencyReporter);
+        handler.postDelayed(liveLatencyReporter, options.live.latencyReportIntervalMs);
+    }
+
+    /**
+     * Sends a {@code liveLatency} event with the distance to the live edge, the offset the
+     * speed control is converging to and the current catch-up speed. Reports stop for media that
+     * is not live.
+     */
+    @OptIn(markerClass = UnstableApi.class)
+    @VisibleForTesting
+    void reportLiveLatency() {
+        if (!exoPlayer.isCurrentMediaItemLive()) {
+            return;
+        }
+        // Offsets that are not known yet are sent as null rather than as C.TIME_UNSET.
+        Map<String, Object> event = new HashMap<>();
+        event.put("event", "liveLatency");
+        long liveOffsetMs = exoPlayer.getCurrentLiveOffset();
+        event.put("liveOffset", liveOffsetMs == C.TIME_UNSET ? null : liveOffsetMs);
+        long targetLiveOffsetUs =
+                livePlaybackSpeedControl != null
+                        ? livePlaybackSpeedControl.getTargetLiveOffsetUs()
+                        : C.TIME_UNSET;
+        event.put(
+                "targetLiveOffset",
+                targetLiveOffsetUs == C.TIME_UNSET ? null : Util.usToMs(targetLiveOffsetUs));
+        event.put("playbackSpeed", (double) exoPlayer.getPlaybackParameters().speed);
+        event.put("bufferedDuration", exoPlayer.getTotalBufferedDuration());
+        eventSink.success(event);
+        scheduleLiveLatencyReport();
+    }
+
     private static void setAudioAttributes(ExoPlayer exoPlayer, boolean isMixMode) {
         exoPlayer.setAudioAttributes(
                 new AudioAttributes.Builder().setContentType(C.AUDIO_CONTENT_TYPE_MOVIE).build(),
@@ -349,13 +826,48 @@ final class VideoPlayer {
     }
 
     void play() {
-        exoPlayer.setPlayWhenReady(true);
+        playRequested = true;
+        exoPlayer.setPlayWhenReady(scheduledState == PlayerScheduler.STATE_ACTIVE);
     }
 
     void pause() {
+        playRequested = false;
         exoPlayer.setPlayWhenReady(false);
     }
 
+    /**
+     * Applies the state set by the {@link PlayerScheduler}. Only active players play and buffer
+     * fully. Prepared players pause with a minimal buffer, and parked players are stopped, which
+     * releases their decoders and buffers but keeps their media and position.
+     */
+    @Override
+    public void setScheduledState(int state) {
+        if (disposed || state == scheduledState) {
+            return;
+        }
+        int previousState = scheduledState;
+        scheduledState = state;
+        if (loadControl != null) {
+            loadControl.setMaxBufferMs(
+                    state == PlayerScheduler.STATE_ACTIVE
+                            ? C.TIME_UNSET
+                            : PlayerLoadControl.PREPARED_BUFFER_MS);
+        }
+        exoPlayer.setPlayWhenReady(playRequested && state == PlayerScheduler.STATE_ACTIVE);
+        if (state == PlayerScheduler.STATE_PARKED) {
+            exoPlayer.stop();
+        } else if (previousState == PlayerScheduler.STATE_PARKED && mediaSourceSet) {
+            if (prepareTimeMs == 0) {
+                prepareTimeMs = SystemClock.elapsedRealtime();
+            }
+            exoPlayer.prepare();
+        }
+        Map<String, Object> event = new HashMap<>();
+        event.put("event", "scheduledState");
+        event.put("state", PlayerScheduler.stateName(state));
+        eventSink.success(event);
+    }
+
     void setLooping(boolean value) {
         exoPlayer.setRepeatMode(value ? Player.REPEAT_MODE_ALL : Player.REPEAT_MODE_OFF);
     }
@@ -377,10 +889,55 @@ final class VideoPlayer {
         exoPlayer.seekTo(location);
     }
 
+    /** Sets the {@link LoadPriority} of the player's requests. */
+    void setLoadPriority(int priority) {
+        if (loadPriority != null) {
+            loadPriority.setPriority(priority);
+        }
+    }
+
+    /** Returns the request hedging of this player, or null if hedging is disabled. */
+    @Nullable
+    RequestHedging getRequestHedging() {
+        return requestHedging;
+    }
+
+    /** Returns the keyframe index of the progressive file being played, or null if none is known. */
+    @Nullable
+    KeyframeIndex getKeyframeIndex() {
+        return keyframeIndex;
+    }
+
     long getPosition() {
         return exoPlayer.getCurrentPosition();
     }
 
+    /**
+     * Switches between normal playback and an audio-only mode meant for when the app is in the
+     * background.
+     *
+     * <p>In audio-only mode the video track type is disabled in the track selection parameters, so
+     * the video renderer stops decoding and DASH and demuxed HLS streams stop loading video
+     * segments. The surface is detached and reattached on the way back; the buffered audio is kept,
+     * so only video needs to be rebuffered when returning to the foreground.
+     */
+    void setBackgroundMode(boolean audioOnly) {
+        if (isAudioOnly == audioOnly) {
+            return;
+        }
+        isAudioOnly = audioOnly;
+        exoPlayer.setTrackSelectionParameters(
+                exoPlayer.getTrackSelectionParameters()
+                        .buildUpon()
+                        .setTrackTypeDisabled(C.TRACK_TYPE_VIDEO, audioOnly)
+                        .build());
+        if (audioOnly) {
+            exoPlayer.clearVideoSurface();
+        } else {
+            exoPlayer.setVideoSurface(surface);
+        }
+    }
+
     @OptIn(markerClass = UnstableApi.class) private void updateTrackSelectorParameters() {
         if (trackSelector != null) {
             trackSelectorParameters = trackSelector.getParameters();
@@ -680,21 +1237,48 @@ final class VideoPlayer {
         }
     }
 
+    /**
+     * Detaches the player from Dart and stops it. Stopping does not block, and silences the player
+     * at once. Events that arrive after this call, including those already posted to the platform
+     * thread, are dropped. Call {@link #release} afterwards to free its resources.
+     */
     void dispose() {
-        if (isInitialized) {
-            exoPlayer.stop();
+        disposed = true;
+        if (tailPrefetch != null) {
+            tailPrefetch.release();
+        }
+        handler.removeCallbacks(liveLatencyReporter);
+        handler.removeCallbacks(cuesFlusher);
+        // A player still preparing would otherwise keep loading until it is released.
+        exoPlayer.stop();
+        if (loadPriority != null) {
+            loadPriority.clearUrgent();
         }
-        textureEntry.release();
+        eventSink.close();
         eventChannel.setStreamHandler(null);
+    }
+
+    /**
+     * Releases the player, its surface and its texture. This blocks until the playback thread has
+     * shut down, so the plugin runs it when the platform thread is idle.
+     */
+    void release() {
         updateTrackSelectorParameters();
         if (trackSelector != null) {
             trackSelector = null;
         }
-        if (surface != null) {
-            surface.release();
-        }
+        // Release the player first so its decoder disconnects from the surface before the texture
+        // is released or cleared for reuse.
         if (exoPlayer != null) {
             exoPlayer.release();
         }
+        if (options.texturePool != null) {
+            options.texturePool.recycle(textureEntry);
+        } else {
+            textureEntry.release();
+            if (surface != null) {
+                surface.release();
+            }
+        }
     }
 }
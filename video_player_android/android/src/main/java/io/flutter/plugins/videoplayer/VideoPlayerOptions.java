@@ -4,6 +4,100 @@
 
 package io.flutter.plugins.videoplayer;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.PriorityTaskManager;
+import androidx.media3.common.util.UnstableApi;
+import java.util.List;
+
+@OptIn(markerClass = UnstableApi.class)
 class VideoPlayerOptions {
   public boolean mixWithOthers;
+
+  /** Live-edge configuration, or null to use the defaults advertised by the stream. */
+  @Nullable public LiveOptions live;
+
+  /** Sidecar subtitle tracks to play alongside the media, or null if there are none. */
+  @Nullable public List<MediaItem.SubtitleConfiguration> subtitles;
+
+  /** Common Media Client Data to send with every request, or null to send none. */
+  @Nullable public CmcdOptions cmcd;
+
+  /** Retry and exclusion settings for failed loads, or null for the defaults. */
+  @Nullable public LoadErrorOptions loadErrors;
+
+  /**
+   * Base URIs of origins serving the same content, in order of preference, or null to only use
+   * the origin of the media URI.
+   */
+  @Nullable public List<String> origins;
+
+  /** Throughput below which a request moves to the next origin, or 0 to only switch on errors. */
+  public long minOriginThroughputKbps;
+
+  /**
+   * Percentile of recent time-to-first-byte samples after which a request is hedged, or null to
+   * disable hedging.
+   */
+  @Nullable public Double hedgingPercentile;
+
+  /** Shortest wait before a request is hedged. */
+  public long hedgingMinDelayMs = RequestHedging.DEFAULT_MIN_DELAY_MS;
+
+  /** Adaptive bitrate strategy and thresholds, or null for the Media3 adaptive selection. */
+  @Nullable public AbrOptions abr;
+
+  /** Cache of parsed manifests shared by all players of the plugin, if enabled. */
+  @Nullable public ManifestCache manifestCache;
+
+  /** Cache of sidecar subtitle files shared by all players of the plugin, if enabled. */
+  @Nullable public SubtitleCache subtitleCache;
+
+  /** Content types of extensionless URLs shared by all players of the plugin, if enabled. */
+  @Nullable public ContentTypeResolver contentTypeResolver;
+
+  /** Keyframe indexes of progressive files shared by all players of the plugin, if enabled. */
+  @Nullable public KeyframeIndexStore keyframeIndexStore;
+
+  /** Request statistics of all players of the plugin, if enabled. */
+  @Nullable public NetworkStats networkStats;
+
+  /** Pool the player's texture was acquired from, or null if the player owns its texture. */
+  @Nullable public TexturePool texturePool;
+
+  /** Arbitrates loading between all players of the plugin, if enabled. */
+  @Nullable public PriorityTaskManager priorityTaskManager;
+
+  /** Initial {@link LoadPriority} of the player's requests. */
+  public int loadPriority = LoadPriority.PRIORITY_FOCUSED;
+
+  /**
+   * Returns a copy of these options. The plugin keeps one shared instance and hands each player
+   * its own copy so per-player settings from {@link Messages.CreateMessage} do not leak.
+   */
+  @NonNull
+  VideoPlayerOptions copy() {
+    VideoPlayerOptions copy = new VideoPlayerOptions();
+    copy.mixWithOthers = mixWithOthers;
+    copy.live = live;
+    copy.subtitles = subtitles;
+    copy.cmcd = cmcd;
+    copy.loadErrors = loadErrors;
+    copy.origins = origins;
+    copy.minOriginThroughputKbps = minOriginThroughputKbps;
+    copy.hedgingPercentile = hedgingPercentile;
+    copy.hedgingMinDelayMs = hedgingMinDelayMs;
+    copy.abr = abr;
+    copy.manifestCache = manifestCache;
+    copy.subtitleCache = subtitleCache;
+    copy.contentTypeResolver = contentTypeResolver;
+    copy.keyframeIndexStore = keyframeIndexStore;
+    copy.networkStats = networkStats;
+    copy.texturePool = texturePool;
+    copy.priorityTaskManager = priorityTaskManager;
+    copy.loadPriority = loadPriority;
+    return copy;
+  }
 }
@@ -5,42 +5,92 @@
 package io.flutter.plugins.videoplayer;
 
 import android.content.Context;
-import android.os.Build;
+import android.net.Uri;
 import android.util.LongSparseArray;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.PriorityTaskManager;
+import androidx.media3.common.util.UnstableApi;
 import io.flutter.FlutterInjector;
 import io.flutter.Log;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugins.videoplayer.Messages.AbrConfigurationMessage;
 import io.flutter.plugins.videoplayer.Messages.AndroidVideoPlayerApi;
+import io.flutter.plugins.videoplayer.Messages.BackgroundModeMessage;
+import io.flutter.plugins.videoplayer.Messages.CmcdConfigurationMessage;
+import io.flutter.plugins.videoplayer.Messages.CommandBatchMessage;
+import io.flutter.plugins.videoplayer.Messages.CommandBatchResultMessage;
+import io.flutter.plugins.videoplayer.Messages.CommandMessage;
 import io.flutter.plugins.videoplayer.Messages.CreateMessage;
+import io.flutter.plugins.videoplayer.Messages.FocusMessage;
+import io.flutter.plugins.videoplayer.Messages.HedgingConfigurationMessage;
+import io.flutter.plugins.videoplayer.Messages.HedgingStatsMessage;
+import io.flutter.plugins.videoplayer.Messages.HostNetworkStatsMessage;
+import io.flutter.plugins.videoplayer.Messages.KeyframesMessage;
+import io.flutter.plugins.videoplayer.Messages.LiveConfigurationMessage;
+import io.flutter.plugins.videoplayer.Messages.LoadErrorPolicyMessage;
 import io.flutter.plugins.videoplayer.Messages.LoopingMessage;
 import io.flutter.plugins.videoplayer.Messages.MixWithOthersMessage;
+import io.flutter.plugins.videoplayer.Messages.NetworkStatsMessage;
+import io.flutter.plugins.videoplayer.Messages.OriginFailoverMessage;
 import io.flutter.plugins.videoplayer.Messages.PlaybackSpeedMessage;
+import io.flutter.plugins.videoplayer.Messages.PlayerVisibilityBatchMessage;
+import io.flutter.plugins.videoplayer.Messages.PlayerVisibilityMessage;
 import io.flutter.plugins.videoplayer.Messages.PositionMessage;
+import io.flutter.plugins.videoplayer.Messages.PreconnectMessage;
+import io.flutter.plugins.videoplayer.Messages.ReleaseStatsMessage;
+import io.flutter.plugins.videoplayer.Messages.SchedulerConfigurationMessage;
+import io.flutter.plugins.videoplayer.Messages.SubtitleMessage;
 import io.flutter.plugins.videoplayer.Messages.TextureMessage;
 import io.flutter.plugins.videoplayer.Messages.TrackSelectionsMessage;
 import io.flutter.plugins.videoplayer.Messages.VolumeMessage;
+import io.flutter.plugins.videoplayer.Messages.WarmUpStatusMessage;
 import io.flutter.view.TextureRegistry;
+import java.io.File;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import javax.net.ssl.HttpsURLConnection;
+import java.util.Set;
+import java.util.UUID;
 
 /** Android platform implementation of the VideoPlayerPlugin. */
 public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
   private static final String TAG = "VideoPlayerPlugin";
+  private static final String KEYFRAME_INDEX_DIRECTORY = "video_player_keyframes";
   private final LongSparseArray<VideoPlayer> videoPlayers = new LongSparseArray<>();
   private FlutterState flutterState;
   private final VideoPlayerOptions options = new VideoPlayerOptions();
+  private final CommandLatencyStats commandLatency = new CommandLatencyStats();
+  private final Preconnector preconnector = new Preconnector();
+  private final PlayerScheduler scheduler = new PlayerScheduler();
+  private final ReleaseQueue releaseQueue = new ReleaseQueue();
+  private final WarmUp warmUp = new WarmUp();
+  @Nullable private CustomSSLSocketFactory sslSocketFactory;
+  @Nullable private Long focusedTextureId;
 
   /** Register this with the v2 embedding for the plugin to respond to lifecycle callbacks. */
-  public VideoPlayerPlugin() {}
+  @OptIn(markerClass = UnstableApi.class)
+  public VideoPlayerPlugin() {
+    options.manifestCache = new ManifestCache();
+    options.subtitleCache = new SubtitleCache();
+    options.contentTypeResolver = new ContentTypeResolver();
+    options.networkStats = new NetworkStats();
+    options.texturePool = new TexturePool();
+    options.priorityTaskManager = new PriorityTaskManager();
+  }
 
   @SuppressWarnings("deprecation")
   private VideoPlayerPlugin(io.flutter.plugin.common.PluginRegistry.Registrar registrar) {
+    this();
     this.flutterState =
         new FlutterState(
             registrar.context(),
@@ -65,19 +115,25 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
 
   @Override
   public void onAttachedToEngine(@NonNull FlutterPluginBinding binding) {
-    if (android.os.Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+    if (CustomSSLSocketFactory.shouldInstall(binding.getApplicationContext())) {
       try {
-        HttpsURLConnection.setDefaultSSLSocketFactory(new CustomSSLSocketFactory());
+        sslSocketFactory = CustomSSLSocketFactory.install();
       } catch (KeyManagementException | NoSuchAlgorithmException e) {
         Log.w(
             TAG,
-            "Failed to enable TLSv1.1 and TLSv1.2 Protocols for API level 19 and below.\n"
-                + "For more information about Socket Security, please consult the following link:\n"
+            "Failed to install the TLS session cache, and to enable TLSv1.1 and TLSv1.2 Protocols "
+                + "for API level 19 and below.\n"
+                + "For more information about Socket Security, please consult the following "
+                + "link:\n"
                 + "https://developer.android.com/reference/javax/net/ssl/SSLSocket",
             e);
       }
     }
 
+    if (WarmUp.isEnabled(binding.getApplicationContext())) {
+      warmUp.start(binding.getApplicationContext());
+    }
+
     final FlutterInjector injector = FlutterInjector.instance();
     this.flutterState =
         new FlutterState(
@@ -87,6 +143,11 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
             injector.flutterLoader()::getLookupKeyForAsset,
             binding.getTextureRegistry());
     flutterState.startListening(this, binding.getBinaryMessenger());
+    if (options.keyframeIndexStore == null) {
+      options.keyframeIndexStore =
+          new KeyframeIndexStore(
+              new File(binding.getApplicationContext().getCacheDir(), KEYFRAME_INDEX_DIRECTORY));
+    }
   }
 
   @Override
@@ -97,13 +158,39 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     flutterState.stopListening(binding.getBinaryMessenger());
     flutterState = null;
     initialize();
+    if (options.manifestCache != null) {
+      options.manifestCache.clear();
+    }
+    if (options.subtitleCache != null) {
+      options.subtitleCache.clear();
+    }
+    if (options.contentTypeResolver != null) {
+      options.contentTypeResolver.clear();
+    }
+    if (options.keyframeIndexStore != null) {
+      options.keyframeIndexStore.clear();
+    }
+    if (options.networkStats != null) {
+      options.networkStats.clear();
+    }
+    preconnector.clear();
+    if (options.texturePool != null) {
+      // Pooled textures belong to the registry of the engine we are detaching from.
+      options.texturePool.clear();
+    }
   }
 
   private void disposeAllPlayers() {
     for (int i = 0; i < videoPlayers.size(); i++) {
-      videoPlayers.valueAt(i).dispose();
+      VideoPlayer player = videoPlayers.valueAt(i);
+      player.dispose();
+      releaseQueue.enqueue(player::release);
     }
+    // The textures may belong to an engine that is going away, so nothing is left for later.
+    releaseQueue.flush();
     videoPlayers.clear();
+    scheduler.clear();
+    focusedTextureId = null;
   }
 
   private void onDestroy() {
@@ -121,11 +208,39 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
 
   public @NonNull TextureMessage create(@NonNull CreateMessage arg) {
     TextureRegistry.SurfaceTextureEntry handle =
-        flutterState.textureRegistry.createSurfaceTexture();
+        options.texturePool != null
+            ? options.texturePool.acquire(flutterState.textureRegistry)
+            : flutterState.textureRegistry.createSurfaceTexture();
     EventChannel eventChannel =
         new EventChannel(
             flutterState.binaryMessenger, "flutter.io/videoPlayer/videoEvents" + handle.id());
 
+    VideoPlayerOptions playerOptions = options.copy();
+    playerOptions.live = toLiveOptions(arg.getLiveConfiguration());
+    playerOptions.subtitles = toSubtitleConfigurations(arg.getSubtitles());
+    playerOptions.cmcd = toCmcdOptions(arg.getCmcdConfiguration());
+    playerOptions.loadErrors = toLoadErrorOptions(arg.getLoadErrorPolicy());
+    OriginFailoverMessage originFailover = arg.getOriginFailover();
+    if (originFailover != null) {
+      playerOptions.origins = originFailover.getOrigins();
+      if (originFailover.getMinThroughputKbps() != null) {
+        playerOptions.minOriginThroughputKbps = originFailover.getMinThroughputKbps();
+      }
+    }
+    HedgingConfigurationMessage hedging = arg.getHedging();
+    if (hedging != null) {
+      playerOptions.hedgingPercentile =
+          hedging.getPercentile() != null
+              ? hedging.getPercentile()
+              : RequestHedging.DEFAULT_PERCENTILE;
+      if (hedging.getMinDelayMs() != null) {
+        playerOptions.hedgingMinDelayMs = hedging.getMinDelayMs();
+      }
+    }
+    playerOptions.abr = toAbrOptions(arg.getAbr());
+    playerOptions.loadPriority =
+        focusedTextureId == null ? LoadPriority.PRIORITY_FOCUSED : LoadPriority.PRIORITY_BACKGROUND;
+
     VideoPlayer player;
     if (arg.getAsset() != null) {
       String assetLookupKey;
@@ -143,7 +258,7 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
               "asset:///" + assetLookupKey,
               null,
               new HashMap<>(),
-              options);
+              playerOptions);
     } else {
       Map<String, String> httpHeaders = arg.getHttpHeaders();
       player =
@@ -154,37 +269,177 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
               arg.getUri(),
               arg.getFormatHint(),
               httpHeaders,
-              options);
+              playerOptions);
     }
     videoPlayers.put(handle.id(), player);
+    scheduler.register(handle.id(), player);
 
     return new TextureMessage.Builder().setTextureId(handle.id()).build();
   }
 
+  private static LiveOptions toLiveOptions(LiveConfigurationMessage message) {
+    if (message == null) {
+      return null;
+    }
+    LiveOptions live = new LiveOptions();
+    live.targetOffsetMs = message.getTargetOffsetMs();
+    live.minOffsetMs = message.getMinOffsetMs();
+    live.maxOffsetMs = message.getMaxOffsetMs();
+    if (message.getMinPlaybackSpeed() != null) {
+      live.minPlaybackSpeed = message.getMinPlaybackSpeed().floatValue();
+    }
+    if (message.getMaxPlaybackSpeed() != null) {
+      live.maxPlaybackSpeed = message.getMaxPlaybackSpeed().floatValue();
+    }
+    if (message.getLatencyReportIntervalMs() != null) {
+      live.latencyReportIntervalMs = message.getLatencyReportIntervalMs();
+    }
+    return live;
+  }
+
+  private static List<MediaItem.SubtitleConfiguration> toSubtitleConfigurations(
+      List<SubtitleMessage> messages) {
+    if (messages == null || messages.isEmpty()) {
+      return null;
+    }
+    List<MediaItem.SubtitleConfiguration> subtitles = new ArrayList<>(messages.size());
+    for (SubtitleMessage message : messages) {
+      subtitles.add(
+          new MediaItem.SubtitleConfiguration.Builder(Uri.parse(message.getUri()))
+              .setMimeType(message.getMimeType())
+              .setLanguage(message.getLanguage())
+              .setLabel(message.getLabel())
+              .setSelectionFlags(
+                  Boolean.TRUE.equals(message.getIsDefault()) ? C.SELECTION_FLAG_DEFAULT : 0)
+              .build());
+    }
+    return subtitles;
+  }
+
+  private static CmcdOptions toCmcdOptions(CmcdConfigurationMessage message) {
+    if (message == null) {
+      return null;
+    }
+    CmcdOptions cmcd =
+        new CmcdOptions(
+            message.getSessionId() != null
+                ? message.getSessionId()
+                : UUID.randomUUID().toString());
+    cmcd.contentId = message.getContentId();
+    cmcd.useQueryParameter = Boolean.TRUE.equals(message.getUseQueryParameter());
+    if (message.getAllowedKeys() != null) {
+      cmcd.allowedKeys = new HashSet<>(message.getAllowedKeys());
+    }
+    return cmcd;
+  }
+
+  private static AbrOptions toAbrOptions(AbrConfigurationMessage message) {
+    if (message == null) {
+      return null;
+    }
+    AbrOptions abr = new AbrOptions();
+    if (message.getStrategy() != null) {
+      switch (message.getStrategy()) {
+        case AbrOptions.STRATEGY_THROUGHPUT:
+        case AbrOptions.STRATEGY_BOLA:
+        case AbrOptions.STRATEGY_HYBRID:
+          abr.strategy = message.getStrategy();
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown ABR strategy: " + message.getStrategy());
+      }
+    }
+    if (message.getMinDurationForQualityIncreaseMs() != null) {
+      abr.minDurationForQualityIncreaseMs = message.getMinDurationForQualityIncreaseMs();
+    }
+    if (message.getMaxDurationForQualityDecreaseMs() != null) {
+      abr.maxDurationForQualityDecreaseMs = message.getMaxDurationForQualityDecreaseMs();
+    }
+    if (message.getBandwidthFraction() != null) {
+      abr.bandwidthFraction = message.getBandwidthFraction();
+    }
+    if (message.getMinBufferMs() != null) {
+      abr.minBufferMs = message.getMinBufferMs();
+    }
+    if (message.getBufferTargetMs() != null) {
+      abr.bufferTargetMs = message.getBufferTargetMs();
+    }
+    return abr;
+  }
+
+  private static LoadErrorOptions toLoadErrorOptions(LoadErrorPolicyMessage message) {
+    if (message == null) {
+      return null;
+    }
+    LoadErrorOptions loadErrors = new LoadErrorOptions();
+    if (message.getMaxRetries() != null) {
+      loadErrors.maxRetries = message.getMaxRetries().intValue();
+    }
+    if (message.getInitialBackoffMs() != null) {
+      loadErrors.initialBackoffMs = message.getInitialBackoffMs();
+    }
+    if (message.getMaxBackoffMs() != null) {
+      loadErrors.maxBackoffMs = message.getMaxBackoffMs();
+    }
+    if (message.getJitter() != null) {
+      loadErrors.jitter = Math.max(0, Math.min(1, message.getJitter()));
+    }
+    if (message.getFailFastStatusCodes() != null) {
+      loadErrors.failFastStatusCodes = toStatusCodes(message.getFailFastStatusCodes());
+    }
+    if (message.getRetryStatusCodes() != null) {
+      loadErrors.retryStatusCodes = toStatusCodes(message.getRetryStatusCodes());
+    }
+    loadErrors.exclusionMs = message.getExclusionMs();
+    return loadErrors;
+  }
+
+  private static Set<Integer> toStatusCodes(List<?> codes) {
+    Set<Integer> statusCodes = new HashSet<>();
+    // The codec decodes small integers as Integer even though the list is typed as Long.
+    for (Object code : codes) {
+      statusCodes.add(((Number) code).intValue());
+    }
+    return statusCodes;
+  }
+
   public void dispose(@NonNull TextureMessage arg) {
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     player.dispose();
+    releaseQueue.enqueue(player::release);
     videoPlayers.remove(arg.getTextureId());
+    scheduler.unregister(arg.getTextureId());
+    if (arg.getTextureId().equals(focusedTextureId)) {
+      focusPlayer(null);
+    }
   }
 
   public void setLooping(@NonNull LoopingMessage arg) {
+    long startNanos = System.nanoTime();
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     player.setLooping(arg.getIsLooping());
+    commandLatency.record("setLooping", startNanos);
   }
 
   public void setVolume(@NonNull VolumeMessage arg) {
+    long startNanos = System.nanoTime();
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     player.setVolume(arg.getVolume());
+    commandLatency.record("setVolume", startNanos);
   }
 
   public void setPlaybackSpeed(@NonNull PlaybackSpeedMessage arg) {
+    long startNanos = System.nanoTime();
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     player.setPlaybackSpeed(arg.getSpeed());
+    commandLatency.record("setPlaybackSpeed", startNanos);
   }
 
   public void play(@NonNull TextureMessage arg) {
+    long startNanos = System.nanoTime();
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     player.play();
+    commandLatency.record("play", startNanos);
   }
 
   public @NonNull PositionMessage position(@NonNull TextureMessage arg) {
@@ -199,8 +454,10 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
   }
 
   public void seekTo(@NonNull PositionMessage arg) {
+    long startNanos = System.nanoTime();
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     player.seekTo(arg.getPosition().intValue());
+    commandLatency.record("seekTo", startNanos);
   }
   public TrackSelectionsMessage trackSelections(TextureMessage arg) {
     System.err.println("xxx : tracks 5 ...");
@@ -220,8 +477,10 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
 
   }
   public void pause(@NonNull TextureMessage arg) {
+    long startNanos = System.nanoTime();
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     player.pause();
+    commandLatency.record("pause", startNanos);
   }
 
   @Override
@@ -229,6 +488,251 @@ public class VideoPlayerPlugin implements FlutterPlugin, AndroidVideoPlayerApi {
     options.mixWithOthers = arg.getMixWithOthers();
   }
 
+  @Override
+  public void setBackgroundMode(@NonNull BackgroundModeMessage arg) {
+    long startNanos = System.nanoTime();
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.setBackgroundMode(arg.getAudioOnly());
+    commandLatency.record("setBackgroundMode", startNanos);
+  }
+
+  /**
+   * Applies an ordered batch of commands to one player in a single platform channel call.
+   *
+   * <p>Every command is validated before any of them runs, so a malformed batch changes nothing.
+   * The batch then runs within this one platform-thread task, which is also the player's
+   * application thread, so no other call or player event can interleave with it.
+   */
+  @Override
+  public @NonNull CommandBatchResultMessage applyCommands(@NonNull CommandBatchMessage arg) {
+    long startNanos = System.nanoTime();
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    if (player == null) {
+      throw new IllegalArgumentException("No player for texture id " + arg.getTextureId());
+    }
+    List<CommandMessage> commands = arg.getCommands();
+    List<Runnable> actions = new ArrayList<>(commands.size());
+    for (int i = 0; i < commands.size(); i++) {
+      actions.add(toAction(player, commands.get(i), i));
+    }
+    for (Runnable action : actions) {
+      action.run();
+    }
+    long elapsedMicros = commandLatency.record("applyCommands", startNanos);
+    return new CommandBatchResultMessage.Builder()
+        .setTextureId(arg.getTextureId())
+        .setAppliedCount((long) actions.size())
+        .setElapsedMicros(elapsedMicros)
+        .setLatencyStats(commandLatency.snapshot())
+        .build();
+  }
+
+  @Override
+  public @NonNull HedgingStatsMessage hedgingStats(@NonNull TextureMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    RequestHedging hedging = player.getRequestHedging();
+    HedgingStatsMessage.Builder result =
+        new HedgingStatsMessage.Builder()
+            .setTextureId(arg.getTextureId())
+            .setHedgesFired(0L)
+            .setHedgesWon(0L);
+    if (hedging != null) {
+      long thresholdMs = hedging.thresholdMs();
+      result
+          .setHedgesFired(hedging.hedgesFired())
+          .setHedgesWon(hedging.hedgesWon())
+          .setThresholdMs(thresholdMs == C.TIME_UNSET ? null : thresholdMs);
+    }
+    return result.build();
+  }
+
+  @Override
+  public @NonNull KeyframesMessage keyframes(@NonNull TextureMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    KeyframeIndex index = player.getKeyframeIndex();
+    List<Long> timesMs = new ArrayList<>();
+    if (index != null) {
+      for (long timeUs : index.timesUs) {
+        timesMs.add(timeUs / 1000);
+      }
+    }
+    return new KeyframesMessage.Builder()
+        .setTextureId(arg.getTextureId())
+        .setTimesMs(timesMs)
+        .build();
+  }
+
+  @Override
+  public @NonNull NetworkStatsMessage networkStats() {
+    List<HostNetworkStatsMessage> hosts = new ArrayList<>();
+    if (options.networkStats != null) {
+      for (NetworkStats.Entry entry : options.networkStats.snapshot()) {
+        hosts.add(
+            new HostNetworkStatsMessage.Builder()
+                .setHost(entry.host)
+                .setRequestType(entry.type)
+                .setRequests(entry.requests)
+                .setFailures(entry.failures)
+                .setBytes(entry.bytes)
+                .setCacheHits(entry.cacheHits)
+                .setCacheMisses(entry.cacheMisses)
+                .setTtfbHistogram(toList(entry.ttfbHistogram))
+                .setThroughputHistogram(toList(entry.throughputHistogram))
+                .build());
+      }
+    }
+    NetworkStatsMessage.Builder result =
+        new NetworkStatsMessage.Builder()
+            .setTtfbBucketsMs(toList(NetworkStats.TTFB_BUCKETS_MS))
+            .setThroughputBucketsKbps(toList(NetworkStats.THROUGHPUT_BUCKETS_KBPS))
+            .setHosts(hosts);
+    if (sslSocketFactory != null) {
+      result
+          .setFullTlsHandshakes(sslSocketFactory.getFullHandshakes())
+          .setResumedTlsHandshakes(sslSocketFactory.getResumedHandshakes());
+    }
+    return result.build();
+  }
+
+  @Override
+  public void preconnect(@NonNull PreconnectMessage arg) {
+    Long keepAliveMs = arg.getKeepAliveMs();
+    preconnector.preconnect(
+        arg.getHosts(), keepAliveMs != null ? keepAliveMs : Preconnector.DEFAULT_KEEP_ALIVE_MS);
+  }
+
+  @Override
+  public void configureScheduler(@NonNull SchedulerConfigurationMessage arg) {
+    Long maxPreparedPlayers = arg.getMaxPreparedPlayers();
+    scheduler.setLimits(
+        arg.getMaxActivePlayers().intValue(),
+        maxPreparedPlayers != null
+            ? maxPreparedPlayers.intValue()
+            : PlayerScheduler.DEFAULT_MAX_PREPARED);
+  }
+
+  @Override
+  public void setPlayerVisibility(@NonNull PlayerVisibilityBatchMessage arg) {
+    for (PlayerVisibilityMessage visibility : arg.getPlayers()) {
+      Long priority = visibility.getPriority();
+      scheduler.setVisibility(
+          visibility.getTextureId(),
+          visibility.getVisibleFraction(),
+          priority != null ? priority : 0);
+    }
+    scheduler.reschedule();
+  }
+
+  @Override
+  public void setFocusedPlayer(@NonNull FocusMessage arg) {
+    focusPlayer(arg.getTextureId());
+  }
+
+  /**
+   * Gives the loads of the player of {@code textureId} priority over all others, or gives all
+   * players the same priority if it is null.
+   */
+  private void focusPlayer(@Nullable Long textureId) {
+    focusedTextureId = textureId;
+    for (int i = 0; i < videoPlayers.size(); i++) {
+      boolean focused = textureId == null || videoPlayers.keyAt(i) == textureId;
+      videoPlayers
+          .valueAt(i)
+          .setLoadPriority(
+              focused ? LoadPriority.PRIORITY_FOCUSED : LoadPriority.PRIORITY_BACKGROUND);
+    }
+  }
+
+  @Override
+  public @NonNull ReleaseStatsMessage releaseStats() {
+    return new ReleaseStatsMessage.Builder()
+        .setReleasedPlayers(releaseQueue.releasedCount())
+        .setPendingPlayers((long) releaseQueue.pendingCount())
+        .setMeanLatencyMs(releaseQueue.meanLatencyMs())
+        .setMaxLatencyMs(releaseQueue.maxLatencyMs())
+        .setMeanReleaseMicros(releaseQueue.meanReleaseMicros())
+        .setMaxReleaseMicros(releaseQueue.maxReleaseMicros())
+        .build();
+  }
+
+  @Override
+  public @NonNull WarmUpStatusMessage warmUpStatus() {
+    boolean ready = warmUp.isReady();
+    return new WarmUpStatusMessage.Builder()
+        .setStarted(warmUp.isStarted())
+        .setReady(ready)
+        .setDurationMs(ready ? warmUp.getDurationMs() : null)
+        .setError(warmUp.getError())
+        .build();
+  }
+
+  private static List<Long> toList(long[] values) {
+    List<Long> list = new ArrayList<>(values.length);
+    for (long value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+
+  private static Runnable toAction(VideoPlayer player, CommandMessage command, int index) {
+    if (command == null) {
+      throw new IllegalArgumentException("Command " + index + " is null");
+    }
+    switch (command.getName()) {
+      case "play":
+        return player::play;
+      case "pause":
+        return player::pause;
+      case "setLooping":
+        {
+          boolean looping = commandValue(command, index, Boolean.class);
+          return () -> player.setLooping(looping);
+        }
+      case "setVolume":
+        {
+          double volume = commandValue(command, index, Number.class).doubleValue();
+          return () -> player.setVolume(volume);
+        }
+      case "setPlaybackSpeed":
+        {
+          double speed = commandValue(command, index, Number.class).doubleValue();
+          if (speed <= 0) {
+            throw new IllegalArgumentException("Command " + index + " has a non-positive speed");
+          }
+          return () -> player.setPlaybackSpeed(speed);
+        }
+      case "seekTo":
+        {
+          int position = commandValue(command, index, Number.class).intValue();
+          return () -> player.seekTo(position);
+        }
+      case "setBackgroundMode":
+        {
+          boolean audioOnly = commandValue(command, index, Boolean.class);
+          return () -> player.setBackgroundMode(audioOnly);
+        }
+      default:
+        throw new IllegalArgumentException(
+            "Command " + index + " has unknown name \"" + command.getName() + "\"");
+    }
+  }
+
+  private static <T> T commandValue(CommandMessage command, int index, Class<T> type) {
+    Object value = command.getValue();
+    if (!type.isInstance(value)) {
+      throw new IllegalArgumentException(
+          "Command "
+              + index
+              + " ("
+              + command.getName()
+              + ") expects a "
+              + type.getSimpleName()
+              + " value, got "
+              + value);
+    }
+    return type.cast(value);
+  }
+
   private interface KeyForAssetFn {
     String get(String asset);
   }
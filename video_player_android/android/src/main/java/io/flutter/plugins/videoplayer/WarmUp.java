@@ -0,0 +1,157 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.os.Bundle;
+import android.os.Process;
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.annotation.VisibleForTesting;
+import androidx.media3.common.MimeTypes;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.mediacodec.MediaCodecUtil;
+import androidx.media3.exoplayer.trackselection.DefaultTrackSelector;
+import androidx.media3.exoplayer.upstream.DefaultBandwidthMeter;
+import androidx.media3.extractor.DefaultExtractorsFactory;
+import io.flutter.Log;
+import io.github.anilbeesetti.nextlib.media3ext.ffdecoder.FfmpegLibrary;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Does the one-time work of the first player ahead of time, on a background thread.
+ *
+ * <p>The first player of a process loads the FFmpeg native library, queries the codecs of the
+ * device and loads the Media3 classes it uses, which makes it much slower to start than later
+ * ones. When enabled with the {@value #META_DATA_KEY} meta-data of the application, the plugin
+ * does this work when it attaches to the engine. The codec queries are cached by Media3 and the
+ * bandwidth meter is a process-wide singleton, so later players reuse both.
+ *
+ * <p>A step that fails is logged and skipped, so the warm-up always finishes.
+ */
+final class WarmUp {
+  static final String META_DATA_KEY = "io.flutter.plugins.videoplayer.WARM_UP";
+
+  private static final String TAG = "WarmUp";
+
+  // Formats whose decoders are queried, in decreasing order of how common they are.
+  private static final String[] MIME_TYPES = {
+    MimeTypes.VIDEO_H264, MimeTypes.AUDIO_AAC, MimeTypes.VIDEO_H265, MimeTypes.VIDEO_VP9
+  };
+
+  /** One piece of the warm-up. */
+  interface Step {
+    void run(@NonNull Context context) throws Exception;
+  }
+
+  private final List<Step> steps;
+  private volatile boolean started;
+  private volatile boolean ready;
+  private volatile long durationMs;
+  @Nullable private volatile String error;
+
+  WarmUp() {
+    this(Arrays.asList(WarmUp::loadNativeLibrary, WarmUp::queryCodecs, WarmUp::loadMedia3));
+  }
+
+  @VisibleForTesting
+  WarmUp(@NonNull List<Step> steps) {
+    this.steps = steps;
+  }
+
+  /** Returns whether the application enables the warm-up in its manifest. */
+  static boolean isEnabled(@NonNull Context context) {
+    try {
+      ApplicationInfo info =
+          context
+              .getPackageManager()
+              .getApplicationInfo(context.getPackageName(), PackageManager.GET_META_DATA);
+      return isEnabled(info.metaData);
+    } catch (PackageManager.NameNotFoundException e) {
+      return false;
+    }
+  }
+
+  @VisibleForTesting
+  static boolean isEnabled(@Nullable Bundle metaData) {
+    return metaData != null && metaData.getBoolean(META_DATA_KEY, false);
+  }
+
+  /** Starts the warm-up on a background thread, unless it was started before. */
+  synchronized void start(@NonNull Context context) {
+    if (started) {
+      return;
+    }
+    started = true;
+    Context applicationContext = context.getApplicationContext();
+    Thread thread = new Thread(() -> run(applicationContext), "WarmUp");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  boolean isStarted() {
+    return started;
+  }
+
+  /** Returns whether the warm-up has finished. */
+  boolean isReady() {
+    return ready;
+  }
+
+  /** Returns how long the warm-up took, once it is ready. */
+  long getDurationMs() {
+    return durationMs;
+  }
+
+  /** Returns the message of the first step that failed, or null. */
+  @Nullable
+  String getError() {
+    return error;
+  }
+
+  private void run(Context context) {
+    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+    long startMs = SystemClock.elapsedRealtime();
+    for (Step step : steps) {
+      try {
+        step.run(context);
+      } catch (Exception | LinkageError e) {
+        Log.w(TAG, "Warm-up step failed.", e);
+        if (error == null) {
+          error = String.valueOf(e.getMessage());
+        }
+      }
+    }
+    durationMs = SystemClock.elapsedRealtime() - startMs;
+    ready = true;
+    Log.i(TAG, "Warm-up finished in " + durationMs + " ms.");
+  }
+
+  private static void loadNativeLibrary(Context context) {
+    if (!FfmpegLibrary.isAvailable()) {
+      Log.w(TAG, "The FFmpeg library is not available.");
+    }
+  }
+
+  @OptIn(markerClass = UnstableApi.class)
+  private static void queryCodecs(Context context) throws MediaCodecUtil.DecoderQueryException {
+    for (String mimeType : MIME_TYPES) {
+      MediaCodecUtil.getDecoderInfos(
+          mimeType, /* secure= */ false, /* requiresTunnelingDecoder= */ false);
+    }
+  }
+
+  @OptIn(markerClass = UnstableApi.class)
+  private static void loadMedia3(Context context) {
+    DefaultBandwidthMeter.getSingletonInstance(context);
+    new DefaultTrackSelector(context);
+    new DefaultExtractorsFactory().createExtractors();
+  }
+}
@@ -0,0 +1,109 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class AbrControllerTest {
+  private static final long[] LADDER = {4_000_000, 2_000_000, 1_000_000, 500_000};
+
+  @Test
+  public void throughput_choosesHighestRenditionWithinBandwidthFraction() {
+    AbrStrategy strategy = new ThroughputAbrStrategy(0.7);
+
+    assertEquals(1, strategy.select(LADDER, 1, 3_000_000, 0).index);
+    assertEquals(3, strategy.select(LADDER, 1, 100_000, 0).index);
+  }
+
+  @Test
+  public void bola_choosesFromBufferLevel() {
+    AbrStrategy strategy = new BolaAbrStrategy(10_000, 30_000, 0.7);
+
+    assertEquals(3, strategy.select(LADDER, 3, 10_000_000, 5_000).index);
+    assertEquals(1, strategy.select(LADDER, 3, 10_000_000, 20_000).index);
+    AbrStrategy.Decision full = strategy.select(LADDER, 1, 10_000_000, 30_000);
+    assertEquals(0, full.index);
+    assertEquals(AbrStrategy.REASON_BUFFER, full.reason);
+  }
+
+  @Test
+  public void bola_capsDecisionAboveThroughputAtCurrentRendition() {
+    AbrStrategy strategy = new BolaAbrStrategy(10_000, 30_000, 0.7);
+
+    AbrStrategy.Decision decision = strategy.select(LADDER, 1, 1_500_000, 35_000);
+
+    assertEquals(1, decision.index);
+    assertEquals(AbrStrategy.REASON_THROUGHPUT_CAP, decision.reason);
+  }
+
+  @Test
+  public void bola_doesNotCapSwitchesDown() {
+    long[] ladder = {4_300_000, 2_850_000, 1_850_000, 1_200_000, 750_000, 300_000};
+    AbrStrategy strategy = new BolaAbrStrategy(10_000, 30_000, 0.7);
+
+    // The throughput allows no rendition, and the buffer is too low for the top one.
+    AbrStrategy.Decision decision = strategy.select(ladder, 0, 500_000, 15_000);
+
+    assertTrue(decision.index > 0);
+    assertEquals(AbrStrategy.REASON_BUFFER, decision.reason);
+  }
+
+  @Test
+  public void hybrid_usesThroughputUntilBolaAgreesOnFilledBuffer() {
+    AbrStrategy strategy = new HybridAbrStrategy(10_000, 30_000, 0.7);
+
+    AbrStrategy.Decision startup = strategy.select(LADDER, -1, 10_000_000, 2_000);
+    // BOLA would switch down to the third rendition here.
+    AbrStrategy.Decision ramped = strategy.select(LADDER, 0, 10_000_000, 12_000);
+    AbrStrategy.Decision filled = strategy.select(LADDER, 0, 10_000_000, 30_000);
+    AbrStrategy.Decision drained = strategy.select(LADDER, 3, 10_000_000, 4_000);
+
+    assertEquals(0, startup.index);
+    assertEquals(AbrStrategy.REASON_STARTUP, startup.reason);
+    assertEquals(0, ramped.index);
+    assertEquals(AbrStrategy.REASON_STARTUP, ramped.reason);
+    assertEquals(0, filled.index);
+    assertEquals(AbrStrategy.REASON_BUFFER, filled.reason);
+    assertEquals(0, drained.index);
+    assertEquals(AbrStrategy.REASON_STARTUP, drained.reason);
+  }
+
+  @Test
+  public void controller_doesNotHoldStartupDecisions() {
+    AbrOptions options = new AbrOptions();
+    options.strategy = AbrOptions.STRATEGY_HYBRID;
+    AbrController controller = new AbrController(options);
+
+    AbrStrategy.Decision decision = controller.select(LADDER, 3, 10_000_000, 5_000);
+
+    assertEquals(0, decision.index);
+    assertEquals(AbrStrategy.REASON_STARTUP, decision.reason);
+  }
+
+  @Test
+  public void controller_holdsSwitchesOutsideThresholds() {
+    AbrOptions options = new AbrOptions();
+    AbrController controller = new AbrController(options);
+
+    assertEquals(AbrStrategy.REASON_INITIAL, controller.select(LADDER, -1, 10_000_000, 0).reason);
+    assertEquals(2, controller.select(LADDER, 2, 10_000_000, 5_000).index);
+    assertEquals(0, controller.select(LADDER, 2, 10_000_000, 12_000).index);
+    AbrStrategy.Decision held = controller.select(LADDER, 0, 100_000, 30_000);
+    assertEquals(0, held.index);
+    assertEquals(AbrController.REASON_HOLD, held.reason);
+    assertEquals(3, controller.select(LADDER, 0, 100_000, 20_000).index);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void strategyFor_rejectsUnknownStrategy() {
+    AbrOptions options = new AbrOptions();
+    options.strategy = "random";
+
+    AbrController.strategyFor(options);
+  }
+}
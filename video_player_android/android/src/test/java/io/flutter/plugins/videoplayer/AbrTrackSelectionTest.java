@@ -0,0 +1,60 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import androidx.media3.common.Format;
+import androidx.media3.common.MimeTypes;
+import androidx.media3.common.Timeline;
+import androidx.media3.common.TrackGroup;
+import androidx.media3.exoplayer.source.MediaSource;
+import androidx.media3.exoplayer.trackselection.AdaptiveTrackSelection;
+import androidx.media3.exoplayer.trackselection.ExoTrackSelection;
+import androidx.media3.exoplayer.upstream.BandwidthMeter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class AbrTrackSelectionTest {
+  @Test
+  public void factory_appliesStrategyToVideoOnly() {
+    TrackGroup video =
+        new TrackGroup(
+            format(MimeTypes.VIDEO_H264, 500_000), format(MimeTypes.VIDEO_H264, 2_000_000));
+    TrackGroup audio =
+        new TrackGroup(format(MimeTypes.AUDIO_AAC, 64_000), format(MimeTypes.AUDIO_AAC, 128_000));
+    ExoTrackSelection.Definition[] definitions = {
+      new ExoTrackSelection.Definition(video, 0, 1),
+      new ExoTrackSelection.Definition(audio, 0, 1),
+      null
+    };
+
+    ExoTrackSelection[] selections =
+        new AbrTrackSelection.Factory(new AbrOptions(), null)
+            .createTrackSelections(
+                definitions,
+                mock(BandwidthMeter.class),
+                new MediaSource.MediaPeriodId(new Object()),
+                Timeline.EMPTY);
+
+    assertEquals(3, selections.length);
+    assertTrue(selections[0] instanceof AbrTrackSelection);
+    assertTrue(selections[1] instanceof AdaptiveTrackSelection);
+    assertNull(selections[2]);
+  }
+
+  private static Format format(String sampleMimeType, int bitrate) {
+    return new Format.Builder()
+        .setSampleMimeType(sampleMimeType)
+        .setAverageBitrate(bitrate)
+        .setPeakBitrate(bitrate)
+        .build();
+  }
+}
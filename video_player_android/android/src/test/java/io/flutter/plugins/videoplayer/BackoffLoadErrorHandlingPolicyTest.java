@@ -0,0 +1,136 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.net.Uri;
+import androidx.media3.common.C;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.HttpDataSource;
+import androidx.media3.exoplayer.source.LoadEventInfo;
+import androidx.media3.exoplayer.source.MediaLoadData;
+import androidx.media3.exoplayer.upstream.LoadErrorHandlingPolicy;
+import androidx.media3.exoplayer.upstream.LoadErrorHandlingPolicy.FallbackOptions;
+import androidx.media3.exoplayer.upstream.LoadErrorHandlingPolicy.FallbackSelection;
+import androidx.media3.exoplayer.upstream.LoadErrorHandlingPolicy.LoadErrorInfo;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class BackoffLoadErrorHandlingPolicyTest {
+  private static final DataSpec SEGMENT = new DataSpec(Uri.parse("https://cdn.example.com/1.ts"));
+
+  private final LoadErrorOptions options = new LoadErrorOptions();
+
+  @Test
+  public void getRetryDelayMsFor_failsFastOnAuthAndMissingErrors() {
+    BackoffLoadErrorHandlingPolicy policy = policy(0.5);
+
+    assertEquals(C.TIME_UNSET, policy.getRetryDelayMsFor(httpError(403, 1)));
+    assertEquals(C.TIME_UNSET, policy.getRetryDelayMsFor(httpError(404, 1)));
+    assertEquals(C.TIME_UNSET, policy.getRetryDelayMsFor(httpError(400, 1)));
+  }
+
+  @Test
+  public void getRetryDelayMsFor_backsOffExponentiallyOnTransientErrors() {
+    BackoffLoadErrorHandlingPolicy policy = policy(0.5);
+
+    assertEquals(500, policy.getRetryDelayMsFor(httpError(503, 1)));
+    assertEquals(1_000, policy.getRetryDelayMsFor(httpError(503, 2)));
+    assertEquals(8_000, policy.getRetryDelayMsFor(httpError(429, 10)));
+  }
+
+  @Test
+  public void backoffMs_appliesJitter() {
+    options.jitter = 0.2;
+
+    assertEquals(400, policy(0).backoffMs(1));
+    assertEquals(600, policy(1).backoffMs(1));
+  }
+
+  @Test
+  public void getRetryDelayMsFor_reportsEveryErrorToListener() {
+    long[] reported = new long[1];
+    BackoffLoadErrorHandlingPolicy policy =
+        new BackoffLoadErrorHandlingPolicy(
+            options,
+            (info, retryDelayMs, fallback) -> reported[0] = retryDelayMs,
+            fixedRandom(0.5));
+
+    policy.getRetryDelayMsFor(httpError(410, 1));
+
+    assertEquals(C.TIME_UNSET, reported[0]);
+  }
+
+  @Test
+  public void getFallbackSelectionFor_reportsExcludedTracksToListener() {
+    options.exclusionMs = 30_000L;
+    List<FallbackSelection> reported = new ArrayList<>();
+    BackoffLoadErrorHandlingPolicy policy =
+        new BackoffLoadErrorHandlingPolicy(
+            options,
+            (info, retryDelayMs, fallback) -> {
+              assertEquals(C.TIME_UNSET, retryDelayMs);
+              reported.add(fallback);
+            },
+            fixedRandom(0.5));
+    FallbackOptions fallbackOptions =
+        new FallbackOptions(
+            /* numberOfLocations= */ 1,
+            /* numberOfExcludedLocations= */ 0,
+            /* numberOfTracks= */ 3,
+            /* numberOfExcludedTracks= */ 0);
+
+    FallbackSelection selection =
+        policy.getFallbackSelectionFor(fallbackOptions, httpError(404, 1));
+
+    assertEquals(LoadErrorHandlingPolicy.FALLBACK_TYPE_TRACK, selection.type);
+    assertEquals(30_000, selection.exclusionDurationMs);
+    assertEquals(Collections.singletonList(selection), reported);
+  }
+
+  @Test
+  public void getFallbackSelectionFor_leavesUnexcludedErrorsToRetryDelay() {
+    List<FallbackSelection> reported = new ArrayList<>();
+    BackoffLoadErrorHandlingPolicy policy =
+        new BackoffLoadErrorHandlingPolicy(
+            options, (info, retryDelayMs, fallback) -> reported.add(fallback), fixedRandom(0.5));
+    FallbackOptions fallbackOptions = new FallbackOptions(1, 0, 1, 0);
+
+    assertNull(policy.getFallbackSelectionFor(fallbackOptions, httpError(404, 1)));
+    assertTrue(reported.isEmpty());
+  }
+
+  private BackoffLoadErrorHandlingPolicy policy(double randomValue) {
+    return new BackoffLoadErrorHandlingPolicy(options, null, fixedRandom(randomValue));
+  }
+
+  private static Random fixedRandom(double value) {
+    Random random = mock(Random.class);
+    when(random.nextDouble()).thenReturn(value);
+    return random;
+  }
+
+  private static LoadErrorInfo httpError(int statusCode, int errorCount) {
+    Map<String, List<String>> headers = Collections.emptyMap();
+    IOException exception =
+        new HttpDataSource.InvalidResponseCodeException(
+            statusCode, null, null, headers, SEGMENT, new byte[0]);
+    return new LoadErrorInfo(
+        mock(LoadEventInfo.class), mock(MediaLoadData.class), exception, errorCount);
+  }
+}
@@ -0,0 +1,81 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import android.net.Uri;
+import androidx.media3.datasource.DataSpec;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class CmcdRequestsTest {
+  private static final Uri MANIFEST = Uri.parse("https://cdn.example.com/live/index.mpd?token=1");
+
+  @Test
+  public void resolve_addsSessionAndObjectTypeToUnannotatedRequests() {
+    CmcdOptions options = new CmcdOptions("session-1");
+
+    DataSpec resolved =
+        CmcdRequests.resolve(new DataSpec(MANIFEST), options, CmcdRequests.OBJECT_TYPE_MANIFEST);
+
+    assertEquals("sid=\"session-1\"", resolved.httpRequestHeaders.get("CMCD-Session"));
+    assertEquals("ot=m", resolved.httpRequestHeaders.get("CMCD-Object"));
+  }
+
+  @Test
+  public void resolve_leavesRequestsAnnotatedByThePlayerAlone() {
+    Map<String, String> headers = new HashMap<>();
+    headers.put("CMCD-Object", "br=800,ot=v");
+    DataSpec segment =
+        new DataSpec.Builder().setUri(MANIFEST).setHttpRequestHeaders(headers).build();
+
+    DataSpec resolved =
+        CmcdRequests.resolve(segment, new CmcdOptions("s"), CmcdRequests.OBJECT_TYPE_MANIFEST);
+
+    assertEquals(headers, resolved.httpRequestHeaders);
+  }
+
+  @Test
+  public void resolve_honoursAllowList() {
+    CmcdOptions options = new CmcdOptions("session-1");
+    options.allowedKeys = new HashSet<>(Collections.singletonList("ot"));
+
+    DataSpec resolved =
+        CmcdRequests.resolve(new DataSpec(MANIFEST), options, CmcdRequests.OBJECT_TYPE_MANIFEST);
+
+    assertNull(resolved.httpRequestHeaders.get("CMCD-Session"));
+    assertEquals("ot=m", resolved.httpRequestHeaders.get("CMCD-Object"));
+  }
+
+  @Test
+  public void resolve_movesAllKeysToSortedQueryParameterInQueryMode() {
+    CmcdOptions options = new CmcdOptions("session-1");
+    options.useQueryParameter = true;
+    Map<String, String> headers = new HashMap<>();
+    headers.put("CMCD-Object", "br=800,ot=v");
+    headers.put("CMCD-Request", "bl=2100,mtp=12000");
+    headers.put("CMCD-Session", "sid=\"a,b\"");
+    headers.put("Authorization", "Bearer x");
+    DataSpec segment =
+        new DataSpec.Builder().setUri(MANIFEST).setHttpRequestHeaders(headers).build();
+
+    DataSpec resolved = CmcdRequests.resolve(segment, options, null);
+
+    assertEquals(
+        "bl=2100,br=800,mtp=12000,ot=v,sid=\"a,b\"", resolved.uri.getQueryParameter("CMCD"));
+    assertEquals("1", resolved.uri.getQueryParameter("token"));
+    assertEquals(Collections.singletonMap("Authorization", "Bearer x"), resolved.httpRequestHeaders);
+    assertFalse(resolved.httpRequestHeaders.containsKey("CMCD-Object"));
+  }
+}
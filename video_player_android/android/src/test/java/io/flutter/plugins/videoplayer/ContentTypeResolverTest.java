@@ -0,0 +1,140 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.media3.common.C;
+import androidx.media3.datasource.BaseDataSource;
+import androidx.media3.datasource.DataSpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+@RunWith(RobolectricTestRunner.class)
+public class ContentTypeResolverTest {
+  private static final Uri SIGNED = Uri.parse("https://cdn.example.com/v/a1b2c3/master?sig=xyz");
+
+  @Test
+  public void needsProbe_onlyForExtensionlessHttpUris() {
+    assertTrue(ContentTypeResolver.needsProbe(SIGNED));
+    assertFalse(ContentTypeResolver.needsProbe(Uri.parse("https://cdn.example.com/v/movie.mp4")));
+    assertFalse(ContentTypeResolver.needsProbe(Uri.parse("https://cdn.example.com/v/index.m3u8")));
+    assertFalse(ContentTypeResolver.needsProbe(Uri.parse("file:///sdcard/movie")));
+  }
+
+  @Test
+  public void pattern_dropsQueryAndMasksSegmentsWithDigits() {
+    assertEquals("https://cdn.example.com/v/*/master", ContentTypeResolver.pattern(SIGNED));
+    assertEquals(
+        ContentTypeResolver.pattern(SIGNED),
+        ContentTypeResolver.pattern(Uri.parse("https://CDN.example.com/v/9f8e7d/master?sig=abc")));
+  }
+
+  @Test
+  public void probe_prefersSpecificContentTypeHeader() throws Exception {
+    FakeDataSource dataSource = new FakeDataSource("application/vnd.apple.mpegurl", "");
+
+    assertEquals(C.CONTENT_TYPE_HLS, ContentTypeResolver.probe(dataSource, SIGNED));
+    assertEquals(ContentTypeResolver.PROBE_LENGTH, dataSource.requestedLength);
+  }
+
+  @Test
+  public void probe_sniffsBytesBehindGenericContentType() throws Exception {
+    assertEquals(
+        C.CONTENT_TYPE_HLS,
+        ContentTypeResolver.probe(
+            new FakeDataSource("application/octet-stream", "#EXTM3U\n#EXT-X-VERSION:3\n"),
+            SIGNED));
+    assertEquals(
+        C.CONTENT_TYPE_DASH,
+        ContentTypeResolver.probe(
+            new FakeDataSource("text/plain", "<?xml version=\"1.0\"?>\n<MPD type=\"static\">"),
+            SIGNED));
+    assertEquals(
+        C.CONTENT_TYPE_OTHER,
+        ContentTypeResolver.probe(
+            new FakeDataSource(null, "\u0000\u0000\u0000\u0018ftypmp42"), SIGNED));
+  }
+
+  @Test
+  public void resolve_remembersDecisionForThePattern() {
+    ContentTypeResolver resolver = new ContentTypeResolver();
+    AtomicInteger resolved = new AtomicInteger(C.INDEX_UNSET);
+
+    assertNull(resolver.cachedType(SIGNED));
+    resolver.resolve(SIGNED, () -> new FakeDataSource("application/dash+xml", ""), resolved::set);
+    long deadlineMs = System.currentTimeMillis() + 5000;
+    while (resolved.get() == C.INDEX_UNSET && System.currentTimeMillis() < deadlineMs) {
+      ShadowLooper.idleMainLooper();
+    }
+
+    assertEquals(C.CONTENT_TYPE_DASH, resolved.get());
+    assertEquals(
+        Integer.valueOf(C.CONTENT_TYPE_DASH),
+        resolver.cachedType(Uri.parse("https://cdn.example.com/v/z9/master?sig=other")));
+  }
+
+  private static final class FakeDataSource extends BaseDataSource {
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private int position;
+    private long requestedLength;
+    private Uri uri;
+
+    FakeDataSource(String contentType, String body) {
+      super(/* isNetwork= */ true);
+      this.headers =
+          contentType == null
+              ? Collections.emptyMap()
+              : Collections.singletonMap("Content-Type", Collections.singletonList(contentType));
+      this.body = body.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) {
+      uri = dataSpec.uri;
+      requestedLength = dataSpec.length;
+      position = 0;
+      return body.length;
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) {
+      if (position == body.length) {
+        return C.RESULT_END_OF_INPUT;
+      }
+      int read = Math.min(length, body.length - position);
+      System.arraycopy(body, position, buffer, offset, read);
+      position += read;
+      return read;
+    }
+
+    @NonNull
+    @Override
+    public Map<String, List<String>> getResponseHeaders() {
+      return headers;
+    }
+
+    @Override
+    public Uri getUri() {
+      return uri;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,66 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import androidx.media3.common.text.Cue;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class CueDifferTest {
+  private final CueDiffer differ = new CueDiffer();
+
+  @Test
+  public void update_reportsAddedCuesWithLayoutAndStart() {
+    Cue cue = new Cue.Builder().setText("Hello").setLine(0.9f, Cue.LINE_TYPE_FRACTION).build();
+
+    Map<String, Object> event = differ.update(Collections.singletonList(cue), 1_500);
+
+    List<?> added = (List<?>) event.get("added");
+    assertEquals(1, added.size());
+    Map<?, ?> addedCue = (Map<?, ?>) added.get(0);
+    assertEquals("Hello", addedCue.get("text"));
+    assertEquals(1_500L, addedCue.get("start"));
+    assertEquals((double) 0.9f, addedCue.get("line"));
+    assertEquals("fraction", addedCue.get("lineType"));
+    assertEquals(Collections.emptyList(), event.get("removed"));
+  }
+
+  @Test
+  public void update_suppressesUnchangedAndRepeatedEmptyUpdates() {
+    Cue cue = new Cue.Builder().setText("Hello").build();
+    differ.update(Collections.singletonList(cue), 0);
+
+    Cue sameCue = new Cue.Builder().setText("Hello").build();
+    assertNull(differ.update(Collections.singletonList(sameCue), 10));
+    differ.update(Collections.emptyList(), 20);
+    assertNull(differ.update(Collections.emptyList(), 30));
+  }
+
+  @Test
+  public void update_keepsIdsStableAndReportsRemovals() {
+    Cue first = new Cue.Builder().setText("one").build();
+    Cue second = new Cue.Builder().setText("two").build();
+    Map<String, Object> added = differ.update(Collections.singletonList(first), 0);
+    long firstId = (Long) ((Map<?, ?>) ((List<?>) added.get("added")).get(0)).get("id");
+
+    Map<String, Object> event = differ.update(Arrays.asList(first, second), 100);
+    assertEquals(1, ((List<?>) event.get("added")).size());
+    assertEquals(Collections.emptyList(), event.get("removed"));
+
+    event = differ.update(Collections.singletonList(second), 200);
+    assertEquals(Collections.emptyList(), event.get("added"));
+    assertEquals(Collections.singletonList(firstId), event.get("removed"));
+    assertEquals(200L, event.get("time"));
+  }
+}
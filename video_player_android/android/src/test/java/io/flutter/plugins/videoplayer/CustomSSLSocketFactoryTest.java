@@ -0,0 +1,78 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.os.Build;
+import android.os.Bundle;
+
+import java.security.GeneralSecurityException;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocket;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class CustomSSLSocketFactoryTest {
+  @Test
+  public void constructor_tunesClientSessionCache() throws GeneralSecurityException {
+    CustomSSLSocketFactory factory =
+        new CustomSSLSocketFactory(
+            /* enableLegacyProtocols= */ false,
+            /* sessionCacheSize= */ 32,
+            /* sessionTimeoutSeconds= */ 600);
+
+    SSLSessionContext sessionContext = factory.getSessionContext();
+
+    assertEquals(32, sessionContext.getSessionCacheSize());
+    assertEquals(600, sessionContext.getSessionTimeout());
+    assertEquals(0, factory.getFullHandshakes());
+    assertEquals(0, factory.getResumedHandshakes());
+  }
+
+  @Test
+  public void createSocket_enablesLegacyProtocolsOnlyWhenAsked() throws Exception {
+    CustomSSLSocketFactory legacy =
+        new CustomSSLSocketFactory(/* enableLegacyProtocols= */ true, 32, 600);
+    CustomSSLSocketFactory modern =
+        new CustomSSLSocketFactory(/* enableLegacyProtocols= */ false, 32, 600);
+    SSLContext platform = SSLContext.getInstance("TLS");
+    platform.init(null, null, null);
+
+    try (SSLSocket legacySocket = (SSLSocket) legacy.createSocket();
+        SSLSocket modernSocket = (SSLSocket) modern.createSocket();
+        SSLSocket platformSocket = (SSLSocket) platform.getSocketFactory().createSocket()) {
+      assertArrayEquals(new String[] {"TLSv1.1", "TLSv1.2"}, legacySocket.getEnabledProtocols());
+      assertArrayEquals(platformSocket.getEnabledProtocols(), modernSocket.getEnabledProtocols());
+    }
+  }
+
+  @Test
+  public void shouldInstall_requiresMetaDataFromApi21() {
+    Bundle enabled = new Bundle();
+    enabled.putBoolean(CustomSSLSocketFactory.META_DATA_KEY, true);
+
+    assertTrue(CustomSSLSocketFactory.shouldInstall(Build.VERSION_CODES.KITKAT, null));
+    assertFalse(CustomSSLSocketFactory.shouldInstall(Build.VERSION_CODES.LOLLIPOP, null));
+    assertFalse(CustomSSLSocketFactory.shouldInstall(Build.VERSION_CODES.LOLLIPOP, new Bundle()));
+    assertTrue(CustomSSLSocketFactory.shouldInstall(Build.VERSION_CODES.LOLLIPOP, enabled));
+  }
+
+  @Test
+  public void install_setsSharedDefaultFactory() throws GeneralSecurityException {
+    CustomSSLSocketFactory installed = CustomSSLSocketFactory.install();
+
+    assertSame(installed, CustomSSLSocketFactory.install());
+    assertSame(installed, HttpsURLConnection.getDefaultSSLSocketFactory());
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.net.Uri;
+import androidx.media3.common.C;
+import androidx.media3.extractor.ChunkIndex;
+import androidx.media3.extractor.SeekMap;
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class KeyframeIndexStoreTest {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void fromSeekMap_readsEveryKeyframe() {
+    SeekMap seekMap =
+        new ChunkIndex(
+            new int[] {100, 200, 300},
+            new long[] {48, 148, 348},
+            new long[] {2_000_000, 2_000_000, 1_000_000},
+            new long[] {0, 2_000_000, 4_000_000});
+
+    KeyframeIndex index = KeyframeIndex.fromSeekMap(seekMap);
+
+    assertArrayEquals(new long[] {0, 2_000_000, 4_000_000}, index.timesUs);
+    assertArrayEquals(new long[] {48, 148, 348}, index.positions);
+    assertEquals(5_000_000, index.durationUs);
+  }
+
+  @Test
+  public void toSeekMap_seeksToTheKeyframeAtOrBeforeTheTarget() {
+    KeyframeIndex index =
+        new KeyframeIndex(
+            6_000_000, new long[] {0, 2_000_000, 4_000_000}, new long[] {48, 900, 2000});
+
+    SeekMap.SeekPoints seekPoints = index.toSeekMap(6_000_000).getSeekPoints(3_000_000);
+
+    assertEquals(2_000_000, seekPoints.first.timeUs);
+    assertEquals(900, seekPoints.first.position);
+    assertEquals(4_000_000, seekPoints.second.timeUs);
+  }
+
+  @Test
+  public void put_persistsAcrossStoresKeyedByFullUrl() {
+    File directory = new File(folder.getRoot(), "keyframes");
+    TreeMap<Long, Long> positions = new TreeMap<>();
+    positions.put(0L, 48L);
+    positions.put(2_000_000L, 900L);
+    Uri first = Uri.parse("https://cdn.example.com/play?id=1");
+    new KeyframeIndexStore(directory)
+        .put(
+            KeyframeIndexStore.key(first),
+            KeyframeIndex.fromPositions(4_000_000, positions).withValidators(5_000, "\"v1\""));
+
+    KeyframeIndexStore store = new KeyframeIndexStore(directory);
+    KeyframeIndex index =
+        store.get(KeyframeIndexStore.key(Uri.parse("https://CDN.example.com/play?id=1")));
+
+    assertNotNull(index);
+    assertArrayEquals(new long[] {0, 2_000_000}, index.timesUs);
+    assertArrayEquals(new long[] {48, 900}, index.positions);
+    assertEquals(4_000_000, index.durationUs);
+    assertEquals(5_000, index.contentLength);
+    assertEquals("\"v1\"", index.etag);
+    assertNull(store.get(KeyframeIndexStore.key(Uri.parse("https://cdn.example.com/play?id=2"))));
+  }
+
+  @Test
+  public void matches_requiresSameLengthAndETag() {
+    KeyframeIndex index =
+        new KeyframeIndex(4_000_000, new long[] {0}, new long[] {48}).withValidators(5_000, "a");
+
+    assertTrue(index.matches(5_000, "a"));
+    assertTrue(index.matches(5_000, null));
+    assertFalse(index.matches(5_001, "a"));
+    assertFalse(index.matches(5_000, "b"));
+    assertFalse(index.matches(C.LENGTH_UNSET, "a"));
+    assertFalse(new KeyframeIndex(0, new long[] {0}, new long[] {48}).matches(5_000, "a"));
+  }
+
+  @Test
+  public void contentLength_readsTotalOfRangeResponses() {
+    Map<String, List<String>> ranged = new HashMap<>();
+    ranged.put("content-range", Collections.singletonList("bytes 100-199/5000"));
+    ranged.put("Content-Length", Collections.singletonList("100"));
+    Map<String, List<String>> full = new HashMap<>();
+    full.put("Content-Length", Collections.singletonList("5000"));
+
+    assertEquals(5_000, KeyframeIndexStore.contentLength(ranged));
+    assertEquals(5_000, KeyframeIndexStore.contentLength(full));
+    assertEquals(C.LENGTH_UNSET, KeyframeIndexStore.contentLength(Collections.emptyMap()));
+  }
+
+  @Test
+  public void merge_addsLearnedKeyframes() {
+    KeyframeIndex index = new KeyframeIndex(4_000_000, new long[] {0}, new long[] {48});
+    TreeMap<Long, Long> learned = new TreeMap<>();
+    learned.put(2_000_000L, 900L);
+
+    KeyframeIndex merged = index.merge(/* durationUs= */ 5_000_000, learned);
+
+    assertArrayEquals(new long[] {0, 2_000_000}, merged.timesUs);
+    assertEquals(5_000_000, merged.durationUs);
+  }
+}
@@ -0,0 +1,210 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.net.Uri;
+import androidx.media3.common.PriorityTaskManager;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowSystemClock;
+
+@RunWith(RobolectricTestRunner.class)
+public class LoadPriorityTest {
+  private final DataSpec dataSpec =
+      new DataSpec(Uri.parse("https://cdn.example.com/v/seg-1.m4s"));
+  private static final long URGENT_BUFFER_US = PlayerLoadControl.URGENT_BUFFER_MS * 1000;
+  private static final long LOW_BUFFER_US = URGENT_BUFFER_US - 1_000_000;
+  private static final long HIGH_BUFFER_US = URGENT_BUFFER_US + 1_000_000;
+
+  private final PriorityTaskManager manager = new PriorityTaskManager();
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void background_waitsWhileFocusedBufferIsLow() throws Exception {
+    LoadPriority focused = new LoadPriority(manager);
+    LoadPriority background = new LoadPriority(manager);
+    background.setPriority(LoadPriority.PRIORITY_BACKGROUND);
+    DataSource dataSource = dataSource(background);
+
+    focused.onBufferedDuration(LOW_BUFFER_US, URGENT_BUFFER_US);
+    Future<Long> open = executor.submit(() -> dataSource.open(dataSpec));
+
+    assertThrows(TimeoutException.class, () -> open.get(200, TimeUnit.MILLISECONDS));
+    focused.onBufferedDuration(HIGH_BUFFER_US, URGENT_BUFFER_US);
+    assertEquals(100, (long) open.get(5, TimeUnit.SECONDS));
+    dataSource.close();
+  }
+
+  @Test
+  public void background_loadsWhileFocusedBufferIsHigh() throws Exception {
+    LoadPriority focused = new LoadPriority(manager);
+    LoadPriority background = new LoadPriority(manager);
+    background.setPriority(LoadPriority.PRIORITY_BACKGROUND);
+    DataSource dataSource = dataSource(background);
+
+    focused.onBufferedDuration(HIGH_BUFFER_US, URGENT_BUFFER_US);
+
+    assertEquals(100, dataSource.open(dataSpec));
+    assertEquals(10, dataSource.read(new byte[10], 0, 10));
+    dataSource.close();
+  }
+
+  @Test
+  public void focused_neverWaits() throws Exception {
+    LoadPriority focused = new LoadPriority(manager);
+    LoadPriority other = new LoadPriority(manager);
+    DataSource dataSource = dataSource(focused);
+
+    other.onBufferedDuration(LOW_BUFFER_US, URGENT_BUFFER_US);
+    focused.onBufferedDuration(LOW_BUFFER_US, URGENT_BUFFER_US);
+
+    assertEquals(100, dataSource.open(dataSpec));
+    dataSource.close();
+  }
+
+  @Test
+  public void background_waitsBeforeReadsWhileFocusedBufferIsLow() throws Exception {
+    LoadPriority focused = new LoadPriority(manager);
+    LoadPriority background = new LoadPriority(manager);
+    background.setPriority(LoadPriority.PRIORITY_BACKGROUND);
+    DataSource dataSource = dataSource(background);
+    dataSource.open(dataSpec);
+
+    focused.onBufferedDuration(LOW_BUFFER_US, URGENT_BUFFER_US);
+    Future<Integer> read = executor.submit(() -> dataSource.read(new byte[10], 0, 10));
+
+    assertThrows(TimeoutException.class, () -> read.get(200, TimeUnit.MILLISECONDS));
+    focused.clearUrgent();
+    assertEquals(10, (int) read.get(5, TimeUnit.SECONDS));
+    dataSource.close();
+  }
+
+  @Test
+  public void setPriority_toBackgroundLetsOthersLoad() throws Exception {
+    LoadPriority focused = new LoadPriority(manager);
+    LoadPriority background = new LoadPriority(manager);
+    background.setPriority(LoadPriority.PRIORITY_BACKGROUND);
+    focused.onBufferedDuration(LOW_BUFFER_US, URGENT_BUFFER_US);
+    assertTrue(focused.isUrgent());
+
+    focused.setPriority(LoadPriority.PRIORITY_BACKGROUND);
+
+    assertFalse(focused.isUrgent());
+    DataSource dataSource = dataSource(background);
+    assertEquals(100, dataSource.open(dataSpec));
+    dataSource.close();
+  }
+
+  @Test
+  public void background_waitsBeforeHedgingStartsTiming() throws Exception {
+    LoadPriority focused = new LoadPriority(manager);
+    LoadPriority background = new LoadPriority(manager);
+    background.setPriority(LoadPriority.PRIORITY_BACKGROUND);
+    RequestHedging hedging = new RequestHedging(1.0, 0, null);
+    for (int i = 0; i < RequestHedging.MIN_SAMPLES - 1; i++) {
+      hedging.addSample(10);
+    }
+    DataSource upstream = mock(DataSource.class);
+    when(upstream.open(any())).thenReturn(100L);
+    DataSource dataSource =
+        new LoadPriority.DataSourceFactory(
+                background, new RequestHedging.DataSourceFactory(hedging, () -> upstream))
+            .createDataSource();
+
+    focused.onBufferedDuration(LOW_BUFFER_US, URGENT_BUFFER_US);
+    Future<Long> open = executor.submit(() -> dataSource.open(dataSpec));
+    assertThrows(TimeoutException.class, () -> open.get(200, TimeUnit.MILLISECONDS));
+    verify(upstream, never()).open(any());
+    ShadowSystemClock.advanceBy(Duration.ofSeconds(5));
+    focused.onBufferedDuration(HIGH_BUFFER_US, URGENT_BUFFER_US);
+
+    assertEquals(100, (long) open.get(5, TimeUnit.SECONDS));
+    // The time spent waiting is not a time to first byte.
+    assertEquals(10, hedging.thresholdMs());
+    dataSource.close();
+  }
+
+  @Test
+  public void background_doesNotWaitForLocalFiles() throws Exception {
+    LoadPriority focused = new LoadPriority(manager);
+    LoadPriority background = new LoadPriority(manager);
+    background.setPriority(LoadPriority.PRIORITY_BACKGROUND);
+    DataSource dataSource = dataSource(background);
+
+    focused.onBufferedDuration(LOW_BUFFER_US, URGENT_BUFFER_US);
+
+    assertEquals(100, dataSource.open(new DataSpec(Uri.parse("file:///sdcard/video.mp4"))));
+    assertEquals(10, dataSource.read(new byte[10], 0, 10));
+    dataSource.close();
+  }
+
+  @Test
+  public void loadControl_lowersUrgentBufferForShortLiveOffsets() {
+    LoadPriority focused = new LoadPriority(manager);
+    PlayerLoadControl loadControl = new PlayerLoadControl(focused);
+
+    loadControl.shouldContinueLoading(0, 2_000_000, 1f);
+    assertTrue(focused.isUrgent());
+
+    loadControl.shouldStartPlayback(0, 1f, false, /* targetLiveOffsetUs= */ 3_000_000);
+    loadControl.shouldContinueLoading(0, 2_000_000, 1f);
+    assertFalse(focused.isUrgent());
+    loadControl.shouldContinueLoading(0, 1_000_000, 1f);
+    assertTrue(focused.isUrgent());
+  }
+
+  @Test
+  public void loadControl_letsOthersLoadOnceFocusedSourceIsFullyBuffered() throws Exception {
+    LoadPriority focused = new LoadPriority(manager);
+    LoadPriority background = new LoadPriority(manager);
+    background.setPriority(LoadPriority.PRIORITY_BACKGROUND);
+    PlayerLoadControl loadControl = new PlayerLoadControl(focused);
+    // A clip shorter than the urgent buffer is fully buffered below it, and the player does not
+    // ask the load control again.
+    loadControl.shouldContinueLoading(0, LOW_BUFFER_US, 1f);
+    assertTrue(focused.isUrgent());
+
+    loadControl.onLoadingStopped();
+
+    assertFalse(focused.isUrgent());
+    DataSource dataSource = dataSource(background);
+    Future<Long> open = executor.submit(() -> dataSource.open(dataSpec));
+    assertEquals(100, (long) open.get(5, TimeUnit.SECONDS));
+    dataSource.close();
+  }
+
+  private static DataSource dataSource(LoadPriority loadPriority) throws Exception {
+    DataSource upstream = mock(DataSource.class);
+    when(upstream.open(any())).thenReturn(100L);
+    when(upstream.read(any(), anyInt(), anyInt())).thenReturn(10);
+    return new LoadPriority.DataSourceFactory(loadPriority, () -> upstream).createDataSource();
+  }
+}
@@ -0,0 +1,138 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import android.net.Uri;
+import androidx.media3.common.C;
+import androidx.media3.common.util.Clock;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceInputStream;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.exoplayer.dash.manifest.DashManifest;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ManifestCacheTest {
+  private static final Uri MASTER = Uri.parse("https://cdn.example.com/vod/master.m3u8?sig=1");
+
+  private Clock fakeClock;
+  private ManifestCache cache;
+
+  @Before
+  public void before() {
+    fakeClock = mock(Clock.class);
+    when(fakeClock.elapsedRealtime()).thenReturn(0L);
+    cache = new ManifestCache(2, 10_000, fakeClock);
+  }
+
+  @Test
+  public void normalize_lowercasesHostAndDropsDefaultPortAndFragment() {
+    assertEquals(
+        "https://cdn.example.com/vod/master.m3u8?sig=1",
+        ManifestCache.normalize(Uri.parse("HTTPS://CDN.Example.com:443/vod/master.m3u8?sig=1#t=5")));
+    assertEquals(
+        "http://cdn.example.com:8080/",
+        ManifestCache.normalize(Uri.parse("http://cdn.example.com:8080")));
+  }
+
+  @Test
+  public void parseCacheControl_handlesMaxAgeAndNoStore() {
+    assertEquals(C.TIME_UNSET, ManifestCache.parseCacheControl(Collections.emptyMap()));
+    assertEquals(30_000, ManifestCache.parseCacheControl(headers("public, max-age=30")));
+    assertEquals(0, ManifestCache.parseCacheControl(headers("no-store")));
+    assertEquals(0, ManifestCache.parseCacheControl(headers("max-age=30, no-cache")));
+  }
+
+  @Test
+  public void get_returnsEntryUntilTtlExpires() {
+    Object manifest = new Object();
+    cache.put(MASTER, manifest);
+
+    when(fakeClock.elapsedRealtime()).thenReturn(9_999L);
+    assertSame(manifest, cache.get(Uri.parse("https://CDN.example.com/vod/master.m3u8?sig=1")));
+
+    when(fakeClock.elapsedRealtime()).thenReturn(10_000L);
+    assertNull(cache.get(MASTER));
+  }
+
+  @Test
+  public void put_honoursCacheControlOfTheResponse() {
+    cache.onResponse(MASTER, MASTER, headers("max-age=2"));
+    cache.put(MASTER, new Object());
+
+    when(fakeClock.elapsedRealtime()).thenReturn(2_000L);
+    assertNull(cache.get(MASTER));
+
+    cache.onResponse(MASTER, MASTER, headers("no-store"));
+    cache.put(MASTER, new Object());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void put_storesRedirectedManifestUnderRequestedUrl() {
+    Uri served = Uri.parse("https://edge-2.example.com/vod/master.m3u8?sig=1");
+    Object manifest = new Object();
+    cache.onResponse(MASTER, served, Collections.emptyMap());
+    cache.put(served, manifest);
+
+    assertSame(manifest, cache.get(MASTER));
+    assertSame(manifest, cache.get(served));
+  }
+
+  @Test
+  public void put_evictsLeastRecentlyUsedEntryWhenFull() {
+    Uri first = Uri.parse("https://cdn.example.com/a.mpd");
+    Uri second = Uri.parse("https://cdn.example.com/b.mpd");
+    Uri third = Uri.parse("https://cdn.example.com/c.mpd");
+    cache.put(first, new Object());
+    cache.put(second, new Object());
+    cache.get(first);
+    cache.put(third, new Object());
+
+    assertNull(cache.get(second));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void parse_usesEntryFoundAtOpenEvenIfEvictedSince() throws IOException {
+    DashManifest manifest = mock(DashManifest.class);
+    cache.put(MASTER, manifest);
+    DataSource upstream = mock(DataSource.class);
+    DataSource dataSource =
+        new ManifestCache.DataSourceFactory(cache, () -> upstream).createDataSource();
+    DataSourceInputStream inputStream =
+        new DataSourceInputStream(dataSource, new DataSpec(MASTER));
+    inputStream.open();
+
+    cache.clear();
+    DashManifest parsed = cache.dashManifestParser().parse(MASTER, inputStream);
+    inputStream.close();
+
+    assertSame(manifest, parsed);
+    verifyNoInteractions(upstream);
+  }
+
+  private static Map<String, List<String>> headers(String cacheControl) {
+    Map<String, List<String>> headers = new HashMap<>();
+    headers.put("cache-control", Arrays.asList(cacheControl));
+    return headers;
+  }
+}
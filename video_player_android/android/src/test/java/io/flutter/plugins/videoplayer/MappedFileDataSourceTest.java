@@ -0,0 +1,99 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import android.content.res.AssetManager;
+import android.net.Uri;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class MappedFileDataSourceTest {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void open_mapsRequestedRegionOfLocalFile() throws IOException {
+    byte[] content = new byte[1000];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    File file = folder.newFile("intro.mp4");
+    try (FileOutputStream output = new FileOutputStream(file)) {
+      output.write(content);
+    }
+    DataSource upstream = mock(DataSource.class);
+    MappedFileDataSource dataSource =
+        new MappedFileDataSource(mock(AssetManager.class), upstream);
+
+    long length =
+        dataSource.open(
+            new DataSpec.Builder()
+                .setUri(Uri.fromFile(file))
+                .setPosition(100)
+                .setLength(200)
+                .build());
+    byte[] read = DataSourceUtil.readToEnd(dataSource);
+    dataSource.close();
+
+    assertEquals(200, length);
+    assertArrayEquals(Arrays.copyOfRange(content, 100, 300), read);
+    verifyNoInteractions(upstream);
+  }
+
+  @Test
+  public void read_mapsLargeRegionsOneWindowAtATime() throws IOException {
+    byte[] content = new byte[1000];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) (i * 7);
+    }
+    File file = folder.newFile("long.mp4");
+    try (FileOutputStream output = new FileOutputStream(file)) {
+      output.write(content);
+    }
+    DataSource upstream = mock(DataSource.class);
+    MappedFileDataSource dataSource =
+        new MappedFileDataSource(mock(AssetManager.class), upstream, /* maxWindowSize= */ 64);
+
+    long length =
+        dataSource.open(
+            new DataSpec.Builder().setUri(Uri.fromFile(file)).setPosition(10).build());
+    byte[] read = DataSourceUtil.readToEnd(dataSource);
+    dataSource.close();
+
+    assertEquals(990, length);
+    assertArrayEquals(Arrays.copyOfRange(content, 10, 1000), read);
+    verifyNoInteractions(upstream);
+  }
+
+  @Test
+  public void open_streamsOtherSchemesFromUpstream() throws IOException {
+    DataSource upstream = mock(DataSource.class);
+    MappedFileDataSource dataSource =
+        new MappedFileDataSource(mock(AssetManager.class), upstream);
+    DataSpec dataSpec = new DataSpec(Uri.parse("https://cdn.example.com/intro.mp4"));
+
+    dataSource.open(dataSpec);
+    dataSource.close();
+
+    verify(upstream).open(dataSpec);
+    verify(upstream).close();
+  }
+}
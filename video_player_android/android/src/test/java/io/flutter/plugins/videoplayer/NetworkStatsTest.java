@@ -0,0 +1,168 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.net.Uri;
+import androidx.media3.common.C;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowSystemClock;
+
+@RunWith(RobolectricTestRunner.class)
+public class NetworkStatsTest {
+  @Test
+  public void bucket_includesUpperBoundAndOverflowsIntoLastBucket() {
+    long[] bounds = {50, 100};
+
+    assertEquals(0, NetworkStats.bucket(bounds, 0));
+    assertEquals(0, NetworkStats.bucket(bounds, 50));
+    assertEquals(1, NetworkStats.bucket(bounds, 51));
+    assertEquals(2, NetworkStats.bucket(bounds, 101));
+  }
+
+  @Test
+  public void requestType_detectsInitSegments() {
+    DataSpec cmcd =
+        new DataSpec.Builder()
+            .setUri(Uri.parse("https://cdn.example.com/v/seg.m4s"))
+            .setHttpRequestHeaders(Collections.singletonMap("CMCD-Object", "br=3000,ot=i"))
+            .build();
+    DataSpec named = new DataSpec(Uri.parse("https://cdn.example.com/v/init-720p.mp4"));
+    DataSpec media = new DataSpec(Uri.parse("https://cdn.example.com/v/seg-12.m4s"));
+
+    assertEquals(NetworkStats.TYPE_INIT, NetworkStats.requestType(cmcd, NetworkStats.TYPE_MEDIA));
+    assertEquals(NetworkStats.TYPE_INIT, NetworkStats.requestType(named, NetworkStats.TYPE_MEDIA));
+    assertEquals(NetworkStats.TYPE_MEDIA, NetworkStats.requestType(media, NetworkStats.TYPE_MEDIA));
+    assertEquals(
+        NetworkStats.TYPE_MANIFEST, NetworkStats.requestType(named, NetworkStats.TYPE_MANIFEST));
+  }
+
+  @Test
+  public void cacheHit_readsCdnCacheHeaders() {
+    assertTrue(NetworkStats.cacheHit(headers("X-Cache", "Hit from cloudfront")));
+    assertTrue(NetworkStats.cacheHit(headers("cf-cache-status", "HIT")));
+    assertFalse(NetworkStats.cacheHit(headers("X-Cache-Status", "MISS")));
+    assertFalse(NetworkStats.cacheHit(headers("CF-Cache-Status", "EXPIRED")));
+    assertNull(NetworkStats.cacheHit(headers("Age", "12")));
+  }
+
+  @Test
+  public void dataSource_recordsRequestsPerHostAndType() throws IOException {
+    NetworkStats stats = new NetworkStats();
+    DataSource upstream = mock(DataSource.class);
+    when(upstream.open(any())).thenReturn(100L);
+    when(upstream.read(any(), anyInt(), anyInt())).thenReturn(100, C.RESULT_END_OF_INPUT);
+    when(upstream.getResponseHeaders()).thenReturn(headers("X-Cache", "HIT"));
+    DataSource dataSource =
+        new NetworkStats.DataSourceFactory(stats, () -> upstream, NetworkStats.TYPE_MEDIA)
+            .createDataSource();
+
+    dataSource.open(new DataSpec(Uri.parse("https://cdn.example.com/v/seg-1.m4s")));
+    byte[] buffer = new byte[100];
+    while (dataSource.read(buffer, 0, buffer.length) != C.RESULT_END_OF_INPUT) {}
+    dataSource.close();
+
+    List<NetworkStats.Entry> entries = stats.snapshot();
+    assertEquals(1, entries.size());
+    NetworkStats.Entry entry = entries.get(0);
+    assertEquals("cdn.example.com", entry.host);
+    assertEquals(NetworkStats.TYPE_MEDIA, entry.type);
+    assertEquals(1, entry.requests);
+    assertEquals(100, entry.bytes);
+    assertEquals(1, entry.cacheHits);
+    assertEquals(1, entry.ttfbHistogram[0]);
+    // Responses below the sample size do not count towards throughput.
+    assertArrayEquals(new long[entry.throughputHistogram.length], entry.throughputHistogram);
+  }
+
+  @Test
+  public void dataSource_measuresThroughputOverReadsOnly() throws IOException {
+    NetworkStats stats = new NetworkStats();
+    DataSource upstream = mock(DataSource.class);
+    when(upstream.open(any())).thenReturn(64 * 1024L);
+    int[] reads = {0};
+    when(upstream.read(any(), anyInt(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              if (reads[0]++ == 2) {
+                return C.RESULT_END_OF_INPUT;
+              }
+              ShadowSystemClock.advanceBy(Duration.ofMillis(100));
+              return 32 * 1024;
+            });
+    DataSource dataSource =
+        new NetworkStats.DataSourceFactory(stats, () -> upstream, NetworkStats.TYPE_MEDIA)
+            .createDataSource();
+
+    dataSource.open(new DataSpec(Uri.parse("https://cdn.example.com/v/seg-1.m4s")));
+    byte[] buffer = new byte[32 * 1024];
+    while (dataSource.read(buffer, 0, buffer.length) != C.RESULT_END_OF_INPUT) {
+      // The player does not read while its buffer is full.
+      ShadowSystemClock.advanceBy(Duration.ofSeconds(5));
+    }
+    dataSource.close();
+
+    // 64 KiB in 200 ms of reads is about 2600 kbit/s.
+    long[] expected = new long[NetworkStats.THROUGHPUT_BUCKETS_KBPS.length + 1];
+    expected[NetworkStats.bucket(NetworkStats.THROUGHPUT_BUCKETS_KBPS, 2621)] = 1;
+    assertArrayEquals(expected, stats.snapshot().get(0).throughputHistogram);
+  }
+
+  @Test
+  public void dataSource_recordsFailedOpens() throws IOException {
+    NetworkStats stats = new NetworkStats();
+    DataSource upstream = mock(DataSource.class);
+    when(upstream.open(any())).thenThrow(new IOException("refused"));
+    DataSource dataSource =
+        new NetworkStats.DataSourceFactory(stats, () -> upstream, NetworkStats.TYPE_MANIFEST)
+            .createDataSource();
+
+    assertThrows(
+        IOException.class,
+        () -> dataSource.open(new DataSpec(Uri.parse("https://origin.example.com/a.m3u8"))));
+
+    NetworkStats.Entry entry = stats.snapshot().get(0);
+    assertEquals(NetworkStats.TYPE_MANIFEST, entry.type);
+    assertEquals(1, entry.requests);
+    assertEquals(1, entry.failures);
+  }
+
+  @Test
+  public void dataSource_ignoresLocalFiles() throws IOException {
+    NetworkStats stats = new NetworkStats();
+    DataSource upstream = mock(DataSource.class);
+    DataSource dataSource =
+        new NetworkStats.DataSourceFactory(stats, () -> upstream, NetworkStats.TYPE_MEDIA)
+            .createDataSource();
+
+    dataSource.open(new DataSpec(Uri.parse("file:///sdcard/movie.mp4")));
+    dataSource.close();
+
+    assertTrue(stats.snapshot().isEmpty());
+  }
+
+  private static Map<String, List<String>> headers(String name, String value) {
+    return Collections.singletonMap(name, Collections.singletonList(value));
+  }
+}
@@ -0,0 +1,248 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.media3.common.C;
+import androidx.media3.common.PlaybackException;
+import androidx.media3.datasource.BaseDataSource;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.HttpDataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowSystemClock;
+
+@RunWith(RobolectricTestRunner.class)
+public class OriginFailoverTest {
+  private static final String PRIMARY = "https://cdn-a.example.com/vod";
+  private static final String SECONDARY = "https://cdn-b.example.com/assets/vod";
+  private static final Uri SEGMENT = Uri.parse(PRIMARY + "/movie/seg-1.m4s?token=1");
+  private static final byte[] CONTENT = {0, 1, 2, 3, 4, 5, 6, 7};
+  private static final long MIN_THROUGHPUT_BPS = 4_000_000;
+
+  private final List<String> events = new ArrayList<>();
+  private final List<Uri> requested = new ArrayList<>();
+
+  private final OriginFailover failover =
+      new OriginFailover(
+          Arrays.asList(PRIMARY, SECONDARY),
+          0,
+          (from, to, reason, uri) -> events.add(from + " -> " + to + " (" + reason + ")"));
+
+  @Test
+  public void rewrite_keepsPathAndQuery() {
+    assertEquals(
+        Uri.parse(SECONDARY + "/movie/seg-1.m4s?token=1"), failover.rewrite(SEGMENT, 1));
+    assertNull(failover.rewrite(Uri.parse("https://other.example.com/a.m4s"), 1));
+  }
+
+  @Test
+  public void rewrite_matchesOnlyWholePathSegments() {
+    assertNull(failover.rewrite(Uri.parse(PRIMARY + "2/movie/seg-1.m4s"), 1));
+    assertEquals(
+        Uri.parse(SECONDARY + "?token=1"), failover.rewrite(Uri.parse(PRIMARY + "?token=1"), 1));
+  }
+
+  @Test
+  public void read_switchesToNextOriginOnReadErrorAndResumes() throws IOException {
+    DataSource.Factory factory =
+        new OriginFailover.DataSourceFactory(
+            failover, () -> new ContentDataSource(/* primaryFailsReads= */ true, 0));
+
+    assertArrayEquals(CONTENT, readAll(factory, SEGMENT));
+    assertEquals(Collections.singletonList(PRIMARY + " -> " + SECONDARY + " (error)"), events);
+  }
+
+  @Test
+  public void read_switchesToNextOriginWhenReadsAreSlow() throws IOException {
+    OriginFailover slowFailover = failover(MIN_THROUGHPUT_BPS);
+    DataSource.Factory factory =
+        new OriginFailover.DataSourceFactory(
+            slowFailover, () -> new ContentDataSource(false, /* primaryReadMs= */ 600));
+
+    assertArrayEquals(CONTENT, readAll(factory, SEGMENT));
+    assertEquals(1, slowFailover.currentOrigin());
+    assertEquals(Collections.singletonList(PRIMARY + " -> " + SECONDARY + " (slow)"), events);
+  }
+
+  @Test
+  public void read_ignoresTimeBetweenReads() throws IOException {
+    OriginFailover slowFailover = failover(MIN_THROUGHPUT_BPS);
+    DataSource dataSource =
+        new OriginFailover.DataSourceFactory(slowFailover, () -> new ContentDataSource(false, 0))
+            .createDataSource();
+    dataSource.open(new DataSpec(SEGMENT));
+
+    byte[] buffer = new byte[CONTENT.length];
+    int position = 0;
+    int read;
+    while ((read = dataSource.read(buffer, position, buffer.length - position))
+        != C.RESULT_END_OF_INPUT) {
+      position += read;
+      // The player does not read while its buffer is full.
+      ShadowSystemClock.advanceBy(Duration.ofSeconds(2));
+    }
+    dataSource.close();
+
+    assertArrayEquals(CONTENT, buffer);
+    assertEquals(0, slowFailover.currentOrigin());
+  }
+
+  @Test
+  public void open_switchesToNextOriginOnServerErrorAndStaysThere() throws IOException {
+    DataSource.Factory factory =
+        new OriginFailover.DataSourceFactory(failover, () -> new FakeDataSource(503));
+
+    assertEquals(4, readAll(factory, SEGMENT).length);
+    assertEquals(1, failover.currentOrigin());
+    assertEquals(Collections.singletonList(PRIMARY + " -> " + SECONDARY + " (error)"), events);
+
+    readAll(factory, Uri.parse(PRIMARY + "/movie/seg-2.m4s"));
+    assertEquals(Uri.parse(SECONDARY + "/movie/seg-2.m4s"), requested.get(requested.size() - 1));
+    assertEquals(1, events.size());
+  }
+
+  @Test
+  public void open_doesNotFailOverOnClientError() throws IOException {
+    DataSource.Factory factory =
+        new OriginFailover.DataSourceFactory(failover, () -> new FakeDataSource(404));
+
+    try {
+      readAll(factory, SEGMENT);
+      fail();
+    } catch (HttpDataSource.InvalidResponseCodeException e) {
+      assertEquals(404, e.responseCode);
+    }
+    assertEquals(0, failover.currentOrigin());
+  }
+
+  private OriginFailover failover(long minThroughputBitsPerSecond) {
+    return new OriginFailover(
+        Arrays.asList(PRIMARY, SECONDARY),
+        minThroughputBitsPerSecond,
+        (from, to, reason, uri) -> events.add(from + " -> " + to + " (" + reason + ")"));
+  }
+
+  private static byte[] readAll(DataSource.Factory factory, Uri uri) throws IOException {
+    DataSource dataSource = factory.createDataSource();
+    try {
+      dataSource.open(new DataSpec(uri));
+      return DataSourceUtil.readToEnd(dataSource);
+    } finally {
+      dataSource.close();
+    }
+  }
+
+  /** Fails every request to the primary origin with {@code primaryStatus}. */
+  private final class FakeDataSource extends BaseDataSource {
+    private final int primaryStatus;
+    private boolean readDone;
+    private Uri uri;
+
+    FakeDataSource(int primaryStatus) {
+      super(/* isNetwork= */ true);
+      this.primaryStatus = primaryStatus;
+    }
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) throws IOException {
+      uri = dataSpec.uri;
+      requested.add(uri);
+      if (uri.toString().startsWith(PRIMARY)) {
+        throw new HttpDataSource.InvalidResponseCodeException(
+            primaryStatus, null, null, Collections.emptyMap(), dataSpec, new byte[0]);
+      }
+      readDone = false;
+      return 4;
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) {
+      if (readDone) {
+        return C.RESULT_END_OF_INPUT;
+      }
+      readDone = true;
+      Arrays.fill(buffer, offset, offset + 4, (byte) 1);
+      return 4;
+    }
+
+    @Override
+    public Uri getUri() {
+      return uri;
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  /**
+   * Serves {@link #CONTENT} two bytes per read from every origin. On the primary origin, reads
+   * after the first fail if {@code primaryFailsReads}, and each read takes {@code primaryReadMs}.
+   */
+  private final class ContentDataSource extends BaseDataSource {
+    private final boolean primaryFailsReads;
+    private final long primaryReadMs;
+    private DataSpec dataSpec;
+    private int position;
+
+    ContentDataSource(boolean primaryFailsReads, long primaryReadMs) {
+      super(/* isNetwork= */ true);
+      this.primaryFailsReads = primaryFailsReads;
+      this.primaryReadMs = primaryReadMs;
+    }
+
+    @Override
+    public long open(@NonNull DataSpec dataSpec) {
+      this.dataSpec = dataSpec;
+      requested.add(dataSpec.uri);
+      position = (int) dataSpec.position;
+      return CONTENT.length - position;
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int offset, int length) throws IOException {
+      boolean primary = dataSpec.uri.toString().startsWith(PRIMARY);
+      if (primary && primaryFailsReads && position > 0) {
+        throw new HttpDataSource.HttpDataSourceException(
+            dataSpec,
+            PlaybackException.ERROR_CODE_IO_NETWORK_CONNECTION_FAILED,
+            HttpDataSource.HttpDataSourceException.TYPE_READ);
+      }
+      if (primary) {
+        ShadowSystemClock.advanceBy(Duration.ofMillis(primaryReadMs));
+      }
+      if (position == CONTENT.length) {
+        return C.RESULT_END_OF_INPUT;
+      }
+      int read = Math.min(2, Math.min(length, CONTENT.length - position));
+      System.arraycopy(CONTENT, position, buffer, offset, read);
+      position += read;
+      return read;
+    }
+
+    @Override
+    public Uri getUri() {
+      return dataSpec.uri;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
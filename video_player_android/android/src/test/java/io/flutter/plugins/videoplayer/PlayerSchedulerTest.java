@@ -0,0 +1,115 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class PlayerSchedulerTest {
+  private final List<String> changes = new ArrayList<>();
+
+  private PlayerScheduler.Schedulable player(long textureId) {
+    return state -> changes.add(textureId + ":" + PlayerScheduler.stateName(state));
+  }
+
+  @Test
+  public void withoutLimits_keepsEveryPlayerActive() {
+    PlayerScheduler scheduler = new PlayerScheduler();
+    scheduler.register(1, player(1));
+    scheduler.register(2, player(2));
+
+    scheduler.setVisibility(2, 0, 0);
+    scheduler.reschedule();
+
+    assertEquals(PlayerScheduler.STATE_ACTIVE, scheduler.stateOf(1));
+    assertEquals(PlayerScheduler.STATE_ACTIVE, scheduler.stateOf(2));
+    assertEquals(0, changes.size());
+  }
+
+  @Test
+  public void limits_keepOldestPlayersActiveUntilVisibilityIsReported() {
+    PlayerScheduler scheduler = new PlayerScheduler();
+    scheduler.setLimits(2, 1);
+    for (long id = 1; id <= 5; id++) {
+      scheduler.register(id, player(id));
+    }
+
+    assertEquals(PlayerScheduler.STATE_ACTIVE, scheduler.stateOf(1));
+    assertEquals(PlayerScheduler.STATE_ACTIVE, scheduler.stateOf(2));
+    assertEquals(PlayerScheduler.STATE_PREPARED, scheduler.stateOf(3));
+    assertEquals(PlayerScheduler.STATE_PARKED, scheduler.stateOf(4));
+    assertEquals(PlayerScheduler.STATE_PARKED, scheduler.stateOf(5));
+  }
+
+  @Test
+  public void setVisibility_ranksByPriorityThenVisibleFraction() {
+    PlayerScheduler scheduler = new PlayerScheduler();
+    scheduler.setLimits(1, 1);
+    scheduler.register(1, player(1));
+    scheduler.register(2, player(2));
+    scheduler.register(3, player(3));
+    changes.clear();
+
+    scheduler.setVisibility(1, 0.2, 0);
+    scheduler.setVisibility(2, 0.9, 0);
+    scheduler.setVisibility(3, 0.1, 1);
+    scheduler.reschedule();
+
+    assertEquals(PlayerScheduler.STATE_ACTIVE, scheduler.stateOf(3));
+    assertEquals(PlayerScheduler.STATE_PREPARED, scheduler.stateOf(2));
+    assertEquals(PlayerScheduler.STATE_PARKED, scheduler.stateOf(1));
+  }
+
+  @Test
+  public void reschedule_demotesBeforePromoting() {
+    PlayerScheduler scheduler = new PlayerScheduler();
+    scheduler.setLimits(1, 0);
+    scheduler.register(1, player(1));
+    scheduler.register(2, player(2));
+    changes.clear();
+
+    scheduler.setVisibility(1, 0.5, 0);
+    scheduler.setVisibility(2, 1, 0);
+    scheduler.reschedule();
+
+    assertEquals(2, changes.size());
+    assertEquals("1:parked", changes.get(0));
+    assertEquals("2:active", changes.get(1));
+  }
+
+  @Test
+  public void invisiblePlayers_areNeverActive() {
+    PlayerScheduler scheduler = new PlayerScheduler();
+    scheduler.setLimits(2, 1);
+    scheduler.register(1, player(1));
+    scheduler.register(2, player(2));
+
+    scheduler.setVisibility(2, 0, 0);
+    scheduler.reschedule();
+
+    assertEquals(PlayerScheduler.STATE_ACTIVE, scheduler.stateOf(1));
+    assertEquals(PlayerScheduler.STATE_PREPARED, scheduler.stateOf(2));
+  }
+
+  @Test
+  public void unregister_promotesNextPlayer() {
+    PlayerScheduler scheduler = new PlayerScheduler();
+    scheduler.setLimits(1, 0);
+    scheduler.register(1, player(1));
+    scheduler.register(2, player(2));
+
+    scheduler.unregister(1);
+
+    assertEquals(PlayerScheduler.STATE_ACTIVE, scheduler.stateOf(2));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setLimits_rejectsZeroActivePlayers() {
+    new PlayerScheduler().setLimits(0, 1);
+  }
+}
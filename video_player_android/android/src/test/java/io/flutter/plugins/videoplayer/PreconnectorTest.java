@@ -0,0 +1,55 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class PreconnectorTest {
+  @Test
+  public void origin_keepsSchemeHostAndPort() {
+    assertEquals("https://cdn.example.com", Preconnector.origin("cdn.example.com"));
+    assertEquals("https://cdn.example.com:8443", Preconnector.origin(" CDN.example.com:8443 "));
+    assertEquals(
+        "http://cdn.example.com", Preconnector.origin("http://cdn.example.com/live/a.m3u8?t=1"));
+    assertNull(Preconnector.origin("rtsp://cdn.example.com/stream"));
+    assertNull(Preconnector.origin(""));
+    assertNull(Preconnector.origin(null));
+  }
+
+  @Test
+  public void preconnect_connectsOncePerOrigin() throws InterruptedException {
+    List<URL> connected = new CopyOnWriteArrayList<>();
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    Preconnector preconnector = new Preconnector(executor, connected::add);
+
+    preconnector.preconnect(
+        Arrays.asList(
+            "cdn.example.com",
+            "https://cdn.example.com/a.mpd",
+            "media.example.org",
+            "ftp://files.example.com"),
+        /* keepAliveMs= */ 1000);
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    assertEquals(2, connected.size());
+    assertEquals("https://cdn.example.com/", connected.get(0).toString());
+    assertEquals("https://media.example.org/", connected.get(1).toString());
+  }
+}
@@ -0,0 +1,65 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowSystemClock;
+
+@RunWith(RobolectricTestRunner.class)
+public class ReleaseQueueTest {
+  private final List<Integer> released = new ArrayList<>();
+
+  @Test
+  public void enqueue_defersReleaseUntilLooperRuns() {
+    ReleaseQueue queue = new ReleaseQueue(1, 1_000);
+
+    queue.enqueue(() -> released.add(1));
+    queue.enqueue(() -> released.add(2));
+
+    assertEquals(0, released.size());
+    assertEquals(2, queue.pendingCount());
+  }
+
+  @Test
+  public void releasesOverduePlayersInOrder() {
+    ReleaseQueue queue = new ReleaseQueue(1, 1_000);
+    queue.enqueue(() -> released.add(1));
+    queue.enqueue(() -> released.add(2));
+    queue.enqueue(() -> released.add(3));
+
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(1_000));
+
+    assertEquals(3, released.size());
+    assertEquals(1, (int) released.get(0));
+    assertEquals(3, (int) released.get(2));
+    assertEquals(0, queue.pendingCount());
+  }
+
+  @Test
+  public void flush_releasesEverythingAndRecordsLatency() {
+    ReleaseQueue queue = new ReleaseQueue(1, 1_000);
+    queue.enqueue(() -> released.add(1));
+    ShadowSystemClock.advanceBy(Duration.ofMillis(200));
+    queue.enqueue(() -> released.add(2));
+
+    queue.flush();
+
+    assertEquals(2, released.size());
+    assertEquals(2, queue.releasedCount());
+    assertEquals(200, queue.maxLatencyMs());
+    assertEquals(100, queue.meanLatencyMs());
+    assertTrue(queue.maxReleaseMicros() >= queue.meanReleaseMicros());
+  }
+}
@@ -0,0 +1,74 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import android.net.Uri;
+import androidx.media3.common.C;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import java.io.IOException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class RequestHedgingTest {
+  @Test
+  public void thresholdMs_isUnsetUntilEnoughSamples() {
+    RequestHedging hedging = new RequestHedging(0.9, 0, null);
+    for (int i = 0; i < RequestHedging.MIN_SAMPLES - 1; i++) {
+      hedging.addSample(100);
+    }
+
+    assertEquals(C.TIME_UNSET, hedging.thresholdMs());
+  }
+
+  @Test
+  public void thresholdMs_followsRollingPercentile() {
+    RequestHedging hedging = new RequestHedging(0.9, 0, null);
+    for (int i = 1; i <= 10; i++) {
+      hedging.addSample(i * 10);
+    }
+    assertEquals(90, hedging.thresholdMs());
+
+    // Old samples leave the window.
+    for (int i = 0; i < RequestHedging.WINDOW_SIZE; i++) {
+      hedging.addSample(500);
+    }
+    assertEquals(500, hedging.thresholdMs());
+  }
+
+  @Test
+  public void thresholdMs_respectsMinimumDelay() {
+    RequestHedging hedging = new RequestHedging(0.9, 200, null);
+    for (int i = 0; i < RequestHedging.MIN_SAMPLES; i++) {
+      hedging.addSample(20);
+    }
+
+    assertEquals(200, hedging.thresholdMs());
+  }
+
+  @Test
+  public void open_neitherHedgesNorSamplesLocalFiles() throws IOException {
+    RequestHedging hedging = new RequestHedging(0.9, 0, null);
+    for (int i = 0; i < RequestHedging.MIN_SAMPLES - 1; i++) {
+      hedging.addSample(100);
+    }
+    DataSource upstream = mock(DataSource.class);
+    DataSpec dataSpec = new DataSpec(Uri.parse("file:///sdcard/video.mp4"));
+
+    new RequestHedging.DataSourceFactory(hedging, () -> upstream)
+        .createDataSource()
+        .open(dataSpec);
+
+    verify(upstream).open(dataSpec);
+    assertEquals(C.TIME_UNSET, hedging.thresholdMs());
+    assertEquals(0, hedging.hedgesFired());
+  }
+}
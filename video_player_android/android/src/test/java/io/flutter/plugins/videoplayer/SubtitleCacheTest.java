@@ -0,0 +1,66 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import android.net.Uri;
+import androidx.media3.datasource.ByteArrayDataSource;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class SubtitleCacheTest {
+  private static final byte[] VTT =
+      "WEBVTT\n\n00:01.000 --> 00:02.000\nHi\n".getBytes(StandardCharsets.UTF_8);
+  private static final Uri SUBTITLE_URI = Uri.parse("https://cdn.example.com/episode1.vtt");
+
+  private int upstreamOpens;
+  private final DataSource.Factory upstreamFactory =
+      () -> {
+        upstreamOpens++;
+        return new ByteArrayDataSource(VTT);
+      };
+
+  @Test
+  public void load_fetchesEachUrlOnce() throws IOException {
+    SubtitleCache cache = new SubtitleCache();
+
+    assertArrayEquals(VTT, cache.load(SUBTITLE_URI, upstreamFactory));
+    assertArrayEquals(VTT, cache.load(SUBTITLE_URI, upstreamFactory));
+    assertEquals(1, upstreamOpens);
+  }
+
+  @Test
+  public void load_evictsWhenOverBudget() throws IOException {
+    SubtitleCache cache = new SubtitleCache(VTT.length);
+    cache.load(SUBTITLE_URI, upstreamFactory);
+    cache.load(Uri.parse("https://cdn.example.com/episode2.vtt"), upstreamFactory);
+
+    assertEquals(VTT.length, cache.sizeBytes());
+    cache.load(SUBTITLE_URI, upstreamFactory);
+    assertEquals(3, upstreamOpens);
+  }
+
+  @Test
+  public void dataSource_servesRequestedRangeFromCache() throws IOException {
+    SubtitleCache cache = new SubtitleCache();
+    DataSource dataSource =
+        new SubtitleCache.DataSourceFactory(cache, upstreamFactory).createDataSource();
+
+    dataSource.open(new DataSpec.Builder().setUri(SUBTITLE_URI).setPosition(7).build());
+    byte[] data = DataSourceUtil.readToEnd(dataSource);
+    dataSource.close();
+
+    assertEquals(VTT.length - 7, data.length);
+  }
+}
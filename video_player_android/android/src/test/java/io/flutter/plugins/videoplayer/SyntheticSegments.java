@@ -0,0 +1,395 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Generates minimal H.264 media segments that the Media3 extractors parse: MPEG-TS segments for
+ * HLS, and a fragmented MP4 initialization segment and media segments for DASH.
+ *
+ * <p>Every frame is a keyframe made of an IDR slice header followed by filler bytes, so the frames
+ * cannot be decoded, but the segments carry real parameter sets, timestamps and sample tables.
+ * Frames are padded to a given size, so that segments have the size their bitrate calls for.
+ */
+final class SyntheticSegments {
+  static final String CODECS = "avc1.42c01e";
+  static final int WIDTH = 320;
+  static final int HEIGHT = 240;
+  static final long FRAME_DURATION_MS = 100;
+
+  private static final int TIMESCALE = 90_000;
+  private static final int FRAME_DURATION_TICKS = (int) (FRAME_DURATION_MS * TIMESCALE / 1000);
+  private static final int TS_PACKET_SIZE = 188;
+  private static final int TS_PAYLOAD_SIZE = TS_PACKET_SIZE - 4;
+  private static final int PAT_PID = 0;
+  private static final int PMT_PID = 0x1000;
+  private static final int VIDEO_PID = 0x100;
+  private static final int STREAM_TYPE_H264 = 0x1B;
+  private static final int PES_HEADER_SIZE = 14;
+  private static final byte FILLER = 0x5A;
+  private static final byte[] START_CODE = {0, 0, 0, 1};
+  private static final byte[] AUD = {0x09, (byte) 0xF0};
+  private static final byte[] SPS = sps();
+  private static final byte[] PPS = pps();
+
+  private SyntheticSegments() {}
+
+  /**
+   * Returns MPEG-TS segment {@code number} of a stream whose segments hold {@code frameCount}
+   * frames of about {@code frameSize} bytes. Continuity counters and timestamps carry on from the
+   * previous segment.
+   */
+  static byte[] tsSegment(int number, int frameCount, int frameSize) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writeTsPackets(out, PAT_PID, psi(pat()), number);
+    writeTsPackets(out, PMT_PID, psi(pmt()), number);
+    int counter = number * frameCount * tsPacketCount(pes(0, frameSize).length);
+    for (int i = 0; i < frameCount; i++) {
+      int frame = number * frameCount + i;
+      counter = writeTsPackets(out, VIDEO_PID, pes(frame, frameSize), counter);
+    }
+    return out.toByteArray();
+  }
+
+  /** Returns the initialization segment of the fragmented MP4 stream. */
+  static byte[] fmp4InitSegment() {
+    byte[] ftyp = box("ftyp", ascii("isom"), ints(0), ascii("isom"), ascii("iso6"), ascii("avc1"));
+    byte[] trex = fullBox("trex", 0, ints(/* trackId= */ 1, 1, 0, 0, 0));
+    return concat(ftyp, box("moov", mvhd(), trak(), box("mvex", trex)));
+  }
+
+  /**
+   * Returns fragmented MP4 segment {@code number} of a stream whose segments hold {@code
+   * frameCount} frames of about {@code frameSize} bytes.
+   */
+  static byte[] fmp4MediaSegment(int number, int frameCount, int frameSize) {
+    byte[][] samples = new byte[frameCount][];
+    ByteBuffer entries = ByteBuffer.allocate(frameCount * 12);
+    for (int i = 0; i < frameCount; i++) {
+      byte[] slice = idrSlice(i, frameSize - 4);
+      samples[i] = concat(ints(slice.length), slice);
+      // Sample duration, size and flags of a sync sample that depends on no other.
+      entries.putInt(FRAME_DURATION_TICKS).putInt(samples[i].length).putInt(0x02000000);
+    }
+    long decodeTime = (long) number * frameCount * FRAME_DURATION_TICKS;
+    byte[] moof = moof(number, frameCount, entries.array(), decodeTime, 0);
+    // The sample data starts after the moof box and the header of the mdat box.
+    moof = moof(number, frameCount, entries.array(), decodeTime, moof.length + 8);
+    return concat(moof, box("mdat", samples));
+  }
+
+  private static byte[] moof(
+      int number, int frameCount, byte[] entries, long decodeTime, int dataOffset) {
+    // Sample data offsets are relative to the start of the moof box.
+    byte[] tfhd = fullBox("tfhd", 0x020000, ints(/* trackId= */ 1));
+    byte[] tfdt = fullBox("tfdt", 1 << 24, ByteBuffer.allocate(8).putLong(decodeTime).array());
+    // The data offset, and sample durations, sizes and flags are present.
+    byte[] trun = fullBox("trun", 0x000701, ints(frameCount, dataOffset), entries);
+    return box("moof", fullBox("mfhd", 0, ints(number + 1)), box("traf", tfhd, tfdt, trun));
+  }
+
+  private static byte[] mvhd() {
+    return fullBox(
+        "mvhd",
+        0,
+        ints(0, 0, /* timescale= */ 1000, 0, /* rate= */ 0x00010000),
+        shorts(/* volume= */ 0x0100, 0),
+        new byte[8],
+        matrix(),
+        new byte[24],
+        ints(/* nextTrackId= */ 2));
+  }
+
+  private static byte[] trak() {
+    byte[] tkhd =
+        fullBox(
+            "tkhd",
+            0x000007,
+            ints(0, 0, /* trackId= */ 1, 0, 0),
+            new byte[8],
+            shorts(0, 0, 0, 0),
+            matrix(),
+            ints(WIDTH << 16, HEIGHT << 16));
+    byte[] mdhd = fullBox("mdhd", 0, ints(0, 0, TIMESCALE, 0), shorts(/* und= */ 0x55C4, 0));
+    byte[] hdlr =
+        fullBox("hdlr", 0, ints(0), ascii("vide"), new byte[12], ascii("VideoHandler\0"));
+    byte[] dinf = box("dinf", fullBox("dref", 0, ints(1), fullBox("url ", 1)));
+    byte[] stbl =
+        box(
+            "stbl",
+            fullBox("stsd", 0, ints(1), avc1()),
+            fullBox("stts", 0, ints(0)),
+            fullBox("stsc", 0, ints(0)),
+            fullBox("stsz", 0, ints(0, 0)),
+            fullBox("stco", 0, ints(0)));
+    byte[] minf = box("minf", fullBox("vmhd", 1, new byte[8]), dinf, stbl);
+    return box("trak", tkhd, box("mdia", mdhd, hdlr, minf));
+  }
+
+  private static byte[] avc1() {
+    byte[] avcC =
+        box(
+            "avcC",
+            // Version, profile, compatibility, level, and 4-byte NAL unit lengths.
+            new byte[] {1, 0x42, (byte) 0xC0, 0x1E, (byte) 0xFF, (byte) 0xE1},
+            shorts(SPS.length),
+            SPS,
+            new byte[] {1},
+            shorts(PPS.length),
+            PPS);
+    return box(
+        "avc1",
+        new byte[6],
+        shorts(/* dataReferenceIndex= */ 1),
+        new byte[16],
+        shorts(WIDTH, HEIGHT),
+        ints(/* resolution= */ 0x00480000, 0x00480000, 0),
+        shorts(/* frameCount= */ 1),
+        new byte[32],
+        shorts(/* depth= */ 0x0018, 0xFFFF),
+        avcC);
+  }
+
+  private static byte[] matrix() {
+    return ints(0x00010000, 0, 0, 0, 0x00010000, 0, 0, 0, 0x40000000);
+  }
+
+  /** Returns the PES packet of {@code frame}, an access unit with a presentation timestamp. */
+  private static byte[] pes(int frame, int frameSize) {
+    byte[] slice = idrSlice(frame, frameSize);
+    byte[] accessUnit =
+        concat(START_CODE, AUD, START_CODE, SPS, START_CODE, PPS, START_CODE, slice);
+    long pts = (long) frame * FRAME_DURATION_TICKS;
+    int length = accessUnit.length + PES_HEADER_SIZE - 6;
+    byte[] header = {
+      0, 0, 1, (byte) 0xE0,
+      // The length may only be left unset for video streams.
+      (byte) (length > 0xFFFF ? 0 : length >> 8), (byte) (length > 0xFFFF ? 0 : length),
+      (byte) 0x80, (byte) 0x80, 5,
+      (byte) (0x21 | ((pts >> 29) & 0x0E)), (byte) (pts >> 22),
+      (byte) (((pts >> 14) & 0xFE) | 1), (byte) (pts >> 7), (byte) (((pts << 1) & 0xFE) | 1)
+    };
+    return concat(header, accessUnit);
+  }
+
+  private static byte[] pat() {
+    return section(
+        0x00,
+        new byte[] {
+          0, 1, (byte) 0xC1, 0, 0, 0, 1, (byte) (0xE0 | PMT_PID >> 8), (byte) PMT_PID
+        });
+  }
+
+  private static byte[] pmt() {
+    return section(
+        0x02,
+        new byte[] {
+          0, 1, (byte) 0xC1, 0, 0,
+          // The PCR PID, and no program descriptors.
+          (byte) (0xE0 | VIDEO_PID >> 8), (byte) VIDEO_PID, (byte) 0xF0, 0,
+          STREAM_TYPE_H264, (byte) (0xE0 | VIDEO_PID >> 8), (byte) VIDEO_PID, (byte) 0xF0, 0
+        });
+  }
+
+  /** Returns a long-form PSI section with {@code body}, followed by its CRC. */
+  private static byte[] section(int tableId, byte[] body) {
+    int length = body.length + 4;
+    byte[] section =
+        concat(new byte[] {(byte) tableId, (byte) (0xB0 | length >> 8), (byte) length}, body);
+    return concat(section, ints(crc32(section)));
+  }
+
+  /** Returns the payload of the first packet of a PSI section, with its pointer field. */
+  private static byte[] psi(byte[] section) {
+    return concat(new byte[] {0}, section);
+  }
+
+  private static int tsPacketCount(int payloadSize) {
+    return (payloadSize + TS_PAYLOAD_SIZE - 1) / TS_PAYLOAD_SIZE;
+  }
+
+  /**
+   * Writes {@code payload} as the packets of {@code pid}, starting with continuity counter {@code
+   * counter}, and returns the counter of the next packet. The last packet is filled with an
+   * adaptation field.
+   */
+  private static int writeTsPackets(
+      ByteArrayOutputStream out, int pid, byte[] payload, int counter) {
+    for (int position = 0; position < payload.length; position += TS_PAYLOAD_SIZE) {
+      int size = Math.min(TS_PAYLOAD_SIZE, payload.length - position);
+      int stuffing = TS_PAYLOAD_SIZE - size;
+      out.write(0x47);
+      out.write((position == 0 ? 0x40 : 0) | (pid >> 8 & 0x1F));
+      out.write(pid);
+      out.write((stuffing > 0 ? 0x30 : 0x10) | (counter++ & 0xF));
+      if (stuffing > 0) {
+        out.write(stuffing - 1);
+        if (stuffing > 1) {
+          // No adaptation field flags.
+          out.write(0);
+          for (int i = 2; i < stuffing; i++) {
+            out.write(0xFF);
+          }
+        }
+      }
+      out.write(payload, position, size);
+    }
+    return counter;
+  }
+
+  /** Returns the MPEG-2 CRC of {@code data}, as PSI sections carry it. */
+  private static int crc32(byte[] data) {
+    int crc = 0xFFFFFFFF;
+    for (byte value : data) {
+      crc ^= (value & 0xFF) << 24;
+      for (int bit = 0; bit < 8; bit++) {
+        crc = (crc & 0x80000000) != 0 ? (crc << 1) ^ 0x04C11DB7 : crc << 1;
+      }
+    }
+    return crc;
+  }
+
+  /** Returns a Baseline profile, level 3.0 sequence parameter set without VUI. */
+  private static byte[] sps() {
+    BitWriter bits = new BitWriter();
+    bits.write(0x67, 8);
+    bits.write(0x42, 8);
+    bits.write(0xC0, 8);
+    bits.write(0x1E, 8);
+    bits.writeUnsignedExpGolomb(0); // seq_parameter_set_id
+    bits.writeUnsignedExpGolomb(0); // log2_max_frame_num_minus4
+    bits.writeUnsignedExpGolomb(2); // pic_order_cnt_type
+    bits.writeUnsignedExpGolomb(1); // max_num_ref_frames
+    bits.write(0, 1); // gaps_in_frame_num_value_allowed_flag
+    bits.writeUnsignedExpGolomb(WIDTH / 16 - 1);
+    bits.writeUnsignedExpGolomb(HEIGHT / 16 - 1);
+    bits.write(1, 1); // frame_mbs_only_flag
+    bits.write(1, 1); // direct_8x8_inference_flag
+    bits.write(0, 1); // frame_cropping_flag
+    bits.write(0, 1); // vui_parameters_present_flag
+    return bits.toNalUnit();
+  }
+
+  private static byte[] pps() {
+    BitWriter bits = new BitWriter();
+    bits.write(0x68, 8);
+    bits.writeUnsignedExpGolomb(0); // pic_parameter_set_id
+    bits.writeUnsignedExpGolomb(0); // seq_parameter_set_id
+    bits.write(0, 1); // entropy_coding_mode_flag
+    bits.write(0, 1); // bottom_field_pic_order_in_frame_present_flag
+    bits.writeUnsignedExpGolomb(0); // num_slice_groups_minus1
+    bits.writeUnsignedExpGolomb(0); // num_ref_idx_l0_default_active_minus1
+    bits.writeUnsignedExpGolomb(0); // num_ref_idx_l1_default_active_minus1
+    bits.write(0, 1); // weighted_pred_flag
+    bits.write(0, 2); // weighted_bipred_idc
+    bits.writeUnsignedExpGolomb(0); // pic_init_qp_minus26, as se(v)
+    bits.writeUnsignedExpGolomb(0); // pic_init_qs_minus26, as se(v)
+    bits.writeUnsignedExpGolomb(0); // chroma_qp_index_offset, as se(v)
+    bits.write(1, 1); // deblocking_filter_control_present_flag
+    bits.write(0, 1); // constrained_intra_pred_flag
+    bits.write(0, 1); // redundant_pic_cnt_present_flag
+    return bits.toNalUnit();
+  }
+
+  /** Returns an IDR slice NAL unit of at least {@code size} bytes, padded with filler. */
+  private static byte[] idrSlice(int frame, int size) {
+    BitWriter bits = new BitWriter();
+    bits.write(0x65, 8);
+    bits.writeUnsignedExpGolomb(0); // first_mb_in_slice
+    bits.writeUnsignedExpGolomb(7); // slice_type I, for all slices of the picture
+    bits.writeUnsignedExpGolomb(0); // pic_parameter_set_id
+    bits.write(0, 4); // frame_num
+    bits.writeUnsignedExpGolomb(frame & 1); // idr_pic_id, which differs between neighbours
+    byte[] header = bits.toNalUnit();
+    byte[] slice = Arrays.copyOf(header, Math.max(header.length, size));
+    Arrays.fill(slice, header.length, slice.length, FILLER);
+    return slice;
+  }
+
+  private static byte[] box(String type, byte[]... payload) {
+    byte[] content = concat(payload);
+    return concat(ints(content.length + 8), ascii(type), content);
+  }
+
+  private static byte[] fullBox(String type, int versionAndFlags, byte[]... payload) {
+    return box(type, concat(ints(versionAndFlags), concat(payload)));
+  }
+
+  private static byte[] ints(int... values) {
+    ByteBuffer buffer = ByteBuffer.allocate(values.length * 4);
+    for (int value : values) {
+      buffer.putInt(value);
+    }
+    return buffer.array();
+  }
+
+  private static byte[] shorts(int... values) {
+    ByteBuffer buffer = ByteBuffer.allocate(values.length * 2);
+    for (int value : values) {
+      buffer.putShort((short) value);
+    }
+    return buffer.array();
+  }
+
+  private static byte[] ascii(String value) {
+    return value.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static byte[] concat(byte[]... parts) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (byte[] part : parts) {
+      out.write(part, 0, part.length);
+    }
+    return out.toByteArray();
+  }
+
+  /** Writes the bits of a NAL unit, most significant bit first. */
+  private static final class BitWriter {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private int current;
+    private int bitCount;
+
+    void write(int value, int count) {
+      for (int i = count - 1; i >= 0; i--) {
+        current = current << 1 | (value >> i & 1);
+        if (++bitCount == 8) {
+          out.write(current);
+          current = 0;
+          bitCount = 0;
+        }
+      }
+    }
+
+    void writeUnsignedExpGolomb(int value) {
+      int codeNum = value + 1;
+      int length = 32 - Integer.numberOfLeadingZeros(codeNum);
+      write(0, length - 1);
+      write(codeNum, length);
+    }
+
+    /** Adds the RBSP trailing bits, and returns the NAL unit with emulation prevention. */
+    byte[] toNalUnit() {
+      write(1, 1);
+      if (bitCount > 0) {
+        write(0, 8 - bitCount);
+      }
+      ByteArrayOutputStream nalUnit = new ByteArrayOutputStream();
+      int zeros = 0;
+      for (byte value : out.toByteArray()) {
+        if (zeros == 2 && (value & 0xFF) <= 3) {
+          nalUnit.write(3);
+          zeros = 0;
+        }
+        nalUnit.write(value);
+        zeros = value == 0 ? zeros + 1 : 0;
+      }
+      return nalUnit.toByteArray();
+    }
+  }
+}
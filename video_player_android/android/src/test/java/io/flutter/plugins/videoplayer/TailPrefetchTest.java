@@ -0,0 +1,127 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.net.Uri;
+import androidx.media3.common.C;
+import androidx.media3.datasource.ByteArrayDataSource;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSourceUtil;
+import androidx.media3.datasource.DataSpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class TailPrefetchTest {
+  private static final Uri URI = Uri.parse("https://cdn.example.com/uploads/clip");
+
+  @Test
+  public void findTrailingMoov_returnsEndOfMdatWhenMoovFollows() {
+    byte[] file = file(box("ftyp", 24), box("mdat", 1000), box("moov", 200));
+
+    assertEquals(1024, TailPrefetch.findTrailingMoov(file, 64, file.length));
+  }
+
+  @Test
+  public void findTrailingMoov_ignoresFastStartFiles() {
+    byte[] file = file(box("ftyp", 24), box("moov", 200), box("mdat", 1000));
+
+    assertEquals(C.POSITION_UNSET, TailPrefetch.findTrailingMoov(file, 64, file.length));
+  }
+
+  @Test
+  public void open_servesPrefetchedTailWithoutAnotherRequest() throws IOException {
+    byte[] file = file(box("ftyp", 24), box("free", 16), box("mdat", 5000), box("moov", 300));
+    List<Long> requests = Collections.synchronizedList(new ArrayList<>());
+    TailPrefetch prefetch = new TailPrefetch();
+    DataSource.Factory factory =
+        new TailPrefetch.DataSourceFactory(
+            prefetch,
+            () ->
+                new ByteArrayDataSource(file) {
+                  @Override
+                  public long open(DataSpec dataSpec) throws IOException {
+                    requests.add(dataSpec.position);
+                    return super.open(dataSpec);
+                  }
+                });
+
+    DataSource head = factory.createDataSource();
+    head.open(new DataSpec(URI));
+    byte[] start = new byte[16];
+    head.read(start, 0, 16);
+    head.close();
+    assertTrue(prefetch.isMoovAtEnd());
+    assertArrayEquals(Arrays.copyOf(file, 16), start);
+
+    DataSource tail = factory.createDataSource();
+    tail.open(new DataSpec.Builder().setUri(URI).setPosition(5040).build());
+    byte[] moov = DataSourceUtil.readToEnd(tail);
+    tail.close();
+
+    assertArrayEquals(Arrays.copyOfRange(file, 5040, file.length), moov);
+    assertEquals(Arrays.asList(0L, 5040L), requests);
+    assertFalse(prefetch.hasTail());
+  }
+
+  @Test
+  public void close_dropsTailOnceHeadReadPastIt() throws IOException {
+    byte[] file = file(box("ftyp", 24), box("free", 16), box("mdat", 5000), box("moov", 300));
+    TailPrefetch prefetch = new TailPrefetch();
+    DataSource head =
+        new TailPrefetch.DataSourceFactory(prefetch, () -> new ByteArrayDataSource(file))
+            .createDataSource();
+
+    head.open(new DataSpec(URI));
+    assertTrue(prefetch.hasTail());
+    DataSourceUtil.readToEnd(head);
+    head.close();
+
+    assertTrue(prefetch.isMoovAtEnd());
+    assertFalse(prefetch.hasTail());
+  }
+
+  @Test
+  public void open_doesNotPrefetchLocalFiles() throws IOException {
+    byte[] file = file(box("ftyp", 24), box("mdat", 1000), box("moov", 200));
+    TailPrefetch prefetch = new TailPrefetch();
+    DataSource dataSource =
+        new TailPrefetch.DataSourceFactory(prefetch, () -> new ByteArrayDataSource(file))
+            .createDataSource();
+
+    dataSource.open(new DataSpec(Uri.parse("file:///sdcard/clip.mp4")));
+    dataSource.close();
+
+    assertFalse(prefetch.isMoovAtEnd());
+  }
+
+  private static byte[] box(String type, int size) {
+    ByteBuffer box = ByteBuffer.allocate(size);
+    box.putInt(size);
+    box.put(type.getBytes(StandardCharsets.US_ASCII));
+    return box.array();
+  }
+
+  private static byte[] file(byte[]... boxes) {
+    ByteBuffer file = ByteBuffer.allocate(Arrays.stream(boxes).mapToInt(box -> box.length).sum());
+    for (byte[] box : boxes) {
+      file.put(box);
+    }
+    return file.array();
+  }
+}
@@ -0,0 +1,429 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An in-process HTTP server for loading tests, with shaped bandwidth, latency, injected errors and
+ * a limited number of connections.
+ *
+ * <p>It serves the {@code Butterfly-209.mp4} asset of the example app at {@link #MP4_PATH}, with
+ * byte-range support, and a generated ladder as HLS at {@link #HLS_PATH} and as DASH at {@link
+ * #DASH_PATH}. The segments of the ladder are {@link SyntheticSegments}, MPEG-TS for HLS and
+ * fragmented MP4 for DASH, that the Media3 extractors parse but that cannot be decoded. They have
+ * about the size their bitrate and duration call for.
+ *
+ * <p>Bandwidth applies to each response on its own. Requests beyond the connection limit wait for
+ * a free connection, as they would on a server with that many workers. Errors are injected either
+ * for the next requests with {@link #failNext}, or at random with a seeded rate.
+ */
+final class ThrottledHttpServer implements Closeable {
+  static final String MP4_PATH = "/Butterfly-209.mp4";
+  static final String HLS_PATH = "/hls/master.m3u8";
+  static final String DASH_PATH = "/dash/manifest.mpd";
+
+  private static final int CHUNK_SIZE = 8 * 1024;
+  private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+  private static final Pattern SEGMENT = Pattern.compile("/(hls|dash)/(\\d+)/(\\w+)\\.(\\w+)");
+
+  /** Configures and starts a {@link ThrottledHttpServer}. */
+  static final class Builder {
+    private long bandwidthBps;
+    private long latencyMs;
+    private long jitterMs;
+    private double errorRate;
+    private int errorStatusCode = 503;
+    private int maxConnections = 8;
+    private long seed;
+    private long[] ladderBitratesBps = {400_000, 1_000_000, 2_500_000};
+    private long segmentDurationMs = 2_000;
+    private int segmentCount = 10;
+    private File mp4 = new File("../example/assets/Butterfly-209.mp4");
+
+    /** Bandwidth of each response, or 0 for no limit. */
+    Builder setBandwidthBps(long bandwidthBps) {
+      this.bandwidthBps = bandwidthBps;
+      return this;
+    }
+
+    /** Delay before the response of every request starts. */
+    Builder setLatencyMs(long latencyMs) {
+      this.latencyMs = latencyMs;
+      return this;
+    }
+
+    /** Largest random deviation from the latency, in either direction. */
+    Builder setJitterMs(long jitterMs) {
+      this.jitterMs = jitterMs;
+      return this;
+    }
+
+    /** Fraction of requests, in [0, 1], that fail with {@code statusCode}. */
+    Builder setErrorRate(double errorRate, int statusCode) {
+      this.errorRate = errorRate;
+      this.errorStatusCode = statusCode;
+      return this;
+    }
+
+    /** Number of requests served at the same time. Further requests wait. */
+    Builder setMaxConnections(int maxConnections) {
+      this.maxConnections = maxConnections;
+      return this;
+    }
+
+    /** Seed of the jitter and of the random errors, so runs are reproducible. */
+    Builder setSeed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    Builder setLadder(long segmentDurationMs, int segmentCount, long... bitratesBps) {
+      this.segmentDurationMs = segmentDurationMs;
+      this.segmentCount = segmentCount;
+      this.ladderBitratesBps = bitratesBps.clone();
+      return this;
+    }
+
+    Builder setMp4(@NonNull File mp4) {
+      this.mp4 = mp4;
+      return this;
+    }
+
+    @NonNull
+    ThrottledHttpServer start() throws IOException {
+      return new ThrottledHttpServer(this);
+    }
+  }
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final long latencyMs;
+  private final long jitterMs;
+  private final double errorRate;
+  private final int errorStatusCode;
+  private final Random random;
+  private final long[] ladderBitratesBps;
+  private final long segmentDurationMs;
+  private final int segmentCount;
+  private final File mp4;
+  private final List<String> requestedPaths = Collections.synchronizedList(new ArrayList<>());
+
+  private volatile long bandwidthBps;
+  private int pendingFailures;
+  private int pendingFailureStatusCode;
+  @Nullable private byte[] mp4Bytes;
+
+  private ThrottledHttpServer(Builder builder) throws IOException {
+    bandwidthBps = builder.bandwidthBps;
+    latencyMs = builder.latencyMs;
+    jitterMs = builder.jitterMs;
+    errorRate = builder.errorRate;
+    errorStatusCode = builder.errorStatusCode;
+    random = new Random(builder.seed);
+    ladderBitratesBps = builder.ladderBitratesBps;
+    segmentDurationMs = builder.segmentDurationMs;
+    segmentCount = builder.segmentCount;
+    mp4 = builder.mp4;
+
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    executor = Executors.newFixedThreadPool(builder.maxConnections);
+    server.setExecutor(executor);
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  /** Returns the URI of {@code path} on this server. */
+  @NonNull
+  Uri uri(@NonNull String path) {
+    InetSocketAddress address = server.getAddress();
+    return Uri.parse(
+        "http://" + address.getAddress().getHostAddress() + ":" + address.getPort() + path);
+  }
+
+  /** Changes the bandwidth of responses that start from now on. */
+  void setBandwidthBps(long bandwidthBps) {
+    this.bandwidthBps = bandwidthBps;
+  }
+
+  /** Makes the next {@code count} requests fail with {@code statusCode}. */
+  synchronized void failNext(int count, int statusCode) {
+    pendingFailures = count;
+    pendingFailureStatusCode = statusCode;
+  }
+
+  /** Returns the paths requested so far, in the order the requests arrived. */
+  @NonNull
+  List<String> getRequestedPaths() {
+    synchronized (requestedPaths) {
+      return new ArrayList<>(requestedPaths);
+    }
+  }
+
+  /** Returns the size of the HLS segments of the ladder rendition of {@code bitrateBps}. */
+  int segmentSize(long bitrateBps) {
+    return SyntheticSegments.tsSegment(0, frameCount(), frameSize(bitrateBps)).length;
+  }
+
+  private int frameCount() {
+    return (int) Math.max(1, segmentDurationMs / SyntheticSegments.FRAME_DURATION_MS);
+  }
+
+  private int frameSize(long bitrateBps) {
+    return (int) Math.max(64, bitrateBps * segmentDurationMs / 8000 / frameCount());
+  }
+
+  @Override
+  public void close() {
+    server.stop(/* delay= */ 0);
+    executor.shutdownNow();
+    try {
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try {
+      String path = exchange.getRequestURI().getPath();
+      requestedPaths.add(path);
+      sleep(delayMs());
+
+      int failureStatusCode = failureStatusCode();
+      if (failureStatusCode != 0) {
+        exchange.sendResponseHeaders(failureStatusCode, -1);
+        return;
+      }
+      byte[] body = content(path);
+      if (body == null) {
+        exchange.sendResponseHeaders(404, -1);
+        return;
+      }
+      exchange.getResponseHeaders().set("Content-Type", contentType(path));
+      exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+
+      int start = 0;
+      int end = body.length - 1;
+      int statusCode = 200;
+      String range = exchange.getRequestHeaders().getFirst("Range");
+      if (range != null) {
+        Matcher matcher = RANGE.matcher(range);
+        if (!matcher.matches() || Long.parseLong(matcher.group(1)) >= body.length) {
+          exchange.getResponseHeaders().set("Content-Range", "bytes */" + body.length);
+          exchange.sendResponseHeaders(416, -1);
+          return;
+        }
+        start = Integer.parseInt(matcher.group(1));
+        if (!matcher.group(2).isEmpty()) {
+          end = (int) Math.min(end, Long.parseLong(matcher.group(2)));
+        }
+        statusCode = 206;
+        exchange
+            .getResponseHeaders()
+            .set("Content-Range", "bytes " + start + "-" + end + "/" + body.length);
+      }
+      int length = end - start + 1;
+      if (exchange.getRequestMethod().equals("HEAD")) {
+        exchange.getResponseHeaders().set("Content-Length", Integer.toString(length));
+        exchange.sendResponseHeaders(statusCode, -1);
+        return;
+      }
+      exchange.sendResponseHeaders(statusCode, length);
+      write(exchange.getResponseBody(), body, start, length);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException e) {
+      // The client closed the connection, for example after reading the part it needed.
+    } finally {
+      exchange.close();
+    }
+  }
+
+  private synchronized long delayMs() {
+    long jitter = jitterMs > 0 ? (long) ((random.nextDouble() * 2 - 1) * jitterMs) : 0;
+    return Math.max(0, latencyMs + jitter);
+  }
+
+  /** Returns the status code the current request fails with, or 0 if it does not fail. */
+  private synchronized int failureStatusCode() {
+    if (pendingFailures > 0) {
+      pendingFailures--;
+      return pendingFailureStatusCode;
+    }
+    return errorRate > 0 && random.nextDouble() < errorRate ? errorStatusCode : 0;
+  }
+
+  private void write(OutputStream output, byte[] body, int start, int length)
+      throws IOException, InterruptedException {
+    long startNs = System.nanoTime();
+    long bandwidthBps = this.bandwidthBps;
+    int written = 0;
+    while (written < length) {
+      int chunk = Math.min(CHUNK_SIZE, length - written);
+      output.write(body, start + written, chunk);
+      output.flush();
+      written += chunk;
+      if (bandwidthBps > 0) {
+        long dueMs = written * 8000L / bandwidthBps;
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+        sleep(dueMs - elapsedMs);
+      }
+    }
+  }
+
+  @Nullable
+  private byte[] content(String path) throws IOException {
+    if (path.equals(MP4_PATH)) {
+      return mp4();
+    }
+    if (path.equals(HLS_PATH)) {
+      return hlsMultivariantPlaylist().getBytes(StandardCharsets.UTF_8);
+    }
+    if (path.equals(DASH_PATH)) {
+      return dashManifest().getBytes(StandardCharsets.UTF_8);
+    }
+    Matcher matcher = SEGMENT.matcher(path);
+    if (!matcher.matches()) {
+      return null;
+    }
+    long bitrateBps = Long.parseLong(matcher.group(2));
+    if (Arrays.stream(ladderBitratesBps).noneMatch(bitrate -> bitrate == bitrateBps)) {
+      return null;
+    }
+    String name = matcher.group(3);
+    if (matcher.group(1).equals("hls") && name.equals("media")) {
+      return hlsMediaPlaylist().getBytes(StandardCharsets.UTF_8);
+    }
+    if (name.equals("init")) {
+      return SyntheticSegments.fmp4InitSegment();
+    }
+    if (!name.startsWith("seg")) {
+      return null;
+    }
+    int number = Integer.parseInt(name.substring(3));
+    if (number < 0 || number >= segmentCount) {
+      return null;
+    }
+    return matcher.group(1).equals("hls")
+        ? SyntheticSegments.tsSegment(number, frameCount(), frameSize(bitrateBps))
+        : SyntheticSegments.fmp4MediaSegment(number, frameCount(), frameSize(bitrateBps));
+  }
+
+  @Nullable
+  private synchronized byte[] mp4() throws IOException {
+    if (mp4Bytes == null) {
+      if (!mp4.exists()) {
+        return null;
+      }
+      mp4Bytes = Files.readAllBytes(mp4.toPath());
+    }
+    return mp4Bytes;
+  }
+
+  private static String contentType(String path) {
+    if (path.endsWith(".m3u8")) {
+      return "application/vnd.apple.mpegurl";
+    }
+    if (path.endsWith(".mpd")) {
+      return "application/dash+xml";
+    }
+    if (path.endsWith(".ts")) {
+      return "video/mp2t";
+    }
+    return "video/mp4";
+  }
+
+  private String hlsMultivariantPlaylist() {
+    StringBuilder playlist = new StringBuilder("#EXTM3U\n#EXT-X-VERSION:3\n");
+    for (long bitrateBps : ladderBitratesBps) {
+      playlist
+          .append("#EXT-X-STREAM-INF:BANDWIDTH=")
+          .append(bitrateBps)
+          .append(",CODECS=\"")
+          .append(SyntheticSegments.CODECS)
+          .append("\",RESOLUTION=")
+          .append(SyntheticSegments.WIDTH)
+          .append('x')
+          .append(SyntheticSegments.HEIGHT)
+          .append('\n')
+          .append(bitrateBps)
+          .append("/media.m3u8\n");
+    }
+    return playlist.toString();
+  }
+
+  private String hlsMediaPlaylist() {
+    String duration = String.format(Locale.US, "%.3f", segmentDurationMs / 1000.0);
+    StringBuilder playlist =
+        new StringBuilder("#EXTM3U\n#EXT-X-VERSION:3\n#EXT-X-PLAYLIST-TYPE:VOD\n")
+            .append("#EXT-X-TARGETDURATION:")
+            .append((segmentDurationMs + 999) / 1000)
+            .append("\n#EXT-X-MEDIA-SEQUENCE:0\n");
+    for (int i = 0; i < segmentCount; i++) {
+      playlist.append("#EXTINF:").append(duration).append(",\nseg").append(i).append(".ts\n");
+    }
+    return playlist.append("#EXT-X-ENDLIST\n").toString();
+  }
+
+  private String dashManifest() {
+    StringBuilder manifest =
+        new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+            .append("<MPD xmlns=\"urn:mpeg:dash:schema:mpd:2011\" type=\"static\"")
+            .append(" profiles=\"urn:mpeg:dash:profile:isoff-live:2011\"")
+            .append(" minBufferTime=\"PT2S\" mediaPresentationDuration=\"PT")
+            .append(segmentDurationMs * segmentCount / 1000.0)
+            .append("S\">\n<Period>\n")
+            .append("<AdaptationSet mimeType=\"video/mp4\" segmentAlignment=\"true\">\n")
+            .append("<SegmentTemplate timescale=\"1000\" duration=\"")
+            .append(segmentDurationMs)
+            .append("\" startNumber=\"0\" initialization=\"$RepresentationID$/init.mp4\"")
+            .append(" media=\"$RepresentationID$/seg$Number$.m4s\"/>\n");
+    for (long bitrateBps : ladderBitratesBps) {
+      manifest
+          .append("<Representation id=\"")
+          .append(bitrateBps)
+          .append("\" bandwidth=\"")
+          .append(bitrateBps)
+          .append("\" codecs=\"")
+          .append(SyntheticSegments.CODECS)
+          .append("\" width=\"")
+          .append(SyntheticSegments.WIDTH)
+          .append("\" height=\"")
+          .append(SyntheticSegments.HEIGHT)
+          .append("\"/>\n");
+    }
+    return manifest.append("</AdaptationSet>\n</Period>\n</MPD>\n").toString();
+  }
+
+  private static void sleep(long durationMs) throws InterruptedException {
+    if (durationMs > 0) {
+      Thread.sleep(durationMs);
+    }
+  }
+}
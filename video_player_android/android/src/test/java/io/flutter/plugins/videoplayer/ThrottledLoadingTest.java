@@ -0,0 +1,321 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.media3.common.C;
+import androidx.media3.common.Format;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.MimeTypes;
+import androidx.media3.common.Player;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.DefaultHttpDataSource;
+import androidx.media3.datasource.HttpDataSource;
+import androidx.media3.decoder.DecoderInputBuffer;
+import androidx.media3.exoplayer.BaseRenderer;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.Renderer;
+import androidx.media3.exoplayer.RendererCapabilities;
+import androidx.media3.exoplayer.dash.DashMediaSource;
+import androidx.media3.exoplayer.hls.HlsMediaSource;
+import androidx.media3.exoplayer.source.MediaSource;
+import androidx.media3.exoplayer.source.SampleStream;
+import androidx.test.core.app.ApplicationProvider;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+import org.robolectric.shadows.ShadowSystemClock;
+
+/**
+ * Loads media from a {@link ThrottledHttpServer} to check how loading behaves under shaped network
+ * conditions. Bounds are generous, since the tests measure wall-clock time.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ThrottledLoadingTest {
+  private ThrottledHttpServer server;
+
+  @After
+  public void tearDown() {
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  @Test
+  public void bandwidth_limitsTransferRate() throws Exception {
+    assumeTrue(new File("../example/assets/Butterfly-209.mp4").exists());
+    server = new ThrottledHttpServer.Builder().setBandwidthBps(2_000_000).start();
+    DataSource dataSource = new DefaultHttpDataSource.Factory().createDataSource();
+
+    long startNs = System.nanoTime();
+    long bytes = readFully(dataSource, server.uri(ThrottledHttpServer.MP4_PATH), 0, 250_000);
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+
+    assertEquals(250_000, bytes);
+    // 250 kB at 2 Mbps take one second.
+    assertTrue("took " + elapsedMs + " ms", elapsedMs >= 900 && elapsedMs < 5_000);
+  }
+
+  @Test
+  public void latency_delaysFirstByte() throws Exception {
+    server = new ThrottledHttpServer.Builder().setLatencyMs(300).start();
+    DataSource dataSource = new DefaultHttpDataSource.Factory().createDataSource();
+
+    long startNs = System.nanoTime();
+    dataSource.open(new DataSpec(server.uri(ThrottledHttpServer.HLS_PATH)));
+    long ttfbMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+    dataSource.close();
+
+    assertTrue("first byte after " + ttfbMs + " ms", ttfbMs >= 300 && ttfbMs < 3_000);
+  }
+
+  @Test
+  public void failNext_failsRequestsWithStatusCode() throws Exception {
+    server = new ThrottledHttpServer.Builder().start();
+    server.failNext(1, 503);
+    DataSource dataSource = new DefaultHttpDataSource.Factory().createDataSource();
+    Uri uri = server.uri(ThrottledHttpServer.DASH_PATH);
+
+    HttpDataSource.InvalidResponseCodeException exception =
+        assertThrows(
+            HttpDataSource.InvalidResponseCodeException.class,
+            () -> dataSource.open(new DataSpec(uri)));
+    dataSource.close();
+
+    assertEquals(503, exception.responseCode);
+    assertTrue(readFully(dataSource, uri, 0, C.LENGTH_UNSET) > 0);
+  }
+
+  @Test
+  public void maxConnections_queuesConcurrentRequests() throws Exception {
+    server = new ThrottledHttpServer.Builder().setLatencyMs(300).setMaxConnections(1).start();
+    DefaultHttpDataSource.Factory factory = new DefaultHttpDataSource.Factory();
+    Uri uri = server.uri(ThrottledHttpServer.HLS_PATH);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    long startNs = System.nanoTime();
+    try {
+      Future<Long> first =
+          executor.submit(() -> readFully(factory.createDataSource(), uri, 0, C.LENGTH_UNSET));
+      Future<Long> second =
+          executor.submit(() -> readFully(factory.createDataSource(), uri, 0, C.LENGTH_UNSET));
+      first.get(10, TimeUnit.SECONDS);
+      second.get(10, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNs);
+
+    assertTrue("took " + elapsedMs + " ms", elapsedMs >= 600);
+  }
+
+  @Test
+  public void errorRate_isReproducibleWithSeed() throws Exception {
+    String failures = failures(42);
+
+    assertFalse(failures.isEmpty());
+    assertEquals(failures, failures(42));
+  }
+
+  @Test
+  public void networkStats_recordsLadderSegments() throws Exception {
+    server = new ThrottledHttpServer.Builder().setBandwidthBps(8_000_000).start();
+    NetworkStats stats = new NetworkStats();
+    DataSource dataSource =
+        new NetworkStats.DataSourceFactory(
+                stats, new DefaultHttpDataSource.Factory(), NetworkStats.TYPE_MEDIA)
+            .createDataSource();
+
+    long bytes = readFully(dataSource, server.uri("/hls/1000000/seg0.ts"), 0, C.LENGTH_UNSET);
+
+    assertEquals(server.segmentSize(1_000_000), bytes);
+    List<NetworkStats.Entry> entries = stats.snapshot();
+    assertEquals(1, entries.size());
+    assertEquals("127.0.0.1", entries.get(0).host);
+    assertEquals(1, entries.get(0).requests);
+    assertEquals(bytes, entries.get(0).bytes);
+  }
+
+  @Test
+  public void probe_resolvesGeneratedManifests() throws Exception {
+    server = new ThrottledHttpServer.Builder().start();
+    DefaultHttpDataSource.Factory factory = new DefaultHttpDataSource.Factory();
+
+    assertEquals(
+        C.CONTENT_TYPE_HLS,
+        ContentTypeResolver.probe(
+            factory.createDataSource(), server.uri(ThrottledHttpServer.HLS_PATH)));
+    assertEquals(
+        C.CONTENT_TYPE_DASH,
+        ContentTypeResolver.probe(
+            factory.createDataSource(), server.uri(ThrottledHttpServer.DASH_PATH)));
+  }
+
+  @Test
+  public void player_buffersHlsUpToLoadControlLimit() throws Exception {
+    server = new ThrottledHttpServer.Builder().setLadder(2_000, 10, 400_000).start();
+
+    assertBuffersUpToLimit(
+        new HlsMediaSource.Factory(new DefaultHttpDataSource.Factory())
+            .createMediaSource(MediaItem.fromUri(server.uri(ThrottledHttpServer.HLS_PATH))));
+  }
+
+  @Test
+  public void player_buffersDashUpToLoadControlLimit() throws Exception {
+    server = new ThrottledHttpServer.Builder().setLadder(2_000, 10, 400_000).start();
+
+    assertBuffersUpToLimit(
+        new DashMediaSource.Factory(new DefaultHttpDataSource.Factory())
+            .createMediaSource(MediaItem.fromUri(server.uri(ThrottledHttpServer.DASH_PATH))));
+  }
+
+  /**
+   * Prepares a paused player limited to a 4 s buffer, and checks that it becomes ready and stops
+   * loading within a segment of the limit, long before the end of the stream.
+   */
+  private void assertBuffersUpToLimit(MediaSource mediaSource) throws Exception {
+    PlayerLoadControl loadControl = new PlayerLoadControl(null);
+    loadControl.setMaxBufferMs(4_000);
+    ExoPlayer player =
+        new ExoPlayer.Builder(
+                ApplicationProvider.getApplicationContext(),
+                (handler, video, audio, text, metadata) ->
+                    new Renderer[] {new SampleConsumingRenderer()})
+            .setLoadControl(loadControl)
+            .build();
+    try {
+      player.setMediaSource(mediaSource);
+      player.prepare();
+      long deadlineNs = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+      while (player.getPlaybackState() != Player.STATE_READY || player.isLoading()) {
+        assertTrue("not ready after 20 s", System.nanoTime() < deadlineNs);
+        assertNull(String.valueOf(player.getPlayerError()), player.getPlayerError());
+        // The playback thread only runs its delayed work when the clock advances.
+        ShadowSystemClock.advanceBy(Duration.ofMillis(10));
+        ShadowLooper.idleMainLooper();
+        Thread.sleep(5);
+      }
+
+      long bufferedMs = player.getBufferedPosition();
+      assertTrue("buffered " + bufferedMs + " ms", bufferedMs >= 3_000 && bufferedMs <= 6_000);
+      assertFalse(server.getRequestedPaths().toString().contains("seg5"));
+    } finally {
+      player.release();
+    }
+  }
+
+  /** Returns the indices of the failed requests among 20, with a 30% error rate. */
+  private static String failures(long seed) throws IOException {
+    StringBuilder failures = new StringBuilder();
+    try (ThrottledHttpServer server =
+        new ThrottledHttpServer.Builder().setErrorRate(0.3, 500).setSeed(seed).start()) {
+      DataSource dataSource = new DefaultHttpDataSource.Factory().createDataSource();
+      for (int i = 0; i < 20; i++) {
+        try {
+          readFully(dataSource, server.uri(ThrottledHttpServer.HLS_PATH), 0, C.LENGTH_UNSET);
+        } catch (HttpDataSource.InvalidResponseCodeException e) {
+          failures.append(i).append(',');
+        }
+      }
+    }
+    return failures.toString();
+  }
+
+  /**
+   * Reads the samples of a video track up to the playback position, without decoding them. It is
+   * ready while it holds a later sample, so a player with it buffers and plays like with a decoder.
+   */
+  private static final class SampleConsumingRenderer extends BaseRenderer {
+    private final DecoderInputBuffer buffer =
+        new DecoderInputBuffer(DecoderInputBuffer.BUFFER_REPLACEMENT_MODE_DISABLED);
+    private long pendingSampleTimeUs = C.TIME_UNSET;
+    private boolean ended;
+
+    SampleConsumingRenderer() {
+      super(C.TRACK_TYPE_VIDEO);
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+      return "SampleConsumingRenderer";
+    }
+
+    @Override
+    public int supportsFormat(@NonNull Format format) {
+      return RendererCapabilities.create(
+          MimeTypes.isVideo(format.sampleMimeType) ? C.FORMAT_HANDLED : C.FORMAT_UNSUPPORTED_TYPE);
+    }
+
+    @Override
+    public void render(long positionUs, long elapsedRealtimeUs) {
+      while (!ended
+          && (pendingSampleTimeUs == C.TIME_UNSET || pendingSampleTimeUs <= positionUs)) {
+        buffer.clear();
+        int result = readSource(getFormatHolder(), buffer, SampleStream.FLAG_OMIT_SAMPLE_DATA);
+        if (result == C.RESULT_NOTHING_READ) {
+          pendingSampleTimeUs = C.TIME_UNSET;
+          return;
+        }
+        if (result == C.RESULT_BUFFER_READ) {
+          ended = buffer.isEndOfStream();
+          pendingSampleTimeUs = buffer.timeUs;
+        }
+      }
+    }
+
+    @Override
+    protected void onPositionReset(long positionUs, boolean joining) {
+      pendingSampleTimeUs = C.TIME_UNSET;
+      ended = false;
+    }
+
+    @Override
+    public boolean isReady() {
+      return pendingSampleTimeUs != C.TIME_UNSET || isSourceReady();
+    }
+
+    @Override
+    public boolean isEnded() {
+      return ended;
+    }
+  }
+
+  private static long readFully(DataSource dataSource, Uri uri, long position, long length)
+      throws IOException {
+    byte[] buffer = new byte[16 * 1024];
+    long total = 0;
+    try {
+      dataSource.open(
+          new DataSpec.Builder().setUri(uri).setPosition(position).setLength(length).build());
+      int read;
+      while ((read = dataSource.read(buffer, 0, buffer.length)) != C.RESULT_END_OF_INPUT) {
+        total += read;
+      }
+    } finally {
+      dataSource.close();
+    }
+    return total;
+  }
+}
@@ -0,0 +1,94 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.os.Bundle;
+import androidx.test.core.app.ApplicationProvider;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class WarmUpTest {
+  private final Context context = ApplicationProvider.getApplicationContext();
+  private final List<String> ran = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  public void isEnabled_requiresTrueMetaData() {
+    Bundle disabled = new Bundle();
+    disabled.putBoolean(WarmUp.META_DATA_KEY, false);
+    Bundle enabled = new Bundle();
+    enabled.putBoolean(WarmUp.META_DATA_KEY, true);
+
+    assertFalse(WarmUp.isEnabled((Bundle) null));
+    assertFalse(WarmUp.isEnabled(new Bundle()));
+    assertFalse(WarmUp.isEnabled(disabled));
+    assertTrue(WarmUp.isEnabled(enabled));
+  }
+
+  @Test
+  public void start_runsStepsInOrderOnBackgroundThread() throws Exception {
+    Thread testThread = Thread.currentThread();
+    List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+    WarmUp warmUp =
+        new WarmUp(
+            Arrays.asList(
+                c -> {
+                  threads.add(Thread.currentThread());
+                  ran.add("first");
+                },
+                c -> ran.add("second")));
+
+    assertFalse(warmUp.isStarted());
+    warmUp.start(context);
+    warmUp.start(context);
+    awaitReady(warmUp);
+
+    assertTrue(warmUp.isStarted());
+    assertEquals(Arrays.asList("first", "second"), ran);
+    assertNotSame(testThread, threads.get(0));
+    assertTrue(warmUp.getDurationMs() >= 0);
+    assertNull(warmUp.getError());
+  }
+
+  @Test
+  public void failingStep_isSkipped() throws Exception {
+    WarmUp warmUp =
+        new WarmUp(
+            Arrays.asList(
+                c -> {
+                  throw new IllegalStateException("no codecs");
+                },
+                c -> {
+                  throw new UnsatisfiedLinkError("no library");
+                },
+                c -> ran.add("last")));
+
+    warmUp.start(context);
+    awaitReady(warmUp);
+
+    assertEquals(Collections.singletonList("last"), ran);
+    assertEquals("no codecs", warmUp.getError());
+  }
+
+  private static void awaitReady(WarmUp warmUp) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (!warmUp.isReady() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(warmUp.isReady());
+  }
+}
@@ -4,6 +4,7 @@
 
 import 'dart:async';
 
+import 'package:flutter/foundation.dart';
 import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
 import 'package:video_player_platform_interface/video_player_platform_interface.dart';
@@ -15,6 +16,10 @@ import 'messages.g.dart';
 class AndroidVideoPlayer extends VideoPlayerPlatform {
   final AndroidVideoPlayerApi _api = AndroidVideoPlayerApi();
 
+  // The event channel of a player only supports one platform listener, so
+  // [videoEventsFor] and [playerEventsFor] share its stream.
+  final Map<int, Stream<dynamic>> _eventStreams = <int, Stream<dynamic>>{};
+
   /// Registers this class as the default instance of [PathProviderPlatform].
   static void registerWith() {
     VideoPlayerPlatform.instance = AndroidVideoPlayer();
@@ -27,6 +32,7 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
 
   @override
   Future<void> dispose(int textureId) {
+    _eventStreams.remove(textureId);
     return _api.dispose(TextureMessage(textureId: textureId));
   }
 
@@ -250,9 +256,9 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
 
   @override
   Stream<VideoEvent> videoEventsFor(int textureId) {
-    return _eventChannelFor(textureId)
-        .receiveBroadcastStream()
-        .map((dynamic event) {
+    // Cue events only carry changes, so the visible cues are tracked here by id.
+    final Map<int, String> activeCues = <int, String>{};
+    return _eventStreamFor(textureId).map((dynamic event) {
       final Map<dynamic, dynamic> map = event as Map<dynamic, dynamic>;
       switch (map['event']) {
         case 'initialized':
@@ -283,12 +289,17 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
             eventType: VideoEventType.isPlayingStateUpdate,
             isPlaying: map['isPlaying'] as bool,
           );
-        case 'subtitle':
-          List<String>? subtitle =
-              (map['cues'] as List?)?.map((e) => e.toString()).toList();
+        case 'cues':
+          for (final Object? id in map['removed'] as List<Object?>) {
+            activeCues.remove(id! as int);
+          }
+          for (final Object? cue in map['added'] as List<Object?>) {
+            final Map<Object?, Object?> cueMap = cue! as Map<Object?, Object?>;
+            activeCues[cueMap['id']! as int] = (cueMap['text'] as String?) ?? '';
+          }
           return VideoEvent(
             eventType: VideoEventType.subtitle,
-            subtitle: subtitle,
+            subtitle: activeCues.values.toList(),
           );
         default:
           return VideoEvent(eventType: VideoEventType.unknown);
@@ -307,10 +318,168 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
         .setMixWithOthers(MixWithOthersMessage(mixWithOthers: mixWithOthers));
   }
 
+  /// Switches the player to an audio-only mode that stops video decoding,
+  /// for use while the app is in the background.
+  ///
+  /// Passing `false` restores video playback.
+  Future<void> setBackgroundMode(int textureId, bool audioOnly) {
+    return _api.setBackgroundMode(BackgroundModeMessage(
+      textureId: textureId,
+      audioOnly: audioOnly,
+    ));
+  }
+
+  /// Applies [commands] to the player in order, in a single platform call.
+  ///
+  /// Supported command names are `play`, `pause`, `setLooping` (bool),
+  /// `setVolume` (double), `setPlaybackSpeed` (double), `seekTo` (int
+  /// milliseconds) and `setBackgroundMode` (bool). The whole batch is
+  /// validated first, so an invalid command causes none of them to be applied.
+  Future<CommandBatchResultMessage> applyCommands(
+      int textureId, List<CommandMessage> commands) {
+    return _api.applyCommands(CommandBatchMessage(
+      textureId: textureId,
+      commands: commands,
+    ));
+  }
+
+  /// Returns how many requests of the player were hedged, and how many of
+  /// those hedges responded first.
+  Future<HedgingStatsMessage> hedgingStats(int textureId) {
+    return _api.hedgingStats(TextureMessage(textureId: textureId));
+  }
+
+  /// Returns the keyframe times of the progressive file the player plays.
+  ///
+  /// Seeking to one of these positions needs no decoding of earlier frames,
+  /// which makes them suitable for thumbnails and scrubbing. The list is empty
+  /// until the file has been indexed, and for adaptive streams.
+  Future<List<Duration>> keyframes(int textureId) async {
+    final KeyframesMessage response =
+        await _api.keyframes(TextureMessage(textureId: textureId));
+    return response.timesMs
+        .whereType<int>()
+        .map((int timeMs) => Duration(milliseconds: timeMs))
+        .toList();
+  }
+
+  /// Returns the network requests of all players, per host and request type.
+  ///
+  /// Time to first byte and throughput are histograms over the bucket bounds
+  /// in the response, with one more bucket for larger values. Cache hits and
+  /// misses are counted from the CDN's cache status response headers.
+  /// The TLS handshake counters tell how many new connections resumed a
+  /// cached session rather than doing a full handshake.
+  Future<NetworkStatsMessage> networkStats() {
+    return _api.networkStats();
+  }
+
+  /// Connects to [hosts] ahead of the players that will load from them.
+  ///
+  /// Each host is a host name, optionally with a port, or a URL. The
+  /// connections are resolved and their TLS handshakes completed in the
+  /// background, and kept warm for [keepAlive], so the first request of a
+  /// later player skips the handshake.
+  Future<void> preconnect(List<String> hosts, {Duration? keepAlive}) {
+    return _api.preconnect(PreconnectMessage(
+      hosts: hosts,
+      keepAliveMs: keepAlive?.inMilliseconds,
+    ));
+  }
+
+  /// Limits how many players decode at the same time.
+  ///
+  /// The [maxActivePlayers] highest ranked visible players play as requested.
+  /// The next [maxPreparedPlayers] are paused with a minimal buffer, ready to
+  /// start, and all others release their decoders until they move up. Players
+  /// rank by the priority and visible fraction reported through
+  /// [setPlayerVisibility], then by creation order. Each player sends a
+  /// `scheduledState` event when its state changes.
+  Future<void> configureScheduler({
+    required int maxActivePlayers,
+    int? maxPreparedPlayers,
+  }) {
+    return _api.configureScheduler(SchedulerConfigurationMessage(
+      maxActivePlayers: maxActivePlayers,
+      maxPreparedPlayers: maxPreparedPlayers,
+    ));
+  }
+
+  /// Reports the visible fraction and priority of players, and reschedules
+  /// them once for the whole list.
+  Future<void> setPlayerVisibility(List<PlayerVisibilityMessage> players) {
+    return _api
+        .setPlayerVisibility(PlayerVisibilityBatchMessage(players: players));
+  }
+
+  /// Gives the loads of the player of [textureId] priority over all others.
+  ///
+  /// While the focused player's buffer is low, the requests of the other
+  /// players wait, so preloading and background players do not take its
+  /// bandwidth. Passing null gives all players the same priority again.
+  Future<void> setFocusedPlayer(int? textureId) {
+    return _api.setFocusedPlayer(FocusMessage(textureId: textureId));
+  }
+
+  /// Returns how long disposed players waited to be released, and how long
+  /// their releases blocked the platform thread.
+  ///
+  /// Disposing a player detaches it at once. Its decoders, surface and texture
+  /// are released later, a few at a time, when the platform thread is idle.
+  Future<ReleaseStatsMessage> releaseStats() {
+    return _api.releaseStats();
+  }
+
+  /// Returns whether the warm-up started when the plugin attached to the
+  /// engine, and whether it has finished, with its duration.
+  ///
+  /// The warm-up loads the FFmpeg library, queries the device's codecs and
+  /// loads the Media3 classes on a background thread, so the first player
+  /// starts as fast as later ones. It runs when the application's manifest
+  /// has the `io.flutter.plugins.videoplayer.WARM_UP` meta-data set to true.
+  Future<WarmUpStatusMessage> warmUpStatus() {
+    return _api.warmUpStatus();
+  }
+
+  /// Returns the events of the player that have no [VideoEventType], which
+  /// [videoEventsFor] reports as [VideoEventType.unknown].
+  ///
+  /// These are `loadError`, `originFailover`, `abrSwitch`, `liveLatency`,
+  /// `firstFrame` and `scheduledState`, with their fields in
+  /// [AndroidPlayerEvent.data].
+  Stream<AndroidPlayerEvent> playerEventsFor(int textureId) {
+    return _eventStreamFor(textureId)
+        .map((dynamic event) => event as Map<dynamic, dynamic>)
+        .where((Map<dynamic, dynamic> map) =>
+            !_videoEventNames.contains(map['event']))
+        .map((Map<dynamic, dynamic> map) => AndroidPlayerEvent(
+              type: map['event'] as String,
+              data: <String, Object?>{
+                for (final MapEntry<dynamic, dynamic> entry in map.entries)
+                  if (entry.key != 'event') entry.key as String: entry.value,
+              },
+            ));
+  }
+
+  Stream<dynamic> _eventStreamFor(int textureId) {
+    return _eventStreams.putIfAbsent(
+        textureId, () => _eventChannelFor(textureId).receiveBroadcastStream());
+  }
+
   EventChannel _eventChannelFor(int textureId) {
     return EventChannel('flutter.io/videoPlayer/videoEvents$textureId');
   }
 
+  static const Set<String> _videoEventNames = <String>{
+    'initialized',
+    'completed',
+    'bufferingUpdate',
+    'bufferingStart',
+    'bufferingEnd',
+    'isPlayingStateUpdate',
+    'cues',
+  };
+
   static const Map<VideoFormat, String> _videoFormatStringMap =
       <VideoFormat, String>{
     VideoFormat.ss: 'ss',
@@ -472,3 +641,31 @@ class AndroidVideoPlayer extends VideoPlayerPlatform {
     );
   }
 }
+
+/// An event of an Android player that has no [VideoEventType].
+@immutable
+class AndroidPlayerEvent {
+  /// Constructs an instance with the given [type] and [data].
+  const AndroidPlayerEvent({required this.type, required this.data});
+
+  /// The name of the event, such as `loadError` or `abrSwitch`.
+  final String type;
+
+  /// The fields of the event, as sent by the player.
+  final Map<String, Object?> data;
+
+  @override
+  bool operator ==(Object other) {
+    return identical(this, other) ||
+        other is AndroidPlayerEvent &&
+            runtimeType == other.runtimeType &&
+            type == other.type &&
+            mapEquals(data, other.data);
+  }
+
+  @override
+  int get hashCode => Object.hash(type, Object.hashAllUnordered(data.keys));
+
+  @override
+  String toString() => 'AndroidPlayerEvent($type, $data)';
+}
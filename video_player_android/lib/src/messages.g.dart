@@ -166,6 +166,52 @@ class PositionMessage {
   }
 }
 
+class LiveConfigurationMessage {
+  LiveConfigurationMessage({
+    this.targetOffsetMs,
+    this.minOffsetMs,
+    this.maxOffsetMs,
+    this.minPlaybackSpeed,
+    this.maxPlaybackSpeed,
+    this.latencyReportIntervalMs,
+  });
+
+  int? targetOffsetMs;
+
+  int? minOffsetMs;
+
+  int? maxOffsetMs;
+
+  double? minPlaybackSpeed;
+
+  double? maxPlaybackSpeed;
+
+  int? latencyReportIntervalMs;
+
+  Object encode() {
+    return <Object?>[
+      targetOffsetMs,
+      minOffsetMs,
+      maxOffsetMs,
+      minPlaybackSpeed,
+      maxPlaybackSpeed,
+      latencyReportIntervalMs,
+    ];
+  }
+
+  static LiveConfigurationMessage decode(Object result) {
+    result as List<Object?>;
+    return LiveConfigurationMessage(
+      targetOffsetMs: result[0] as int?,
+      minOffsetMs: result[1] as int?,
+      maxOffsetMs: result[2] as int?,
+      minPlaybackSpeed: result[3] as double?,
+      maxPlaybackSpeed: result[4] as double?,
+      latencyReportIntervalMs: result[5] as int?,
+    );
+  }
+}
+
 class CreateMessage {
   CreateMessage({
     this.asset,
@@ -173,6 +219,13 @@ class CreateMessage {
     this.packageName,
     this.formatHint,
     required this.httpHeaders,
+    this.liveConfiguration,
+    this.subtitles,
+    this.cmcdConfiguration,
+    this.loadErrorPolicy,
+    this.originFailover,
+    this.hedging,
+    this.abr,
   });
 
   String? asset;
@@ -185,6 +238,20 @@ class CreateMessage {
 
   Map<String?, String?> httpHeaders;
 
+  LiveConfigurationMessage? liveConfiguration;
+
+  List<SubtitleMessage?>? subtitles;
+
+  CmcdConfigurationMessage? cmcdConfiguration;
+
+  LoadErrorPolicyMessage? loadErrorPolicy;
+
+  OriginFailoverMessage? originFailover;
+
+  HedgingConfigurationMessage? hedging;
+
+  AbrConfigurationMessage? abr;
+
   Object encode() {
     return <Object?>[
       asset,
@@ -192,6 +259,13 @@ class CreateMessage {
       packageName,
       formatHint,
       httpHeaders,
+      liveConfiguration?.encode(),
+      subtitles,
+      cmcdConfiguration?.encode(),
+      loadErrorPolicy?.encode(),
+      originFailover?.encode(),
+      hedging?.encode(),
+      abr?.encode(),
     ];
   }
 
@@ -204,6 +278,25 @@ class CreateMessage {
       formatHint: result[3] as String?,
       httpHeaders:
           (result[4] as Map<Object?, Object?>?)!.cast<String?, String?>(),
+      liveConfiguration: result[5] != null
+          ? LiveConfigurationMessage.decode(result[5]! as List<Object?>)
+          : null,
+      subtitles: (result[6] as List<Object?>?)?.cast<SubtitleMessage?>(),
+      cmcdConfiguration: result[7] != null
+          ? CmcdConfigurationMessage.decode(result[7]! as List<Object?>)
+          : null,
+      loadErrorPolicy: result[8] != null
+          ? LoadErrorPolicyMessage.decode(result[8]! as List<Object?>)
+          : null,
+      originFailover: result[9] != null
+          ? OriginFailoverMessage.decode(result[9]! as List<Object?>)
+          : null,
+      hedging: result[10] != null
+          ? HedgingConfigurationMessage.decode(result[10]! as List<Object?>)
+          : null,
+      abr: result[11] != null
+          ? AbrConfigurationMessage.decode(result[11]! as List<Object?>)
+          : null,
     );
   }
 }
@@ -229,6 +322,718 @@ class MixWithOthersMessage {
   }
 }
 
+class BackgroundModeMessage {
+  BackgroundModeMessage({
+    required this.textureId,
+    required this.audioOnly,
+  });
+
+  int textureId;
+
+  bool audioOnly;
+
+  Object encode() {
+    return <Object?>[
+      textureId,
+      audioOnly,
+    ];
+  }
+
+  static BackgroundModeMessage decode(Object result) {
+    result as List<Object?>;
+    return BackgroundModeMessage(
+      textureId: result[0]! as int,
+      audioOnly: result[1]! as bool,
+    );
+  }
+}
+
+class CommandMessage {
+  CommandMessage({
+    required this.name,
+    this.value,
+  });
+
+  String name;
+
+  Object? value;
+
+  Object encode() {
+    return <Object?>[
+      name,
+      value,
+    ];
+  }
+
+  static CommandMessage decode(Object result) {
+    result as List<Object?>;
+    return CommandMessage(
+      name: result[0]! as String,
+      value: result[1] as Object?,
+    );
+  }
+}
+
+class CommandBatchMessage {
+  CommandBatchMessage({
+    required this.textureId,
+    required this.commands,
+  });
+
+  int textureId;
+
+  List<CommandMessage?> commands;
+
+  Object encode() {
+    return <Object?>[
+      textureId,
+      commands,
+    ];
+  }
+
+  static CommandBatchMessage decode(Object result) {
+    result as List<Object?>;
+    return CommandBatchMessage(
+      textureId: result[0]! as int,
+      commands: (result[1] as List<Object?>?)!.cast<CommandMessage?>(),
+    );
+  }
+}
+
+class CommandBatchResultMessage {
+  CommandBatchResultMessage({
+    required this.textureId,
+    required this.appliedCount,
+    required this.elapsedMicros,
+    this.latencyStats,
+  });
+
+  int textureId;
+
+  int appliedCount;
+
+  int elapsedMicros;
+
+  Map<String?, Object?>? latencyStats;
+
+  Object encode() {
+    return <Object?>[
+      textureId,
+      appliedCount,
+      elapsedMicros,
+      latencyStats,
+    ];
+  }
+
+  static CommandBatchResultMessage decode(Object result) {
+    result as List<Object?>;
+    return CommandBatchResultMessage(
+      textureId: result[0]! as int,
+      appliedCount: result[1]! as int,
+      elapsedMicros: result[2]! as int,
+      latencyStats:
+          (result[3] as Map<Object?, Object?>?)?.cast<String?, Object?>(),
+    );
+  }
+}
+
+class SubtitleMessage {
+  SubtitleMessage({
+    required this.uri,
+    required this.mimeType,
+    this.language,
+    this.label,
+    this.isDefault,
+  });
+
+  String uri;
+
+  String mimeType;
+
+  String? language;
+
+  String? label;
+
+  bool? isDefault;
+
+  Object encode() {
+    return <Object?>[
+      uri,
+      mimeType,
+      language,
+      label,
+      isDefault,
+    ];
+  }
+
+  static SubtitleMessage decode(Object result) {
+    result as List<Object?>;
+    return SubtitleMessage(
+      uri: result[0]! as String,
+      mimeType: result[1]! as String,
+      language: result[2] as String?,
+      label: result[3] as String?,
+      isDefault: result[4] as bool?,
+    );
+  }
+}
+
+class CmcdConfigurationMessage {
+  CmcdConfigurationMessage({
+    this.sessionId,
+    this.contentId,
+    this.useQueryParameter,
+    this.allowedKeys,
+  });
+
+  String? sessionId;
+
+  String? contentId;
+
+  bool? useQueryParameter;
+
+  List<String?>? allowedKeys;
+
+  Object encode() {
+    return <Object?>[
+      sessionId,
+      contentId,
+      useQueryParameter,
+      allowedKeys,
+    ];
+  }
+
+  static CmcdConfigurationMessage decode(Object result) {
+    result as List<Object?>;
+    return CmcdConfigurationMessage(
+      sessionId: result[0] as String?,
+      contentId: result[1] as String?,
+      useQueryParameter: result[2] as bool?,
+      allowedKeys: (result[3] as List<Object?>?)?.cast<String?>(),
+    );
+  }
+}
+
+class LoadErrorPolicyMessage {
+  LoadErrorPolicyMessage({
+    this.maxRetries,
+    this.initialBackoffMs,
+    this.maxBackoffMs,
+    this.jitter,
+    this.failFastStatusCodes,
+    this.retryStatusCodes,
+    this.exclusionMs,
+  });
+
+  int? maxRetries;
+
+  int? initialBackoffMs;
+
+  int? maxBackoffMs;
+
+  double? jitter;
+
+  List<int?>? failFastStatusCodes;
+
+  List<int?>? retryStatusCodes;
+
+  int? exclusionMs;
+
+  Object encode() {
+    return <Object?>[
+      maxRetries,
+      initialBackoffMs,
+      maxBackoffMs,
+      jitter,
+      failFastStatusCodes,
+      retryStatusCodes,
+      exclusionMs,
+    ];
+  }
+
+  static LoadErrorPolicyMessage decode(Object result) {
+    result as List<Object?>;
+    return LoadErrorPolicyMessage(
+      maxRetries: result[0] as int?,
+      initialBackoffMs: result[1] as int?,
+      maxBackoffMs: result[2] as int?,
+      jitter: result[3] as double?,
+      failFastStatusCodes: (result[4] as List<Object?>?)?.cast<int?>(),
+      retryStatusCodes: (result[5] as List<Object?>?)?.cast<int?>(),
+      exclusionMs: result[6] as int?,
+    );
+  }
+}
+
+class OriginFailoverMessage {
+  OriginFailoverMessage({
+    required this.origins,
+    this.minThroughputKbps,
+  });
+
+  List<String?> origins;
+
+  int? minThroughputKbps;
+
+  Object encode() {
+    return <Object?>[
+      origins,
+      minThroughputKbps,
+    ];
+  }
+
+  static OriginFailoverMessage decode(Object result) {
+    result as List<Object?>;
+    return OriginFailoverMessage(
+      origins: (result[0] as List<Object?>?)!.cast<String?>(),
+      minThroughputKbps: result[1] as int?,
+    );
+  }
+}
+
+class HedgingConfigurationMessage {
+  HedgingConfigurationMessage({
+    this.percentile,
+    this.minDelayMs,
+  });
+
+  double? percentile;
+
+  int? minDelayMs;
+
+  Object encode() {
+    return <Object?>[
+      percentile,
+      minDelayMs,
+    ];
+  }
+
+  static HedgingConfigurationMessage decode(Object result) {
+    result as List<Object?>;
+    return HedgingConfigurationMessage(
+      percentile: result[0] as double?,
+      minDelayMs: result[1] as int?,
+    );
+  }
+}
+
+class HedgingStatsMessage {
+  HedgingStatsMessage({
+    required this.textureId,
+    required this.hedgesFired,
+    required this.hedgesWon,
+    this.thresholdMs,
+  });
+
+  int textureId;
+
+  int hedgesFired;
+
+  int hedgesWon;
+
+  int? thresholdMs;
+
+  Object encode() {
+    return <Object?>[
+      textureId,
+      hedgesFired,
+      hedgesWon,
+      thresholdMs,
+    ];
+  }
+
+  static HedgingStatsMessage decode(Object result) {
+    result as List<Object?>;
+    return HedgingStatsMessage(
+      textureId: result[0]! as int,
+      hedgesFired: result[1]! as int,
+      hedgesWon: result[2]! as int,
+      thresholdMs: result[3] as int?,
+    );
+  }
+}
+
+class KeyframesMessage {
+  KeyframesMessage({
+    required this.textureId,
+    required this.timesMs,
+  });
+
+  int textureId;
+
+  List<int?> timesMs;
+
+  Object encode() {
+    return <Object?>[
+      textureId,
+      timesMs,
+    ];
+  }
+
+  static KeyframesMessage decode(Object result) {
+    result as List<Object?>;
+    return KeyframesMessage(
+      textureId: result[0]! as int,
+      timesMs: (result[1] as List<Object?>?)!.cast<int?>(),
+    );
+  }
+}
+
+class HostNetworkStatsMessage {
+  HostNetworkStatsMessage({
+    required this.host,
+    required this.requestType,
+    required this.requests,
+    required this.failures,
+    required this.bytes,
+    required this.cacheHits,
+    required this.cacheMisses,
+    required this.ttfbHistogram,
+    required this.throughputHistogram,
+  });
+
+  String host;
+
+  String requestType;
+
+  int requests;
+
+  int failures;
+
+  int bytes;
+
+  int cacheHits;
+
+  int cacheMisses;
+
+  List<int?> ttfbHistogram;
+
+  List<int?> throughputHistogram;
+
+  Object encode() {
+    return <Object?>[
+      host,
+      requestType,
+      requests,
+      failures,
+      bytes,
+      cacheHits,
+      cacheMisses,
+      ttfbHistogram,
+      throughputHistogram,
+    ];
+  }
+
+  static HostNetworkStatsMessage decode(Object result) {
+    result as List<Object?>;
+    return HostNetworkStatsMessage(
+      host: result[0]! as String,
+      requestType: result[1]! as String,
+      requests: result[2]! as int,
+      failures: result[3]! as int,
+      bytes: result[4]! as int,
+      cacheHits: result[5]! as int,
+      cacheMisses: result[6]! as int,
+      ttfbHistogram: (result[7] as List<Object?>?)!.cast<int?>(),
+      throughputHistogram: (result[8] as List<Object?>?)!.cast<int?>(),
+    );
+  }
+}
+
+class NetworkStatsMessage {
+  NetworkStatsMessage({
+    required this.ttfbBucketsMs,
+    required this.throughputBucketsKbps,
+    required this.hosts,
+    this.fullTlsHandshakes,
+    this.resumedTlsHandshakes,
+  });
+
+  List<int?> ttfbBucketsMs;
+
+  List<int?> throughputBucketsKbps;
+
+  List<HostNetworkStatsMessage?> hosts;
+
+  int? fullTlsHandshakes;
+
+  int? resumedTlsHandshakes;
+
+  Object encode() {
+    return <Object?>[
+      ttfbBucketsMs,
+      throughputBucketsKbps,
+      hosts,
+      fullTlsHandshakes,
+      resumedTlsHandshakes,
+    ];
+  }
+
+  static NetworkStatsMessage decode(Object result) {
+    result as List<Object?>;
+    return NetworkStatsMessage(
+      ttfbBucketsMs: (result[0] as List<Object?>?)!.cast<int?>(),
+      throughputBucketsKbps: (result[1] as List<Object?>?)!.cast<int?>(),
+      hosts: (result[2] as List<Object?>?)!.cast<HostNetworkStatsMessage?>(),
+      fullTlsHandshakes: result[3] as int?,
+      resumedTlsHandshakes: result[4] as int?,
+    );
+  }
+}
+
+class PreconnectMessage {
+  PreconnectMessage({
+    required this.hosts,
+    this.keepAliveMs,
+  });
+
+  List<String?> hosts;
+
+  int? keepAliveMs;
+
+  Object encode() {
+    return <Object?>[
+      hosts,
+      keepAliveMs,
+    ];
+  }
+
+  static PreconnectMessage decode(Object result) {
+    result as List<Object?>;
+    return PreconnectMessage(
+      hosts: (result[0] as List<Object?>?)!.cast<String?>(),
+      keepAliveMs: result[1] as int?,
+    );
+  }
+}
+
+class AbrConfigurationMessage {
+  AbrConfigurationMessage({
+    this.strategy,
+    this.minDurationForQualityIncreaseMs,
+    this.maxDurationForQualityDecreaseMs,
+    this.bandwidthFraction,
+    this.minBufferMs,
+    this.bufferTargetMs,
+  });
+
+  String? strategy;
+
+  int? minDurationForQualityIncreaseMs;
+
+  int? maxDurationForQualityDecreaseMs;
+
+  double? bandwidthFraction;
+
+  int? minBufferMs;
+
+  int? bufferTargetMs;
+
+  Object encode() {
+    return <Object?>[
+      strategy,
+      minDurationForQualityIncreaseMs,
+      maxDurationForQualityDecreaseMs,
+      bandwidthFraction,
+      minBufferMs,
+      bufferTargetMs,
+    ];
+  }
+
+  static AbrConfigurationMessage decode(Object result) {
+    result as List<Object?>;
+    return AbrConfigurationMessage(
+      strategy: result[0] as String?,
+      minDurationForQualityIncreaseMs: result[1] as int?,
+      maxDurationForQualityDecreaseMs: result[2] as int?,
+      bandwidthFraction: result[3] as double?,
+      minBufferMs: result[4] as int?,
+      bufferTargetMs: result[5] as int?,
+    );
+  }
+}
+
+class SchedulerConfigurationMessage {
+  SchedulerConfigurationMessage({
+    required this.maxActivePlayers,
+    this.maxPreparedPlayers,
+  });
+
+  int maxActivePlayers;
+
+  int? maxPreparedPlayers;
+
+  Object encode() {
+    return <Object?>[
+      maxActivePlayers,
+      maxPreparedPlayers,
+    ];
+  }
+
+  static SchedulerConfigurationMessage decode(Object result) {
+    result as List<Object?>;
+    return SchedulerConfigurationMessage(
+      maxActivePlayers: result[0]! as int,
+      maxPreparedPlayers: result[1] as int?,
+    );
+  }
+}
+
+class PlayerVisibilityMessage {
+  PlayerVisibilityMessage({
+    required this.textureId,
+    required this.visibleFraction,
+    this.priority,
+  });
+
+  int textureId;
+
+  double visibleFraction;
+
+  int? priority;
+
+  Object encode() {
+    return <Object?>[
+      textureId,
+      visibleFraction,
+      priority,
+    ];
+  }
+
+  static PlayerVisibilityMessage decode(Object result) {
+    result as List<Object?>;
+    return PlayerVisibilityMessage(
+      textureId: result[0]! as int,
+      visibleFraction: result[1]! as double,
+      priority: result[2] as int?,
+    );
+  }
+}
+
+class PlayerVisibilityBatchMessage {
+  PlayerVisibilityBatchMessage({
+    required this.players,
+  });
+
+  List<PlayerVisibilityMessage?> players;
+
+  Object encode() {
+    return <Object?>[
+      players,
+    ];
+  }
+
+  static PlayerVisibilityBatchMessage decode(Object result) {
+    result as List<Object?>;
+    return PlayerVisibilityBatchMessage(
+      players: (result[0] as List<Object?>?)!.cast<PlayerVisibilityMessage?>(),
+    );
+  }
+}
+
+class FocusMessage {
+  FocusMessage({
+    this.textureId,
+  });
+
+  int? textureId;
+
+  Object encode() {
+    return <Object?>[
+      textureId,
+    ];
+  }
+
+  static FocusMessage decode(Object result) {
+    result as List<Object?>;
+    return FocusMessage(
+      textureId: result[0] as int?,
+    );
+  }
+}
+
+class ReleaseStatsMessage {
+  ReleaseStatsMessage({
+    required this.releasedPlayers,
+    required this.pendingPlayers,
+    required this.meanLatencyMs,
+    required this.maxLatencyMs,
+    required this.meanReleaseMicros,
+    required this.maxReleaseMicros,
+  });
+
+  int releasedPlayers;
+
+  int pendingPlayers;
+
+  int meanLatencyMs;
+
+  int maxLatencyMs;
+
+  int meanReleaseMicros;
+
+  int maxReleaseMicros;
+
+  Object encode() {
+    return <Object?>[
+      releasedPlayers,
+      pendingPlayers,
+      meanLatencyMs,
+      maxLatencyMs,
+      meanReleaseMicros,
+      maxReleaseMicros,
+    ];
+  }
+
+  static ReleaseStatsMessage decode(Object result) {
+    result as List<Object?>;
+    return ReleaseStatsMessage(
+      releasedPlayers: result[0]! as int,
+      pendingPlayers: result[1]! as int,
+      meanLatencyMs: result[2]! as int,
+      maxLatencyMs: result[3]! as int,
+      meanReleaseMicros: result[4]! as int,
+      maxReleaseMicros: result[5]! as int,
+    );
+  }
+}
+
+class WarmUpStatusMessage {
+  WarmUpStatusMessage({
+    required this.started,
+    required this.ready,
+    this.durationMs,
+    this.error,
+  });
+
+  bool started;
+
+  bool ready;
+
+  int? durationMs;
+
+  String? error;
+
+  Object encode() {
+    return <Object?>[
+      started,
+      ready,
+      durationMs,
+      error,
+    ];
+  }
+
+  static WarmUpStatusMessage decode(Object result) {
+    result as List<Object?>;
+    return WarmUpStatusMessage(
+      started: result[0]! as bool,
+      ready: result[1]! as bool,
+      durationMs: result[2] as int?,
+      error: result[3] as String?,
+    );
+  }
+}
+
 class _AndroidVideoPlayerApiCodec extends StandardMessageCodec {
   const _AndroidVideoPlayerApiCodec();
   @override
@@ -236,26 +1041,92 @@ class _AndroidVideoPlayerApiCodec extends StandardMessageCodec {
     if (value is CreateMessage) {
       buffer.putUint8(128);
       writeValue(buffer, value.encode());
-    } else if (value is LoopingMessage) {
-      buffer.putUint8(129);
+    } else if (value is LoopingMessage) {
+      buffer.putUint8(129);
+      writeValue(buffer, value.encode());
+    } else if (value is MixWithOthersMessage) {
+      buffer.putUint8(130);
+      writeValue(buffer, value.encode());
+    } else if (value is PlaybackSpeedMessage) {
+      buffer.putUint8(131);
+      writeValue(buffer, value.encode());
+    } else if (value is PositionMessage) {
+      buffer.putUint8(132);
+      writeValue(buffer, value.encode());
+    } else if (value is TextureMessage) {
+      buffer.putUint8(133);
+      writeValue(buffer, value.encode());
+    } else if (value is VolumeMessage) {
+      buffer.putUint8(134);
+      writeValue(buffer, value.encode());
+    } else if (value is TrackSelectionsMessage) {
+      buffer.putUint8(135);
+      writeValue(buffer, value.encode());
+    } else if (value is LiveConfigurationMessage) {
+      buffer.putUint8(136);
+      writeValue(buffer, value.encode());
+    } else if (value is BackgroundModeMessage) {
+      buffer.putUint8(137);
+      writeValue(buffer, value.encode());
+    } else if (value is CommandMessage) {
+      buffer.putUint8(138);
+      writeValue(buffer, value.encode());
+    } else if (value is CommandBatchMessage) {
+      buffer.putUint8(139);
+      writeValue(buffer, value.encode());
+    } else if (value is CommandBatchResultMessage) {
+      buffer.putUint8(140);
+      writeValue(buffer, value.encode());
+    } else if (value is SubtitleMessage) {
+      buffer.putUint8(141);
+      writeValue(buffer, value.encode());
+    } else if (value is CmcdConfigurationMessage) {
+      buffer.putUint8(142);
+      writeValue(buffer, value.encode());
+    } else if (value is LoadErrorPolicyMessage) {
+      buffer.putUint8(143);
+      writeValue(buffer, value.encode());
+    } else if (value is OriginFailoverMessage) {
+      buffer.putUint8(144);
+      writeValue(buffer, value.encode());
+    } else if (value is HedgingConfigurationMessage) {
+      buffer.putUint8(145);
+      writeValue(buffer, value.encode());
+    } else if (value is HedgingStatsMessage) {
+      buffer.putUint8(146);
+      writeValue(buffer, value.encode());
+    } else if (value is KeyframesMessage) {
+      buffer.putUint8(147);
+      writeValue(buffer, value.encode());
+    } else if (value is HostNetworkStatsMessage) {
+      buffer.putUint8(148);
+      writeValue(buffer, value.encode());
+    } else if (value is NetworkStatsMessage) {
+      buffer.putUint8(149);
+      writeValue(buffer, value.encode());
+    } else if (value is PreconnectMessage) {
+      buffer.putUint8(150);
       writeValue(buffer, value.encode());
-    } else if (value is MixWithOthersMessage) {
-      buffer.putUint8(130);
+    } else if (value is AbrConfigurationMessage) {
+      buffer.putUint8(151);
       writeValue(buffer, value.encode());
-    } else if (value is PlaybackSpeedMessage) {
-      buffer.putUint8(131);
+    } else if (value is SchedulerConfigurationMessage) {
+      buffer.putUint8(152);
       writeValue(buffer, value.encode());
-    } else if (value is PositionMessage) {
-      buffer.putUint8(132);
+    } else if (value is PlayerVisibilityMessage) {
+      buffer.putUint8(153);
       writeValue(buffer, value.encode());
-    } else if (value is TextureMessage) {
-      buffer.putUint8(133);
+    } else if (value is PlayerVisibilityBatchMessage) {
+      buffer.putUint8(154);
       writeValue(buffer, value.encode());
-    } else if (value is VolumeMessage) {
-      buffer.putUint8(134);
+    } else if (value is FocusMessage) {
+      buffer.putUint8(155);
       writeValue(buffer, value.encode());
-    } else if (value is TrackSelectionsMessage) {
-      buffer.putUint8(135);
+    } else if (value is ReleaseStatsMessage) {
+      buffer.putUint8(156);
+      writeValue(buffer, value.encode());
+    } else if (value is WarmUpStatusMessage) {
+      buffer.putUint8(157);
       writeValue(buffer, value.encode());
     } else {
       super.writeValue(buffer, value);
@@ -281,6 +1152,50 @@ class _AndroidVideoPlayerApiCodec extends StandardMessageCodec {
         return VolumeMessage.decode(readValue(buffer)!);
       case 135:
         return TrackSelectionsMessage.decode(readValue(buffer)!);
+      case 136:
+        return LiveConfigurationMessage.decode(readValue(buffer)!);
+      case 137:
+        return BackgroundModeMessage.decode(readValue(buffer)!);
+      case 138:
+        return CommandMessage.decode(readValue(buffer)!);
+      case 139:
+        return CommandBatchMessage.decode(readValue(buffer)!);
+      case 140:
+        return CommandBatchResultMessage.decode(readValue(buffer)!);
+      case 141:
+        return SubtitleMessage.decode(readValue(buffer)!);
+      case 142:
+        return CmcdConfigurationMessage.decode(readValue(buffer)!);
+      case 143:
+        return LoadErrorPolicyMessage.decode(readValue(buffer)!);
+      case 144:
+        return OriginFailoverMessage.decode(readValue(buffer)!);
+      case 145:
+        return HedgingConfigurationMessage.decode(readValue(buffer)!);
+      case 146:
+        return HedgingStatsMessage.decode(readValue(buffer)!);
+      case 147:
+        return KeyframesMessage.decode(readValue(buffer)!);
+      case 148:
+        return HostNetworkStatsMessage.decode(readValue(buffer)!);
+      case 149:
+        return NetworkStatsMessage.decode(readValue(buffer)!);
+      case 150:
+        return PreconnectMessage.decode(readValue(buffer)!);
+      case 151:
+        return AbrConfigurationMessage.decode(readValue(buffer)!);
+      case 152:
+        return SchedulerConfigurationMessage.decode(readValue(buffer)!);
+      case 153:
+        return PlayerVisibilityMessage.decode(readValue(buffer)!);
+      case 154:
+        return PlayerVisibilityBatchMessage.decode(readValue(buffer)!);
+      case 155:
+        return FocusMessage.decode(readValue(buffer)!);
+      case 156:
+        return ReleaseStatsMessage.decode(readValue(buffer)!);
+      case 157:
+        return WarmUpStatusMessage.decode(readValue(buffer)!);
       default:
         return super.readValueOfType(type, buffer);
     }
@@ -594,4 +1509,274 @@ class AndroidVideoPlayerApi {
       return;
     }
   }
+
+  Future<void> setBackgroundMode(BackgroundModeMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.setBackgroundMode', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_msg]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<CommandBatchResultMessage> applyCommands(
+      CommandBatchMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.applyCommands', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_msg]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as CommandBatchResultMessage?)!;
+    }
+  }
+
+  Future<HedgingStatsMessage> hedgingStats(TextureMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.hedgingStats', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_msg]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as HedgingStatsMessage?)!;
+    }
+  }
+
+  Future<KeyframesMessage> keyframes(TextureMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.keyframes', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_msg]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as KeyframesMessage?)!;
+    }
+  }
+
+  Future<NetworkStatsMessage> networkStats() async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.networkStats', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList = await channel.send(null) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as NetworkStatsMessage?)!;
+    }
+  }
+
+  Future<void> preconnect(PreconnectMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.preconnect', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_msg]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> configureScheduler(SchedulerConfigurationMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.configureScheduler', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_msg]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> setPlayerVisibility(PlayerVisibilityBatchMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.setPlayerVisibility', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_msg]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<void> setFocusedPlayer(FocusMessage arg_msg) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.setFocusedPlayer', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_msg]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  Future<ReleaseStatsMessage> releaseStats() async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.releaseStats', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList = await channel.send(null) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as ReleaseStatsMessage?)!;
+    }
+  }
+
+  Future<WarmUpStatusMessage> warmUpStatus() async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.AndroidVideoPlayerApi.warmUpStatus', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList = await channel.send(null) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as WarmUpStatusMessage?)!;
+    }
+  }
 }
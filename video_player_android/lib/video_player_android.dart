@@ -3,3 +3,13 @@
 // found in the LICENSE file.
 
 export 'src/android_video_player.dart';
+export 'src/messages.g.dart'
+    show
+        CommandBatchResultMessage,
+        CommandMessage,
+        HedgingStatsMessage,
+        HostNetworkStatsMessage,
+        NetworkStatsMessage,
+        PlayerVisibilityMessage,
+        ReleaseStatsMessage,
+        WarmUpStatusMessage;
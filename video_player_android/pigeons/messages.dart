@@ -49,6 +49,15 @@ class PositionMessage {
   int position;
 }
 
+class LiveConfigurationMessage {
+  int? targetOffsetMs;
+  int? minOffsetMs;
+  int? maxOffsetMs;
+  double? minPlaybackSpeed;
+  double? maxPlaybackSpeed;
+  int? latencyReportIntervalMs;
+}
+
 class CreateMessage {
   CreateMessage({required this.httpHeaders});
   String? asset;
@@ -56,6 +65,13 @@ class CreateMessage {
   String? packageName;
   String? formatHint;
   Map<String?, String?> httpHeaders;
+  LiveConfigurationMessage? liveConfiguration;
+  List<SubtitleMessage?>? subtitles;
+  CmcdConfigurationMessage? cmcdConfiguration;
+  LoadErrorPolicyMessage? loadErrorPolicy;
+  OriginFailoverMessage? originFailover;
+  HedgingConfigurationMessage? hedging;
+  AbrConfigurationMessage? abr;
 }
 
 class MixWithOthersMessage {
@@ -63,6 +79,177 @@ class MixWithOthersMessage {
   bool mixWithOthers;
 }
 
+class BackgroundModeMessage {
+  BackgroundModeMessage(this.textureId, this.audioOnly);
+  int textureId;
+  bool audioOnly;
+}
+
+class CommandMessage {
+  CommandMessage(this.name);
+  String name;
+  Object? value;
+}
+
+class CommandBatchMessage {
+  CommandBatchMessage(this.textureId, this.commands);
+  int textureId;
+  List<CommandMessage?> commands;
+}
+
+class CommandBatchResultMessage {
+  CommandBatchResultMessage(
+      this.textureId, this.appliedCount, this.elapsedMicros);
+  int textureId;
+  int appliedCount;
+  int elapsedMicros;
+  Map<String?, Object?>? latencyStats;
+}
+
+class SubtitleMessage {
+  SubtitleMessage(this.uri, this.mimeType);
+  String uri;
+  String mimeType;
+  String? language;
+  String? label;
+  bool? isDefault;
+}
+
+class CmcdConfigurationMessage {
+  String? sessionId;
+  String? contentId;
+  bool? useQueryParameter;
+  List<String?>? allowedKeys;
+}
+
+class LoadErrorPolicyMessage {
+  int? maxRetries;
+  int? initialBackoffMs;
+  int? maxBackoffMs;
+  double? jitter;
+  List<int?>? failFastStatusCodes;
+  List<int?>? retryStatusCodes;
+  int? exclusionMs;
+}
+
+class OriginFailoverMessage {
+  OriginFailoverMessage(this.origins);
+  List<String?> origins;
+  int? minThroughputKbps;
+}
+
+class HedgingConfigurationMessage {
+  double? percentile;
+  int? minDelayMs;
+}
+
+class HedgingStatsMessage {
+  HedgingStatsMessage(this.textureId, this.hedgesFired, this.hedgesWon);
+  int textureId;
+  int hedgesFired;
+  int hedgesWon;
+  int? thresholdMs;
+}
+
+class KeyframesMessage {
+  KeyframesMessage(this.textureId, this.timesMs);
+  int textureId;
+  List<int?> timesMs;
+}
+
+class HostNetworkStatsMessage {
+  HostNetworkStatsMessage(
+      this.host,
+      this.requestType,
+      this.requests,
+      this.failures,
+      this.bytes,
+      this.cacheHits,
+      this.cacheMisses,
+      this.ttfbHistogram,
+      this.throughputHistogram);
+  String host;
+  String requestType;
+  int requests;
+  int failures;
+  int bytes;
+  int cacheHits;
+  int cacheMisses;
+  List<int?> ttfbHistogram;
+  List<int?> throughputHistogram;
+}
+
+class NetworkStatsMessage {
+  NetworkStatsMessage(
+      this.ttfbBucketsMs, this.throughputBucketsKbps, this.hosts);
+  List<int?> ttfbBucketsMs;
+  List<int?> throughputBucketsKbps;
+  List<HostNetworkStatsMessage?> hosts;
+  int? fullTlsHandshakes;
+  int? resumedTlsHandshakes;
+}
+
+class PreconnectMessage {
+  PreconnectMessage(this.hosts);
+  List<String?> hosts;
+  int? keepAliveMs;
+}
+
+class AbrConfigurationMessage {
+  String? strategy;
+  int? minDurationForQualityIncreaseMs;
+  int? maxDurationForQualityDecreaseMs;
+  double? bandwidthFraction;
+  int? minBufferMs;
+  int? bufferTargetMs;
+}
+
+class SchedulerConfigurationMessage {
+  SchedulerConfigurationMessage(this.maxActivePlayers);
+  int maxActivePlayers;
+  int? maxPreparedPlayers;
+}
+
+class PlayerVisibilityMessage {
+  PlayerVisibilityMessage(this.textureId, this.visibleFraction);
+  int textureId;
+  double visibleFraction;
+  int? priority;
+}
+
+class PlayerVisibilityBatchMessage {
+  PlayerVisibilityBatchMessage(this.players);
+  List<PlayerVisibilityMessage?> players;
+}
+
+class FocusMessage {
+  int? textureId;
+}
+
+class ReleaseStatsMessage {
+  ReleaseStatsMessage(
+      this.releasedPlayers,
+      this.pendingPlayers,
+      this.meanLatencyMs,
+      this.maxLatencyMs,
+      this.meanReleaseMicros,
+      this.maxReleaseMicros);
+  int releasedPlayers;
+  int pendingPlayers;
+  int meanLatencyMs;
+  int maxLatencyMs;
+  int meanReleaseMicros;
+  int maxReleaseMicros;
+}
+
+class WarmUpStatusMessage {
+  WarmUpStatusMessage(this.started, this.ready);
+  bool started;
+  bool ready;
+  int? durationMs;
+  String? error;
+}
+
 @HostApi(dartHostTestHandler: 'TestHostVideoPlayerApi')
 abstract class AndroidVideoPlayerApi {
   void initialize();
@@ -78,4 +265,15 @@ abstract class AndroidVideoPlayerApi {
   void setTrackSelection(TrackSelectionsMessage msg);
   void pause(TextureMessage msg);
   void setMixWithOthers(MixWithOthersMessage msg);
+  void setBackgroundMode(BackgroundModeMessage msg);
+  CommandBatchResultMessage applyCommands(CommandBatchMessage msg);
+  HedgingStatsMessage hedgingStats(TextureMessage msg);
+  KeyframesMessage keyframes(TextureMessage msg);
+  NetworkStatsMessage networkStats();
+  void preconnect(PreconnectMessage msg);
+  void configureScheduler(SchedulerConfigurationMessage msg);
+  void setPlayerVisibility(PlayerVisibilityBatchMessage msg);
+  void setFocusedPlayer(FocusMessage msg);
+  ReleaseStatsMessage releaseStats();
+  WarmUpStatusMessage warmUpStatus();
 }
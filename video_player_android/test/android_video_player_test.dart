@@ -392,6 +392,62 @@ void main() {
             ),
           ]));
     });
+
+    test('playerEventsFor', () async {
+      const String mockChannel = 'flutter.io/videoPlayer/videoEvents123';
+      _ambiguate(TestDefaultBinaryMessengerBinding.instance)!
+          .defaultBinaryMessenger
+          .setMockMessageHandler(
+        mockChannel,
+        (ByteData? message) async {
+          final MethodCall methodCall =
+              const StandardMethodCodec().decodeMethodCall(message);
+          if (methodCall.method == 'listen') {
+            for (final Map<String, dynamic> event in <Map<String, dynamic>>[
+              <String, dynamic>{'event': 'bufferingStart'},
+              <String, dynamic>{
+                'event': 'loadError',
+                'uri': 'https://cdn.example.com/1.ts',
+                'statusCode': 503,
+                'willRetry': true,
+              },
+              <String, dynamic>{
+                'event': 'abrSwitch',
+                'reason': 'buffer',
+              },
+            ]) {
+              await _ambiguate(TestDefaultBinaryMessengerBinding.instance)!
+                  .defaultBinaryMessenger
+                  .handlePlatformMessage(
+                      mockChannel,
+                      const StandardMethodCodec().encodeSuccessEnvelope(event),
+                      (ByteData? data) {});
+            }
+            return const StandardMethodCodec().encodeSuccessEnvelope(null);
+          } else if (methodCall.method == 'cancel') {
+            return const StandardMethodCodec().encodeSuccessEnvelope(null);
+          } else {
+            fail('Expected listen or cancel');
+          }
+        },
+      );
+      expect(
+          player.playerEventsFor(123),
+          emitsInOrder(<dynamic>[
+            const AndroidPlayerEvent(
+              type: 'loadError',
+              data: <String, Object?>{
+                'uri': 'https://cdn.example.com/1.ts',
+                'statusCode': 503,
+                'willRetry': true,
+              },
+            ),
+            const AndroidPlayerEvent(
+              type: 'abrSwitch',
+              data: <String, Object?>{'reason': 'buffer'},
+            ),
+          ]));
+    });
   });
 }
 